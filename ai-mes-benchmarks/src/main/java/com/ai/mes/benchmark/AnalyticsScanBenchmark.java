@@ -0,0 +1,96 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.analytics.ColumnarSnapshotStore;
+import com.ai.mes.analytics.ColumnarSnapshotWriter;
+import com.ai.mes.dto.CycleTimeStat;
+import com.ai.mes.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 분석 조회(AnalyticsService.getCycleTimes)의 열 스냅샷 스캔 비용 벤치마크.
+ * <p>
+ * 임시 디렉터리에 M14 LOT 스냅샷을 기록해 두고 서비스가 메모리 맵으로 열게 한 뒤,
+ * 전체 기간(제품별)·최근 30일(공정 단계별) 조건으로 사이클 타임을 집계합니다. 매퍼는 사용하지 않습니다(null).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsScanBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    @Param({"1000000", "5000000"})
+    public int rows;
+
+    private Path directory;
+    private AnalyticsService analyticsService;
+    private LocalDateTime recentFrom;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("analytics-benchmark");
+        ColumnarSnapshotStore store = new ColumnarSnapshotStore(directory);
+        ColumnarSnapshotWriter writer = store.create("M14", AnalyticsService.LOTS);
+        ColumnarSnapshotWriter.StringColumn product = writer.stringColumn("product");
+        ColumnarSnapshotWriter.StringColumn status = writer.stringColumn("status");
+        ColumnarSnapshotWriter.StringColumn step = writer.stringColumn("step");
+        ColumnarSnapshotWriter.TimeColumn startTime = writer.timeColumn("start_time");
+        ColumnarSnapshotWriter.TimeColumn endTime = writer.timeColumn("end_time");
+        ColumnarSnapshotWriter.TimeColumn createdAt = writer.timeColumn("created_at");
+        // BenchmarkData.lots와 같은 분포를 행 객체 없이 직접 기록 (수백만 행)
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 0);
+        long nowMillis = now.atZone(ZONE).toInstant().toEpochMilli();
+        for (int i = 0; i < rows; i++) {
+            long start = nowMillis - random.nextInt(500_000) * 60_000L;
+            product.add("Product " + (char) ('A' + i % 5));
+            status.add(BenchmarkData.STATUSES[random.nextInt(BenchmarkData.STATUSES.length)]);
+            step.add(BenchmarkData.STEPS[random.nextInt(BenchmarkData.STEPS.length)]);
+            startTime.add(start);
+            endTime.add(i % 10 == 0 ? Long.MIN_VALUE : start + random.nextInt(600) * 60_000L);
+            createdAt.add(start);
+            writer.endRow();
+        }
+        store.publish(writer);
+        recentFrom = now.minusDays(30);
+
+        analyticsService = new AnalyticsService(null, null, null, null, null, null, Map.of());
+        Field storagePath = AnalyticsService.class.getDeclaredField("storagePath");
+        storagePath.setAccessible(true);
+        storagePath.set(analyticsService, directory.toString());
+        analyticsService.open();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<CycleTimeStat> cycleTimeAll() {
+        return analyticsService.getCycleTimes("M14", "product", null, null);
+    }
+
+    @Benchmark
+    public List<CycleTimeStat> cycleTimeRecent() {
+        return analyticsService.getCycleTimes("M14", "step", recentFrom, null);
+    }
+}
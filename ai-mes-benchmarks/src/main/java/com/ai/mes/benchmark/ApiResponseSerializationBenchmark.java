@@ -0,0 +1,89 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.model.LotData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 응답(ApiResponse&lt;List&lt;LotData&gt;&gt;) JSON 직렬화 비용 벤치마크.
+ * <p>
+ * 애플리케이션과 같은 Jackson 설정(snake_case, java.time 문자열 출력)을 사용하며,
+ * {@code toBytes}는 전체 본문을 메모리에 만드는 경우, {@code toStream}은 응답 스트림에 바로 쓰는 경우입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private static final String[] FABS = {"M14", "M15", "M16"};
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<LotData>> response;
+
+    @Setup
+    public void setup() throws IOException {
+        // spring.jackson 설정과 Spring Boot 기본값(WRITE_DATES_AS_TIMESTAMPS 해제)을 그대로 적용
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .timeZone(TimeZone.getTimeZone("Asia/Seoul"))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, LotData.class)));
+
+        Random random = new Random(42);
+        List<LotData> lots = new ArrayList<>(rows);
+        for (String fab : FABS) {
+            lots.addAll(BenchmarkData.lots(fab, rows / FABS.length + (fab.equals("M14") ? rows % FABS.length : 0), random));
+        }
+        response = ApiResponse.success(lots, "LOT 이력 조회 성공");
+        System.out.printf("%n[json] rows=%d bytes=%d%n", rows, writer.writeValueAsBytes(response).length);
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public long toStream() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        writer.writeValue(out, response);
+        return out.count;
+    }
+
+    /** 응답 스트림 대역 (바이트 수만 셈) */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
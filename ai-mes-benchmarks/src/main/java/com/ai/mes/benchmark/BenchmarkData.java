@@ -0,0 +1,38 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.model.LotData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크 공통 테스트 데이터 (고정 시드로 실행마다 같은 데이터 생성).
+ */
+final class BenchmarkData {
+
+    static final String[] STATUSES = {"running", "completed", "waiting", "hold", "error", "maintenance"};
+    static final String[] STEPS = {"Lithography", "Etching", "Deposition", "CMP", "Measurement", "Clean"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 한 팹의 LOT 목록. DB 조회 결과와 같이 생성일 최신순으로 정렬되어 있습니다.
+     */
+    static List<LotData> lots(String fab, int rows, Random random) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 0);
+        List<LotData> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime start = now.minusMinutes(random.nextInt(100_000));
+            result.add(new LotData(String.valueOf(i), String.format("%s-LOT%06d", fab, i), "Product " + (char) ('A' + i % 5),
+                    fab, STATUSES[random.nextInt(STATUSES.length)], start, start.plusHours(4),
+                    STEPS[random.nextInt(STEPS.length)], String.format("EQ-%03d", random.nextInt(200)),
+                    random.nextInt(101), start.plusHours(6), random.nextInt(300) + "분", i % 7 == 0 ? "NG" : "OK",
+                    start.minusDays(1), start));
+        }
+        result.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ai.mes.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벤치마크 실행 진입점 (benchmarks.jar의 Main-Class).
+ * <p>
+ * JMH 명령행 옵션을 그대로 받되, 결과 형식(-rf)을 지정하지 않으면 릴리스 간 비교를 위해
+ * JSON 결과 파일(기본 {@value #DEFAULT_RESULT_FILE}, -rff로 변경)을 함께 남깁니다.
+ */
+public class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> argv = new ArrayList<>(Arrays.asList(args));
+        if (!argv.contains("-rf")) {
+            argv.add("-rf");
+            argv.add("json");
+            if (!argv.contains("-rff")) {
+                argv.add("-rff");
+                argv.add(DEFAULT_RESULT_FILE);
+            }
+        }
+        Main.main(argv.toArray(new String[0]));
+    }
+}
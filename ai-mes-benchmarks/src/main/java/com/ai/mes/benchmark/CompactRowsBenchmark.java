@@ -0,0 +1,60 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.model.LotData;
+import com.ai.mes.model.compact.CompactRows;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매퍼 캐시 압축 표현(CompactRows) 비용 벤치마크.
+ * <p>
+ * {@code encode}는 조회 결과 LOT 목록을 사전 코드·기본형 배열로 압축하는 비용(캐시 저장 시),
+ * {@code toList}는 압축 표현에서 모델 객체 목록을 다시 만드는 비용(캐시 적중 시),
+ * {@code readFrom}은 체크포인트 파일 형식에서 압축 표현을 읽는 비용(기동 시 캐시 복원)입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactRowsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private List<LotData> lots;
+    private CompactRows<?> compact;
+    private byte[] checkpoint;
+
+    @Setup
+    public void setup() throws IOException {
+        lots = BenchmarkData.lots("M14", rows, new Random(42));
+        compact = CompactRows.encode(lots);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        compact.writeTo(new DataOutputStream(bytes));
+        checkpoint = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public CompactRows<?> encode() {
+        return CompactRows.encode(lots);
+    }
+
+    @Benchmark
+    public List<?> toList() {
+        return compact.toList();
+    }
+
+    @Benchmark
+    public CompactRows<?> readFrom() {
+        return CompactRows.readFrom(ByteBuffer.wrap(checkpoint));
+    }
+}
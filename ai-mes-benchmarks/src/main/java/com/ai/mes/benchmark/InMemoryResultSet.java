@@ -0,0 +1,116 @@
+package com.ai.mes.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리의 행 목록을 JDBC 결과 집합으로 돌려주는 대역 (결과 매핑 벤치마크용).
+ * <p>
+ * 매퍼가 쓰는 열 타입(문자열, 정수, 실수, 일시)만 지원하며, 값은 열 이름과 위치 양쪽으로 읽을 수 있습니다.
+ */
+final class InMemoryResultSet {
+
+    private final String[] labels;
+    private final Class<?>[] types;
+    private final List<Object[]> rows;
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    InMemoryResultSet(String[] labels, Class<?>[] types, List<Object[]> rows) {
+        this.labels = labels;
+        this.types = types;
+        this.rows = rows;
+        for (int i = 0; i < labels.length; i++) {
+            positions.put(labels[i], i + 1);
+        }
+    }
+
+    /** 매번 처음 행부터 읽는 새 결과 집합을 돌려주는 문장 */
+    Statement statement() {
+        ResultSet rs = resultSet();
+        DatabaseMetaData databaseMetaData = proxy(DatabaseMetaData.class, (method, args) -> false);
+        Connection connection = proxy(Connection.class, (method, args) -> "getMetaData".equals(method) ? databaseMetaData : null);
+        return proxy(Statement.class, (method, args) -> switch (method) {
+            case "getResultSet" -> rs;
+            case "getConnection" -> connection;
+            case "getUpdateCount" -> -1;
+            default -> defaultValue(method);
+        });
+    }
+
+    private ResultSet resultSet() {
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (method, args) -> switch (method) {
+            case "getColumnCount" -> labels.length;
+            case "getColumnLabel", "getColumnName" -> labels[(int) args[0] - 1];
+            case "getColumnClassName" -> types[(int) args[0] - 1].getName();
+            case "getColumnType" -> sqlType(types[(int) args[0] - 1]);
+            default -> defaultValue(method);
+        });
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        return proxy(ResultSet.class, (method, args) -> {
+            switch (method) {
+                case "next":
+                    return ++cursor[0] < rows.size();
+                case "getMetaData":
+                    return metaData;
+                case "getType":
+                    return ResultSet.TYPE_FORWARD_ONLY;
+                case "wasNull":
+                    return wasNull[0];
+                case "isClosed", "close":
+                    return method.equals("isClosed") ? false : null;
+                case "getString", "getInt", "getDouble", "getObject", "getTimestamp": {
+                    int column = args[0] instanceof String label ? positions.get(label) : (int) args[0];
+                    Object value = rows.get(cursor[0])[column - 1];
+                    wasNull[0] = value == null;
+                    return switch (method) {
+                        case "getString" -> value == null ? null : value.toString();
+                        case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                        case "getDouble" -> value == null ? 0.0 : ((Number) value).doubleValue();
+                        case "getTimestamp" -> value == null ? null : java.sql.Timestamp.valueOf((LocalDateTime) value);
+                        default -> value;
+                    };
+                }
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private static int sqlType(Class<?> type) {
+        if (type == Integer.class) {
+            return Types.INTEGER;
+        }
+        if (type == Double.class) {
+            return Types.DOUBLE;
+        }
+        if (type == LocalDateTime.class) {
+            return Types.TIMESTAMP;
+        }
+        return Types.VARCHAR;
+    }
+
+    private static Object defaultValue(String method) {
+        return method.startsWith("is") || method.startsWith("supports") ? false : null;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args));
+    }
+}
@@ -0,0 +1,86 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.security.JwtAuthenticationFilter;
+import com.ai.mes.security.JwtTokenProvider;
+import com.ai.mes.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 요청당 인증 비용 벤치마크.
+ * <p>
+ * 같은 토큰으로 반복되는 요청을 기준으로, 검증 캐시 사용 여부(verifiedCacheSize)에 따른 필터 비용과
+ * 이전 방식(요청마다 파서를 새로 만들어 두 번 검증)의 비용을 비교합니다.
+ * 사용자 조회는 DB 영향을 제외하기 위해 고정 UserDetailsService로 대체합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    static final String SECRET = "ai-mes-jwt-secret-key-for-development-only-change-in-production-environment-64bytes-minimum";
+
+    @Param({"10000", "0"})
+    public int verifiedCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private SecretKey key;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 86_400_000, verifiedCacheSize);
+        UserPrincipal principal = UserPrincipal.create("1", "admin", "", "admin@mes.ai", "ADMIN");
+        UserDetailsService userDetailsService = username -> principal;
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService);
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        request = new MockHttpServletRequest("GET", "/api/lots/history");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+        // OncePerRequestFilter의 처리 완료 표시 속성 제거 (같은 요청 객체 재사용)
+        request.clearAttributes();
+    }
+
+    @Benchmark
+    public Object filterRepeatToken() throws Exception {
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /** 변경 전 방식: validateToken과 getUsernameFromToken이 각각 파서를 만들고 서명을 검증 */
+    @Benchmark
+    public void legacyDoubleParse(Blackhole bh) {
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token));
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        bh.consume(claims.getSubject());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.security.JwtTokenProvider;
+import com.ai.mes.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider 토큰 발급·검증·파싱 비용 벤치마크.
+ * 검증 캐시 사용 여부(verifiedCacheSize)별로 같은 토큰을 반복 검증하는 경우를 측정합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"10000", "0"})
+    public int verifiedCacheSize;
+
+    private JwtTokenProvider tokenProvider;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenProvider = new JwtTokenProvider(JwtAuthenticationFilterBenchmark.SECRET, 86_400_000, verifiedCacheSize);
+        UserPrincipal principal = UserPrincipal.create("1", "admin", "", "admin@mes.ai", "ADMIN");
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return tokenProvider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Claims getVerifiedClaims() {
+        return tokenProvider.getVerifiedClaims(token);
+    }
+}
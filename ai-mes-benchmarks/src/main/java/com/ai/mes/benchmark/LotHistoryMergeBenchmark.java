@@ -0,0 +1,74 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.model.LotData;
+import com.ai.mes.service.LotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팹 미지정 LOT 이력 조회(LotService.getLotHistory)의 팹 간 병합·정렬 비용 벤치마크.
+ * <p>
+ * 매퍼는 미리 만든 목록을 돌려주는 대역으로 바꿔 DB 영향을 제외합니다.
+ * {@code getLotHistory}는 병렬 조회(CompletableFuture)까지 포함한 서비스 호출 전체,
+ * {@code mergeAndSort}는 같은 병합·정렬 코드만 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LotHistoryMergeBenchmark {
+
+    /** 팹당 행 수 */
+    @Param({"1000", "10000", "100000"})
+    public int rowsPerFab;
+
+    private LotService lotService;
+    private List<LotData> m14;
+    private List<LotData> m15;
+    private List<LotData> m16;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        m14 = BenchmarkData.lots("M14", rowsPerFab, random);
+        m15 = BenchmarkData.lots("M15", rowsPerFab, random);
+        m16 = BenchmarkData.lots("M16", rowsPerFab, random);
+        lotService = new LotService(
+                mapper(com.ai.mes.mapper.m14.LotDataMapper.class, m14),
+                mapper(com.ai.mes.mapper.m15.LotDataMapper.class, m15),
+                mapper(com.ai.mes.mapper.m16.LotDataMapper.class, m16));
+    }
+
+    @Benchmark
+    public List<LotData> getLotHistory() {
+        return lotService.getLotHistory(null);
+    }
+
+    @Benchmark
+    public List<LotData> mergeAndSort() {
+        List<LotData> merged = new ArrayList<>();
+        merged.addAll(m14);
+        merged.addAll(m15);
+        merged.addAll(m16);
+        merged.sort(Comparator.comparing(LotData::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())).reversed());
+        return merged;
+    }
+
+    /** selectAll만 응답하는 매퍼 대역 */
+    private static <T> T mapper(Class<T> type, List<LotData> rows) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if ("selectAll".equals(method.getName())) {
+                return rows;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+}
@@ -0,0 +1,59 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.security.SimplePasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimplePasswordEncoder.matches 로그인 검증 비용 벤치마크.
+ * 저장 형식(평문, MD5, SHA-256)별로 일치/불일치 경우를 측정합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "mes-operator-2024!";
+
+    @Param({"plain", "md5", "sha256"})
+    public String stored;
+
+    private SimplePasswordEncoder encoder;
+    private String rawPassword;
+    private String wrongPassword;
+    private String encodedPassword;
+
+    @Setup
+    public void setup() throws Exception {
+        encoder = new SimplePasswordEncoder();
+        // 로그인 요청과 같이 저장값과 다른 문자열 인스턴스로 비교 (동일 참조 비교 최적화 방지)
+        rawPassword = new String(PASSWORD);
+        wrongPassword = new String("wrong-password");
+        encodedPassword = switch (stored) {
+            case "md5" -> hex("MD5", PASSWORD);
+            case "sha256" -> hex("SHA-256", PASSWORD);
+            default -> new String(PASSWORD);
+        };
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(rawPassword, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean mismatch() {
+        return encoder.matches(wrongPassword, encodedPassword);
+    }
+
+    private static String hex(String algorithm, String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.config.mybatis.MyBatisQueryLoggingInterceptor;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatisQueryLoggingInterceptor 쿼리당 오버헤드 벤치마크.
+ * <p>
+ * {@code buildSql}은 파라미터를 채운 SQL 문자열 생성 비용(private 메서드라 리플렉션으로 호출),
+ * {@code intercept}는 DEBUG 로그가 꺼진 상태(벤치마크 logback.xml 기준)에서 쿼리 한 건에 더해지는 전체 비용입니다.
+ * 실행기는 빈 결과를 바로 돌려주는 대역을 사용합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryLoggingInterceptorBenchmark {
+
+    /** 검색 화면 쿼리와 같은 형태 (매퍼 XML의 줄바꿈·들여쓰기 포함) */
+    private static final String SQL = """
+            SELECT id, lot_number, product, fab, status, start_time, end_time,
+                   current_step, equipment, progress, estimated_completion, duration, result,
+                   created_at, updated_at
+              FROM lot_data_m14
+             WHERE fab = ?
+               AND status IN (?, ?, ?)
+               AND product LIKE ?
+               AND created_at >= ?
+               AND created_at <  ?
+               AND progress BETWEEN ? AND ?
+             ORDER BY created_at DESC
+             LIMIT ?
+            """;
+
+    private MyBatisQueryLoggingInterceptor interceptor;
+    private Method buildSql;
+    private Configuration configuration;
+    private MappedStatement mappedStatement;
+    private Map<String, Object> parameter;
+    private Invocation invocation;
+
+    @Setup
+    public void setup() throws Exception {
+        configuration = new Configuration();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (String property : new String[]{"fab", "status0", "status1", "status2", "product", "from", "to",
+                "minProgress", "maxProgress", "limit"}) {
+            mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+        }
+        mappedStatement = new MappedStatement.Builder(configuration, "com.ai.mes.mapper.m14.LotDataMapper.search",
+                new StaticSqlSource(configuration, SQL, mappings), SqlCommandType.SELECT).build();
+
+        MapperMethod.ParamMap<Object> params = new MapperMethod.ParamMap<>();
+        params.put("fab", "M14");
+        params.put("status0", "running");
+        params.put("status1", "hold");
+        params.put("status2", "waiting");
+        params.put("product", "Product A%");
+        params.put("from", LocalDateTime.of(2024, 1, 1, 0, 0));
+        params.put("to", LocalDateTime.of(2024, 1, 15, 0, 0));
+        params.put("minProgress", 10);
+        params.put("maxProgress", 90);
+        params.put("limit", 500);
+        parameter = params;
+
+        interceptor = new MyBatisQueryLoggingInterceptor();
+        buildSql = MyBatisQueryLoggingInterceptor.class.getDeclaredMethod("buildSql", Configuration.class, BoundSql.class);
+        buildSql.setAccessible(true);
+
+        Executor executor = (Executor) Proxy.newProxyInstance(Executor.class.getClassLoader(), new Class<?>[]{Executor.class},
+                (proxy, method, args) -> Collections.emptyList());
+        Method query = Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+        invocation = new Invocation(executor, query,
+                new Object[]{mappedStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER});
+    }
+
+    @Benchmark
+    public Object buildSql() throws Exception {
+        return buildSql.invoke(interceptor, configuration, mappedStatement.getBoundSql(parameter));
+    }
+
+    @Benchmark
+    public Object intercept() throws Throwable {
+        return interceptor.intercept(invocation);
+    }
+}
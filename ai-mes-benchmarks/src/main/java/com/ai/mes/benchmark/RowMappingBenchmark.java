@@ -0,0 +1,154 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.config.mybatis.RowReaderConfiguration;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 결과 행 매핑 비용 벤치마크: resultMap 기본 매핑과 행 리더(RowReaderConfiguration) 비교.
+ * <p>
+ * 백엔드 jar의 M14 매퍼 XML을 그대로 읽어 {@code selectAll} 문장의 결과를 매핑하며,
+ * JDBC 결과 집합은 메모리 대역({@link InMemoryResultSet})이라 드라이버 디코딩 비용은 제외됩니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    @Param({"lot", "equipment", "returns"})
+    public String model;
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private MappedStatement resultMapStatement;
+    private MappedStatement rowReaderStatement;
+    private BoundSql boundSql;
+    private InMemoryResultSet table;
+
+    @Setup
+    public void setup() throws Exception {
+        resultMapStatement = selectAll(new Configuration());
+        rowReaderStatement = selectAll(new RowReaderConfiguration());
+        boundSql = resultMapStatement.getBoundSql(null);
+        table = switch (model) {
+            case "lot" -> lots(rows);
+            case "equipment" -> equipment(rows);
+            default -> returns(rows);
+        };
+    }
+
+    @Benchmark
+    public List<Object> resultMap() throws Exception {
+        return handler(resultMapStatement).handleResultSets(table.statement());
+    }
+
+    @Benchmark
+    public List<Object> rowReader() throws Exception {
+        return handler(rowReaderStatement).handleResultSets(table.statement());
+    }
+
+    private ResultSetHandler handler(MappedStatement mappedStatement) {
+        return mappedStatement.getConfiguration().newResultSetHandler(null, mappedStatement, RowBounds.DEFAULT, null, null, boundSql);
+    }
+
+    /** 백엔드 jar의 M14 매퍼 XML을 읽어 selectAll 문장을 반환 */
+    private MappedStatement selectAll(Configuration configuration) throws Exception {
+        Properties variables = new Properties();
+        variables.setProperty("mapperCache.enabled", "false");
+        variables.setProperty("mapperCache.maxEntries", "1");
+        variables.setProperty("mapperCache.maxRows", "1");
+        variables.setProperty("mapperCache.ttl", "0");
+        variables.setProperty("mapperCache.compact", "false");
+        configuration.setVariables(variables);
+        String mapper = switch (model) {
+            case "lot" -> "LotDataMapper";
+            case "equipment" -> "EquipmentDataMapper";
+            default -> "ReturnHistoryMapper";
+        };
+        String resource = "mapper/m14/" + mapper + ".xml";
+        try (InputStream xml = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(xml, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        return configuration.getMappedStatement("com.ai.mes.mapper.m14." + mapper + ".selectAll");
+    }
+
+    private static InMemoryResultSet lots(int rows) {
+        String[] labels = {"id", "lot_number", "product", "fab", "status", "start_time", "end_time", "step", "equipment",
+                "progress", "estimated_completion", "duration", "result", "created_at", "updated_at"};
+        Class<?>[] types = {String.class, String.class, String.class, String.class, String.class, LocalDateTime.class,
+                LocalDateTime.class, String.class, String.class, Integer.class, LocalDateTime.class, String.class,
+                String.class, LocalDateTime.class, LocalDateTime.class};
+        List<Object[]> data = new ArrayList<>(rows);
+        BenchmarkData.lots("M14", rows, new Random(42)).forEach(lot -> data.add(new Object[]{
+                lot.getId(), lot.getLotNumber(), lot.getProduct(), lot.getFab(), lot.getStatus(), lot.getStartTime(),
+                lot.getEndTime(), lot.getStep(), lot.getEquipment(), lot.getProgress(), lot.getEstimatedCompletion(),
+                lot.getDuration(), lot.getResult(), lot.getCreatedAt(), lot.getUpdatedAt()}));
+        return new InMemoryResultSet(labels, types, data);
+    }
+
+    private static InMemoryResultSet equipment(int rows) {
+        String[] labels = {"id", "equipment_id", "equipment_name", "fab", "status", "current_operation", "current_lot",
+                "utilization", "last_maintenance", "next_maintenance", "temperature", "pressure", "uptime", "alerts",
+                "operation", "start_time", "end_time", "duration", "lot_number", "result", "created_at", "updated_at"};
+        Class<?>[] types = {String.class, String.class, String.class, String.class, String.class, String.class,
+                String.class, Integer.class, LocalDateTime.class, LocalDateTime.class, Double.class, Double.class,
+                String.class, Integer.class, String.class, LocalDateTime.class, LocalDateTime.class, String.class,
+                String.class, String.class, LocalDateTime.class, LocalDateTime.class};
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 0);
+        List<Object[]> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime start = now.minusMinutes(random.nextInt(100_000));
+            String step = BenchmarkData.STEPS[random.nextInt(BenchmarkData.STEPS.length)];
+            String lot = String.format("M14-LOT%06d", random.nextInt(rows));
+            data.add(new Object[]{String.valueOf(i), String.format("EQ-%03d", i), step + " Tool " + i, "M14",
+                    BenchmarkData.STATUSES[random.nextInt(BenchmarkData.STATUSES.length)], step, lot,
+                    random.nextInt(101), start.minusDays(7), start.plusDays(7), 20 + random.nextDouble() * 60,
+                    0.5 + random.nextDouble() * 2, random.nextInt(1000) + "h", random.nextInt(5), step, start,
+                    i % 3 == 0 ? null : start.plusHours(2), random.nextInt(180) + "분", lot, i % 10 == 0 ? "NG" : "OK",
+                    start, start});
+        }
+        return new InMemoryResultSet(labels, types, data);
+    }
+
+    private static InMemoryResultSet returns(int rows) {
+        String[] labels = {"id", "return_id", "lot_number", "product", "fab", "return_reason", "return_step",
+                "return_date", "return_by", "target_step", "status", "severity", "resolved_date", "comments",
+                "created_at", "updated_at"};
+        Class<?>[] types = {String.class, String.class, String.class, String.class, String.class, String.class,
+                String.class, LocalDateTime.class, String.class, String.class, String.class, String.class,
+                LocalDateTime.class, String.class, LocalDateTime.class, LocalDateTime.class};
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 0);
+        List<Object[]> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime date = now.minusMinutes(random.nextInt(100_000));
+            boolean resolved = i % 3 == 0;
+            data.add(new Object[]{String.valueOf(i), String.format("RT-M14-%06d", i),
+                    String.format("M14-LOT%06d", random.nextInt(rows)), "Product " + (char) ('A' + i % 5), "M14",
+                    "공정 이상 재작업 " + random.nextInt(20), BenchmarkData.STEPS[random.nextInt(BenchmarkData.STEPS.length)],
+                    date, "user" + random.nextInt(200), BenchmarkData.STEPS[random.nextInt(BenchmarkData.STEPS.length)],
+                    resolved ? "resolved" : "pending", i % 4 == 0 ? "high" : "low", resolved ? date.plusHours(12) : null,
+                    i % 2 == 0 ? "재검사 후 진행" : null, date, date});
+        }
+        return new InMemoryResultSet(labels, types, data);
+    }
+}
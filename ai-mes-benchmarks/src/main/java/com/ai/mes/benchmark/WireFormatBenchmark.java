@@ -0,0 +1,156 @@
+package com.ai.mes.benchmark;
+
+import com.ai.mes.dto.AIAnalysisRequest;
+import com.ai.mes.dto.AIContext;
+import com.ai.mes.dto.AIContext.EquipmentAnomaly;
+import com.ai.mes.dto.AIContext.ReturnSummary;
+import com.ai.mes.model.StepDelay;
+import com.ai.mes.service.AIWireCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * AI 서비스 요청 본문 인코딩 형식 벤치마크.
+ * <p>
+ * 분석 요청에 실리는 팹 요약 컨텍스트({@link AIContext}, 서버 컨텍스트 기본값 top-n 10, 토큰 예산 2000을 팹 수로 나눔)를
+ * 형식(JSON, CBOR)과 gzip 사용 여부별로 인코딩·디코딩하는 시간을 비교하고, 형식별 전송 바이트 수는 Setup 단계에서 출력합니다.
+ * 디코딩은 AI 서비스가 받는 것과 같이 data를 일반 Map/List로 읽습니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final String[] LOT_STATUSES = {"in_progress", "completed", "waiting", "hold"};
+    private static final String[] EQUIPMENT_STATUSES = {"running", "idle", "error", "maintenance"};
+    private static final String[] RETURN_STATUSES = {"pending", "in_progress", "resolved"};
+    private static final String[] SEVERITIES = {"low", "medium", "high"};
+    private static final String[] STEPS = {"Lithography", "Etching", "Deposition", "CMP", "Measurement", "Clean"};
+    private static final String[] FABS = {"M14", "M15", "M16"};
+    // AIContextBuilder 기본값과 같은 컨텍스트 크기
+    private static final int TOP_N = 10;
+    private static final int TOKEN_BUDGET = 2000;
+    private static final int BYTES_PER_TOKEN = 3;
+
+    @Param({"json", "json+gzip", "cbor", "cbor+gzip"})
+    public String format;
+
+    // 요청 대상 팹 수 (1: 팹 지정, 3: 전체 팹)
+    @Param({"1", "3"})
+    public int fabs;
+
+    private AIWireCodec codec;
+    private ObjectMapper reader;
+    private boolean gzip;
+    private AIAnalysisRequest request;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        String base = format.replace("+gzip", "");
+        gzip = format.endsWith("+gzip");
+        // 애플리케이션과 같은 Jackson 설정 (snake_case, java.time 모듈 자동 등록)
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        codec = new AIWireCodec(builder, base, gzip, 0);
+        reader = "cbor".equals(base) ? codec.getCborMapper() : codec.getJsonMapper();
+
+        Random random = new Random(42);
+        List<AIContext> contexts = new ArrayList<>(fabs);
+        for (int i = 0; i < fabs; i++) {
+            contexts.add(fitToBudget(context(FABS[i], random), TOKEN_BUDGET / fabs));
+        }
+        request = new AIAnalysisRequest("팹 현황 분석", contexts, "status", fabs == 1 ? FABS[0] : null);
+        encoded = codec.encode(request).getBytes();
+        System.out.printf("%n[wire] fabs=%d format=%s bytes=%d%n", fabs, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(request).getBytes();
+    }
+
+    @Benchmark
+    public AIAnalysisRequest decode() throws IOException {
+        InputStream in = new ByteArrayInputStream(encoded);
+        if (gzip) {
+            in = new GZIPInputStream(in);
+        }
+        return reader.readValue(in, AIAnalysisRequest.class);
+    }
+
+    private static AIContext context(String fab, Random random) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 0);
+        AIContext context = new AIContext();
+        context.setFab(fab);
+        context.setLotStatus(counts(LOT_STATUSES, random));
+        context.setEquipmentStatus(counts(EQUIPMENT_STATUSES, random));
+        context.setReturnStatus(counts(RETURN_STATUSES, random));
+        List<EquipmentAnomaly> anomalies = new ArrayList<>();
+        for (int i = 0; i < TOP_N; i++) {
+            anomalies.add(new EquipmentAnomaly(String.format("EQ-%03d", random.nextInt(200)),
+                    i % 3 == 0 ? "maintenance" : "error", STEPS[random.nextInt(STEPS.length)], random.nextInt(101),
+                    TOP_N - i + random.nextInt(3), 20 + random.nextDouble() * 60, 0.5 + random.nextDouble() * 2));
+        }
+        context.setEquipmentAnomalies(anomalies);
+        List<StepDelay> delays = new ArrayList<>();
+        for (String step : STEPS) {
+            double avg = 30 + random.nextDouble() * 300;
+            delays.add(new StepDelay(step, (long) random.nextInt(50) + 1, avg, avg * (1 + random.nextDouble())));
+        }
+        context.setStepDelays(delays);
+        List<ReturnSummary> returns = new ArrayList<>();
+        for (int i = 0; i < TOP_N; i++) {
+            returns.add(new ReturnSummary(String.format("RET%06d", random.nextInt(100_000)),
+                    String.format("LOT%06d", random.nextInt(100_000)), "공정 불량 재작업 필요",
+                    STEPS[random.nextInt(STEPS.length)], SEVERITIES[random.nextInt(SEVERITIES.length)],
+                    RETURN_STATUSES[random.nextInt(RETURN_STATUSES.length)], now.minusMinutes(i * 37L)));
+        }
+        context.setRecentReturns(returns);
+        return context;
+    }
+
+    private static Map<String, Long> counts(String[] statuses, Random random) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String status : statuses) {
+            counts.put(status, (long) random.nextInt(5_000));
+        }
+        return counts;
+    }
+
+    /** AIContextBuilder와 같은 규칙으로 추정 토큰 수가 예산 이하가 될 때까지 가장 긴 목록의 마지막 항목을 제거 */
+    private AIContext fitToBudget(AIContext context, int budget) throws IOException {
+        while ((codec.getJsonMapper().writeValueAsBytes(context).length + BYTES_PER_TOKEN - 1) / BYTES_PER_TOKEN > budget) {
+            List<?> longest = context.getEquipmentAnomalies();
+            for (List<?> list : List.of(context.getStepDelays(), context.getRecentReturns())) {
+                if (list.size() > longest.size()) {
+                    longest = list;
+                }
+            }
+            if (longest.isEmpty()) {
+                break;
+            }
+            longest.remove(longest.size() - 1);
+            context.setTruncated(true);
+        }
+        return context;
+    }
+}
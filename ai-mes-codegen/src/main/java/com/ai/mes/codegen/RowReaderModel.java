@@ -0,0 +1,21 @@
+package com.ai.mes.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 행 리더를 생성할 결과 모델 표시.
+ * <p>
+ * {@link RowReaderProcessor}가 컴파일 시 {@code <패키지>.<모델>RowReader}를 생성합니다.
+ * 열 이름은 필드 이름의 snake_case이고(예: {@code lotNumber} → {@code lot_number}), 열 순서는 필드 선언 순서입니다.
+ * 필드 타입은 String, Integer, Double, LocalDateTime만 지원합니다.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface RowReaderModel {
+
+    /** 생성할 행 리더의 패키지 */
+    String value();
+}
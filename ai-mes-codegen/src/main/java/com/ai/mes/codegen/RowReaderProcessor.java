@@ -0,0 +1,158 @@
+package com.ai.mes.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link RowReaderModel} 모델의 행 리더 소스를 생성하는 애너테이션 프로세서.
+ * <p>
+ * 생성된 리더는 백엔드의 {@code com.ai.mes.mapper.row.RowReader}를 상속하며, 필드 선언 순서대로 열 위치를 받아
+ * 해당 getter 헬퍼({@code getString} 등)로 읽고 setter를 직접 호출합니다. 지원하지 않는 필드 타입은 컴파일 오류입니다.
+ */
+@SupportedAnnotationTypes("com.ai.mes.codegen.RowReaderModel")
+public class RowReaderProcessor extends AbstractProcessor {
+
+    private static final String ROW_READER = "com.ai.mes.mapper.row.RowReader";
+
+    // 필드 타입 -> RowReader 읽기 메서드
+    private static final Map<String, String> GETTERS = Map.of(
+            "java.lang.String", "getString",
+            "java.lang.Integer", "getInteger",
+            "java.lang.Double", "getDouble",
+            "java.time.LocalDateTime", "getLocalDateTime");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(RowReaderModel.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@RowReaderModel은 클래스에만 사용할 수 있습니다");
+                continue;
+            }
+            TypeElement model = (TypeElement) element;
+            List<VariableElement> fields = fields(model);
+            if (fields == null) {
+                continue;
+            }
+            try {
+                write(model, element.getAnnotation(RowReaderModel.class).value(), fields);
+            } catch (IOException e) {
+                error(element, "행 리더를 생성할 수 없습니다: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /** 읽을 필드 (static/transient 제외). 지원하지 않는 타입이 있으면 오류를 보고하고 null */
+    private List<VariableElement> fields(TypeElement model) {
+        List<VariableElement> fields = new ArrayList<>();
+        boolean valid = true;
+        for (Element member : model.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD
+                    || member.getModifiers().contains(Modifier.STATIC)
+                    || member.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            if (!GETTERS.containsKey(member.asType().toString())) {
+                error(member, "행 리더가 지원하지 않는 필드 타입입니다: " + member.asType());
+                valid = false;
+                continue;
+            }
+            fields.add((VariableElement) member);
+        }
+        return valid ? fields : null;
+    }
+
+    private void write(TypeElement model, String packageName, List<VariableElement> fields) throws IOException {
+        String modelName = model.getSimpleName().toString();
+        String modelType = model.getQualifiedName().toString();
+        String readerName = modelName + "RowReader";
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName + "." + readerName, model);
+        try (Writer out = file.openWriter()) {
+            out.write("package " + packageName + ";\n\n");
+            out.write("import " + modelType + ";\n\n");
+            out.write("import java.sql.ResultSet;\n");
+            out.write("import java.sql.SQLException;\n");
+            out.write("import java.util.Map;\n\n");
+            out.write("/**\n * {@link " + modelName + "} 행 리더 ({@code @" + RowReaderModel.class.getSimpleName()
+                    + "}로 컴파일 시 생성, 수정하지 말 것).\n */\n");
+            out.write("@javax.annotation.processing.Generated(\"" + RowReaderProcessor.class.getName() + "\")\n");
+            out.write("public class " + readerName + " extends " + ROW_READER + "<" + modelName + "> {\n\n");
+
+            out.write("    private static final String[] COLUMNS = {");
+            for (int i = 0; i < fields.size(); i++) {
+                out.write((i == 0 ? "" : ", ") + "\"" + column(fields.get(i)) + "\"");
+            }
+            out.write("};\n\n");
+
+            out.write("    public " + readerName + "() {\n");
+            out.write("        super(" + modelName + ".class, Map.ofEntries(\n");
+            for (int i = 0; i < fields.size(); i++) {
+                VariableElement field = fields.get(i);
+                out.write("                Map.entry(\"" + column(field) + "\", \"" + field.getSimpleName() + "\")"
+                        + (i == fields.size() - 1 ? "));\n" : ",\n"));
+            }
+            out.write("    }\n\n");
+
+            out.write("    @Override\n");
+            out.write("    protected String[] columnOrder() {\n");
+            out.write("        return COLUMNS;\n");
+            out.write("    }\n\n");
+
+            out.write("    @Override\n");
+            out.write("    protected " + modelName + " read(ResultSet rs, int[] index) throws SQLException {\n");
+            out.write("        " + modelName + " row = new " + modelName + "();\n");
+            for (int i = 0; i < fields.size(); i++) {
+                VariableElement field = fields.get(i);
+                out.write("        row." + setter(field) + "(" + GETTERS.get(field.asType().toString())
+                        + "(rs, index[" + i + "]));\n");
+            }
+            out.write("        return row;\n");
+            out.write("    }\n");
+            out.write("}\n");
+        }
+    }
+
+    /** 필드 이름의 snake_case (lotNumber -> lot_number) */
+    private static String column(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        StringBuilder column = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                column.append('_').append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return column.toString();
+    }
+
+    private static String setter(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        return "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ai.mes.loadtest;
+
+import com.ai.mes.loadtest.LoadDriver.Endpoint;
+import com.ai.mes.model.LotData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * AI 분석 경로 부하 시나리오.
+ * <p>
+ * ai-service 대역 서버({@link AIServiceStub})와 백엔드를 같은 JVM에서 기동하고, {@code /ai/analyze/*} 요청을 섞어 보내면서
+ * 엔드포인트별 처리량·응답 시간, 목 응답 대체 비율, Tomcat 스레드·AI 연결 풀·격벽 사용량을 보고합니다.
+ * 서버 측 컨텍스트(DB 조회)와 응답 캐시는 기본적으로 끄고 AI 호출 경로만 측정합니다.
+ */
+public class AIPathScenario {
+
+    private static final String[] TYPES = {"lot", "equipment", "return", "status"};
+    private static final String[] FABS = {"M14", "M15", "M16"};
+
+    public static void run(LoadTestOptions options) throws Exception {
+        int concurrency = options.getInt("concurrency", 200);
+        Duration warmup = Duration.ofSeconds(options.getLong("warmup", 10));
+        Duration duration = Duration.ofSeconds(options.getLong("duration", 60));
+        long thinkTime = options.getLong("think-time", 0);
+        int rows = options.getInt("rows", 50);
+        Map<String, Integer> mix = parseMix(options.getString("mix", "lot:30,equipment:30,return:20,status:10,stream:10"));
+        Duration requestTimeout = Duration.ofMillis(options.getLong("request-timeout", 60000));
+
+        try (AIServiceStub stub = new AIServiceStub(options).start()) {
+            Map<String, Object> properties = BackendLauncher.withoutDatabases();
+            properties.put("ai-service.base-url", stub.baseUrl());
+            properties.put("ai-service.context.enabled", false);
+            properties.put("ai-service.cache.ttl", 0);
+            try (BackendLauncher backend = BackendLauncher.start(properties, options)) {
+                String token = backend.issueToken("loadtest", "ADMIN");
+                List<byte[]> bodies = requestBodies(rows);
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+
+                List<Endpoint> endpoints = new ArrayList<>();
+                mix.forEach((name, weight) -> {
+                    boolean streaming = "stream".equals(name);
+                    String label = streaming ? "POST /ai/analyze/{type}/stream" : "POST /ai/analyze/" + name;
+                    endpoints.add(new Endpoint(label, weight, streaming, () -> {
+                        String path = streaming
+                                ? "/ai/analyze/" + TYPES[ThreadLocalRandom.current().nextInt(TYPES.length)] + "/stream"
+                                : "/ai/analyze/" + name;
+                        return HttpRequest.newBuilder(URI.create(backend.baseUrl() + path))
+                                .timeout(requestTimeout)
+                                .header("Authorization", "Bearer " + token)
+                                .header("Content-Type", "application/json")
+                                .header("Accept", streaming ? "text/event-stream" : "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                                        bodies.get(ThreadLocalRandom.current().nextInt(bodies.size()))))
+                                .build();
+                    }));
+                });
+
+                MeterRegistry registry = backend.context().getBean(MeterRegistry.class);
+                double[] fallbacksAtStart = new double[1];
+                try (ResourceSampler sampler = resourceSampler(registry).start(options.getLong("sample-interval", 250))) {
+                    LoadDriver driver = new LoadDriver(client, endpoints, concurrency, thinkTime);
+                    System.out.printf("AI path load test: %d users, warmup %ds, duration %ds, stub %s%n",
+                            concurrency, warmup.getSeconds(), duration.getSeconds(), stub.describe());
+                    Duration elapsed = driver.run(warmup, duration, () -> {
+                        sampler.reset();
+                        stub.resetStats();
+                        fallbacksAtStart[0] = fallbacks(registry);
+                    });
+
+                    Map<String, Object> settings = new LinkedHashMap<>();
+                    settings.put("concurrency", concurrency);
+                    settings.put("think_time_ms", thinkTime);
+                    settings.put("rows_per_request", rows);
+                    settings.put("mix", mix);
+                    settings.put("stub", stub.describe());
+                    settings.put("ai_service_timeout_ms", backend.context().getEnvironment().getProperty("ai-service.timeout"));
+                    settings.put("tomcat_max_threads",
+                            backend.context().getEnvironment().getProperty("server.tomcat.threads.max", "200"));
+
+                    long completed = 0;
+                    for (Endpoint endpoint : endpoints) {
+                        completed += endpoint.getStats().getOk();
+                    }
+                    double fallbackCount = fallbacks(registry) - fallbacksAtStart[0];
+                    Map<String, Object> fallback = new LinkedHashMap<>();
+                    fallback.put("fallback_responses", (long) fallbackCount);
+                    fallback.put("fallback_rate", completed > 0 ? String.format("%.1f%%", fallbackCount * 100 / completed) : "n/a");
+
+                    LoadReport report = new LoadReport("ai", settings, endpoints, elapsed)
+                            .section("fallback", fallback)
+                            .section("stub", stub.stats())
+                            .section("resources", sampler.summary());
+                    report.print(System.out);
+                    Path output = Path.of(options.getString("report", "target/ai-loadtest.json"));
+                    report.write(output);
+                    System.out.println("Report written to " + output.toAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static ResourceSampler resourceSampler(MeterRegistry registry) {
+        return new ResourceSampler(registry)
+                .gauge("tomcat.threads.busy", "tomcat.threads.busy")
+                .gauge("tomcat.threads.current", "tomcat.threads.current")
+                .gauge("jvm.threads.live", "jvm.threads.live")
+                .gauge("ai.pool.active", "reactor.netty.connection.provider.active.connections", "name", "ai-service")
+                .gauge("ai.pool.idle", "reactor.netty.connection.provider.idle.connections", "name", "ai-service")
+                .gauge("ai.pool.pending", "reactor.netty.connection.provider.pending.connections", "name", "ai-service")
+                .gauge("ai.bulkhead.active", "ai.bulkhead.active")
+                .gauge("ai.bulkhead.queued", "ai.bulkhead.queued");
+    }
+
+    private static double fallbacks(MeterRegistry registry) {
+        double total = 0;
+        for (Counter counter : registry.find("ai.service.fallback").counters()) {
+            total += counter.count();
+        }
+        return total;
+    }
+
+    /** 화면이 보내는 것과 같은 형태의 요청 본문 (팹별 LOT 목록) */
+    private static List<byte[]> requestBodies(int rows) throws Exception {
+        ObjectMapper mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Random random = new Random(42);
+        List<byte[]> bodies = new ArrayList<>();
+        for (String fab : FABS) {
+            List<LotData> lots = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            for (int i = 0; i < rows; i++) {
+                LocalDateTime start = now.minusMinutes(random.nextInt(10_000));
+                lots.add(new LotData(String.valueOf(i), String.format("LOT%06d", i), "Product " + (char) ('A' + i % 5),
+                        fab, i % 4 == 0 ? "hold" : "running", start, null, "Etching",
+                        String.format("EQ-%03d", random.nextInt(200)), random.nextInt(101), start.plusHours(6),
+                        null, null, start, start));
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("context", fab + " 현황 분석");
+            body.put("data", lots);
+            body.put("type", "analysis");
+            body.put("fab", fab);
+            bodies.add(mapper.writeValueAsBytes(body));
+        }
+        return bodies;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            String name = parts[0];
+            if (!"stream".equals(name) && !List.of(TYPES).contains(name)) {
+                throw new IllegalArgumentException("Unknown AI endpoint in mix: " + name);
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                weights.put(name, weight);
+            }
+        }
+        return weights;
+    }
+}
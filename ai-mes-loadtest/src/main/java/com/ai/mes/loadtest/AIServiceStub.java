@@ -0,0 +1,220 @@
+package com.ai.mes.loadtest;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Python ai-service를 대신하는 JVM 내 HTTP 서버.
+ * <p>
+ * {@code POST /api/analyze/{type}}와 {@code POST /api/analyze/{type}/stream}에 응답하며,
+ * 응답 지연 분포, 오류(500) 비율, 응답 없음(클라이언트 타임아웃 유도) 비율, 스트리밍 청크 수와 간격,
+ * 스트림 중단 비율을 설정할 수 있습니다. 실제 LLM 없이 백엔드 AI 경로의 타임아웃, 목 응답 대체,
+ * 스레드·연결 풀 포화를 재현하는 용도입니다.
+ */
+public class AIServiceStub implements AutoCloseable {
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double hangRate;
+    private final boolean streamEnabled;
+    private final int streamChunks;
+    private final Duration chunkDelay;
+    private final double streamAbortRate;
+    private final Map<String, byte[]> bodies = new LinkedHashMap<>();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder hangs = new LongAdder();
+    private final LongAdder streams = new LongAdder();
+    private final LongAdder streamAborts = new LongAdder();
+
+    private DisposableServer server;
+
+    /**
+     * 옵션: {@code --stub-latency=lognormal|bimodal|fixed}, {@code --stub-latency-median}(ms),
+     * {@code --stub-latency-p99}(ms), {@code --stub-error-rate}, {@code --stub-hang-rate},
+     * {@code --stub-stream=true|false}, {@code --stub-stream-chunks}, {@code --stub-chunk-delay}(ms),
+     * {@code --stub-stream-abort-rate}
+     */
+    public AIServiceStub(LoadTestOptions options) {
+        this.latency = LatencyDistribution.of(options.getString("stub-latency", "lognormal"),
+                options.getLong("stub-latency-median", 800), options.getLong("stub-latency-p99", 5000));
+        this.errorRate = options.getDouble("stub-error-rate", 0.02);
+        this.hangRate = options.getDouble("stub-hang-rate", 0.0);
+        this.streamEnabled = options.getBoolean("stub-stream", true);
+        this.streamChunks = options.getInt("stub-stream-chunks", 20);
+        this.chunkDelay = Duration.ofMillis(options.getLong("stub-chunk-delay", 50));
+        this.streamAbortRate = options.getDouble("stub-stream-abort-rate", 0.0);
+        for (String type : new String[]{"lot", "equipment", "return", "status"}) {
+            bodies.put(type, responseJson(type).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public AIServiceStub start() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .post("/api/analyze/{type}/stream", this::stream)
+                        .post("/api/analyze/{type}", this::analyze))
+                .bindNow();
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public String describe() {
+        return String.format("latency=%s errorRate=%.3f hangRate=%.3f stream=%s chunks=%d chunkDelay=%dms abortRate=%.3f",
+                latency, errorRate, hangRate, streamEnabled, streamChunks, chunkDelay.toMillis(), streamAbortRate);
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("received", received.sum());
+        stats.put("injected_errors", injectedErrors.sum());
+        stats.put("hangs", hangs.sum());
+        stats.put("streams", streams.sum());
+        stats.put("stream_aborts", streamAborts.sum());
+        return stats;
+    }
+
+    public void resetStats() {
+        received.reset();
+        injectedErrors.reset();
+        hangs.reset();
+        streams.reset();
+        streamAborts.reset();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private Publisher<Void> analyze(HttpServerRequest request, HttpServerResponse response) {
+        byte[] body = bodies.get(request.param("type"));
+        if (body == null) {
+            return response.status(404).send();
+        }
+        received.increment();
+        // 요청 본문을 모두 읽은 뒤 응답 (백엔드 인코딩 비용이 그대로 전송되도록)
+        return request.receive().then(Mono.defer(() -> {
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < hangRate) {
+                hangs.increment();
+                return Mono.never();
+            }
+            Mono<Void> delay = Mono.delay(latency.sample()).then();
+            if (roll < hangRate + errorRate) {
+                injectedErrors.increment();
+                return delay.then(response.status(500)
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just("{\"detail\":\"injected error\"}"))
+                        .then());
+            }
+            return delay.then(response
+                    .header("Content-Type", "application/json")
+                    .sendByteArray(Mono.just(body))
+                    .then());
+        }));
+    }
+
+    private Publisher<Void> stream(HttpServerRequest request, HttpServerResponse response) {
+        String type = request.param("type");
+        if (!streamEnabled || !bodies.containsKey(type)) {
+            // 스트리밍 미지원 ai-service와 동일하게 404 (백엔드는 일반 분석으로 대체)
+            return response.status(404).send();
+        }
+        received.increment();
+        streams.increment();
+        return request.receive().then(Mono.defer(() -> {
+            Flux<String> events = Flux.range(0, streamChunks)
+                    .delayElements(chunkDelay)
+                    .map(i -> "event: chunk\ndata: " + type + " 분석 진행 " + (i + 1) + "/" + streamChunks + "\n\n");
+            if (ThreadLocalRandom.current().nextDouble() < streamAbortRate) {
+                streamAborts.increment();
+                events = events.take(streamChunks / 2)
+                        .concatWith(Flux.error(new IllegalStateException("injected stream abort")));
+            } else {
+                String result = new String(bodies.get(type), StandardCharsets.UTF_8);
+                events = events.concatWith(Mono.just("event: result\ndata: " + result + "\n\n"));
+            }
+            // 첫 청크까지의 지연은 일반 분석과 같은 분포 사용
+            return response
+                    .header("Content-Type", "text/event-stream")
+                    .sendString(Mono.delay(latency.sample()).thenMany(events))
+                    .then();
+        }));
+    }
+
+    private static String responseJson(String type) {
+        return "{\"analysis\":\"" + type + " 데이터 분석 결과: 주요 지표는 정상 범위이며 일부 항목에 주의가 필요합니다.\","
+                + "\"recommendations\":[\"지연 LOT 우선 처리\",\"오류 설비 점검 일정 확인\",\"반송 사유 재발 방지 조치\"],"
+                + "\"alerts\":[\"" + type + " 이상 징후 1건\"],"
+                + "\"timestamp\":\"" + LocalDateTime.now().withNano(0) + "\"}";
+    }
+
+    /** 응답 지연 분포 */
+    static final class LatencyDistribution {
+        // 표준정규분포 99 백분위수
+        private static final double Z99 = 2.3263;
+
+        private final String kind;
+        private final long medianMillis;
+        private final long p99Millis;
+        private final double sigma;
+
+        private LatencyDistribution(String kind, long medianMillis, long p99Millis) {
+            this.kind = kind;
+            this.medianMillis = medianMillis;
+            this.p99Millis = Math.max(p99Millis, medianMillis);
+            this.sigma = medianMillis > 0 ? Math.log((double) this.p99Millis / medianMillis) / Z99 : 0;
+        }
+
+        static LatencyDistribution of(String kind, long medianMillis, long p99Millis) {
+            switch (kind) {
+                case "lognormal":
+                case "bimodal":
+                case "fixed":
+                    return new LatencyDistribution(kind, medianMillis, p99Millis);
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + kind);
+            }
+        }
+
+        Duration sample() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            switch (kind) {
+                case "fixed":
+                    return Duration.ofMillis(medianMillis);
+                case "bimodal":
+                    // 대부분 중앙값, 2%는 p99 (LLM 캐시 적중/미적중과 유사)
+                    return Duration.ofMillis(random.nextDouble() < 0.02 ? p99Millis : medianMillis);
+                default:
+                    return Duration.ofMillis(Math.round(medianMillis * Math.exp(sigma * random.nextGaussian())));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return kind + "(median=" + medianMillis + "ms, p99=" + p99Millis + "ms)";
+        }
+    }
+}
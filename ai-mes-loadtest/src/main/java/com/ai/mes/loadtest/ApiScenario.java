@@ -0,0 +1,243 @@
+package com.ai.mes.loadtest;
+
+import com.ai.mes.event.FabDataChangedEvent;
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
+import com.ai.mes.loadtest.LoadDriver.Endpoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 조회·로그인 API 부하 시나리오.
+ * <p>
+ * PostgreSQL({@link PostgresFixture}, 기본 내장 서버)에 M14/M15/M16/Next DB를 만들고 백엔드를 기동해 스키마를 적용한 뒤,
+ * 고정 시드 데이터({@link FabDataSeeder})를 적재하고 LOT 이력·검색, 설비 현황, 반송 이력, 로그인 요청을 섞어 보냅니다.
+ * 엔드포인트별 처리량·응답 시간과 Tomcat 스레드·DB 연결 풀 사용량, 매퍼 2차 캐시 적중률을 보고합니다.
+ */
+public class ApiScenario {
+
+    private static final String[] ENDPOINTS = {"history", "search", "equipment", "returns", "export", "login"};
+
+    public static void run(LoadTestOptions options) throws Exception {
+        int concurrency = options.getInt("concurrency", 100);
+        Duration warmup = Duration.ofSeconds(options.getLong("warmup", 10));
+        Duration duration = Duration.ofSeconds(options.getLong("duration", 60));
+        long thinkTime = options.getLong("think-time", 0);
+        Map<String, Integer> mix = parseMix(options.getString("mix", "history:30,search:25,equipment:20,returns:15,login:10"));
+        // 팹을 지정하지 않은(전체 팹 병합) 조회 비율
+        double allFabsRatio = options.getDouble("all-fabs-ratio", 0.2);
+        Duration requestTimeout = Duration.ofMillis(options.getLong("request-timeout", 60000));
+        int lots = options.getInt("lots", 20000);
+        int equipment = options.getInt("equipment", 300);
+        int returns = options.getInt("returns", 5000);
+        int users = options.getInt("users", 200);
+
+        try (PostgresFixture postgres = PostgresFixture.start(options)) {
+            try (BackendLauncher backend = BackendLauncher.start(postgres.backendProperties(), options)) {
+                FabDataSeeder seeder = new FabDataSeeder(postgres, lots, equipment, returns, users);
+                long seedStart = System.nanoTime();
+                seeder.seed();
+                System.out.printf("Seeded %s in %.1fs%n", seeder.describe(), (System.nanoTime() - seedStart) / 1e9);
+                // 기동 시 빈 테이블로 계산된 파생 캐시(ETag 워터마크, AI 컨텍스트, 매퍼 2차 캐시) 무효화
+                for (Dataset dataset : Dataset.values()) {
+                    backend.context().publishEvent(new FabDataChangedEvent(dataset, null));
+                }
+
+                String token = backend.issueToken("loadtest", "ADMIN");
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                Function<String, HttpRequest> get = path -> HttpRequest.newBuilder(URI.create(backend.baseUrl() + path))
+                        .timeout(requestTimeout)
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/json")
+                        .GET()
+                        .build();
+
+                List<Endpoint> endpoints = new ArrayList<>();
+                mix.forEach((name, weight) -> endpoints.add(switch (name) {
+                    case "history" -> new Endpoint("GET /lots/history", weight, false,
+                            () -> get.apply("/lots/history" + fabQuery(allFabsRatio, "?")));
+                    case "search" -> new Endpoint("GET /lots/search", weight, false,
+                            () -> get.apply(lotSearchPath(lots)));
+                    case "equipment" -> new Endpoint("GET /equipment/status", weight, false,
+                            () -> get.apply("/equipment/status" + fabQuery(allFabsRatio, "?")));
+                    case "returns" -> new Endpoint("GET /returns/history", weight, false,
+                            () -> get.apply(returnHistoryPath(allFabsRatio, returns)));
+                    // 기본 비율에는 포함하지 않음 (--mix=...,export:5)
+                    case "export" -> new Endpoint("GET /lots/export", weight, false,
+                            () -> HttpRequest.newBuilder(URI.create(backend.baseUrl() + "/lots/export" + fabQuery(allFabsRatio, "?")))
+                                    .timeout(requestTimeout)
+                                    .header("Authorization", "Bearer " + token)
+                                    .header("Accept-Encoding", "gzip")
+                                    .GET()
+                                    .build());
+                    default -> new Endpoint("POST /auth/login", weight, false, () -> {
+                        int user = ThreadLocalRandom.current().nextInt(users) + 1;
+                        String body = String.format("{\"username\":\"%s\",\"password\":\"%s\"}",
+                                FabDataSeeder.username(user), FabDataSeeder.password(user));
+                        return HttpRequest.newBuilder(URI.create(backend.baseUrl() + "/auth/login"))
+                                .timeout(requestTimeout)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+                    });
+                }));
+
+                MeterRegistry registry = backend.context().getBean(MeterRegistry.class);
+                try (ResourceSampler sampler = resourceSampler(registry).start(options.getLong("sample-interval", 250))) {
+                    LoadDriver driver = new LoadDriver(client, endpoints, concurrency, thinkTime);
+                    String database = postgres.describe();
+                    System.out.printf("API load test: %d users, warmup %ds, duration %ds, %s%n",
+                            concurrency, warmup.getSeconds(), duration.getSeconds(), database);
+                    Map<String, Double> cacheGetsAtStart = new HashMap<>();
+                    Duration elapsed = driver.run(warmup, duration, () -> {
+                        sampler.reset();
+                        cacheGetsAtStart.putAll(mapperCacheGets(registry));
+                    });
+
+                    Map<String, Object> settings = new LinkedHashMap<>();
+                    settings.put("concurrency", concurrency);
+                    settings.put("think_time_ms", thinkTime);
+                    settings.put("mix", mix);
+                    settings.put("all_fabs_ratio", allFabsRatio);
+                    settings.put("database", database);
+                    settings.put("dataset", seeder.describe());
+                    settings.put("tomcat_max_threads",
+                            backend.context().getEnvironment().getProperty("server.tomcat.threads.max", "200"));
+                    settings.put("db_pool_max_per_fab",
+                            backend.context().getEnvironment().getProperty("spring.datasource.m14.maximum-pool-size"));
+
+                    LoadReport report = new LoadReport("api", settings, endpoints, elapsed)
+                            .section("mapper_cache", mapperCacheSummary(registry, cacheGetsAtStart))
+                            .section("resources", sampler.summary());
+                    report.print(System.out);
+                    Path output = Path.of(options.getString("report", "target/api-loadtest.json"));
+                    report.write(output);
+                    System.out.println("Report written to " + output.toAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static ResourceSampler resourceSampler(MeterRegistry registry) {
+        return new ResourceSampler(registry)
+                .gauge("tomcat.threads.busy", "tomcat.threads.busy")
+                .gauge("tomcat.threads.current", "tomcat.threads.current")
+                .gauge("jvm.threads.live", "jvm.threads.live")
+                .gauge("db.pool.active", "hikaricp.connections.active")
+                .gauge("db.pool.idle", "hikaricp.connections.idle")
+                .gauge("db.pool.pending", "hikaricp.connections.pending")
+                .gauge("mapper_cache.rows", "mybatis.cache.rows");
+    }
+
+    /** "팹|hit", "팹|miss" -> 누적 조회 수 */
+    private static Map<String, Double> mapperCacheGets(MeterRegistry registry) {
+        Map<String, Double> gets = new HashMap<>();
+        for (FunctionCounter counter : registry.find("mybatis.cache.gets").functionCounters()) {
+            gets.put(counter.getId().getTag("fab") + "|" + counter.getId().getTag("result"), counter.count());
+        }
+        return gets;
+    }
+
+    /** 측정 구간의 팹별 매퍼 2차 캐시 적중률 */
+    private static Map<String, String> mapperCacheSummary(MeterRegistry registry, Map<String, Double> atStart) {
+        Map<String, Double> now = mapperCacheGets(registry);
+        Map<String, String> summary = new LinkedHashMap<>();
+        for (String fab : FabDataSeeder.FABS) {
+            double hits = now.getOrDefault(fab + "|hit", 0.0) - atStart.getOrDefault(fab + "|hit", 0.0);
+            double misses = now.getOrDefault(fab + "|miss", 0.0) - atStart.getOrDefault(fab + "|miss", 0.0);
+            if (hits + misses > 0) {
+                summary.put(fab, String.format("%.0f hits, %.0f misses (%.1f%%)", hits, misses, hits * 100 / (hits + misses)));
+            }
+        }
+        return summary;
+    }
+
+    /** 팹 하나 또는 (지정 비율로) 전체 팹 */
+    private static String fabQuery(double allFabsRatio, String separator) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < allFabsRatio) {
+            return "";
+        }
+        return separator + "fab=" + FabDataSeeder.FABS[random.nextInt(FabDataSeeder.FABS.length)];
+    }
+
+    /** 화면 검색과 같은 조합: 팹 1~3개, 상태 0~2개, LOT 번호 앞부분 또는 제품명 검색어(선택), 정렬 키(선택) */
+    private static String lotSearchPath(int lots) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder path = new StringBuilder("/lots/search?fab=");
+        int fabs = random.nextInt(FabDataSeeder.FABS.length) + 1;
+        int first = random.nextInt(FabDataSeeder.FABS.length);
+        for (int i = 0; i < fabs; i++) {
+            path.append(i > 0 ? "," : "").append(FabDataSeeder.FABS[(first + i) % FabDataSeeder.FABS.length]);
+        }
+        int statuses = random.nextInt(3);
+        if (statuses > 0) {
+            path.append("&status=").append(FabDataSeeder.LOT_STATUSES[random.nextInt(FabDataSeeder.LOT_STATUSES.length)]);
+            if (statuses > 1) {
+                path.append(",").append(FabDataSeeder.LOT_STATUSES[random.nextInt(FabDataSeeder.LOT_STATUSES.length)]);
+            }
+        }
+        switch (random.nextInt(3)) {
+            case 0 -> {
+                String lotNumber = FabDataSeeder.lotNumber(FabDataSeeder.FABS[first], random.nextInt(Math.max(1, lots)) + 1);
+                path.append("&keyword=").append(lotNumber, 0, lotNumber.length() - 2);
+            }
+            case 1 -> path.append("&keyword=").append(encode(
+                    FabDataSeeder.PRODUCTS[random.nextInt(FabDataSeeder.PRODUCTS.length)]));
+            default -> { }
+        }
+        if (random.nextBoolean()) {
+            path.append("&sort=").append(random.nextBoolean() ? "startTime" : "progress");
+        }
+        return path.toString();
+    }
+
+    private static String returnHistoryPath(double allFabsRatio, int returns) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = "/returns/history" + fabQuery(allFabsRatio, "?");
+        if (random.nextInt(4) == 0) {
+            // 반송 ID 앞부분 검색
+            String fab = FabDataSeeder.FABS[random.nextInt(FabDataSeeder.FABS.length)];
+            String keyword = String.format("RT-%s-%06d", fab, random.nextInt(Math.max(1, returns)) + 1);
+            path += (path.contains("?") ? "&" : "?") + "keyword=" + keyword.substring(0, keyword.length() - 2);
+        }
+        return path;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            String name = parts[0];
+            if (!List.of(ENDPOINTS).contains(name)) {
+                throw new IllegalArgumentException("Unknown API endpoint in mix: " + name);
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                weights.put(name, weight);
+            }
+        }
+        return weights;
+    }
+}
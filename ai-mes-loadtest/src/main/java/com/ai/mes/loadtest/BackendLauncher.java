@@ -0,0 +1,94 @@
+package com.ai.mes.loadtest;
+
+import com.ai.mes.AiMesBackendApplication;
+import com.ai.mes.security.JwtTokenProvider;
+import com.ai.mes.security.UserPrincipal;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트용으로 같은 JVM에서 백엔드 전체(내장 Tomcat 포함)를 기동합니다.
+ * <p>
+ * 임의 포트를 사용하고, 스레드 풀 사용량 측정을 위해 Tomcat MBean 메트릭을 켜며, 로그 수준을 낮춥니다.
+ * {@code --backend.<속성>=<값>} 옵션으로 백엔드 설정을 덮어쓸 수 있습니다.
+ */
+public class BackendLauncher implements AutoCloseable {
+
+    private static final String[] DATASOURCES = {"m14", "m15", "m16", "next"};
+
+    private final ConfigurableApplicationContext context;
+
+    private BackendLauncher(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static BackendLauncher start(Map<String, Object> properties, LoadTestOptions options) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        merged.put("server.port", 0);
+        merged.put("server.tomcat.mbeanregistry.enabled", true);
+        merged.put("logging.level.root", "WARN");
+        merged.put("logging.level.com.ai.mes", "WARN");
+        merged.put("logging.level.org.springframework.security", "WARN");
+        merged.put("logging.level.org.mybatis", "WARN");
+        // 실행 디렉터리에 텔레메트리 파일을 남기지 않도록 임시 디렉터리 사용
+        merged.put("telemetry.storage.path", Path.of(System.getProperty("java.io.tmpdir"), "ai-mes-loadtest", "telemetry").toString());
+        merged.put("analytics.snapshot.path", Path.of(System.getProperty("java.io.tmpdir"), "ai-mes-loadtest", "analytics").toString());
+        merged.put("db.mapper-cache.checkpoint.path", Path.of(System.getProperty("java.io.tmpdir"), "ai-mes-loadtest", "cache").toString());
+        merged.putAll(properties);
+        merged.putAll(options.withPrefix("backend."));
+
+        // 기본 속성(properties)은 application.yml보다 우선순위가 낮으므로 명령행 인자로 전달
+        List<String> args = new ArrayList<>();
+        merged.forEach((key, value) -> args.add("--" + key + "=" + value));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AiMesBackendApplication.class)
+                .run(args.toArray(new String[0]));
+        return new BackendLauncher(context);
+    }
+
+    /**
+     * DB 없이 기동하기 위한 속성. 연결은 필요할 때만 시도하고 즉시 실패합니다.
+     */
+    public static Map<String, Object> withoutDatabases() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (String name : DATASOURCES) {
+            String prefix = name.toUpperCase();
+            properties.put(prefix + "_DB_URL", "jdbc:postgresql://127.0.0.1:9/unavailable");
+            properties.put(prefix + "_DB_USERNAME", "loadtest");
+            properties.put(prefix + "_DB_PASSWORD", "loadtest");
+            properties.put("spring.datasource." + name + ".initialization-fail-timeout", -1);
+            properties.put("spring.datasource." + name + ".minimum-idle", 0);
+            properties.put("spring.datasource." + name + ".connection-timeout", 250);
+        }
+        properties.put("db.migration.enabled", false);
+        return properties;
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    public String baseUrl() {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return "http://127.0.0.1:" + port + contextPath;
+    }
+
+    /** 사용자 조회 없이 인증되는 (uid/role 클레임 포함) 토큰 발급 */
+    public String issueToken(String username, String role) {
+        UserPrincipal principal = UserPrincipal.create("loadtest-" + username, username, "", username + "@mes.ai", role);
+        return context.getBean(JwtTokenProvider.class).generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
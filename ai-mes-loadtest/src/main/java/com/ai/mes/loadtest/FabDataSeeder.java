@@ -0,0 +1,244 @@
+package com.ai.mes.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 부하 테스트 데이터 적재.
+ * <p>
+ * 팹마다 LOT/설비/반송 데이터를, 로그인 DB에 사용자를 고정 시드로 생성해 넣습니다 (기존 데이터는 비움).
+ * 사용자 비밀번호는 평문/MD5/SHA-256 저장 형식을 번갈아 사용하며, 평문 비밀번호는 {@link #password(int)}로 얻습니다.
+ */
+public class FabDataSeeder {
+
+    static final String[] FABS = {"M14", "M15", "M16"};
+    static final String[] LOT_STATUSES = {"running", "completed", "waiting", "hold", "error"};
+    static final String[] EQUIPMENT_STATUSES = {"running", "idle", "maintenance", "error"};
+    static final String[] RETURN_STATUSES = {"pending", "in_progress", "resolved"};
+    static final String[] SEVERITIES = {"low", "medium", "high", "critical"};
+    static final String[] STEPS = {"Lithography", "Etching", "Deposition", "CMP", "Measurement", "Clean"};
+    static final String[] PRODUCTS = {"Product A", "Product B", "Product C", "Product D", "Product E"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final PostgresFixture postgres;
+    private final int lotsPerFab;
+    private final int equipmentPerFab;
+    private final int returnsPerFab;
+    private final int users;
+
+    public FabDataSeeder(PostgresFixture postgres, int lotsPerFab, int equipmentPerFab, int returnsPerFab, int users) {
+        this.postgres = postgres;
+        this.lotsPerFab = lotsPerFab;
+        this.equipmentPerFab = equipmentPerFab;
+        this.returnsPerFab = returnsPerFab;
+        this.users = users;
+    }
+
+    public void seed() throws SQLException {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (String fab : FABS) {
+            String suffix = fab.toLowerCase();
+            Random random = new Random(fab.hashCode());
+            try (Connection connection = postgres.connect(suffix)) {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE lot_data_" + suffix + ", equipment_data_" + suffix + ", return_history_" + suffix);
+                }
+                seedLots(connection, fab, suffix, random, now);
+                seedEquipment(connection, fab, suffix, random, now);
+                seedReturns(connection, fab, suffix, random, now);
+                connection.commit();
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE");
+                }
+            }
+        }
+        try (Connection connection = postgres.connect("next")) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE users RESTART IDENTITY");
+            }
+            seedUsers(connection);
+            connection.commit();
+        }
+    }
+
+    /** 사용자 아이디 (1부터) */
+    public static String username(int index) {
+        return String.format("loaduser%04d", index);
+    }
+
+    public static String password(int index) {
+        return "load-pass-" + index;
+    }
+
+    private void seedLots(Connection connection, String fab, String suffix, Random random, LocalDateTime now) throws SQLException {
+        String sql = "INSERT INTO lot_data_" + suffix + " (id, lot_number, product, fab, status, start_time, end_time, step, "
+                + "equipment, progress, estimated_completion, duration, result, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= lotsPerFab; i++) {
+                LocalDateTime start = now.minusMinutes(random.nextInt(60 * 24 * 90));
+                String status = LOT_STATUSES[random.nextInt(LOT_STATUSES.length)];
+                boolean completed = "completed".equals(status);
+                insert.setString(1, fab + "-L" + i);
+                insert.setString(2, lotNumber(fab, i));
+                insert.setString(3, PRODUCTS[random.nextInt(PRODUCTS.length)]);
+                insert.setString(4, fab);
+                insert.setString(5, status);
+                insert.setTimestamp(6, Timestamp.valueOf(start));
+                insert.setTimestamp(7, completed ? Timestamp.valueOf(start.plusHours(6)) : null);
+                insert.setString(8, STEPS[random.nextInt(STEPS.length)]);
+                insert.setString(9, equipmentId(fab, random.nextInt(Math.max(1, equipmentPerFab)) + 1));
+                insert.setInt(10, completed ? 100 : random.nextInt(100));
+                insert.setTimestamp(11, Timestamp.valueOf(start.plusHours(6)));
+                insert.setString(12, completed ? "6시간" : null);
+                insert.setString(13, completed ? (random.nextInt(10) == 0 ? "NG" : "OK") : null);
+                insert.setTimestamp(14, Timestamp.valueOf(start));
+                insert.setTimestamp(15, Timestamp.valueOf(start.plusMinutes(random.nextInt(360))));
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void seedEquipment(Connection connection, String fab, String suffix, Random random, LocalDateTime now) throws SQLException {
+        String sql = "INSERT INTO equipment_data_" + suffix + " (id, equipment_id, equipment_name, fab, status, current_operation, "
+                + "current_lot, utilization, last_maintenance, next_maintenance, temperature, pressure, uptime, alerts, "
+                + "operation, start_time, end_time, duration, lot_number, result, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= equipmentPerFab; i++) {
+                LocalDateTime start = now.minusMinutes(random.nextInt(60 * 24));
+                String step = STEPS[random.nextInt(STEPS.length)];
+                String lot = lotNumber(fab, random.nextInt(Math.max(1, lotsPerFab)) + 1);
+                insert.setString(1, fab + "-E" + i);
+                insert.setString(2, equipmentId(fab, i));
+                insert.setString(3, step + " Tool " + i);
+                insert.setString(4, fab);
+                insert.setString(5, EQUIPMENT_STATUSES[random.nextInt(EQUIPMENT_STATUSES.length)]);
+                insert.setString(6, step);
+                insert.setString(7, lot);
+                insert.setInt(8, random.nextInt(101));
+                insert.setTimestamp(9, Timestamp.valueOf(start.minusDays(random.nextInt(30))));
+                insert.setTimestamp(10, Timestamp.valueOf(start.plusDays(random.nextInt(30))));
+                insert.setDouble(11, 20 + random.nextDouble() * 60);
+                insert.setDouble(12, 0.5 + random.nextDouble() * 2);
+                insert.setString(13, random.nextInt(1000) + "h");
+                insert.setInt(14, random.nextInt(5));
+                insert.setString(15, step);
+                insert.setTimestamp(16, Timestamp.valueOf(start));
+                insert.setTimestamp(17, Timestamp.valueOf(start.plusHours(2)));
+                insert.setString(18, random.nextInt(180) + "분");
+                insert.setString(19, lot);
+                insert.setString(20, random.nextInt(10) == 0 ? "NG" : "OK");
+                insert.setTimestamp(21, Timestamp.valueOf(start));
+                insert.setTimestamp(22, Timestamp.valueOf(start));
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void seedReturns(Connection connection, String fab, String suffix, Random random, LocalDateTime now) throws SQLException {
+        String sql = "INSERT INTO return_history_" + suffix + " (id, return_id, lot_number, product, fab, return_reason, "
+                + "return_step, return_date, return_by, target_step, status, severity, resolved_date, comments, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= returnsPerFab; i++) {
+                LocalDateTime date = now.minusMinutes(random.nextInt(60 * 24 * 90));
+                String status = RETURN_STATUSES[random.nextInt(RETURN_STATUSES.length)];
+                insert.setString(1, fab + "-R" + i);
+                insert.setString(2, String.format("RT-%s-%06d", fab, i));
+                insert.setString(3, lotNumber(fab, random.nextInt(Math.max(1, lotsPerFab)) + 1));
+                insert.setString(4, PRODUCTS[random.nextInt(PRODUCTS.length)]);
+                insert.setString(5, fab);
+                insert.setString(6, "공정 이상 재작업 " + random.nextInt(20));
+                insert.setString(7, STEPS[random.nextInt(STEPS.length)]);
+                insert.setTimestamp(8, Timestamp.valueOf(date));
+                insert.setString(9, username(random.nextInt(Math.max(1, users)) + 1));
+                insert.setString(10, STEPS[random.nextInt(STEPS.length)]);
+                insert.setString(11, status);
+                insert.setString(12, SEVERITIES[random.nextInt(SEVERITIES.length)]);
+                insert.setTimestamp(13, "resolved".equals(status) ? Timestamp.valueOf(date.plusHours(12)) : null);
+                insert.setString(14, random.nextInt(3) == 0 ? "재검사 후 진행" : null);
+                insert.setTimestamp(15, Timestamp.valueOf(date));
+                insert.setTimestamp(16, Timestamp.valueOf(date));
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        String sql = "INSERT INTO users (username, password, name, email, department, role, active) VALUES (?, ?, ?, ?, ?, ?, TRUE)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= users; i++) {
+                String username = username(i);
+                insert.setString(1, username);
+                insert.setString(2, storedPassword(i));
+                insert.setString(3, "부하 사용자 " + i);
+                insert.setString(4, username + "@mes.ai");
+                insert.setString(5, FABS[i % FABS.length] + " 생산팀");
+                insert.setString(6, i % 20 == 0 ? "ADMIN" : "USER");
+                addBatch(insert, i);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /** 저장 형식을 평문, MD5, SHA-256 순으로 번갈아 사용 */
+    private static String storedPassword(int index) {
+        String password = password(index);
+        return switch (index % 3) {
+            case 1 -> hex("MD5", password);
+            case 2 -> hex("SHA-256", password);
+            default -> password;
+        };
+    }
+
+    private static String hex(String algorithm, String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String lotNumber(String fab, int index) {
+        return String.format("%sLOT%06d", fab, index);
+    }
+
+    static String equipmentId(String fab, int index) {
+        return String.format("%s-EQ-%03d", fab, index);
+    }
+
+    private static void addBatch(PreparedStatement insert, int count) throws SQLException {
+        insert.addBatch();
+        if (count % BATCH_SIZE == 0) {
+            insert.executeBatch();
+        }
+    }
+
+    /** 적재 건수 요약 (보고서용) */
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add(lotsPerFab + " lots/fab");
+        lines.add(equipmentPerFab + " equipment/fab");
+        lines.add(returnsPerFab + " returns/fab");
+        lines.add(users + " users");
+        return lines;
+    }
+}
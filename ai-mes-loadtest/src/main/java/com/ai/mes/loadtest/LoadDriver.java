@@ -0,0 +1,264 @@
+package com.ai.mes.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 닫힌 모델(closed-model) HTTP 부하 발생기.
+ * <p>
+ * 동시 사용자 수만큼의 스레드가 가중치에 따라 엔드포인트를 골라 요청을 보내고, 응답을 받으면 (생각 시간 후) 다음 요청을 보냅니다.
+ * 엔드포인트별로 응답 시간 분포(HdrHistogram), 성공/503/오류 건수를 기록하며,
+ * 스트리밍 엔드포인트는 첫 이벤트까지의 시간도 따로 기록합니다. 워밍업 구간의 기록은 측정 시작 시 버립니다.
+ */
+public class LoadDriver {
+
+    // 응답 시간 기록 단위: 마이크로초, 최대 10분
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final HttpClient client;
+    private final List<Endpoint> endpoints;
+    private final int concurrency;
+    private final long thinkTimeMillis;
+    private final int totalWeight;
+
+    private volatile boolean running;
+
+    public LoadDriver(HttpClient client, List<Endpoint> endpoints, int concurrency, long thinkTimeMillis) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required");
+        }
+        this.client = client;
+        this.endpoints = endpoints;
+        this.concurrency = concurrency;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.totalWeight = endpoints.stream().mapToInt(Endpoint::getWeight).sum();
+    }
+
+    /**
+     * 워밍업 후 측정 구간 동안 부하를 발생시킵니다.
+     *
+     * @param onMeasureStart 측정 시작 직전 호출 (외부 지표 초기화용)
+     * @return 측정 구간의 경과 시간
+     */
+    public Duration run(Duration warmup, Duration duration, Runnable onMeasureStart) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(this::loop);
+        }
+        Thread.sleep(warmup.toMillis());
+        endpoints.forEach(endpoint -> endpoint.getStats().reset());
+        onMeasureStart.run();
+        long start = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        running = false;
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        workers.shutdownNow();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        return elapsed;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    private void loop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            Endpoint endpoint = pick();
+            long start = System.nanoTime();
+            try {
+                if (endpoint.isStreaming()) {
+                    stream(endpoint, start);
+                } else {
+                    HttpResponse<Void> response = client.send(endpoint.request.get(), HttpResponse.BodyHandlers.discarding());
+                    record(endpoint, start, response.statusCode(), false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                if (running) {
+                    endpoint.getStats().failures.increment();
+                    endpoint.getStats().latency.recordValue(micros(start));
+                    endpoint.getStats().failure(e.getClass().getSimpleName());
+                }
+            }
+            if (thinkTimeMillis > 0) {
+                try {
+                    Thread.sleep(thinkTimeMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void stream(Endpoint endpoint, long start) throws IOException, InterruptedException {
+        HttpResponse<Stream<String>> response = client.send(endpoint.request.get(), HttpResponse.BodyHandlers.ofLines());
+        boolean errorEvent = false;
+        boolean firstEvent = true;
+        try (Stream<String> lines = response.body()) {
+            Iterator<String> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                String line = iterator.next();
+                if (firstEvent && line.startsWith("data:") && running) {
+                    endpoint.getStats().firstEvent.recordValue(micros(start));
+                    firstEvent = false;
+                }
+                if (line.startsWith("event:") && line.substring(6).trim().equals("error")) {
+                    errorEvent = true;
+                }
+            }
+        }
+        record(endpoint, start, response.statusCode(), errorEvent);
+    }
+
+    private void record(Endpoint endpoint, long start, int status, boolean errorEvent) {
+        if (!running) {
+            // 측정 종료 후 완료된 요청은 제외
+            return;
+        }
+        EndpointStats stats = endpoint.getStats();
+        stats.latency.recordValue(micros(start));
+        if (status == 503) {
+            stats.busy.increment();
+        } else if (status >= 200 && status < 300 && !errorEvent) {
+            stats.ok.increment();
+        } else {
+            stats.failures.increment();
+            stats.failure(errorEvent ? "error event" : "HTTP " + status);
+        }
+    }
+
+    private Endpoint pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            roll -= endpoint.getWeight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private static long micros(long startNanos) {
+        return Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    /** 부하 대상 엔드포인트. 요청은 호출할 때마다 새로 만듭니다. */
+    public static class Endpoint {
+        private final String name;
+        private final int weight;
+        private final boolean streaming;
+        private final Supplier<HttpRequest> request;
+        private final EndpointStats stats = new EndpointStats();
+
+        public Endpoint(String name, int weight, boolean streaming, Supplier<HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.streaming = streaming;
+            this.request = request;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public boolean isStreaming() {
+            return streaming;
+        }
+
+        public EndpointStats getStats() {
+            return stats;
+        }
+    }
+
+    /** 엔드포인트별 측정값 */
+    public static class EndpointStats {
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final Histogram firstEvent = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder busy = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        // 실패 원인(HTTP 상태, 예외 종류) -> 건수
+        private final Map<String, LongAdder> failureCauses = new ConcurrentHashMap<>();
+
+        void failure(String cause) {
+            failureCauses.computeIfAbsent(cause, key -> new LongAdder()).increment();
+        }
+
+        void reset() {
+            failureCauses.clear();
+            latency.reset();
+            firstEvent.reset();
+            ok.reset();
+            busy.reset();
+            failures.reset();
+        }
+
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        public Histogram getFirstEvent() {
+            return firstEvent;
+        }
+
+        public long getOk() {
+            return ok.sum();
+        }
+
+        public long getBusy() {
+            return busy.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public Map<String, Long> getFailureCauses() {
+            Map<String, Long> causes = new TreeMap<>();
+            failureCauses.forEach((cause, count) -> causes.put(cause, count.sum()));
+            return causes;
+        }
+
+        public long getCount() {
+            return getOk() + getBusy() + getFailures();
+        }
+    }
+
+    /** 여러 엔드포인트의 응답 시간 분포를 합친 사본 */
+    public static Histogram merged(List<Endpoint> endpoints) {
+        Histogram merged = new Histogram(MAX_LATENCY_MICROS, 3);
+        for (Endpoint endpoint : endpoints) {
+            merged.add(endpoint.getStats().getLatency());
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ai.mes.loadtest;
+
+import com.ai.mes.loadtest.LoadDriver.Endpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과. 콘솔 표와 JSON 파일(릴리스 간 비교용)로 출력합니다.
+ */
+public class LoadReport {
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+
+    public LoadReport(String scenario, Map<String, Object> settings, List<Endpoint> endpoints, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        for (Endpoint endpoint : endpoints) {
+            LoadDriver.EndpointStats stats = endpoint.getStats();
+            Map<String, Object> row = row(endpoint.getName(), stats.getLatency(), stats.getCount(),
+                    stats.getOk(), stats.getBusy(), stats.getFailures(), seconds);
+            if (endpoint.isStreaming() && stats.getFirstEvent().getTotalCount() > 0) {
+                row.put("first_event_p50_ms", millis(stats.getFirstEvent(), 50));
+                row.put("first_event_p99_ms", millis(stats.getFirstEvent(), 99));
+            }
+            if (!stats.getFailureCauses().isEmpty()) {
+                row.put("error_causes", stats.getFailureCauses());
+            }
+            rows.add(row);
+        }
+        long ok = 0;
+        long busy = 0;
+        long failures = 0;
+        for (Endpoint endpoint : endpoints) {
+            ok += endpoint.getStats().getOk();
+            busy += endpoint.getStats().getBusy();
+            failures += endpoint.getStats().getFailures();
+        }
+        rows.add(row("TOTAL", LoadDriver.merged(endpoints), ok + busy + failures, ok, busy, failures, seconds));
+
+        report.put("scenario", scenario);
+        report.put("duration_s", round(seconds));
+        report.put("settings", settings);
+        report.put("endpoints", rows);
+    }
+
+    /** 추가 결과 항목 (예: 목 응답 비율, 자원 사용량) */
+    public LoadReport section(String name, Object value) {
+        report.put(name, value);
+        return this;
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.printf("=== %s load test (%.1fs) ===%n", report.get("scenario"), (Double) report.get("duration_s"));
+        ((Map<?, ?>) report.get("settings")).forEach((key, value) -> out.printf("  %-28s %s%n", key, value));
+        out.println();
+        out.printf("%-36s %9s %9s %8s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "ok", "503", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map<String, Object> row : rows) {
+            out.printf("%-36s %9d %9.1f %8d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("throughput_rps"), row.get("ok"),
+                    row.get("busy_503"), row.get("errors"), row.get("p50_ms"), row.get("p90_ms"),
+                    row.get("p99_ms"), row.get("p999_ms"), row.get("max_ms"));
+            if (row.containsKey("first_event_p50_ms")) {
+                out.printf("%-36s first event p50 %.1fms, p99 %.1fms%n", "",
+                        row.get("first_event_p50_ms"), row.get("first_event_p99_ms"));
+            }
+            if (row.containsKey("error_causes")) {
+                out.printf("%-36s errors %s%n", "", row.get("error_causes"));
+            }
+        }
+        report.forEach((name, value) -> {
+            if (value instanceof Map && !"settings".equals(name)) {
+                out.println();
+                out.println(name + ":");
+                ((Map<?, ?>) value).forEach((key, item) -> out.printf("  %-28s %s%n", key, item));
+            }
+        });
+        out.println();
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static Map<String, Object> row(String name, Histogram latency, long count, long ok, long busy,
+                                           long failures, double seconds) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", name);
+        row.put("requests", count);
+        row.put("throughput_rps", round(count / seconds));
+        row.put("ok", ok);
+        row.put("busy_503", busy);
+        row.put("errors", failures);
+        row.put("p50_ms", millis(latency, 50));
+        row.put("p90_ms", millis(latency, 90));
+        row.put("p99_ms", millis(latency, 99));
+        row.put("p999_ms", millis(latency, 99.9));
+        row.put("max_ms", round(latency.getMaxValue() / 1000.0));
+        return row;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
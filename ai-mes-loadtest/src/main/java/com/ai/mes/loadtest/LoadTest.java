@@ -0,0 +1,42 @@
+package com.ai.mes.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 부하 테스트 실행 진입점.
+ * <pre>
+ * java -jar target/loadtest.jar ai [--concurrency=200] [--duration=60] [--stub-latency-median=800] ...
+ * java -jar target/loadtest.jar api [--concurrency=100] [--duration=60] [--lots=20000] [--pg-url=jdbc:postgresql://localhost:5432/] ...
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        LoadTestOptions options = new LoadTestOptions(Arrays.copyOfRange(args, 1, args.length));
+        switch (args[0]) {
+            case "ai":
+                AIPathScenario.run(options);
+                break;
+            case "api":
+                ApiScenario.run(options);
+                break;
+            default:
+                usage();
+                return;
+        }
+        System.exit(0);
+    }
+
+    private static void usage() {
+        System.out.println("Usage: java -jar loadtest.jar <scenario> [--option=value ...]");
+        System.out.println("Scenarios:");
+        System.out.println("  ai    AI 분석 경로 (/ai/analyze/*) against an in-JVM ai-service stub");
+        System.out.println("  api   LOT/설비/반송 조회와 로그인 against PostgreSQL (embedded, or --pg-url for a local server)");
+        System.out.println("Common options: --concurrency --warmup --duration (s) --think-time (ms) --report=<json path>");
+        System.out.println("                --backend.<property>=<value> overrides a backend setting");
+    }
+}
@@ -0,0 +1,131 @@
+package com.ai.mes.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트용 PostgreSQL 준비.
+ * <p>
+ * 기본은 내장 PostgreSQL(zonky embedded-postgres) 한 대를 임의 포트로 기동하고 M14/M15/M16/Next 용 DB를 각각 만듭니다.
+ * {@code --pg-url=jdbc:postgresql://host:5432/}을 주면 해당 로컬 서버에 {@value #EXTERNAL_DB_PREFIX}* DB를 (없으면) 만들어 사용합니다.
+ * 스키마는 백엔드 기동 시 마이그레이션(DatabaseMigrator)이 생성합니다.
+ * <p>
+ * 내장 서버는 PostgreSQL 정책상 root 계정으로 실행할 수 없습니다.
+ */
+public class PostgresFixture implements AutoCloseable {
+
+    static final String[] DATABASES = {"m14", "m15", "m16", "next"};
+    private static final String EXTERNAL_DB_PREFIX = "ai_mes_loadtest_";
+
+    private final EmbeddedPostgres embedded;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final Map<String, String> databaseNames = new LinkedHashMap<>();
+
+    private PostgresFixture(EmbeddedPostgres embedded, String baseUrl, String username, String password) {
+        this.embedded = embedded;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * 옵션: {@code --pg-url}, {@code --pg-user}, {@code --pg-password} (외부 서버),
+     * {@code --pg-port} (내장 서버 포트, 기본 임의), {@code --pg-config.<설정>=<값>} (내장 서버 postgresql.conf 설정)
+     */
+    public static PostgresFixture start(LoadTestOptions options) throws IOException, SQLException {
+        String url = options.getString("pg-url", null);
+        PostgresFixture fixture;
+        if (url != null) {
+            fixture = new PostgresFixture(null, url, options.getString("pg-user", "postgres"),
+                    options.getString("pg-password", ""));
+            for (String name : DATABASES) {
+                fixture.databaseNames.put(name, EXTERNAL_DB_PREFIX + name);
+            }
+        } else {
+            EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder()
+                    .setPort(options.getInt("pg-port", 0))
+                    // 팹별 연결 풀 4개(기본 최대 20개씩)와 시드 연결을 수용
+                    .setServerConfig("max_connections", "300");
+            options.withPrefix("pg-config.").forEach(builder::setServerConfig);
+            EmbeddedPostgres postgres = builder.start();
+            fixture = new PostgresFixture(postgres, "jdbc:postgresql://localhost:" + postgres.getPort() + "/", "postgres", "");
+            for (String name : DATABASES) {
+                fixture.databaseNames.put(name, name);
+            }
+        }
+        fixture.createDatabases();
+        return fixture;
+    }
+
+    /** 백엔드 데이터소스 속성 ({@code M14_DB_URL} 등) */
+    public Map<String, Object> backendProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (String name : DATABASES) {
+            String prefix = name.toUpperCase();
+            properties.put(prefix + "_DB_URL", jdbcUrl(name));
+            properties.put(prefix + "_DB_USERNAME", username);
+            properties.put(prefix + "_DB_PASSWORD", password);
+        }
+        // 스키마가 없으면 측정 의미가 없으므로 마이그레이션 실패 시 기동 중단
+        properties.put("db.migration.enabled", true);
+        properties.put("db.migration.fail-on-error", true);
+        return properties;
+    }
+
+    public String jdbcUrl(String name) {
+        return baseUrl + databaseNames.get(name);
+    }
+
+    public Connection connect(String name) throws SQLException {
+        // 시드 배치 INSERT를 다중 VALUES 문으로 묶어 전송
+        return DriverManager.getConnection(jdbcUrl(name) + "?reWriteBatchedInserts=true", username, password);
+    }
+
+    public String describe() {
+        String server = embedded != null ? "embedded" : "external " + baseUrl;
+        try (Connection connection = connect("next");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW server_version")) {
+            return rs.next() ? server + " (PostgreSQL " + rs.getString(1) + ")" : server;
+        } catch (SQLException e) {
+            return server;
+        }
+    }
+
+    private void createDatabases() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(baseUrl + "postgres", username, password)) {
+            for (String database : databaseNames.values()) {
+                boolean exists;
+                try (PreparedStatement query = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+                    query.setString(1, database);
+                    try (ResultSet rs = query.executeQuery()) {
+                        exists = rs.next();
+                    }
+                }
+                if (!exists) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("CREATE DATABASE " + database);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ai.mes.loadtest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 중 백엔드 자원 사용량(스레드 풀, 연결 풀, 격벽 등 게이지)을 주기적으로 읽어 평균과 최대값을 집계합니다.
+ * 같은 이름의 게이지가 여러 개(태그별)면 합계를 사용하고, 등록되지 않은 게이지는 결과에서 제외합니다.
+ */
+public class ResourceSampler implements AutoCloseable {
+
+    private final MeterRegistry registry;
+    private final Map<String, String[]> gauges = new LinkedHashMap<>();
+    private final Map<String, Aggregate> aggregates = new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResourceSampler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 집계할 게이지를 추가합니다.
+     *
+     * @param label 보고서에 표시할 이름
+     * @param tags  태그 키/값 쌍 (선택)
+     */
+    public ResourceSampler gauge(String label, String name, String... tags) {
+        String[] spec = new String[tags.length + 1];
+        spec[0] = name;
+        System.arraycopy(tags, 0, spec, 1, tags.length);
+        gauges.put(label, spec);
+        return this;
+    }
+
+    public ResourceSampler start(long intervalMillis) {
+        scheduler.scheduleAtFixedRate(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    public synchronized void reset() {
+        aggregates.clear();
+    }
+
+    /** label -> {mean, max} */
+    public synchronized Map<String, Map<String, Double>> summary() {
+        Map<String, Map<String, Double>> summary = new LinkedHashMap<>();
+        aggregates.forEach((label, aggregate) -> {
+            Map<String, Double> values = new LinkedHashMap<>();
+            values.put("mean", LoadReport.round(aggregate.sum / aggregate.samples));
+            values.put("max", aggregate.max);
+            summary.put(label, values);
+        });
+        return summary;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void sample() {
+        gauges.forEach((label, spec) -> {
+            Search search = registry.find(spec[0]);
+            for (int i = 1; i + 1 < spec.length; i += 2) {
+                search = search.tag(spec[i], spec[i + 1]);
+            }
+            Collection<Gauge> found = search.gauges();
+            if (found.isEmpty()) {
+                return;
+            }
+            double value = 0;
+            for (Gauge gauge : found) {
+                value += gauge.value();
+            }
+            aggregates.computeIfAbsent(label, key -> new Aggregate()).add(value);
+        });
+    }
+
+    private static final class Aggregate {
+        private long samples;
+        private double sum;
+        private double max;
+
+        private void add(double value) {
+            samples++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+    }
+}
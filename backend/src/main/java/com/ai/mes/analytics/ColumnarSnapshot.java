@@ -0,0 +1,173 @@
+package com.ai.mes.analytics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 공개된 불변 열 스냅샷 (읽기 전용).
+ * <p>
+ * 디렉터리 구조: {@code snapshot.meta} | {열}.codes + {열}.dict (문자열) | {열}.i64 (일시)
+ * 메타 파일: magic(4) | version(1) | rowCount(4) | createdAtMillis(8) | sourceUpdatedAtMillis(8) | sourceRowCount(8)
+ * | columnCount(4) | (type(1) | name(UTF))*
+ * 열 파일은 메모리 맵으로 열어 {@link IntBuffer}/{@link LongBuffer} 보기로 제공하므로,
+ * 집계는 힙에 행 객체를 만들지 않고 기본형 반복문으로 수행합니다. 사전만 힙에 읽어 둡니다.
+ */
+public final class ColumnarSnapshot {
+
+    public static final int NULL_CODE = -1;
+    public static final long NULL_TIME = Long.MIN_VALUE;
+
+    static final String META_FILE = "snapshot.meta";
+    static final String CODES_SUFFIX = ".codes";
+    static final String DICTIONARY_SUFFIX = ".dict";
+    static final String TIMES_SUFFIX = ".i64";
+    static final int MAGIC = 0x414D4353; // "AMCS"
+    static final byte VERSION = 3;
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_TIME = 2;
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[a-z][a-z0-9_]{0,63}");
+
+    private final Path directory;
+    private final int rowCount;
+    private final long createdAtMillis;
+    private final long sourceUpdatedAtMillis;
+    private final long sourceRowCount;
+    private final Map<String, IntBuffer> codes = new HashMap<>();
+    private final Map<String, String[]> dictionaries = new HashMap<>();
+    private final Map<String, LongBuffer> times = new HashMap<>();
+    private long sizeBytes;
+
+    private ColumnarSnapshot(Path directory, int rowCount, long createdAtMillis,
+                             long sourceUpdatedAtMillis, long sourceRowCount) {
+        this.directory = directory;
+        this.rowCount = rowCount;
+        this.createdAtMillis = createdAtMillis;
+        this.sourceUpdatedAtMillis = sourceUpdatedAtMillis;
+        this.sourceRowCount = sourceRowCount;
+    }
+
+    static ColumnarSnapshot open(Path directory) throws IOException {
+        try (DataInputStream meta = new DataInputStream(Files.newInputStream(directory.resolve(META_FILE)))) {
+            if (meta.readInt() != MAGIC) {
+                throw new IOException("열 스냅샷 형식이 아닙니다: " + directory);
+            }
+            byte version = meta.readByte();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 버전입니다: " + version + " (" + directory + ")");
+            }
+            ColumnarSnapshot snapshot = new ColumnarSnapshot(directory, meta.readInt(), meta.readLong(),
+                    meta.readLong(), meta.readLong());
+            int columnCount = meta.readInt();
+            for (int i = 0; i < columnCount; i++) {
+                byte type = meta.readByte();
+                String name = requireSafe(meta.readUTF());
+                if (type == TYPE_STRING) {
+                    snapshot.codes.put(name, snapshot.map(name + CODES_SUFFIX, Integer.BYTES).asIntBuffer());
+                    snapshot.dictionaries.put(name, readDictionary(directory.resolve(name + DICTIONARY_SUFFIX)));
+                } else if (type == TYPE_TIME) {
+                    snapshot.times.put(name, snapshot.map(name + TIMES_SUFFIX, Long.BYTES).asLongBuffer());
+                } else {
+                    throw new IOException("알 수 없는 열 타입입니다: " + type + " (" + name + ")");
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    /** 문자열 열의 사전 코드 (행 순서, null은 {@link #NULL_CODE}). 호출마다 독립된 위치의 보기를 반환합니다. */
+    public IntBuffer codes(String column) {
+        IntBuffer buffer = codes.get(column);
+        if (buffer == null) {
+            throw new IllegalArgumentException("스냅샷에 없는 문자열 열입니다: " + column);
+        }
+        return buffer.duplicate();
+    }
+
+    /** 문자열 열의 사전 (코드 → 값) */
+    public String[] dictionary(String column) {
+        String[] dictionary = dictionaries.get(column);
+        if (dictionary == null) {
+            throw new IllegalArgumentException("스냅샷에 없는 문자열 열입니다: " + column);
+        }
+        return dictionary;
+    }
+
+    /** 일시 열 (epoch ms, null은 {@link #NULL_TIME}) */
+    public LongBuffer times(String column) {
+        LongBuffer buffer = times.get(column);
+        if (buffer == null) {
+            throw new IllegalArgumentException("스냅샷에 없는 일시 열입니다: " + column);
+        }
+        return buffer.duplicate();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public long getSourceUpdatedAtMillis() {
+        return sourceUpdatedAtMillis;
+    }
+
+    public long getSourceRowCount() {
+        return sourceRowCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    static String requireSafe(String name) {
+        if (name == null || !SAFE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("허용되지 않는 열 이름입니다: " + name);
+        }
+        return name;
+    }
+
+    private ByteBuffer map(String fileName, int width) throws IOException {
+        Path file = directory.resolve(fileName);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long expected = (long) rowCount * width;
+            if (channel.size() != expected) {
+                throw new IOException("열 파일 크기가 행 수와 맞지 않습니다: " + file + " (" + channel.size() + "/" + expected + ")");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, expected);
+            sizeBytes += expected;
+            return mapped;
+        }
+    }
+
+    private static String[] readDictionary(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            String[] values = new String[in.readInt()];
+            for (int i = 0; i < values.length; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return values;
+        }
+    }
+}
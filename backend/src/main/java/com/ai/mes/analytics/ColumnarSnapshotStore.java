@@ -0,0 +1,158 @@
+package com.ai.mes.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 팹·테이블별 열 스냅샷 디렉터리 저장소.
+ * <p>
+ * 디렉터리 구조: {root}/{fab}/{table}/{generation}/ (generation은 생성 시각 epoch ms)
+ * 작성은 {generation}.tmp 디렉터리에서 하고, 완료 후 원자적으로 이름을 바꿔 공개하므로
+ * 부분 기록된 스냅샷은 열리지 않습니다. 공개 후에는 가장 최근 세대만 남기고 이전 세대를 지웁니다.
+ */
+@Slf4j
+public class ColumnarSnapshotStore {
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,63}");
+    private static final Pattern GENERATION = Pattern.compile("\\d{1,19}");
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path root;
+
+    public ColumnarSnapshotStore(Path root) {
+        this.root = root;
+    }
+
+    /** 새 세대 작성을 시작합니다. */
+    public ColumnarSnapshotWriter create(String fab, String table) throws IOException {
+        Path directory = tableDirectory(fab, table);
+        Files.createDirectories(directory);
+        return new ColumnarSnapshotWriter(directory.resolve(System.currentTimeMillis() + "_" + System.nanoTime() + TEMP_SUFFIX));
+    }
+
+    /**
+     * 작성을 마친 세대를 공개하고 열어서 반환합니다.
+     */
+    public ColumnarSnapshot publish(ColumnarSnapshotWriter writer) throws IOException {
+        long createdAt = System.currentTimeMillis();
+        writer.finish(createdAt);
+        writer.close();
+        Path temp = writer.getDirectory();
+        Path target = temp.resolveSibling(nextGeneration(temp.getParent(), createdAt));
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        ColumnarSnapshot snapshot = ColumnarSnapshot.open(target);
+        deleteOlderGenerations(target);
+        return snapshot;
+    }
+
+    /** 작성 중 실패한 세대를 버립니다. */
+    public void discard(ColumnarSnapshotWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.debug("스냅샷 작성기 닫기 실패: {}", e.getMessage());
+        }
+        deleteRecursively(writer.getDirectory());
+    }
+
+    /**
+     * 가장 최근에 공개된 세대를 엽니다. 없거나 읽을 수 없으면 null을 반환합니다.
+     * 남아 있는 작성 중 디렉터리(비정상 종료 흔적)는 정리합니다.
+     */
+    public ColumnarSnapshot openLatest(String fab, String table) {
+        Path directory = tableDirectory(fab, table);
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        Path latest = null;
+        for (Path child : list(directory)) {
+            String name = child.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                deleteRecursively(child);
+            } else if (GENERATION.matcher(name).matches()
+                    && (latest == null || generation(child) > generation(latest))) {
+                latest = child;
+            }
+        }
+        if (latest == null) {
+            return null;
+        }
+        try {
+            ColumnarSnapshot snapshot = ColumnarSnapshot.open(latest);
+            deleteOlderGenerations(latest);
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            log.warn("열 스냅샷을 열 수 없어 건너뜁니다: {} ({})", latest, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path tableDirectory(String fab, String table) {
+        return root.resolve(requireSafe(fab, "fab")).resolve(requireSafe(table, "table"));
+    }
+
+    // 같은 밀리초에 공개된 세대가 있으면 다음 번호 사용
+    private static String nextGeneration(Path directory, long createdAt) {
+        long generation = createdAt;
+        while (Files.exists(directory.resolve(Long.toString(generation)))) {
+            generation++;
+        }
+        return Long.toString(generation);
+    }
+
+    private void deleteOlderGenerations(Path current) {
+        long keep = generation(current);
+        for (Path child : list(current.getParent())) {
+            String name = child.getFileName().toString();
+            if (GENERATION.matcher(name).matches() && generation(child) < keep) {
+                // 이전 세대를 읽는 중인 요청은 열린 메모리 맵으로 계속 읽을 수 있음
+                deleteRecursively(child);
+            }
+        }
+    }
+
+    private static long generation(Path directory) {
+        return Long.parseLong(directory.getFileName().toString());
+    }
+
+    private static List<Path> list(Path directory) {
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(children::add);
+        } catch (IOException e) {
+            log.warn("스냅샷 디렉터리 조회 실패: {} ({})", directory, e.getMessage());
+        }
+        return children;
+    }
+
+    private static void deleteRecursively(Path path) {
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("스냅샷 파일 삭제 실패: {} ({})", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("스냅샷 디렉터리 삭제 실패: {} ({})", path, e.getMessage());
+        }
+    }
+
+    private static String requireSafe(String name, String label) {
+        if (name == null || !SAFE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("허용되지 않는 " + label + " 값입니다: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,187 @@
+package com.ai.mes.analytics;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 열 스냅샷 작성기.
+ * <p>
+ * 열마다 파일 하나에 고정 폭 값을 행 순서대로 이어 씁니다. 문자열 열은 사전 코드(int32, null은 -1)와
+ * 사전 파일({@code .dict})로, 일시 열은 epoch ms(int64, null은 {@link ColumnarSnapshot#NULL_TIME})로 기록합니다.
+ * 행 값은 바로 파일 버퍼로 내려가므로 메모리 사용량은 행 수와 무관하게 사전 크기에만 비례합니다.
+ * {@link ColumnarSnapshotStore#publish}가 {@link #finish}를 호출해 메타 파일을 쓴 뒤 디렉터리를 공개합니다.
+ */
+public class ColumnarSnapshotWriter implements Closeable {
+
+    private final Path directory;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private int rowCount;
+    private long sourceUpdatedAtMillis = ColumnarSnapshot.NULL_TIME;
+    private long sourceRowCount = -1;
+
+    ColumnarSnapshotWriter(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public StringColumn stringColumn(String name) throws IOException {
+        StringColumn column = new StringColumn(name);
+        register(name, column);
+        return column;
+    }
+
+    public TimeColumn timeColumn(String name) throws IOException {
+        TimeColumn column = new TimeColumn(name);
+        register(name, column);
+        return column;
+    }
+
+    /** 한 행의 모든 열 값을 기록한 뒤 호출합니다. */
+    public void endRow() {
+        rowCount++;
+    }
+
+    /** 스냅샷 원본의 변경 워터마크 (다음 갱신 때 변경 여부 판단용) */
+    public void setSourceWatermark(long updatedAtMillis, long rowCount) {
+        this.sourceUpdatedAtMillis = updatedAtMillis;
+        this.sourceRowCount = rowCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 열 파일과 사전을 닫고 메타 파일을 기록합니다. 모든 열의 행 수가 같아야 합니다.
+     */
+    void finish(long createdAtMillis) throws IOException {
+        for (Column column : columns.values()) {
+            if (column.count != rowCount) {
+                throw new IOException("열 행 수가 일치하지 않습니다: " + column.name + " " + column.count + "/" + rowCount);
+            }
+            column.finish();
+        }
+        List<String> names = new ArrayList<>(columns.keySet());
+        try (DataOutputStream meta = open(ColumnarSnapshot.META_FILE)) {
+            meta.writeInt(ColumnarSnapshot.MAGIC);
+            meta.writeByte(ColumnarSnapshot.VERSION);
+            meta.writeInt(rowCount);
+            meta.writeLong(createdAtMillis);
+            meta.writeLong(sourceUpdatedAtMillis);
+            meta.writeLong(sourceRowCount);
+            meta.writeInt(names.size());
+            for (String name : names) {
+                meta.writeByte(columns.get(name).type);
+                meta.writeUTF(name);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Column column : columns.values()) {
+            try {
+                column.out.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void register(String name, Column column) {
+        if (columns.putIfAbsent(name, column) != null) {
+            throw new IllegalArgumentException("이미 등록된 열입니다: " + name);
+        }
+    }
+
+    private DataOutputStream open(String fileName) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(fileName),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 1 << 16));
+    }
+
+    private abstract class Column {
+        final String name;
+        final byte type;
+        final DataOutputStream out;
+        int count;
+
+        Column(String name, byte type, String suffix) throws IOException {
+            this.name = ColumnarSnapshot.requireSafe(name);
+            this.type = type;
+            this.out = open(name + suffix);
+        }
+
+        void finish() throws IOException {
+            out.close();
+        }
+    }
+
+    /** 사전 코드화된 문자열 열 */
+    public final class StringColumn extends Column {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private StringColumn(String name) throws IOException {
+            super(name, ColumnarSnapshot.TYPE_STRING, ColumnarSnapshot.CODES_SUFFIX);
+        }
+
+        public void add(String value) throws IOException {
+            int code = ColumnarSnapshot.NULL_CODE;
+            if (value != null) {
+                Integer existing = codes.get(value);
+                if (existing == null) {
+                    existing = values.size();
+                    codes.put(value, existing);
+                    values.add(value);
+                }
+                code = existing;
+            }
+            out.writeInt(code);
+            count++;
+        }
+
+        @Override
+        void finish() throws IOException {
+            super.finish();
+            try (DataOutputStream dictionary = open(name + ColumnarSnapshot.DICTIONARY_SUFFIX)) {
+                dictionary.writeInt(values.size());
+                for (String value : values) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    dictionary.writeInt(bytes.length);
+                    dictionary.write(bytes);
+                }
+            }
+        }
+    }
+
+    /** epoch ms 일시 열 */
+    public final class TimeColumn extends Column {
+
+        private TimeColumn(String name) throws IOException {
+            super(name, ColumnarSnapshot.TYPE_TIME, ColumnarSnapshot.TIMES_SUFFIX);
+        }
+
+        public void add(long epochMillis) throws IOException {
+            out.writeLong(epochMillis);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ai.mes.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 데이터소스별 스키마 마이그레이션 실행기.
+ * <p>
+ * 팹 DB에는 {@code classpath:db/migration/fab} 스크립트를 팹 코드 플레이스홀더({@code ${fab}})로 치환해 적용하고,
+ * 로그인 DB에는 {@code classpath:db/migration/next} 스크립트를 적용합니다.
+ * 기존에 수동으로 테이블을 만든 DB도 {@code IF NOT EXISTS} 스크립트와 baseline으로 그대로 이관됩니다.
+ * 각 팹의 SqlSessionFactory는 이 빈에 의존하므로 매퍼 사용 전에 마이그레이션이 끝납니다.
+ */
+@Slf4j
+@Component("databaseMigrator")
+public class DatabaseMigrator {
+
+    private final Map<String, DataSource> fabDataSources = new LinkedHashMap<>();
+    private final DataSource nextDataSource;
+
+    @Value("${db.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${db.migration.fail-on-error:true}")
+    private boolean failOnError;
+
+    public DatabaseMigrator(@Qualifier("m14DataSource") DataSource m14DataSource,
+                            @Qualifier("m15DataSource") DataSource m15DataSource,
+                            @Qualifier("m16DataSource") DataSource m16DataSource,
+                            @Qualifier("nextDataSource") DataSource nextDataSource) {
+        fabDataSources.put("m14", m14DataSource);
+        fabDataSources.put("m15", m15DataSource);
+        fabDataSources.put("m16", m16DataSource);
+        this.nextDataSource = nextDataSource;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled) {
+            log.info("Database migration disabled");
+            return;
+        }
+        fabDataSources.forEach((fab, dataSource) -> migrate(fab, Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/fab")
+                .placeholders(Map.of("fab", fab))
+                // 팹 테이블이 같은 DB에 모여 있어도 이력이 섞이지 않도록 팹별 이력 테이블 사용
+                .table("flyway_schema_history_" + fab)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()));
+        migrate("next", Flyway.configure()
+                .dataSource(nextDataSource)
+                .locations("classpath:db/migration/next")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load());
+    }
+
+    private void migrate(String name, Flyway flyway) {
+        try {
+            int applied = flyway.migrate().migrationsExecuted;
+            log.info("Database migration completed for {} datasource ({} applied)", name, applied);
+        } catch (Exception e) {
+            if (failOnError) {
+                throw new IllegalStateException("Database migration failed for " + name + " datasource", e);
+            }
+            log.warn("Database migration failed for {} datasource: {}", name, e.getMessage());
+        }
+    }
+}
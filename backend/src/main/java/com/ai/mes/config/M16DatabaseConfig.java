@@ -7,13 +7,17 @@ import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import com.ai.mes.config.mybatis.FabMapperCacheManager;
 import com.ai.mes.config.mybatis.MyBatisQueryLoggingInterceptor;
+import com.ai.mes.config.mybatis.RowReaderConfiguration;
 import org.apache.ibatis.plugin.Interceptor;
 
 import javax.sql.DataSource;
@@ -47,14 +51,23 @@ public class M16DatabaseConfig {
     }
 
     @Bean(name = "m16SqlSessionFactory")
+    @DependsOn("databaseMigrator")
     @Primary
-    public SqlSessionFactory m16SqlSessionFactory(@Qualifier("m16DataSource") DataSource dataSource) throws Exception {
+    public SqlSessionFactory m16SqlSessionFactory(@Qualifier("m16DataSource") DataSource dataSource,
+                                                  FabMapperCacheManager mapperCacheManager,
+                                                  @Value("${db.row-reader.enabled:true}") boolean rowReaderEnabled) throws Exception {
         SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
         sessionFactory.setDataSource(dataSource);
         sessionFactory.setMapperLocations(
             new PathMatchingResourcePatternResolver().getResources("classpath:mapper/m16/**/*.xml")
         );
+        if (rowReaderEnabled) {
+            // LOT/설비/반송 단순 조회는 생성된 행 리더로 매핑
+            sessionFactory.setConfiguration(new RowReaderConfiguration());
+        }
         sessionFactory.setPlugins(new Interceptor[]{ new MyBatisQueryLoggingInterceptor() });
+        // 매퍼 XML <cache> 설정값 (db.mapper-cache.*)
+        sessionFactory.setConfigurationProperties(mapperCacheManager.configurationVariables());
         return sessionFactory.getObject();
     }
 
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import com.ai.mes.config.mybatis.MyBatisQueryLoggingInterceptor;
@@ -45,6 +46,7 @@ public class NextDatabaseConfig {
     }
 
     @Bean(name = "nextSqlSessionFactory")
+    @DependsOn("databaseMigrator")
     public SqlSessionFactory nextSqlSessionFactory(@Qualifier("nextDataSource") DataSource dataSource) throws Exception {
         SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
         sessionFactory.setDataSource(dataSource);
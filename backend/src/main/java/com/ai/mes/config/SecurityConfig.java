@@ -4,6 +4,7 @@ import com.ai.mes.security.JwtAuthenticationEntryPoint;
 import com.ai.mes.security.JwtAuthenticationFilter;
 import com.ai.mes.security.SimplePasswordEncoder;
 import com.ai.mes.security.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -63,12 +64,18 @@ public class SecurityConfig {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // 비동기 응답(Mono) 완료 후 재디스패치는 최초 요청에서 이미 인가됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // 요청 검증 실패(400) 등 오류 응답 디스패치는 상태 코드를 그대로 전달 (401로 바뀌지 않도록)
+                .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                 // Public endpoints
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                // CSV 내보내기는 대량 조회로 팹 DB 연결을 오래 점유하므로 읽기 전용이라도 인증 필요
+                .requestMatchers(HttpMethod.GET, "/lots/export", "/equipment/export", "/returns/export").authenticated()
                 // Temporarily allow read-only access for development
-                .requestMatchers(HttpMethod.GET, "/lots/**", "/equipment/**", "/returns/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/lots/**", "/equipment/**", "/returns/**", "/dashboard/**").permitAll()
                 // Protected endpoints
                 .requestMatchers("/lots/**").authenticated()
                 .requestMatchers("/equipment/**").authenticated()
@@ -1,10 +1,20 @@
 package com.ai.mes.config;
 
+import com.ai.mes.service.AIWireCodec;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -18,10 +28,49 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true);
     }
 
+    /**
+     * AI 서비스 전용 연결 풀.
+     * 연결 수와 연결 대기 수를 제한하고, 유휴 연결은 keep-alive로 재사용하다 주기적으로 정리합니다.
+     * 풀 메트릭은 {@code reactor.netty.connection.provider.*}로 노출됩니다.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiServiceConnectionProvider(
+            @Value("${ai-service.pool.max-connections:32}") int maxConnections,
+            @Value("${ai-service.pool.pending-acquire-max-count:64}") int pendingAcquireMaxCount,
+            @Value("${ai-service.pool.pending-acquire-timeout:2000}") long pendingAcquireTimeout,
+            @Value("${ai-service.pool.max-idle-time:30000}") long maxIdleTime,
+            @Value("${ai-service.pool.max-life-time:300000}") long maxLifeTime) {
+        return ConnectionProvider.builder("ai-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeout))
+                .maxIdleTime(Duration.ofMillis(maxIdleTime))
+                .maxLifeTime(Duration.ofMillis(maxLifeTime))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider aiServiceConnectionProvider,
+                               AIWireCodec wireCodec,
+                               @Value("${ai-service.pool.connect-timeout:2000}") int connectTimeout) {
+        HttpClient httpClient = HttpClient.create(aiServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                // Accept-Encoding: gzip 요청 및 압축 응답 자동 해제
+                .compress(true);
         return WebClient.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().maxInMemorySize(1024 * 1024);
+                    // 응답은 Content-Type에 따라 JSON 또는 CBOR로 디코딩
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(wireCodec.getJsonMapper()));
+                    // 단일 인자 생성자는 JSON MIME 타입을 사용하므로 CBOR 타입을 명시 (JSON 응답을 가로채지 않도록)
+                    configurer.customCodecs().register(
+                            new Jackson2CborDecoder(wireCodec.getCborMapper(), AIWireCodec.APPLICATION_CBOR));
+                })
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,312 @@
+package com.ai.mes.config.mybatis;
+
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
+import com.ai.mes.model.compact.CompactRows;
+import org.apache.ibatis.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 팹 매퍼 네임스페이스용 MyBatis 2차 캐시.
+ * <p>
+ * 매퍼 XML의 {@code <cache type="...FabMapperCache">}로 지정하며, 네임스페이스({@code com.ai.mes.mapper.m14.LotDataMapper} 등)마다
+ * 하나씩 생성됩니다. 항목 수({@code maxEntries})와 보관 행 수({@code maxRows}) 한도를 넘으면 가장 오래 사용하지 않은 항목부터 제거하고,
+ * {@code ttl}(ms)이 지난 항목은 조회 시 버립니다.
+ * <p>
+ * 같은 네임스페이스의 insert/update/delete 문은 MyBatis 기본 동작(flushCache)으로 캐시를 비우고,
+ * 그 밖의 변경은 {@link FabMapperCacheManager}가 {@code FabDataChangedEvent}를 받아 비웁니다.
+ * 조회 결과 목록은 복사본을 보관·반환하지만 행 객체는 공유되므로, 호출 측은 결과 행을 읽기 전용으로 다뤄야 합니다.
+ * 단, {@code compact}가 켜져 있으면 LOT/설비/반송 목록은 {@link CompactRows}(사전 코드·기본형 배열)로 보관하고
+ * 조회 때마다 새 모델 객체로 꺼내므로 행 객체도 공유되지 않습니다.
+ */
+public class FabMapperCache implements Cache {
+
+    // 네임스페이스 ID -> 캐시 (이벤트 무효화와 메트릭 집계용)
+    private static final Map<String, FabMapperCache> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String id;
+    private final String fab;
+    private final Dataset dataset;
+
+    // MyBatis <property>로 설정
+    private boolean enabled = true;
+    private int maxEntries = 256;
+    private long maxRows = 200_000;
+    private long ttl = 30_000;
+    private boolean compact = true;
+
+    // 아래 상태는 모두 this 잠금으로 보호 (접근 순서 LRU)
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long rows;
+    // 비우기(clear) 횟수와, 조회 실패한 키 -> 실패 당시 횟수.
+    // 비우기 전에 DB에서 읽은 결과가 비운 뒤에 보관되는 것을 막습니다.
+    private long generation;
+    private final Map<Object, Long> pendingLoads = new HashMap<>();
+    // 압축 목록 항목(체크포인트 대상) 추가·제거 횟수. 체크포인트가 바뀐 것이 없으면 기록을 생략하는 데 사용
+    private long modifications;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public FabMapperCache(String id) {
+        this.id = id;
+        this.fab = fabOf(id);
+        this.dataset = datasetOf(id);
+        INSTANCES.put(id, this);
+    }
+
+    static Collection<FabMapperCache> instances() {
+        return INSTANCES.values();
+    }
+
+    static FabMapperCache instance(String id) {
+        return INSTANCES.get(id);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        if (!enabled) {
+            return;
+        }
+        // 호출 측이 반환 목록을 정렬·변경해도 캐시 내용이 바뀌지 않도록 복사본 보관
+        Object stored = value instanceof List<?> list ? store(list) : value;
+        long size = rowCount(stored);
+        synchronized (this) {
+            Long loadedAt = pendingLoads.remove(key);
+            // 트랜잭션 캐시는 커밋 시 조회 실패 키를 null로 넣음 (대기 표시만 정리)
+            if (value == null || size > maxRows || loadedAt == null || loadedAt != generation) {
+                return;
+            }
+            Entry previous = entries.put(key, new Entry(stored, size, System.currentTimeMillis() + ttl));
+            if (previous != null) {
+                rows -= previous.rows;
+                modified(previous.value);
+            }
+            rows += size;
+            modified(stored);
+            evictOverflow();
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key);
+                rows -= entry.rows;
+                modified(entry.value);
+                entry = null;
+            }
+            if (entry == null) {
+                pendingLoads.put(key, generation);
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (entry.value instanceof CompactRows<?> rows) {
+            return rows.toList();
+        }
+        return entry.value instanceof List<?> ? new ArrayList<>((List<?>) entry.value) : entry.value;
+    }
+
+    @Override
+    public synchronized Object removeObject(Object key) {
+        // 조회 실패 후 롤백된 경우에도 호출됨
+        pendingLoads.remove(key);
+        Entry removed = entries.remove(key);
+        if (removed == null) {
+            return null;
+        }
+        rows -= removed.rows;
+        modified(removed.value);
+        return removed.value;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            modified(entry.value);
+        }
+        entries.clear();
+        pendingLoads.clear();
+        rows = 0;
+        generation++;
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * 체크포인트용: 만료되지 않은 압축 목록 항목을 오래 사용하지 않은 순서로 반환합니다.
+     * 압축 표현은 불변이므로 잠금 밖에서 기록해도 됩니다.
+     */
+    synchronized List<Map.Entry<Object, CompactRows<?>>> compactEntries() {
+        long now = System.currentTimeMillis();
+        List<Map.Entry<Object, CompactRows<?>>> result = new ArrayList<>();
+        for (Map.Entry<Object, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().expiresAt >= now && entry.getValue().value instanceof CompactRows<?> compactRows) {
+                result.add(Map.entry(entry.getKey(), compactRows));
+            }
+        }
+        return result;
+    }
+
+    /** 체크포인트용: 마지막 기록 이후 바뀐 것이 있는지 비교할 항목 추가·제거 횟수 */
+    synchronized long modifications() {
+        return modifications;
+    }
+
+    /** 체크포인트 복원용: 워터마크 검증 전에 읽어 두고 {@link #restore}에 넘기는 비우기 횟수 */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * 체크포인트에서 읽은 항목을 {@code expiresAt}까지 보관합니다. 그 사이 조회로 이미 채워진 키는 그대로 두고,
+     * {@code generation}을 읽은 뒤 캐시가 비워졌으면(검증한 워터마크 이후 변경) 보관하지 않습니다.
+     *
+     * @return 보관했으면 true
+     */
+    synchronized boolean restore(Object key, CompactRows<?> value, long generation, long expiresAt) {
+        long size = rowCount(value);
+        if (!enabled || size > maxRows || generation != this.generation || entries.containsKey(key)
+                || expiresAt < System.currentTimeMillis()) {
+            return false;
+        }
+        entries.put(key, new Entry(value, size, expiresAt));
+        rows += size;
+        modifications++;
+        evictOverflow();
+        return true;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public String getFab() {
+        return fab;
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public void setMaxRows(long maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    /** 보관용 목록: LOT/설비/반송은 압축 표현, 그 밖에는 읽기 전용 복사본 */
+    private Object store(List<?> list) {
+        CompactRows<?> rows = compact ? CompactRows.encode(list) : null;
+        return rows != null ? rows : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || rows > maxRows) && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            rows -= evicted.rows;
+            modified(evicted.value);
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void modified(Object value) {
+        if (value instanceof CompactRows<?>) {
+            modifications++;
+        }
+    }
+
+    private static long rowCount(Object value) {
+        if (value instanceof CompactRows<?> rows) {
+            return Math.max(1, rows.size());
+        }
+        return value instanceof Collection<?> ? Math.max(1, ((Collection<?>) value).size()) : 1;
+    }
+
+    /** com.ai.mes.mapper.m14.LotDataMapper -> M14 */
+    private static String fabOf(String id) {
+        String[] parts = id.split("\\.");
+        return parts.length >= 2 ? parts[parts.length - 2].toUpperCase() : id;
+    }
+
+    private static Dataset datasetOf(String id) {
+        if (id.endsWith("LotDataMapper")) {
+            return Dataset.LOTS;
+        }
+        if (id.endsWith("EquipmentDataMapper")) {
+            return Dataset.EQUIPMENT;
+        }
+        if (id.endsWith("ReturnHistoryMapper")) {
+            return Dataset.RETURNS;
+        }
+        return null;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long rows;
+        private final long expiresAt;
+
+        private Entry(Object value, long rows, long expiresAt) {
+            this.value = value;
+            this.rows = rows;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
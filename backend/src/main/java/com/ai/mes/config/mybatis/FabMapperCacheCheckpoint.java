@@ -0,0 +1,296 @@
+package com.ai.mes.config.mybatis;
+
+import com.ai.mes.model.FabWatermark;
+import com.ai.mes.model.compact.CompactRows;
+import com.ai.mes.service.DataVersionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 팹 매퍼 2차 캐시({@link FabMapperCache}) 체크포인트 (재시작 후 웜 캐시).
+ * <p>
+ * 주기적으로, 그리고 종료 시 만료되지 않은 압축 목록 항목({@link CompactRows})을 네임스페이스별로 하나의 파일에 기록하고,
+ * 기동 시 메모리 맵으로 읽어 캐시를 미리 채웁니다. 네임스페이스마다 기록 시점의 워터마크({@code MAX(updated_at)}, 행 수)를
+ * 함께 남겨, 기동 시 현재 워터마크와 같은 네임스페이스만 복원하고 그 사이 변경된 테이블의 항목은 버립니다.
+ * 워터마크는 {@link DataVersionService}의 TTL 캐시를 거쳐 읽습니다.
+ * <p>
+ * 복원은 워터마크 검증에 DB를 조회하므로 기동을 막지 않도록 백그라운드에서 진행하며, 끝나기 전의 조회는 DB로 갑니다.
+ * 복원한 항목은 워터마크를 검증한 시점부터 {@code restore-ttl}(기본값은 캐시 TTL) 동안만 보관합니다. 기록 시점의
+ * 남은 TTL은 재시작 사이에 대부분 지나므로 쓰지 않으며, 이 서버를 거치지 않은 변경의 반영 지연도 같은 값으로 제한됩니다.
+ * 따라서 웜 캐시는 기동 직후 {@code restore-ttl} 동안의 DB 조회만 줄입니다.
+ * 주기 기록은 마지막 기록 이후 항목이 추가·제거된 캐시가 없으면 워터마크 조회와 함께 생략합니다.
+ * <p>
+ * 파일 형식(빅엔디언): magic(4) | version(1) | createdAtMillis(8) | namespaceCount(4)
+ * | (id | watermark("maxUpdatedAt/rowCount", 워터마크를 읽지 못했으면 "-") | entryCount(4)
+ * | (keyLength(4) | key(Java 직렬화 CacheKey) | valueLength(4) | value(CompactRows))*)*
+ * 문자열은 length(4) | UTF-8 입니다. 작성은 임시 파일에 하고 원자적으로 이름을 바꿔 공개하므로 부분 기록된 파일은 읽히지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FabMapperCacheCheckpoint {
+
+    static final String FILE_NAME = "mapper-cache.ckpt";
+    static final int MAGIC = 0x414D434B; // "AMCK"
+    static final byte VERSION = 3;
+    // 기록 시 워터마크를 읽지 못한 네임스페이스 (기동 시 복원하지 않음)
+    private static final String UNKNOWN_WATERMARK = "-";
+
+    // 캐시 키 역직렬화 허용 목록 (MyBatis CacheKey와 매퍼 파라미터 값 타입)
+    private static final ObjectInputFilter KEY_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=8;org.apache.ibatis.cache.CacheKey;java.util.ArrayList;java.lang.*;java.time.*;java.math.*;!*");
+
+    private final DataVersionService dataVersionService;
+
+    @Value("${db.mapper-cache.checkpoint.enabled:true}")
+    private boolean enabled;
+
+    @Value("${db.mapper-cache.checkpoint.path:./data/cache}")
+    private String storagePath;
+
+    // 복원한 항목의 보관 시간 (ms)
+    @Value("${db.mapper-cache.checkpoint.restore-ttl:${db.mapper-cache.ttl:30000}}")
+    private long restoreTtlMillis;
+
+    // 복원·기록 중 표시 (둘이 겹치지 않도록)
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+
+    // 네임스페이스 ID -> 마지막으로 기록한 시점의 캐시 변경 횟수 (없으면 0, 즉 한 번도 바뀌지 않은 캐시는 기록하지 않음)
+    private volatile Map<String, Long> writtenModifications = Map.of();
+
+    @PostConstruct
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        Path file = Paths.get(storagePath).resolve(FILE_NAME);
+        if (!Files.isRegularFile(file) || !writing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                restore(file);
+            } finally {
+                writing.set(false);
+            }
+        });
+    }
+
+    void restore(Path file) {
+        long started = System.nanoTime();
+        int namespaces = 0;
+        int restored = 0;
+        // 복원 말고는 바뀌지 않은 캐시는 파일과 같으므로 기록한 것으로 봄
+        Map<String, Long> unchanged = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC || in.get() != VERSION) {
+                log.warn("Ignoring mapper cache checkpoint with unknown format: {}", file);
+                return;
+            }
+            long createdAt = in.getLong();
+            int namespaceCount = in.getInt();
+            for (int i = 0; i < namespaceCount; i++) {
+                String id = readString(in);
+                String watermark = readString(in);
+                int entryCount = in.getInt();
+                FabMapperCache cache = FabMapperCache.instance(id);
+                // 검증 뒤 변경으로 캐시가 비워지면 이 네임스페이스의 복원은 무시됨
+                long generation = cache != null ? cache.generation() : 0;
+                long modifications = cache != null ? cache.modifications() : 0;
+                long expiresAt = System.currentTimeMillis() + restoreTtlMillis;
+                boolean current = cache != null && cache.getDataset() != null
+                        && matches(dataVersionService.watermark(cache.getDataset(), cache.getFab()), watermark);
+                if (current) {
+                    namespaces++;
+                }
+                for (int j = 0; j < entryCount; j++) {
+                    byte[] key = new byte[in.getInt()];
+                    in.get(key);
+                    int valueLength = in.getInt();
+                    if (!current) {
+                        in.position(in.position() + valueLength);
+                        continue;
+                    }
+                    ByteBuffer value = in.slice(in.position(), valueLength);
+                    in.position(in.position() + valueLength);
+                    Object cacheKey = readKey(key);
+                    if (cacheKey != null && cache.restore(cacheKey, CompactRows.readFrom(value), generation, expiresAt)) {
+                        modifications++;
+                        restored++;
+                    }
+                }
+                if (current && cache.modifications() == modifications) {
+                    unchanged.put(id, modifications);
+                }
+            }
+            writtenModifications = unchanged;
+            log.info("Restored {} mapper cache entries from {} of {} namespaces (checkpoint age {} s) in {} ms",
+                    restored, namespaces, namespaceCount, (System.currentTimeMillis() - createdAt) / 1000,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Mapper cache checkpoint could not be restored: {} ({})", file, e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${db.mapper-cache.checkpoint.interval:60000}",
+            fixedDelayString = "${db.mapper-cache.checkpoint.interval:60000}")
+    public void checkpoint() {
+        if (!enabled || !writing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Mapper cache checkpoint failed: {}", e.getMessage());
+        } finally {
+            writing.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private void write() throws IOException {
+        long started = System.nanoTime();
+        // 변경 횟수는 워터마크·항목보다 먼저 읽어야, 기록 중의 변경이 다음 주기에 다시 기록됨
+        List<FabMapperCache> caches = new ArrayList<>();
+        Map<String, Long> modifications = new HashMap<>();
+        boolean changed = false;
+        for (FabMapperCache cache : FabMapperCache.instances()) {
+            if (cache.getDataset() != null) {
+                caches.add(cache);
+                long count = cache.modifications();
+                modifications.put(cache.getId(), count);
+                changed |= count != writtenModifications.getOrDefault(cache.getId(), 0L);
+            }
+        }
+        if (!changed) {
+            return;
+        }
+        Path directory = Paths.get(storagePath);
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(caches.size());
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            for (FabMapperCache cache : caches) {
+                // 워터마크를 먼저 읽고 항목을 가져와야, 그 사이의 변경이 기동 시 워터마크 비교로 드러남
+                FabWatermark watermark = dataVersionService.watermark(cache.getDataset(), cache.getFab());
+                if (watermark == null) {
+                    // 항목을 남기지 못했으므로 다음 주기에 다시 기록
+                    modifications.put(cache.getId(), -1L);
+                }
+                List<Map.Entry<Object, CompactRows<?>>> entries = watermark == null ? List.of() : cache.compactEntries();
+                List<byte[]> keys = new ArrayList<>(entries.size());
+                List<CompactRows<?>> values = new ArrayList<>(entries.size());
+                for (Map.Entry<Object, CompactRows<?>> entry : entries) {
+                    byte[] key = writeKey(entry.getKey());
+                    if (key != null) {
+                        keys.add(key);
+                        values.add(entry.getValue());
+                    }
+                }
+                writeString(out, cache.getId());
+                writeString(out, watermark == null ? UNKNOWN_WATERMARK : watermarkString(watermark));
+                out.writeInt(keys.size());
+                for (int i = 0; i < keys.size(); i++) {
+                    out.writeInt(keys.get(i).length);
+                    out.write(keys.get(i));
+                    buffer.reset();
+                    values.get(i).writeTo(new DataOutputStream(buffer));
+                    out.writeInt(buffer.size());
+                    buffer.writeTo(out);
+                }
+                written += keys.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        writtenModifications = modifications;
+        log.debug("Mapper cache checkpoint written: {} entries in {} ms", written, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static boolean matches(FabWatermark watermark, String recorded) {
+        return watermark != null && !UNKNOWN_WATERMARK.equals(recorded) && watermarkString(watermark).equals(recorded);
+    }
+
+    private static String watermarkString(FabWatermark watermark) {
+        return (watermark.getMaxUpdatedAt() == null ? "" : watermark.getMaxUpdatedAt().toString())
+                + "/" + (watermark.getRowCount() == null ? "" : watermark.getRowCount());
+    }
+
+    /** 직렬화할 수 없는 파라미터가 들어 있는 키는 null (체크포인트에서 제외) */
+    private static byte[] writeKey(Object key) {
+        if (!(key instanceof CacheKey)) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+        } catch (IOException e) {
+            log.debug("Skipping non-serializable mapper cache key: {}", e.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object readKey(byte[] key) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(key))) {
+            in.setObjectInputFilter(KEY_FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            log.debug("Skipping unreadable mapper cache key: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
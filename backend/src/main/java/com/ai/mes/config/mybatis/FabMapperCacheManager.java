@@ -0,0 +1,105 @@
+package com.ai.mes.config.mybatis;
+
+import com.ai.mes.event.FabDataChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 팹 매퍼 2차 캐시({@link FabMapperCache}) 설정·무효화·메트릭.
+ * <p>
+ * {@code db.mapper-cache.*} 설정을 MyBatis 설정 변수로 넘겨 매퍼 XML의 {@code <cache>} 속성에 적용하고,
+ * {@link FabDataChangedEvent}를 받으면 해당 팹·데이터셋 네임스페이스의 캐시를 비웁니다.
+ * 팹별 적중/실패·제거 수와 보관 항목·행 수를 {@code mybatis.cache.*} 메트릭으로 노출합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FabMapperCacheManager {
+
+    private static final String[] FABS = {"M14", "M15", "M16"};
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${db.mapper-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${db.mapper-cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${db.mapper-cache.max-rows:200000}")
+    private long maxRows;
+
+    @Value("${db.mapper-cache.ttl:30000}")
+    private long ttlMillis;
+
+    @Value("${db.mapper-cache.compact:true}")
+    private boolean compact;
+
+    /** 팹 SqlSessionFactory 설정 변수 (매퍼 XML의 {@code ${mapperCache.*}}) */
+    public Properties configurationVariables() {
+        Properties variables = new Properties();
+        variables.setProperty("mapperCache.enabled", String.valueOf(enabled));
+        variables.setProperty("mapperCache.maxEntries", String.valueOf(maxEntries));
+        variables.setProperty("mapperCache.maxRows", String.valueOf(maxRows));
+        variables.setProperty("mapperCache.ttl", String.valueOf(ttlMillis));
+        variables.setProperty("mapperCache.compact", String.valueOf(compact));
+        return variables;
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        for (String fab : FABS) {
+            FunctionCounter.builder("mybatis.cache.gets", fab, f -> sum(f, FabMapperCache::getHits))
+                    .description("매퍼 2차 캐시 조회 수")
+                    .tags("fab", fab, "result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("mybatis.cache.gets", fab, f -> sum(f, FabMapperCache::getMisses))
+                    .description("매퍼 2차 캐시 조회 수")
+                    .tags("fab", fab, "result", "miss")
+                    .register(meterRegistry);
+            FunctionCounter.builder("mybatis.cache.evictions", fab, f -> sum(f, FabMapperCache::getEvictions))
+                    .description("한도 초과로 제거된 매퍼 2차 캐시 항목 수")
+                    .tag("fab", fab)
+                    .register(meterRegistry);
+            Gauge.builder("mybatis.cache.entries", fab, f -> sum(f, FabMapperCache::getSize))
+                    .description("매퍼 2차 캐시 보관 항목 수")
+                    .tag("fab", fab)
+                    .register(meterRegistry);
+            Gauge.builder("mybatis.cache.rows", fab, f -> sum(f, FabMapperCache::getRows))
+                    .description("매퍼 2차 캐시에 보관된 결과 행 수 (메모리 사용량 지표)")
+                    .tag("fab", fab)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener
+    public void onFabDataChanged(FabDataChangedEvent event) {
+        for (FabMapperCache cache : FabMapperCache.instances()) {
+            boolean fabMatches = event.getFab() == null || event.getFab().equalsIgnoreCase(cache.getFab());
+            if (fabMatches && cache.getDataset() == event.getDataset()) {
+                cache.clear();
+            }
+        }
+        log.debug("Mapper cache flushed: {}", event);
+    }
+
+    private static double sum(String fab, ToDoubleFunction<FabMapperCache> value) {
+        double total = 0;
+        for (FabMapperCache cache : FabMapperCache.instances()) {
+            if (fab.equals(cache.getFab())) {
+                total += value.applyAsDouble(cache);
+            }
+        }
+        return total;
+    }
+}
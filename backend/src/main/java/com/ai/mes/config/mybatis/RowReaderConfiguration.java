@@ -0,0 +1,122 @@
+package com.ai.mes.config.mybatis;
+
+import com.ai.mes.mapper.row.EquipmentDataRowReader;
+import com.ai.mes.mapper.row.LotDataRowReader;
+import com.ai.mes.mapper.row.ReturnHistoryRowReader;
+import com.ai.mes.mapper.row.RowReader;
+import com.ai.mes.model.EquipmentData;
+import com.ai.mes.model.LotData;
+import com.ai.mes.model.ReturnHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LOT/설비/반송 조회 결과를 {@link RowReader}로 읽는 MyBatis 설정.
+ * <p>
+ * resultMap 기반 기본 매핑은 행마다 열 이름 조회, TypeHandler 탐색, MetaObject 리플렉션 setter 호출을 거칩니다.
+ * 이 설정은 결과 집합 핸들러 생성({@link #newResultSetHandler})에서 문장·RowBounds·ResultHandler를 받아,
+ * 결과 모델에 맞는 행 리더가 있고 resultMap이 리더와 같은 열-속성 매핑만 가진 단순 조회
+ * (중첩 매핑·RowBounds·ResultHandler 없음)이면 열 위치로 직접 읽는 핸들러를 돌려주고, 그 밖의 문장은 기본 핸들러에 맡깁니다.
+ * 문장별 적용 여부는 처음 실행할 때 한 번 판정해 보관합니다. 행 리더는 모델의 {@code @RowReaderModel}로 컴파일 시 생성됩니다.
+ */
+@Slf4j
+public class RowReaderConfiguration extends Configuration {
+
+    private static final Map<Class<?>, RowReader<?>> READERS = Map.of(
+            LotData.class, new LotDataRowReader(),
+            EquipmentData.class, new EquipmentDataRowReader(),
+            ReturnHistory.class, new ReturnHistoryRowReader());
+
+    // MappedStatement ID -> 행 리더 (적용 불가면 empty)
+    private final Map<String, Optional<RowReader<?>>> readers = new ConcurrentHashMap<>();
+
+    @Override
+    public ResultSetHandler newResultSetHandler(Executor executor, MappedStatement mappedStatement, RowBounds rowBounds,
+                                                ParameterHandler parameterHandler, ResultHandler resultHandler,
+                                                BoundSql boundSql) {
+        ResultSetHandler handler = super.newResultSetHandler(executor, mappedStatement, rowBounds, parameterHandler,
+                resultHandler, boundSql);
+        if (rowBounds != RowBounds.DEFAULT || resultHandler != null) {
+            return handler;
+        }
+        RowReader<?> reader = readers.computeIfAbsent(mappedStatement.getId(), id -> resolve(mappedStatement)).orElse(null);
+        return reader == null ? handler : new RowReaderResultSetHandler(reader, handler);
+    }
+
+    /** 단일 resultMap이고 그 매핑을 행 리더가 그대로 처리할 수 있을 때만 적용 */
+    private static Optional<RowReader<?>> resolve(MappedStatement mappedStatement) {
+        List<ResultMap> resultMaps = mappedStatement.getResultMaps();
+        if (resultMaps.size() != 1 || mappedStatement.getResultSets() != null) {
+            return Optional.empty();
+        }
+        ResultMap resultMap = resultMaps.get(0);
+        RowReader<?> reader = READERS.get(resultMap.getType());
+        if (reader == null || resultMap.hasNestedResultMaps() || resultMap.hasNestedQueries()
+                || resultMap.getDiscriminator() != null || !resultMap.getConstructorResultMappings().isEmpty()
+                || resultMap.getPropertyResultMappings().size() != reader.getColumnCount()) {
+            return Optional.empty();
+        }
+        for (ResultMapping mapping : resultMap.getPropertyResultMappings()) {
+            if (mapping.getColumn() == null || mapping.getTypeHandler() == null
+                    || !reader.supports(mapping.getColumn(), mapping.getProperty())) {
+                log.debug("[MyBatis] {} uses default result mapping (column {} -> {})",
+                        mappedStatement.getId(), mapping.getColumn(), mapping.getProperty());
+                return Optional.empty();
+            }
+        }
+        return Optional.of(reader);
+    }
+
+    /** 첫 결과 집합을 행 리더로 읽고, 커서·출력 파라미터는 기본 핸들러에 위임 */
+    private static final class RowReaderResultSetHandler implements ResultSetHandler {
+
+        private final RowReader<?> reader;
+        private final ResultSetHandler delegate;
+
+        private RowReaderResultSetHandler(RowReader<?> reader, ResultSetHandler delegate) {
+            this.reader = reader;
+            this.delegate = delegate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <E> List<E> handleResultSets(Statement statement) throws SQLException {
+            ResultSet rs = statement.getResultSet();
+            if (rs == null) {
+                return delegate.handleResultSets(statement);
+            }
+            try (rs) {
+                return (List<E>) reader.readAll(rs);
+            }
+        }
+
+        @Override
+        public <E> Cursor<E> handleCursorResultSets(Statement statement) throws SQLException {
+            return delegate.handleCursorResultSets(statement);
+        }
+
+        @Override
+        public void handleOutputParameters(CallableStatement callableStatement) throws SQLException {
+            delegate.handleOutputParameters(callableStatement);
+        }
+    }
+}
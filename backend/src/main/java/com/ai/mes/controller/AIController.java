@@ -3,13 +3,27 @@ package com.ai.mes.controller;
 import com.ai.mes.dto.AIAnalysisRequest;
 import com.ai.mes.dto.AIAnalysisResponse;
 import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.service.AIBulkheadService.BusyException;
 import com.ai.mes.service.AIService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
 
 @Slf4j
 @RestController
@@ -20,59 +34,107 @@ public class AIController {
 
     private final AIService aiService;
 
+    @Value("${ai-service.stream-timeout:120000}")
+    private long streamTimeout;
+
     @PostMapping("/analyze/lot")
     @Operation(summary = "Lot 데이터 AI 분석", description = "Lot 데이터를 AI로 분석합니다.")
-    public ResponseEntity<ApiResponse<AIAnalysisResponse>> analyzeLotData(
+    public Mono<ResponseEntity<ApiResponse<AIAnalysisResponse>>> analyzeLotData(
             @RequestBody AIAnalysisRequest request) {
-        try {
-            AIAnalysisResponse response = aiService.analyzeLotData(request);
-            return ResponseEntity.ok(ApiResponse.success(response, "Lot 데이터 AI 분석 완료"));
-        } catch (Exception e) {
-            log.error("Error analyzing lot data", e);
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("Lot 데이터 AI 분석 중 오류가 발생했습니다: " + e.getMessage()));
-        }
+        return aiService.analyzeLotData(request)
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response, "Lot 데이터 AI 분석 완료")))
+                .onErrorResume(BusyException.class, e -> Mono.just(busy()))
+                .onErrorResume(e -> {
+                    log.error("Error analyzing lot data", e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                            .body(ApiResponse.error("Lot 데이터 AI 분석 중 오류가 발생했습니다: " + e.getMessage())));
+                });
     }
 
     @PostMapping("/analyze/equipment")
     @Operation(summary = "설비 데이터 AI 분석", description = "설비 데이터를 AI로 분석합니다.")
-    public ResponseEntity<ApiResponse<AIAnalysisResponse>> analyzeEquipmentData(
+    public Mono<ResponseEntity<ApiResponse<AIAnalysisResponse>>> analyzeEquipmentData(
             @RequestBody AIAnalysisRequest request) {
-        try {
-            AIAnalysisResponse response = aiService.analyzeEquipmentData(request);
-            return ResponseEntity.ok(ApiResponse.success(response, "설비 데이터 AI 분석 완료"));
-        } catch (Exception e) {
-            log.error("Error analyzing equipment data", e);
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("설비 데이터 AI 분석 중 오류가 발생했습니다: " + e.getMessage()));
-        }
+        return aiService.analyzeEquipmentData(request)
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response, "설비 데이터 AI 분석 완료")))
+                .onErrorResume(BusyException.class, e -> Mono.just(busy()))
+                .onErrorResume(e -> {
+                    log.error("Error analyzing equipment data", e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                            .body(ApiResponse.error("설비 데이터 AI 분석 중 오류가 발생했습니다: " + e.getMessage())));
+                });
     }
 
     @PostMapping("/analyze/return")
     @Operation(summary = "반송 데이터 AI 분석", description = "반송 데이터를 AI로 분석합니다.")
-    public ResponseEntity<ApiResponse<AIAnalysisResponse>> analyzeReturnData(
+    public Mono<ResponseEntity<ApiResponse<AIAnalysisResponse>>> analyzeReturnData(
             @RequestBody AIAnalysisRequest request) {
-        try {
-            AIAnalysisResponse response = aiService.analyzeReturnData(request);
-            return ResponseEntity.ok(ApiResponse.success(response, "반송 데이터 AI 분석 완료"));
-        } catch (Exception e) {
-            log.error("Error analyzing return data", e);
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("반송 데이터 AI 분석 중 오류가 발생했습니다: " + e.getMessage()));
-        }
+        return aiService.analyzeReturnData(request)
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response, "반송 데이터 AI 분석 완료")))
+                .onErrorResume(BusyException.class, e -> Mono.just(busy()))
+                .onErrorResume(e -> {
+                    log.error("Error analyzing return data", e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                            .body(ApiResponse.error("반송 데이터 AI 분석 중 오류가 발생했습니다: " + e.getMessage())));
+                });
     }
 
     @PostMapping("/analyze/status")
     @Operation(summary = "상태 모니터링 AI 인사이트", description = "상태 모니터링 데이터에 대한 AI 인사이트를 제공합니다.")
-    public ResponseEntity<ApiResponse<AIAnalysisResponse>> getStatusInsights(
+    public Mono<ResponseEntity<ApiResponse<AIAnalysisResponse>>> getStatusInsights(
             @RequestBody AIAnalysisRequest request) {
+        return aiService.getStatusInsights(request)
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response, "상태 모니터링 AI 인사이트 생성 완료")))
+                .onErrorResume(BusyException.class, e -> Mono.just(busy()))
+                .onErrorResume(e -> {
+                    log.error("Error generating status insights", e);
+                    return Mono.just(ResponseEntity.internalServerError()
+                            .body(ApiResponse.error("상태 모니터링 AI 인사이트 생성 중 오류가 발생했습니다: " + e.getMessage())));
+                });
+    }
+
+    @PostMapping(value = "/analyze/{type}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "AI 분석 스트리밍", description = "AI 분석 결과를 생성되는 대로 Server-Sent Events로 전달합니다. (type: lot, equipment, return, status)")
+    public ResponseEntity<SseEmitter> streamAnalysis(
+            @Parameter(description = "분석 유형") @PathVariable String type,
+            @RequestBody AIAnalysisRequest request) {
+        if (!aiService.supportsAnalysisType(type)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        Disposable subscription = aiService.streamAnalysis(type, request).subscribe(
+                event -> send(emitter, event),
+                emitter::completeWithError,
+                emitter::complete);
+        // 클라이언트 연결 종료나 타임아웃 시 AI 서비스 스트림도 취소
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(emitter);
+    }
+
+    private void send(SseEmitter emitter, ServerSentEvent<Object> event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.event());
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        Object data = event.data();
+        if (data instanceof String) {
+            builder.data(data);
+        } else if (data != null) {
+            builder.data(data, MediaType.APPLICATION_JSON);
+        }
         try {
-            AIAnalysisResponse response = aiService.getStatusInsights(request);
-            return ResponseEntity.ok(ApiResponse.success(response, "상태 모니터링 AI 인사이트 생성 완료"));
-        } catch (Exception e) {
-            log.error("Error generating status insights", e);
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("상태 모니터링 AI 인사이트 생성 중 오류가 발생했습니다: " + e.getMessage()));
+            emitter.send(builder);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
         }
     }
-}
\ No newline at end of file
+
+    private static <T> ResponseEntity<ApiResponse<T>> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error("AI 서비스 요청이 많습니다. 잠시 후 다시 시도해주세요."));
+    }
+}
@@ -0,0 +1,77 @@
+package com.ai.mes.controller;
+
+import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.dto.CycleTimeStat;
+import com.ai.mes.dto.ReturnStat;
+import com.ai.mes.dto.SnapshotStatus;
+import com.ai.mes.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "LOT/반송 이력 분석 API (열 스냅샷 기반)")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/cycle-time")
+    @Operation(summary = "사이클 타임 분석", description = "완료된 LOT 이력의 제품/공정 단계별 사이클 타임(분)을 집계합니다. 기간은 종료 시각 기준입니다.")
+    public ResponseEntity<ApiResponse<List<CycleTimeStat>>> getCycleTimes(
+            @Parameter(description = "팹 코드 (M14, M15, M16). 없으면 전체 팹") @RequestParam(required = false) String fab,
+            @Parameter(description = "그룹 기준 (product, step)") @RequestParam(defaultValue = "product") String groupBy,
+            @Parameter(description = "시작 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<CycleTimeStat> stats = analyticsService.getCycleTimes(fab, groupBy, from, to);
+            return ResponseEntity.ok(ApiResponse.success(stats, "사이클 타임 분석 성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error analyzing cycle time", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("사이클 타임 분석 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/returns")
+    @Operation(summary = "반송 분석", description = "반송 이력을 공정/사유/제품/심각도/상태별로 집계합니다. 기간은 반송 일시 기준입니다.")
+    public ResponseEntity<ApiResponse<List<ReturnStat>>> getReturnStats(
+            @Parameter(description = "팹 코드 (M14, M15, M16). 없으면 전체 팹") @RequestParam(required = false) String fab,
+            @Parameter(description = "그룹 기준 (step, reason, product, severity, status)") @RequestParam(defaultValue = "step") String groupBy,
+            @Parameter(description = "시작 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<ReturnStat> stats = analyticsService.getReturnStats(fab, groupBy, from, to);
+            return ResponseEntity.ok(ApiResponse.success(stats, "반송 분석 성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error analyzing returns", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("반송 분석 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/snapshots")
+    @Operation(summary = "분석 스냅샷 상태", description = "팹/테이블별 열 스냅샷의 행 수, 크기, 생성 시각을 조회합니다.")
+    public ResponseEntity<ApiResponse<List<SnapshotStatus>>> getSnapshotStatus() {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.getSnapshotStatus(), "분석 스냅샷 상태 조회 성공"));
+    }
+}
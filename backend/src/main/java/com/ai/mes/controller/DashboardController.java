@@ -0,0 +1,34 @@
+package com.ai.mes.controller;
+
+import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.dto.DashboardSummary;
+import com.ai.mes.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "대시보드 요약 API")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    @Operation(summary = "대시보드 요약 조회", description = "전체 팹의 LOT/설비/반송 상태별 건수를 조회합니다.")
+    public ResponseEntity<ApiResponse<DashboardSummary>> getSummary() {
+        try {
+            DashboardSummary summary = dashboardService.getSummary();
+            return ResponseEntity.ok(ApiResponse.success(summary, "대시보드 요약 조회 성공"));
+        } catch (Exception e) {
+            log.error("Error getting dashboard summary", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("대시보드 요약 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package com.ai.mes.controller;
 
 import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.dto.SearchQuery;
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
 import com.ai.mes.model.EquipmentData;
+import com.ai.mes.service.CsvExportService;
+import com.ai.mes.service.DataVersionService;
 import com.ai.mes.service.EquipmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -21,14 +31,22 @@ import java.util.List;
 public class EquipmentController {
 
     private final EquipmentService equipmentService;
+    private final DataVersionService dataVersionService;
+    private final CsvExportService csvExportService;
 
     @GetMapping("/history")
     @Operation(summary = "설비 이력 조회", description = "팹별 설비 작업 이력을 조회합니다.")
     public ResponseEntity<ApiResponse<List<EquipmentData>>> getEquipmentHistory(
-            @Parameter(description = "팹 코드 (M14, M15, M16)") @RequestParam(required = false) String fab) {
+            @Parameter(description = "팹 코드 (M14, M15, M16)") @RequestParam(required = false) String fab,
+            WebRequest webRequest) {
         try {
             List<EquipmentData> equipmentHistory = equipmentService.getEquipmentHistory(fab);
-            return ResponseEntity.ok(ApiResponse.success(equipmentHistory, "설비 이력 조회 성공"));
+            // 목업 응답이므로 워터마크 대신 응답 본문으로 ETag를 계산 (일치하면 본문 전송만 생략)
+            String etag = dataVersionService.contentEtag(Dataset.EQUIPMENT, equipmentHistory);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponse.success(equipmentHistory, "설비 이력 조회 성공"));
         } catch (Exception e) {
             log.error("Error getting equipment history", e);
             return ResponseEntity.internalServerError()
@@ -39,10 +57,16 @@ public class EquipmentController {
     @GetMapping("/status")
     @Operation(summary = "설비 상태 조회", description = "실시간 설비 상태를 조회합니다.")
     public ResponseEntity<ApiResponse<List<EquipmentData>>> getEquipmentStatus(
-            @Parameter(description = "팹 코드 (M14, M15, M16)") @RequestParam(required = false) String fab) {
+            @Parameter(description = "팹 코드 (M14, M15, M16)") @RequestParam(required = false) String fab,
+            WebRequest webRequest) {
         try {
             List<EquipmentData> equipmentStatus = equipmentService.getEquipmentStatus(fab);
-            return ResponseEntity.ok(ApiResponse.success(equipmentStatus, "설비 상태 조회 성공"));
+            // 목업 응답이므로 워터마크 대신 응답 본문으로 ETag를 계산 (일치하면 본문 전송만 생략)
+            String etag = dataVersionService.contentEtag(Dataset.EQUIPMENT, equipmentStatus);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponse.success(equipmentStatus, "설비 상태 조회 성공"));
         } catch (Exception e) {
             log.error("Error getting equipment status", e);
             return ResponseEntity.internalServerError()
@@ -53,11 +77,17 @@ public class EquipmentController {
     @GetMapping("/{equipmentId}")
     @Operation(summary = "특정 설비 상세 조회", description = "특정 설비의 상세 정보를 조회합니다.")
     public ResponseEntity<ApiResponse<EquipmentData>> getEquipmentDetails(
-            @Parameter(description = "설비 ID") @PathVariable String equipmentId) {
+            @Parameter(description = "설비 ID") @PathVariable String equipmentId,
+            WebRequest webRequest) {
         try {
             EquipmentData equipmentData = equipmentService.getEquipmentDetails(equipmentId);
             if (equipmentData != null) {
-                return ResponseEntity.ok(ApiResponse.success(equipmentData, "설비 상세정보 조회 성공"));
+                // 목업 응답이므로 워터마크 대신 응답 본문으로 ETag를 계산 (일치하면 본문 전송만 생략)
+                String etag = dataVersionService.contentEtag(Dataset.EQUIPMENT, equipmentData);
+                if (etag != null && webRequest.checkNotModified(etag)) {
+                    return null;
+                }
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponse.success(equipmentData, "설비 상세정보 조회 성공"));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -68,14 +98,38 @@ public class EquipmentController {
         }
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "설비 이력 CSV 내보내기", description = "팹별 설비 이력을 CSV로 스트리밍합니다. 기간은 생성 시각 기준이며, Accept-Encoding에 gzip이 있으면 압축해서 전송합니다.")
+    public ResponseEntity<ApiResponse<Void>> exportEquipment(
+            @Parameter(description = "팹 코드 (M14, M15, M16). 없으면 전체 팹") @RequestParam(required = false) String fab,
+            @Parameter(description = "시작 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
+        // 응답 본문을 직접 쓰므로 정상 완료 시 반환 값 없음
+        return csvExportService.stream(Dataset.EQUIPMENT, fab, from, to, acceptEncoding, response);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "설비 검색", description = "조건에 따라 설비를 검색합니다.")
     public ResponseEntity<ApiResponse<List<EquipmentData>>> searchEquipment(
             @Parameter(description = "검색어") @RequestParam(required = false) String keyword,
-            @Parameter(description = "팹 코드") @RequestParam(required = false) String fab,
-            @Parameter(description = "상태") @RequestParam(required = false) String status) {
+            @Parameter(description = "팹 코드 (콤마 구분 가능)") @RequestParam(required = false) String fab,
+            @Parameter(description = "상태 (콤마 구분 가능)") @RequestParam(required = false) String status,
+            @Parameter(description = "시작 일시") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "종료 일시") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "정렬 키 (createdAt, updatedAt, equipmentId, status, utilization)") @RequestParam(required = false) String sort,
+            @Parameter(description = "정렬 방향 (ASC, DESC)") @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(description = "최대 건수") @RequestParam(required = false) Integer limit) {
         try {
-            List<EquipmentData> equipment = equipmentService.searchEquipment(keyword, fab, status);
+            SearchQuery query = new SearchQuery()
+                    .keyword(keyword)
+                    .fab(fab)
+                    .status(status)
+                    .dateRange(startDate, endDate)
+                    .sort(sort, direction)
+                    .limit(limit);
+            List<EquipmentData> equipment = equipmentService.searchEquipment(query);
             return ResponseEntity.ok(ApiResponse.success(equipment, "설비 검색 성공"));
         } catch (Exception e) {
             log.error("Error searching equipment", e);
@@ -0,0 +1,46 @@
+package com.ai.mes.controller;
+
+import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.model.EquipmentKpiRollup;
+import com.ai.mes.service.EquipmentKpiRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/kpi")
+@RequiredArgsConstructor
+@Tag(name = "KPI", description = "설비 가동률 KPI API")
+public class KpiController {
+
+    private final EquipmentKpiRollupService equipmentKpiRollupService;
+
+    @GetMapping("/utilization")
+    @Operation(summary = "설비 가동률 KPI 조회", description = "팹/설비별 시간·일 단위 가동률 롤업을 조회합니다. 설비 ID가 없으면 팹 전체 집계를 반환합니다.")
+    public ResponseEntity<ApiResponse<List<EquipmentKpiRollup>>> getUtilizationKpi(
+            @Parameter(description = "팹 코드 (M14, M15, M16)") @RequestParam(required = false) String fab,
+            @Parameter(description = "설비 ID") @RequestParam(required = false) String equipmentId,
+            @Parameter(description = "집계 단위 (HOUR, DAY)") @RequestParam(defaultValue = "HOUR") String granularity,
+            @Parameter(description = "시작 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<EquipmentKpiRollup> rollups = equipmentKpiRollupService.getRollups(fab, equipmentId, granularity, from, to);
+            return ResponseEntity.ok(ApiResponse.success(rollups, "가동률 KPI 조회 성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error getting utilization KPI", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("가동률 KPI 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package com.ai.mes.controller;
 
 import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.dto.SearchQuery;
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
 import com.ai.mes.model.ReturnHistory;
+import com.ai.mes.service.CsvExportService;
+import com.ai.mes.service.DataVersionService;
 import com.ai.mes.service.ReturnService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -21,15 +31,23 @@ import java.util.List;
 public class ReturnController {
 
     private final ReturnService returnService;
+    private final DataVersionService dataVersionService;
+    private final CsvExportService csvExportService;
 
     @GetMapping("/history")
     @Operation(summary = "반송 이력 조회", description = "팹별 반송 이력을 조회합니다.")
     public ResponseEntity<ApiResponse<List<ReturnHistory>>> getReturnHistory(
             @Parameter(description = "팹 코드 (M14, M15, M16)") @RequestParam(required = false) String fab,
-            @Parameter(description = "검색 키워드 (반송ID, LOT번호)") @RequestParam(required = false) String keyword) {
+            @Parameter(description = "검색 키워드 (반송ID, LOT번호)") @RequestParam(required = false) String keyword,
+            WebRequest webRequest) {
         try {
+            // 변경 워터마크 기반 ETag가 일치하면 조회 없이 304 응답
+            String etag = dataVersionService.etag(Dataset.RETURNS, fab, "history", keyword);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
             List<ReturnHistory> returnHistory = returnService.getReturnHistory(fab, keyword);
-            return ResponseEntity.ok(ApiResponse.success(returnHistory, "반송 이력 조회 성공"));
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponse.success(returnHistory, "반송 이력 조회 성공"));
         } catch (Exception e) {
             log.error("Error getting return history", e);
             return ResponseEntity.internalServerError()
@@ -69,11 +87,17 @@ public class ReturnController {
     @GetMapping("/{returnId}")
     @Operation(summary = "특정 반송 상세 조회", description = "특정 반송의 상세 정보를 조회합니다.")
     public ResponseEntity<ApiResponse<ReturnHistory>> getReturnDetails(
-            @Parameter(description = "반송 ID") @PathVariable String returnId) {
+            @Parameter(description = "반송 ID") @PathVariable String returnId,
+            WebRequest webRequest) {
         try {
             ReturnHistory returnHistory = returnService.getReturnDetails(returnId);
             if (returnHistory != null) {
-                return ResponseEntity.ok(ApiResponse.success(returnHistory, "반송 상세정보 조회 성공"));
+                // 목업 응답이므로 워터마크 대신 응답 본문으로 ETag를 계산 (일치하면 본문 전송만 생략)
+                String etag = dataVersionService.contentEtag(Dataset.RETURNS, returnHistory);
+                if (etag != null && webRequest.checkNotModified(etag)) {
+                    return null;
+                }
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponse.success(returnHistory, "반송 상세정보 조회 성공"));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -84,15 +108,40 @@ public class ReturnController {
         }
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "반송 이력 CSV 내보내기", description = "팹별 반송 이력을 CSV로 스트리밍합니다. 기간은 생성 시각 기준이며, Accept-Encoding에 gzip이 있으면 압축해서 전송합니다.")
+    public ResponseEntity<ApiResponse<Void>> exportReturns(
+            @Parameter(description = "팹 코드 (M14, M15, M16). 없으면 전체 팹") @RequestParam(required = false) String fab,
+            @Parameter(description = "시작 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
+        // 응답 본문을 직접 쓰므로 정상 완료 시 반환 값 없음
+        return csvExportService.stream(Dataset.RETURNS, fab, from, to, acceptEncoding, response);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "반송 검색", description = "조건에 따라 반송을 검색합니다.")
     public ResponseEntity<ApiResponse<List<ReturnHistory>>> searchReturns(
             @Parameter(description = "검색어") @RequestParam(required = false) String keyword,
-            @Parameter(description = "팹 코드") @RequestParam(required = false) String fab,
-            @Parameter(description = "상태") @RequestParam(required = false) String status,
-            @Parameter(description = "심각도") @RequestParam(required = false) String severity) {
+            @Parameter(description = "팹 코드 (콤마 구분 가능)") @RequestParam(required = false) String fab,
+            @Parameter(description = "상태 (콤마 구분 가능)") @RequestParam(required = false) String status,
+            @Parameter(description = "심각도") @RequestParam(required = false) String severity,
+            @Parameter(description = "시작 일시") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "종료 일시") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "정렬 키 (returnDate, createdAt, updatedAt, returnId, status, severity)") @RequestParam(required = false) String sort,
+            @Parameter(description = "정렬 방향 (ASC, DESC)") @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(description = "최대 건수") @RequestParam(required = false) Integer limit) {
         try {
-            List<ReturnHistory> returns = returnService.searchReturns(keyword, fab, status, severity);
+            SearchQuery query = new SearchQuery()
+                    .keyword(keyword)
+                    .fab(fab)
+                    .status(status)
+                    .severity(severity)
+                    .dateRange(startDate, endDate)
+                    .sort(sort, direction)
+                    .limit(limit);
+            List<ReturnHistory> returns = returnService.searchReturns(query);
             return ResponseEntity.ok(ApiResponse.success(returns, "반송 검색 성공"));
         } catch (Exception e) {
             log.error("Error searching returns", e);
@@ -0,0 +1,88 @@
+package com.ai.mes.controller;
+
+import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.dto.TelemetryAggregate;
+import com.ai.mes.dto.TelemetryPoint;
+import com.ai.mes.service.TelemetryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/telemetry")
+@RequiredArgsConstructor
+@Tag(name = "Equipment Telemetry", description = "설비 장기 텔레메트리 API")
+public class TelemetryController {
+
+    private final TelemetryService telemetryService;
+
+    @PostMapping("/{fab}/{equipmentId}")
+    @Operation(summary = "텔레메트리 적재", description = "설비 온도/압력 측정값을 시계열 세그먼트에 추가합니다.")
+    public ResponseEntity<ApiResponse<Integer>> appendTelemetry(
+            @Parameter(description = "팹 코드 (M14, M15, M16)") @PathVariable String fab,
+            @Parameter(description = "설비 ID") @PathVariable String equipmentId,
+            @RequestBody @NotNull List<@Valid TelemetryPoint> points) {
+        try {
+            int appended = telemetryService.appendPoints(fab, equipmentId, points);
+            return ResponseEntity.ok(ApiResponse.success(appended, "텔레메트리 적재 성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error appending telemetry for {}/{}", fab, equipmentId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("텔레메트리 적재 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{fab}/{equipmentId}")
+    @Operation(summary = "텔레메트리 구간 조회", description = "지정 구간의 원시 텔레메트리를 조회합니다.")
+    public ResponseEntity<ApiResponse<List<TelemetryPoint>>> getTelemetryRange(
+            @Parameter(description = "팹 코드 (M14, M15, M16)") @PathVariable String fab,
+            @Parameter(description = "설비 ID") @PathVariable String equipmentId,
+            @Parameter(description = "시작 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<TelemetryPoint> points = telemetryService.getRange(fab, equipmentId, from, to);
+            return ResponseEntity.ok(ApiResponse.success(points, "텔레메트리 조회 성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error reading telemetry for {}/{}", fab, equipmentId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("텔레메트리 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{fab}/{equipmentId}/aggregate")
+    @Operation(summary = "텔레메트리 다운샘플 집계", description = "지정 간격(분) 버킷별 최소/최대/평균을 조회합니다.")
+    public ResponseEntity<ApiResponse<List<TelemetryAggregate>>> getTelemetryAggregates(
+            @Parameter(description = "팹 코드 (M14, M15, M16)") @PathVariable String fab,
+            @Parameter(description = "설비 ID") @PathVariable String equipmentId,
+            @Parameter(description = "시작 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "집계 간격 (분)") @RequestParam(defaultValue = "60") long intervalMinutes) {
+        try {
+            List<TelemetryAggregate> aggregates = telemetryService.getAggregates(
+                    fab, equipmentId, from, to, Duration.ofMinutes(intervalMinutes));
+            return ResponseEntity.ok(ApiResponse.success(aggregates, "텔레메트리 집계 조회 성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error aggregating telemetry for {}/{}", fab, equipmentId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("텔레메트리 집계 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+}
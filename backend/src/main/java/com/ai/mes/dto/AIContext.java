@@ -0,0 +1,59 @@
+package com.ai.mes.dto;
+
+import com.ai.mes.model.StepDelay;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 분석용 팹 요약 컨텍스트.
+ * 원본 목록 대신 집계 값과 상위 N개 항목만 담아 AI 서비스로 전달합니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AIContext {
+    private String fab;
+    // 상태별 건수
+    private Map<String, Long> lotStatus;
+    private Map<String, Long> equipmentStatus;
+    private Map<String, Long> returnStatus;
+    // 오류/정비 중 설비 (알람 많은 순)
+    private List<EquipmentAnomaly> equipmentAnomalies;
+    // 진행 중 LOT의 스텝별 경과 시간 (긴 순)
+    private List<StepDelay> stepDelays;
+    // 최근 반송 (최신순)
+    private List<ReturnSummary> recentReturns;
+    // 토큰 예산 때문에 잘린 항목이 있는지 여부
+    private boolean truncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EquipmentAnomaly {
+        private String equipmentId;
+        private String status;
+        private String currentOperation;
+        private Integer utilization;
+        private Integer alerts;
+        private Double temperature;
+        private Double pressure;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReturnSummary {
+        private String returnId;
+        private String lotNumber;
+        private String returnReason;
+        private String returnStep;
+        private String severity;
+        private String status;
+        private LocalDateTime returnDate;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleTimeStat {
+    // 그룹 값 (제품 또는 공정 단계)
+    private String group;
+    private long lotCount;
+    private Double avgMinutes;
+    private Double minMinutes;
+    private Double maxMinutes;
+}
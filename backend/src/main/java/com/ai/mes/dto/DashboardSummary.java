@@ -0,0 +1,20 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummary {
+    private StatusSummary lots;
+    private StatusSummary equipment;
+    private StatusSummary returns;
+    private LocalDateTime generatedAt;
+    // 집계에 실패해 직전 값(없으면 빈 값)을 대신 보여주는 팹 (정상이면 빈 목록)
+    private List<String> staleFabs;
+}
@@ -0,0 +1,17 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnStat {
+    // 그룹 값 (반송 공정, 사유, 제품 또는 심각도)
+    private String group;
+    private long returnCount;
+    private long resolvedCount;
+    // 해결된 반송의 평균 처리 시간
+    private Double avgResolutionHours;
+}
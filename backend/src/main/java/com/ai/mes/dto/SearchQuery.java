@@ -0,0 +1,152 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * LOT/설비/반송 검색 조건 모델.
+ * <p>
+ * 각 팹 매퍼의 {@code selectByMultipleConditions} 동적 SQL로 그대로 컴파일되며,
+ * 모든 조건(키워드, 상태, 심각도, 기간, 정렬, 건수 제한)은 DB에서 적용됩니다.
+ * 정렬 컬럼은 서비스가 정의한 화이트리스트로만 해석되므로 {@code orderBy}는 SQL에 직접 삽입해도 안전합니다.
+ */
+@Data
+@NoArgsConstructor
+public class SearchQuery {
+
+    public static final List<String> ALL_FABS = List.of("M14", "M15", "M16");
+
+    private String keyword;
+    private Set<String> fabs = new LinkedHashSet<>();
+    private List<String> statuses = new ArrayList<>();
+    private String severity;
+    private String product;
+    private String step;
+    private String currentOperation;
+    private String returnReason;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    // 정렬 키 (서비스별 화이트리스트의 키)
+    private String sort;
+    // ASC / DESC
+    private String direction;
+    private Integer limit;
+    // 화이트리스트에서 해석된 ORDER BY 절 (resolve로만 설정)
+    private String orderBy;
+
+    public SearchQuery keyword(String keyword) {
+        this.keyword = keyword != null && !keyword.trim().isEmpty() ? keyword.trim() : null;
+        return this;
+    }
+
+    /** 단일 팹 또는 콤마 구분 팹 목록. 비어 있으면 전체 팹 */
+    public SearchQuery fab(String fab) {
+        this.fabs = splitCsv(fab, true);
+        return this;
+    }
+
+    /** 단일 상태 또는 콤마 구분 상태 목록 */
+    public SearchQuery status(String status) {
+        this.statuses = new ArrayList<>(splitCsv(status, false));
+        return this;
+    }
+
+    public SearchQuery severity(String severity) {
+        this.severity = emptyToNull(severity);
+        return this;
+    }
+
+    public SearchQuery dateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        return this;
+    }
+
+    public SearchQuery sort(String sort, String direction) {
+        this.sort = emptyToNull(sort);
+        this.direction = emptyToNull(direction);
+        return this;
+    }
+
+    public SearchQuery limit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /** 조회 대상 팹 목록 (미지정 시 전체 팹) */
+    public List<String> targetFabs() {
+        if (fabs == null || fabs.isEmpty()) {
+            return ALL_FABS;
+        }
+        List<String> targets = new ArrayList<>();
+        for (String fab : fabs) {
+            if (ALL_FABS.contains(fab)) {
+                targets.add(fab);
+            }
+        }
+        return targets;
+    }
+
+    /** ILIKE 패턴 (와일드카드 문자는 이스케이프) */
+    public String getKeywordPattern() {
+        if (keyword == null) {
+            return null;
+        }
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    public boolean isDescending() {
+        return !"ASC".equalsIgnoreCase(direction);
+    }
+
+    /**
+     * 정렬 키를 화이트리스트로 해석해 {@code orderBy}와 {@code limit}을 확정합니다.
+     *
+     * @return 해석된 정렬 키 (알 수 없는 키면 기본 키)
+     */
+    public String resolve(Map<String, String> sortColumns, String defaultSort, int defaultLimit, int maxLimit) {
+        String key = sort != null && sortColumns.containsKey(sort) ? sort : defaultSort;
+        this.sort = key;
+        this.orderBy = sortColumns.get(key) + (isDescending() ? " DESC" : " ASC") + " NULLS LAST";
+        if (limit == null || limit <= 0) {
+            this.limit = defaultLimit;
+        } else {
+            this.limit = Math.min(limit, maxLimit);
+        }
+        return key;
+    }
+
+    /** 정렬 방향과 null 후순위를 반영한 비교자 (팹별 결과 병합용, SQL의 NULLS LAST와 동일) */
+    public <T, U extends Comparable<? super U>> Comparator<T> comparing(Function<? super T, ? extends U> key) {
+        Comparator<U> order = isDescending() ? Comparator.<U>naturalOrder().reversed() : Comparator.<U>naturalOrder();
+        return Comparator.comparing(key, Comparator.nullsLast(order));
+    }
+
+    private static Set<String> splitCsv(String value, boolean upperCase) {
+        Set<String> values = new LinkedHashSet<>();
+        if (value == null || value.trim().isEmpty()) {
+            return values;
+        }
+        Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .map(v -> upperCase ? v.toUpperCase() : v)
+                .forEach(values::add);
+        return values;
+    }
+
+    private static String emptyToNull(String value) {
+        return value != null && !value.trim().isEmpty() ? value.trim() : null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotStatus {
+    private String fab;
+    private String table;
+    private int rowCount;
+    private long sizeBytes;
+    private LocalDateTime createdAt;
+    // 스냅샷 원본의 최종 수정 시각
+    private LocalDateTime sourceUpdatedAt;
+}
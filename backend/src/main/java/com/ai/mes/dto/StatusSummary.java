@@ -0,0 +1,17 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusSummary {
+    // 전체 팹 합산 상태별 건수
+    private Map<String, Long> total;
+    // 팹별 상태별 건수 (M14, M15, M16)
+    private Map<String, Map<String, Long>> byFab;
+}
@@ -0,0 +1,21 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryAggregate {
+    private LocalDateTime bucketStart;
+    private long count;
+    private Double minTemperature;
+    private Double maxTemperature;
+    private Double avgTemperature;
+    private Double minPressure;
+    private Double maxPressure;
+    private Double avgPressure;
+}
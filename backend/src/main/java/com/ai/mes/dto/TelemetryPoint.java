@@ -0,0 +1,19 @@
+package com.ai.mes.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryPoint {
+    @NotNull(message = "측정 시각을 입력해주세요")
+    private LocalDateTime timestamp;
+    private Double temperature;
+    private Double pressure;
+}
@@ -0,0 +1,28 @@
+package com.ai.mes.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 팹 데이터 변경 이벤트.
+ * <p>
+ * LOT/설비/반송 데이터를 변경하는 쓰기 경로에서 발행하며,
+ * 변경 워터마크(ETag)처럼 팹 데이터에서 파생된 캐시를 즉시 무효화하는 데 사용합니다.
+ */
+@Getter
+@ToString
+public class FabDataChangedEvent {
+
+    public enum Dataset {
+        LOTS, EQUIPMENT, RETURNS
+    }
+
+    private final Dataset dataset;
+    // 팹 코드 (M14, M15, M16). null이면 전체 팹
+    private final String fab;
+
+    public FabDataChangedEvent(Dataset dataset, String fab) {
+        this.dataset = dataset;
+        this.fab = fab;
+    }
+}
@@ -1,6 +1,9 @@
 package com.ai.mes.mapper.m14;
 
+import com.ai.mes.dto.SearchQuery;
 import com.ai.mes.model.EquipmentData;
+import com.ai.mes.model.FabWatermark;
+import com.ai.mes.model.StatusCount;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Component;
@@ -50,8 +53,14 @@ public interface EquipmentDataMapper {
     
     // 복합 조건 검색
     List<EquipmentData> selectByMultipleConditions(@Param("fab") String fab,
-                                                  @Param("status") String status,
-                                                  @Param("currentOperation") String currentOperation,
-                                                  @Param("startDate") LocalDateTime startDate,
-                                                  @Param("endDate") LocalDateTime endDate);
+                                                   @Param("query") SearchQuery query);
+    
+    // 대시보드 집계: 설비별 최신 상태 기준 상태별 건수
+    List<StatusCount> countByStatus();
+    
+    // AI 컨텍스트: 설비별 최신 상태가 오류/정비인 설비 (알람 수가 많은 순)
+    List<EquipmentData> selectLatestAnomalies(@Param("limit") int limit);
+    
+    // 변경 워터마크 (최종 수정 시각, 행 수)
+    FabWatermark selectWatermark();
 } 
\ No newline at end of file
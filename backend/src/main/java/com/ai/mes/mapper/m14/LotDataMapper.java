@@ -1,8 +1,13 @@
 package com.ai.mes.mapper.m14;
 
+import com.ai.mes.dto.SearchQuery;
+import com.ai.mes.model.FabWatermark;
 import com.ai.mes.model.LotData;
+import com.ai.mes.model.StatusCount;
+import com.ai.mes.model.StepDelay;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -48,15 +53,23 @@ public interface LotDataMapper {
     
     // 복합 조건 검색
     List<LotData> selectByMultipleConditions(@Param("fab") String fab,
-                                           @Param("status") String status,
-                                           @Param("product") String product,
-                                           @Param("step") String step,
-                                           @Param("startDate") LocalDateTime startDate,
-                                           @Param("endDate") LocalDateTime endDate);
+                                             @Param("query") SearchQuery query);
     
     // 진행률 기반 검색
     List<LotData> selectByProgressStatus(@Param("progress") Integer progress);
     
     List<LotData> selectByDurationRange(@Param("minDuration") String minDuration, 
                                        @Param("maxDuration") String maxDuration);
+    
+    // 대시보드 집계: Lot 번호별 최신 상태 기준 상태별 건수
+    List<StatusCount> countByStatus();
+    
+    // 변경 워터마크 (최종 수정 시각, 행 수)
+    FabWatermark selectWatermark();
+    
+    // AI 컨텍스트: 진행 중 LOT의 스텝별 경과 시간 (평균 경과 시간이 긴 순)
+    List<StepDelay> selectStepDelays(@Param("limit") int limit);
+    
+    // 분석 스냅샷: 스냅샷 열만 행 단위로 전달 (트랜잭션 안에서 호출해야 커서로 조회)
+    void scanSnapshotRows(ResultHandler<LotData> handler);
 } 
\ No newline at end of file
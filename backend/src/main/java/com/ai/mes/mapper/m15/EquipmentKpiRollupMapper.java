@@ -0,0 +1,30 @@
+package com.ai.mes.mapper.m15;
+
+import com.ai.mes.model.EquipmentKpiRollup;
+import com.ai.mes.model.EquipmentKpiState;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+@Component("m15EquipmentKpiRollupMapper")
+public interface EquipmentKpiRollupMapper {
+    
+    // 롤업 버킷 저장 (존재하면 갱신)
+    int upsert(EquipmentKpiRollup rollup);
+    
+    // 기동 시 메모리 적재용 조회
+    List<EquipmentKpiRollup> selectSince(@Param("since") LocalDateTime since);
+    
+    // 보존 기간이 지난 버킷 정리
+    int deleteBefore(@Param("before") LocalDateTime before);
+    
+    // 설비별 마지막 관측 상태 저장 (존재하면 갱신)
+    int upsertState(EquipmentKpiState state);
+    
+    // 기동 시 설비별 마지막 관측 상태 조회
+    List<EquipmentKpiState> selectStates();
+}
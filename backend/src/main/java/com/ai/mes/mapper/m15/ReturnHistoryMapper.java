@@ -1,8 +1,12 @@
 package com.ai.mes.mapper.m15;
 
+import com.ai.mes.dto.SearchQuery;
+import com.ai.mes.model.FabWatermark;
 import com.ai.mes.model.ReturnHistory;
+import com.ai.mes.model.StatusCount;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -53,11 +57,7 @@ public interface ReturnHistoryMapper {
     
     // 복합 조건 검색
     List<ReturnHistory> selectByMultipleConditions(@Param("fab") String fab,
-                                                 @Param("status") String status,
-                                                 @Param("product") String product,
-                                                 @Param("returnReason") String returnReason,
-                                                 @Param("startDate") LocalDateTime startDate,
-                                                 @Param("endDate") LocalDateTime endDate);
+                                                   @Param("query") SearchQuery query);
     
     // 해결되지 않은 반품 이력
     List<ReturnHistory> selectUnresolvedReturns();
@@ -69,4 +69,13 @@ public interface ReturnHistoryMapper {
     // 특정 기간 내 해결된 반품 이력
     List<ReturnHistory> selectByResolvedDateRange(@Param("startDate") LocalDateTime startDate, 
                                                  @Param("endDate") LocalDateTime endDate);
+    
+    // 대시보드 집계: 상태별 반송 건수
+    List<StatusCount> countByStatus();
+    
+    // 변경 워터마크 (최종 수정 시각, 행 수)
+    FabWatermark selectWatermark();
+    
+    // 분석 스냅샷: 스냅샷 열만 행 단위로 전달 (트랜잭션 안에서 호출해야 커서로 조회)
+    void scanSnapshotRows(ResultHandler<ReturnHistory> handler);
 } 
\ No newline at end of file
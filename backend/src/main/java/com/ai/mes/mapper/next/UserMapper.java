@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Mapper
@@ -27,6 +28,9 @@ public interface UserMapper {
     int updateLastLoginAt(@Param("username") String username, 
                          @Param("lastLoginAt") LocalDateTime lastLoginAt);
     
+    // 마지막 로그인 시간 일괄 업데이트 (username, lastLoginAt만 사용)
+    int updateLastLoginAtBatch(@Param("items") List<User> items);
+    
     // 활성 상태 확인
     boolean isActiveUser(@Param("username") String username);
     
@@ -0,0 +1,102 @@
+package com.ai.mes.mapper.row;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리플렉션 없이 결과 행을 모델 객체로 읽는 행 리더.
+ * <p>
+ * 열 이름은 결과 집합마다 한 번만 위치(인덱스)로 바꾸고, 각 행은 인덱스로 읽어 setter를 직접 호출합니다.
+ * 팹(m14/m15/m16) 테이블은 열 구성이 같으므로 모든 팹 매퍼에서 같은 리더를 사용합니다.
+ * 모델별 구현은 모델의 {@code @RowReaderModel}로 컴파일 시 생성됩니다 (ai-mes-codegen 모듈).
+ * 값 변환은 MyBatis 기본 TypeHandler(String, Integer, Double, LocalDateTime)와 같습니다.
+ *
+ * @param <T> 모델 타입
+ */
+public abstract class RowReader<T> {
+
+    private final Class<T> type;
+    // 열 이름 -> 속성 이름 (매퍼 XML resultMap과 같은 매핑)
+    private final Map<String, String> columns;
+
+    protected RowReader(Class<T> type, Map<String, String> columns) {
+        this.type = type;
+        this.columns = columns;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /** 리더가 읽는 열 수 */
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /** resultMap의 열-속성 매핑을 이 리더가 그대로 처리할 수 있는지 */
+    public boolean supports(String column, String property) {
+        return property.equals(columns.get(column.toLowerCase()));
+    }
+
+    /** 결과 집합의 모든 행을 읽습니다. */
+    public List<T> readAll(ResultSet rs) throws SQLException {
+        int[] index = columnIndexes(rs.getMetaData());
+        List<T> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(read(rs, index));
+        }
+        return rows;
+    }
+
+    /**
+     * 열 위치 배열. {@link #columnOrder()} 순서대로 결과 집합의 1부터 시작하는 위치를 담고, 없는 열은 0입니다.
+     */
+    protected int[] columnIndexes(ResultSetMetaData metaData) throws SQLException {
+        String[] order = columnOrder();
+        int[] index = new int[order.length];
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i).toLowerCase();
+            for (int c = 0; c < order.length; c++) {
+                if (index[c] == 0 && order[c].equals(label)) {
+                    index[c] = i;
+                    break;
+                }
+            }
+        }
+        return index;
+    }
+
+    /** {@link #read}에서 사용하는 열 순서 */
+    protected abstract String[] columnOrder();
+
+    protected abstract T read(ResultSet rs, int[] index) throws SQLException;
+
+    protected static String getString(ResultSet rs, int column) throws SQLException {
+        return column == 0 ? null : rs.getString(column);
+    }
+
+    protected static Integer getInteger(ResultSet rs, int column) throws SQLException {
+        if (column == 0) {
+            return null;
+        }
+        int value = rs.getInt(column);
+        return value == 0 && rs.wasNull() ? null : value;
+    }
+
+    protected static Double getDouble(ResultSet rs, int column) throws SQLException {
+        if (column == 0) {
+            return null;
+        }
+        double value = rs.getDouble(column);
+        return value == 0 && rs.wasNull() ? null : value;
+    }
+
+    protected static LocalDateTime getLocalDateTime(ResultSet rs, int column) throws SQLException {
+        return column == 0 ? null : rs.getObject(column, LocalDateTime.class);
+    }
+}
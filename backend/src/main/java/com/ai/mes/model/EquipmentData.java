@@ -1,5 +1,6 @@
 package com.ai.mes.model;
 
+import com.ai.mes.codegen.RowReaderModel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDateTime;
 
 @Data
+@RowReaderModel("com.ai.mes.mapper.row")
 @NoArgsConstructor
 @AllArgsConstructor
 @Slf4j
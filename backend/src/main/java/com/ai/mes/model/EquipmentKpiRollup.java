@@ -0,0 +1,29 @@
+package com.ai.mes.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentKpiRollup {
+    private String fab;
+    private String equipmentId;
+    private String granularity;
+    private LocalDateTime bucketStart;
+    private Long sampleCount;
+    private Integer minUtilization;
+    private Integer maxUtilization;
+    private Long sumUtilization;
+    private Double avgUtilization;
+    private Long runningMs;
+    private Long idleMs;
+    private Long maintenanceMs;
+    private Long errorMs;
+    private Long otherMs;
+    private Long alertCount;
+    private LocalDateTime updatedAt;
+}
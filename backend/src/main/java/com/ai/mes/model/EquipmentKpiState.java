@@ -0,0 +1,18 @@
+package com.ai.mes.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentKpiState {
+    private String fab;
+    private String equipmentId;
+    private String status;
+    private LocalDateTime sinceAt;
+    private Integer alerts;
+}
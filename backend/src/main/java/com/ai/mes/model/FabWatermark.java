@@ -0,0 +1,16 @@
+package com.ai.mes.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FabWatermark {
+    private String fab;
+    private LocalDateTime maxUpdatedAt;
+    private Long rowCount;
+}
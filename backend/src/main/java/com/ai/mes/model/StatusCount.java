@@ -0,0 +1,14 @@
+package com.ai.mes.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusCount {
+    private String fab;
+    private String status;
+    private Long count;
+}
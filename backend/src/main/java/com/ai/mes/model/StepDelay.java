@@ -0,0 +1,17 @@
+package com.ai.mes.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepDelay {
+    private String step;
+    // 해당 스텝에서 진행 중인 LOT 수
+    private Long lotCount;
+    // 시작 후 경과 시간 (분)
+    private Double avgElapsedMinutes;
+    private Double maxElapsedMinutes;
+}
@@ -0,0 +1,171 @@
+package com.ai.mes.model.compact;
+
+import com.ai.mes.model.EquipmentData;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@link EquipmentData} 목록의 압축 표현.
+ * <p>
+ * ID·설비 ID·설비명·LOT 번호는 {@link PackedStrings}로, 팹·상태·공정·가동 시간·소요 시간·결과는 사전 코드로 보관합니다.
+ */
+public class CompactEquipmentRows extends CompactRows<EquipmentData> {
+
+    private final int size;
+    private final PackedStrings id;
+    private final PackedStrings equipmentId;
+    private final PackedStrings equipmentName;
+    private final int[] fab;
+    private final int[] status;
+    private final int[] currentOperation;
+    private final PackedStrings currentLot;
+    private final int[] utilization;
+    private final long[] lastMaintenance;
+    private final long[] nextMaintenance;
+    private final double[] temperature;
+    private final double[] pressure;
+    private final int[] uptime;
+    private final int[] alerts;
+    private final int[] operation;
+    private final long[] startTime;
+    private final long[] endTime;
+    private final int[] duration;
+    private final PackedStrings lotNumber;
+    private final int[] result;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+
+    public CompactEquipmentRows(List<EquipmentData> rows) {
+        super(new StringDictionary());
+        size = rows.size();
+        id = new PackedStrings(size);
+        equipmentId = new PackedStrings(size);
+        equipmentName = new PackedStrings(size);
+        fab = new int[size];
+        status = new int[size];
+        currentOperation = new int[size];
+        currentLot = new PackedStrings(size);
+        utilization = new int[size];
+        lastMaintenance = new long[size];
+        nextMaintenance = new long[size];
+        temperature = new double[size];
+        pressure = new double[size];
+        uptime = new int[size];
+        alerts = new int[size];
+        operation = new int[size];
+        startTime = new long[size];
+        endTime = new long[size];
+        duration = new int[size];
+        lotNumber = new PackedStrings(size);
+        result = new int[size];
+        createdAt = new long[size];
+        updatedAt = new long[size];
+        for (int i = 0; i < size; i++) {
+            EquipmentData equipment = rows.get(i);
+            id.add(equipment.getId());
+            equipmentId.add(equipment.getEquipmentId());
+            equipmentName.add(equipment.getEquipmentName());
+            fab[i] = dictionary.encode(equipment.getFab());
+            status[i] = dictionary.encode(equipment.getStatus());
+            currentOperation[i] = dictionary.encode(equipment.getCurrentOperation());
+            currentLot.add(equipment.getCurrentLot());
+            utilization[i] = encodeInt(equipment.getUtilization());
+            lastMaintenance[i] = encodeTime(equipment.getLastMaintenance());
+            nextMaintenance[i] = encodeTime(equipment.getNextMaintenance());
+            temperature[i] = encodeDouble(equipment.getTemperature());
+            pressure[i] = encodeDouble(equipment.getPressure());
+            uptime[i] = dictionary.encode(equipment.getUptime());
+            alerts[i] = encodeInt(equipment.getAlerts());
+            operation[i] = dictionary.encode(equipment.getOperation());
+            startTime[i] = encodeTime(equipment.getStartTime());
+            endTime[i] = encodeTime(equipment.getEndTime());
+            duration[i] = dictionary.encode(equipment.getDuration());
+            lotNumber.add(equipment.getLotNumber());
+            result[i] = dictionary.encode(equipment.getResult());
+            createdAt[i] = encodeTime(equipment.getCreatedAt());
+            updatedAt[i] = encodeTime(equipment.getUpdatedAt());
+        }
+        id.trim();
+        equipmentId.trim();
+        equipmentName.trim();
+        currentLot.trim();
+        lotNumber.trim();
+    }
+
+    CompactEquipmentRows(int size, StringDictionary dictionary, ByteBuffer in) {
+        super(dictionary);
+        this.size = size;
+        id = PackedStrings.readFrom(in);
+        equipmentId = PackedStrings.readFrom(in);
+        equipmentName = PackedStrings.readFrom(in);
+        fab = readInts(in, size);
+        status = readInts(in, size);
+        currentOperation = readInts(in, size);
+        currentLot = PackedStrings.readFrom(in);
+        utilization = readInts(in, size);
+        lastMaintenance = readLongs(in, size);
+        nextMaintenance = readLongs(in, size);
+        temperature = readDoubles(in, size);
+        pressure = readDoubles(in, size);
+        uptime = readInts(in, size);
+        alerts = readInts(in, size);
+        operation = readInts(in, size);
+        startTime = readLongs(in, size);
+        endTime = readLongs(in, size);
+        duration = readInts(in, size);
+        lotNumber = PackedStrings.readFrom(in);
+        result = readInts(in, size);
+        createdAt = readLongs(in, size);
+        updatedAt = readLongs(in, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public EquipmentData get(int i) {
+        return new EquipmentData(id.get(i), equipmentId.get(i), equipmentName.get(i), dictionary.decode(fab[i]),
+                dictionary.decode(status[i]), dictionary.decode(currentOperation[i]), currentLot.get(i),
+                decodeInt(utilization[i]), decodeTime(lastMaintenance[i]), decodeTime(nextMaintenance[i]),
+                decodeDouble(temperature[i]), decodeDouble(pressure[i]), dictionary.decode(uptime[i]),
+                decodeInt(alerts[i]), dictionary.decode(operation[i]), decodeTime(startTime[i]), decodeTime(endTime[i]),
+                dictionary.decode(duration[i]), lotNumber.get(i), dictionary.decode(result[i]),
+                decodeTime(createdAt[i]), decodeTime(updatedAt[i]));
+    }
+
+    @Override
+    protected byte type() {
+        return TYPE_EQUIPMENT;
+    }
+
+    @Override
+    protected void writeColumns(DataOutputStream out) throws IOException {
+        id.writeTo(out);
+        equipmentId.writeTo(out);
+        equipmentName.writeTo(out);
+        write(out, fab);
+        write(out, status);
+        write(out, currentOperation);
+        currentLot.writeTo(out);
+        write(out, utilization);
+        write(out, lastMaintenance);
+        write(out, nextMaintenance);
+        write(out, temperature);
+        write(out, pressure);
+        write(out, uptime);
+        write(out, alerts);
+        write(out, operation);
+        write(out, startTime);
+        write(out, endTime);
+        write(out, duration);
+        lotNumber.writeTo(out);
+        write(out, result);
+        write(out, createdAt);
+        write(out, updatedAt);
+    }
+}
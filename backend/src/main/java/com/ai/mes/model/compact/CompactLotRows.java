@@ -0,0 +1,131 @@
+package com.ai.mes.model.compact;
+
+import com.ai.mes.model.LotData;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@link LotData} 목록의 압축 표현.
+ * <p>
+ * ID와 LOT 번호는 행마다 다르므로 {@link PackedStrings}로, 제품·팹·상태·공정 단계·설비·소요 시간·결과는 사전 코드로 보관합니다.
+ */
+public class CompactLotRows extends CompactRows<LotData> {
+
+    private final int size;
+    private final PackedStrings id;
+    private final PackedStrings lotNumber;
+    private final int[] product;
+    private final int[] fab;
+    private final int[] status;
+    private final long[] startTime;
+    private final long[] endTime;
+    private final int[] step;
+    private final int[] equipment;
+    private final int[] progress;
+    private final long[] estimatedCompletion;
+    private final int[] duration;
+    private final int[] result;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+
+    public CompactLotRows(List<LotData> rows) {
+        super(new StringDictionary());
+        size = rows.size();
+        id = new PackedStrings(size);
+        lotNumber = new PackedStrings(size);
+        product = new int[size];
+        fab = new int[size];
+        status = new int[size];
+        startTime = new long[size];
+        endTime = new long[size];
+        step = new int[size];
+        equipment = new int[size];
+        progress = new int[size];
+        estimatedCompletion = new long[size];
+        duration = new int[size];
+        result = new int[size];
+        createdAt = new long[size];
+        updatedAt = new long[size];
+        for (int i = 0; i < size; i++) {
+            LotData lot = rows.get(i);
+            id.add(lot.getId());
+            lotNumber.add(lot.getLotNumber());
+            product[i] = dictionary.encode(lot.getProduct());
+            fab[i] = dictionary.encode(lot.getFab());
+            status[i] = dictionary.encode(lot.getStatus());
+            startTime[i] = encodeTime(lot.getStartTime());
+            endTime[i] = encodeTime(lot.getEndTime());
+            step[i] = dictionary.encode(lot.getStep());
+            equipment[i] = dictionary.encode(lot.getEquipment());
+            progress[i] = encodeInt(lot.getProgress());
+            estimatedCompletion[i] = encodeTime(lot.getEstimatedCompletion());
+            duration[i] = dictionary.encode(lot.getDuration());
+            result[i] = dictionary.encode(lot.getResult());
+            createdAt[i] = encodeTime(lot.getCreatedAt());
+            updatedAt[i] = encodeTime(lot.getUpdatedAt());
+        }
+        id.trim();
+        lotNumber.trim();
+    }
+
+    CompactLotRows(int size, StringDictionary dictionary, ByteBuffer in) {
+        super(dictionary);
+        this.size = size;
+        id = PackedStrings.readFrom(in);
+        lotNumber = PackedStrings.readFrom(in);
+        product = readInts(in, size);
+        fab = readInts(in, size);
+        status = readInts(in, size);
+        startTime = readLongs(in, size);
+        endTime = readLongs(in, size);
+        step = readInts(in, size);
+        equipment = readInts(in, size);
+        progress = readInts(in, size);
+        estimatedCompletion = readLongs(in, size);
+        duration = readInts(in, size);
+        result = readInts(in, size);
+        createdAt = readLongs(in, size);
+        updatedAt = readLongs(in, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public LotData get(int i) {
+        return new LotData(id.get(i), lotNumber.get(i), dictionary.decode(product[i]), dictionary.decode(fab[i]),
+                dictionary.decode(status[i]), decodeTime(startTime[i]), decodeTime(endTime[i]),
+                dictionary.decode(step[i]), dictionary.decode(equipment[i]), decodeInt(progress[i]),
+                decodeTime(estimatedCompletion[i]), dictionary.decode(duration[i]), dictionary.decode(result[i]),
+                decodeTime(createdAt[i]), decodeTime(updatedAt[i]));
+    }
+
+    @Override
+    protected byte type() {
+        return TYPE_LOT;
+    }
+
+    @Override
+    protected void writeColumns(DataOutputStream out) throws IOException {
+        id.writeTo(out);
+        lotNumber.writeTo(out);
+        write(out, product);
+        write(out, fab);
+        write(out, status);
+        write(out, startTime);
+        write(out, endTime);
+        write(out, step);
+        write(out, equipment);
+        write(out, progress);
+        write(out, estimatedCompletion);
+        write(out, duration);
+        write(out, result);
+        write(out, createdAt);
+        write(out, updatedAt);
+    }
+}
@@ -0,0 +1,138 @@
+package com.ai.mes.model.compact;
+
+import com.ai.mes.model.ReturnHistory;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@link ReturnHistory} 목록의 압축 표현.
+ * <p>
+ * ID·반송 ID·LOT 번호·비고는 {@link PackedStrings}로, 제품·팹·사유·공정·처리자·상태·심각도는 사전 코드로 보관합니다.
+ */
+public class CompactReturnRows extends CompactRows<ReturnHistory> {
+
+    private final int size;
+    private final PackedStrings id;
+    private final PackedStrings returnId;
+    private final PackedStrings lotNumber;
+    private final int[] product;
+    private final int[] fab;
+    private final int[] returnReason;
+    private final int[] returnStep;
+    private final long[] returnDate;
+    private final int[] returnBy;
+    private final int[] targetStep;
+    private final int[] status;
+    private final int[] severity;
+    private final long[] resolvedDate;
+    private final PackedStrings comments;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+
+    public CompactReturnRows(List<ReturnHistory> rows) {
+        super(new StringDictionary());
+        size = rows.size();
+        id = new PackedStrings(size);
+        returnId = new PackedStrings(size);
+        lotNumber = new PackedStrings(size);
+        product = new int[size];
+        fab = new int[size];
+        returnReason = new int[size];
+        returnStep = new int[size];
+        returnDate = new long[size];
+        returnBy = new int[size];
+        targetStep = new int[size];
+        status = new int[size];
+        severity = new int[size];
+        resolvedDate = new long[size];
+        comments = new PackedStrings(size);
+        createdAt = new long[size];
+        updatedAt = new long[size];
+        for (int i = 0; i < size; i++) {
+            ReturnHistory history = rows.get(i);
+            id.add(history.getId());
+            returnId.add(history.getReturnId());
+            lotNumber.add(history.getLotNumber());
+            product[i] = dictionary.encode(history.getProduct());
+            fab[i] = dictionary.encode(history.getFab());
+            returnReason[i] = dictionary.encode(history.getReturnReason());
+            returnStep[i] = dictionary.encode(history.getReturnStep());
+            returnDate[i] = encodeTime(history.getReturnDate());
+            returnBy[i] = dictionary.encode(history.getReturnBy());
+            targetStep[i] = dictionary.encode(history.getTargetStep());
+            status[i] = dictionary.encode(history.getStatus());
+            severity[i] = dictionary.encode(history.getSeverity());
+            resolvedDate[i] = encodeTime(history.getResolvedDate());
+            comments.add(history.getComments());
+            createdAt[i] = encodeTime(history.getCreatedAt());
+            updatedAt[i] = encodeTime(history.getUpdatedAt());
+        }
+        id.trim();
+        returnId.trim();
+        lotNumber.trim();
+        comments.trim();
+    }
+
+    CompactReturnRows(int size, StringDictionary dictionary, ByteBuffer in) {
+        super(dictionary);
+        this.size = size;
+        id = PackedStrings.readFrom(in);
+        returnId = PackedStrings.readFrom(in);
+        lotNumber = PackedStrings.readFrom(in);
+        product = readInts(in, size);
+        fab = readInts(in, size);
+        returnReason = readInts(in, size);
+        returnStep = readInts(in, size);
+        returnDate = readLongs(in, size);
+        returnBy = readInts(in, size);
+        targetStep = readInts(in, size);
+        status = readInts(in, size);
+        severity = readInts(in, size);
+        resolvedDate = readLongs(in, size);
+        comments = PackedStrings.readFrom(in);
+        createdAt = readLongs(in, size);
+        updatedAt = readLongs(in, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ReturnHistory get(int i) {
+        return new ReturnHistory(id.get(i), returnId.get(i), lotNumber.get(i), dictionary.decode(product[i]),
+                dictionary.decode(fab[i]), dictionary.decode(returnReason[i]), dictionary.decode(returnStep[i]),
+                decodeTime(returnDate[i]), dictionary.decode(returnBy[i]), dictionary.decode(targetStep[i]),
+                dictionary.decode(status[i]), dictionary.decode(severity[i]), decodeTime(resolvedDate[i]),
+                comments.get(i), decodeTime(createdAt[i]), decodeTime(updatedAt[i]));
+    }
+
+    @Override
+    protected byte type() {
+        return TYPE_RETURN;
+    }
+
+    @Override
+    protected void writeColumns(DataOutputStream out) throws IOException {
+        id.writeTo(out);
+        returnId.writeTo(out);
+        lotNumber.writeTo(out);
+        write(out, product);
+        write(out, fab);
+        write(out, returnReason);
+        write(out, returnStep);
+        write(out, returnDate);
+        write(out, returnBy);
+        write(out, targetStep);
+        write(out, status);
+        write(out, severity);
+        write(out, resolvedDate);
+        comments.writeTo(out);
+        write(out, createdAt);
+        write(out, updatedAt);
+    }
+}
@@ -0,0 +1,214 @@
+package com.ai.mes.model.compact;
+
+import com.ai.mes.model.EquipmentData;
+import com.ai.mes.model.LotData;
+import com.ai.mes.model.ReturnHistory;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 조회 결과 행 목록의 압축 표현 (열 단위 기본형 배열).
+ * <p>
+ * 저카디널리티 문자열은 {@link StringDictionary} 코드로, 행마다 다른 문자열은 {@link PackedStrings} 바이트 배열로, 일시는 마이크로초 단위 epoch 값(시간대 없는 로컬 일시 기준)으로,
+ * 정수·실수는 기본형 배열로 보관해 행마다 생기는 String·LocalDateTime 객체와 객체 헤더를 없앱니다.
+ * 모델 객체({@link LotData}, {@link EquipmentData}, {@link ReturnHistory})는 {@link #toList()}로 꺼낼 때 새로 만들어지므로
+ * 호출 측이 꺼낸 행을 변경해도 보관 내용에는 영향이 없습니다.
+ * <p>
+ * {@link #writeTo}/{@link #readFrom}은 같은 열 배열을 그대로 이어 쓴 이진 형식(빅엔디언)으로,
+ * 캐시 체크포인트 파일에 사용합니다: type(1) | size(4) | 사전 | 열*
+ *
+ * @param <T> 모델 타입
+ */
+public abstract class CompactRows<T> {
+
+    protected static final long NULL_TIME = Long.MIN_VALUE;
+    protected static final int NULL_INT = Integer.MIN_VALUE;
+    // null 표시용 NaN (일반 NaN과 비트 패턴이 다름)
+    protected static final long NULL_DOUBLE_BITS = 0x7ff80000_0000deadL;
+
+    static final byte TYPE_LOT = 1;
+    static final byte TYPE_EQUIPMENT = 2;
+    static final byte TYPE_RETURN = 3;
+
+    protected final StringDictionary dictionary;
+
+    protected CompactRows(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * LOT/설비/반송 목록을 압축합니다. 그 밖의 타입이 섞여 있거나 빈 목록이면 null을 반환합니다.
+     * null 표시값과 겹치는 값({@link Integer#MIN_VALUE}, null 표시용 NaN)이나 마이크로초 epoch로 표현할 수 없는 일시가
+     * 있어도 원래 값을 보존할 수 없으므로 null을 반환합니다 (호출 측은 목록을 그대로 보관).
+     */
+    @SuppressWarnings("unchecked")
+    public static CompactRows<?> encode(List<?> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Class<?> type = rows.get(0) == null ? null : rows.get(0).getClass();
+        for (Object row : rows) {
+            if (row == null || row.getClass() != type) {
+                return null;
+            }
+        }
+        try {
+            if (type == LotData.class) {
+                return new CompactLotRows((List<LotData>) rows);
+            }
+            if (type == EquipmentData.class) {
+                return new CompactEquipmentRows((List<EquipmentData>) rows);
+            }
+            if (type == ReturnHistory.class) {
+                return new CompactReturnRows((List<ReturnHistory>) rows);
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * {@link #writeTo}로 기록한 내용을 읽습니다. 버퍼 위치는 읽은 만큼 이동합니다.
+     */
+    public static CompactRows<?> readFrom(ByteBuffer in) {
+        byte type = in.get();
+        int size = in.getInt();
+        StringDictionary dictionary = StringDictionary.readFrom(in);
+        switch (type) {
+            case TYPE_LOT: return new CompactLotRows(size, dictionary, in);
+            case TYPE_EQUIPMENT: return new CompactEquipmentRows(size, dictionary, in);
+            case TYPE_RETURN: return new CompactReturnRows(size, dictionary, in);
+            default: throw new IllegalArgumentException("알 수 없는 압축 행 타입입니다: " + type);
+        }
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(type());
+        out.writeInt(size());
+        dictionary.writeTo(out);
+        writeColumns(out);
+    }
+
+    protected abstract byte type();
+
+    protected abstract void writeColumns(DataOutputStream out) throws IOException;
+
+    public abstract int size();
+
+    /** i번째 행의 모델 객체 (호출마다 새로 생성) */
+    public abstract T get(int index);
+
+    /** 전체 행을 모델 객체로 꺼냅니다 (변경 가능한 새 목록). */
+    public List<T> toList() {
+        int size = size();
+        List<T> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(get(i));
+        }
+        return rows;
+    }
+
+    /** 사전에 등록된 서로 다른 문자열 수 */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    /** @throws IllegalArgumentException 마이크로초 epoch가 long 범위를 넘는 일시 */
+    protected static long encodeTime(LocalDateTime value) {
+        if (value == null) {
+            return NULL_TIME;
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(value.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+                    value.getNano() / 1_000);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("압축할 수 없는 일시입니다: " + value, e);
+        }
+    }
+
+    protected static LocalDateTime decodeTime(long value) {
+        if (value == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000L),
+                (int) Math.floorMod(value, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /** @throws IllegalArgumentException null 표시값과 같은 값 */
+    protected static int encodeInt(Integer value) {
+        if (value == null) {
+            return NULL_INT;
+        }
+        if (value == NULL_INT) {
+            throw new IllegalArgumentException("압축할 수 없는 정수입니다: " + value);
+        }
+        return value;
+    }
+
+    protected static Integer decodeInt(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    /** @throws IllegalArgumentException null 표시용 NaN과 비트 패턴이 같은 값 */
+    protected static double encodeDouble(Double value) {
+        if (value == null) {
+            return Double.longBitsToDouble(NULL_DOUBLE_BITS);
+        }
+        if (Double.doubleToRawLongBits(value) == NULL_DOUBLE_BITS) {
+            throw new IllegalArgumentException("압축할 수 없는 실수입니다: " + value);
+        }
+        return value;
+    }
+
+    protected static Double decodeDouble(double value) {
+        return Double.doubleToRawLongBits(value) == NULL_DOUBLE_BITS ? null : value;
+    }
+
+    protected static void write(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    protected static void write(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    // null 표시용 NaN 비트 패턴을 보존하도록 raw 비트로 기록
+    protected static void write(DataOutputStream out, double[] values) throws IOException {
+        for (double value : values) {
+            out.writeLong(Double.doubleToRawLongBits(value));
+        }
+    }
+
+    protected static int[] readInts(ByteBuffer in, int size) {
+        int[] values = new int[size];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + size * Integer.BYTES);
+        return values;
+    }
+
+    protected static long[] readLongs(ByteBuffer in, int size) {
+        long[] values = new long[size];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + size * Long.BYTES);
+        return values;
+    }
+
+    protected static double[] readDoubles(ByteBuffer in, int size) {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = Double.longBitsToDouble(in.getLong());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ai.mes.model.compact;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 행마다 값이 다른 문자열 열(ID, LOT 번호 등)의 압축 보관.
+ * <p>
+ * 모든 값을 UTF-8 바이트로 하나의 배열에 이어 붙이고 시작 위치만 보관해, 행마다 생기는 String 객체와 내부 배열 헤더를 없앱니다.
+ * 값은 행 순서대로 {@link #add(String)}로 추가하고 {@link #trim()} 이후에는 읽기 전용으로 공유됩니다.
+ */
+final class PackedStrings {
+
+    private final int[] offsets;
+    private final BitSet nulls;
+    private byte[] bytes;
+    private int count;
+
+    PackedStrings(int capacity) {
+        offsets = new int[capacity + 1];
+        nulls = new BitSet();
+        bytes = new byte[Math.max(16, capacity * 8)];
+    }
+
+    private PackedStrings(int count, int[] offsets, BitSet nulls, byte[] bytes) {
+        this.count = count;
+        this.offsets = offsets;
+        this.nulls = nulls;
+        this.bytes = bytes;
+    }
+
+    void add(String value) {
+        int start = offsets[count];
+        if (value == null) {
+            nulls.set(count);
+        } else {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (start + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + encoded.length));
+            }
+            System.arraycopy(encoded, 0, bytes, start, encoded.length);
+            start += encoded.length;
+        }
+        offsets[++count] = start;
+    }
+
+    /** 추가가 끝난 뒤 남는 버퍼 공간을 반납합니다. */
+    void trim() {
+        bytes = Arrays.copyOf(bytes, offsets[count]);
+    }
+
+    String get(int index) {
+        if (nulls.get(index)) {
+            return null;
+        }
+        int start = offsets[index];
+        return new String(bytes, start, offsets[index + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /** count(4) | offsets(4 * (count + 1)) | nullWords(4) | nulls(8 * nullWords) | bytes(offsets[count]) */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i <= count; i++) {
+            out.writeInt(offsets[i]);
+        }
+        long[] words = nulls.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+        out.write(bytes, 0, offsets[count]);
+    }
+
+    static PackedStrings readFrom(ByteBuffer in) {
+        int count = in.getInt();
+        int[] offsets = CompactRows.readInts(in, count + 1);
+        BitSet nulls = BitSet.valueOf(CompactRows.readLongs(in, in.getInt()));
+        byte[] bytes = new byte[offsets[count]];
+        in.get(bytes);
+        return new PackedStrings(count, offsets, nulls, bytes);
+    }
+}
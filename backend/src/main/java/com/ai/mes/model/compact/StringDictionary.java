@@ -0,0 +1,66 @@
+package com.ai.mes.model.compact;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저카디널리티 문자열 열(팹, 상태, 공정 단계, 제품 등)의 사전 인코딩.
+ * <p>
+ * 같은 값은 한 번만 보관하고 행에는 정수 코드만 둡니다. null은 {@link #NULL} 코드입니다.
+ * 표를 만드는 동안만 값을 추가하며, {@link CompactRows} 생성이 끝난 뒤에는 읽기 전용으로 공유됩니다.
+ */
+final class StringDictionary {
+
+    static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /** count(4) | (length(4) | UTF-8)* */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+        }
+    }
+
+    static StringDictionary readFrom(ByteBuffer in) {
+        StringDictionary dictionary = new StringDictionary();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] encoded = new byte[in.getInt()];
+            in.get(encoded);
+            dictionary.encode(new String(encoded, StandardCharsets.UTF_8));
+        }
+        return dictionary;
+    }
+}
@@ -4,12 +4,15 @@ import com.ai.mes.mapper.next.UserMapper;
 import com.ai.mes.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -18,6 +21,19 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserMapper userMapper;
 
+    // 사용자 정보 캐시 TTL (0이면 캐시 사용 안 함)
+    @Value("${spring.security.user-cache.ttl:30000}")
+    private long userCacheTtlMillis;
+
+    @Value("${spring.security.user-cache.max-size:1000}")
+    private int userCacheMaxSize;
+
+    // username -> 캐시된 사용자 (조회 결과 없음도 캐시)
+    private final Map<String, CachedUser> userCache = new ConcurrentHashMap<>();
+
+    /**
+     * 자격 증명 검증용 사용자 로드. 비밀번호 변경이 즉시 반영되도록 항상 DB에서 조회합니다.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("사용자 로드 시도: {}", username);
@@ -39,4 +55,45 @@ public class CustomUserDetailsService implements UserDetailsService {
             user.getRole()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * 최신 사용자 정보가 필요한 조회용 엔드포인트(내 정보 등)를 위한 짧은 TTL 캐시 조회.
+     * 요청 인증은 토큰 클레임만으로 처리하므로, 이 조회는 실제로 사용자 정보가 필요한 경우에만 호출합니다.
+     */
+    public Optional<User> findUser(String username) {
+        if (userCacheTtlMillis <= 0) {
+            return userMapper.selectByUsername(username);
+        }
+        long now = System.currentTimeMillis();
+        CachedUser cached = userCache.get(username);
+        if (cached != null && now - cached.loadedAt <= userCacheTtlMillis) {
+            return Optional.ofNullable(cached.user);
+        }
+
+        Optional<User> user = userMapper.selectByUsername(username);
+        if (userCache.size() >= userCacheMaxSize) {
+            // 만료 항목을 먼저 정리하고, 그래도 가득 차 있으면 전체를 비워 크기 상한 유지
+            userCache.values().removeIf(entry -> now - entry.loadedAt > userCacheTtlMillis);
+            if (userCache.size() >= userCacheMaxSize) {
+                userCache.clear();
+            }
+        }
+        userCache.put(username, new CachedUser(user.orElse(null), now));
+        return user;
+    }
+
+    /** 사용자 정보 변경 시 캐시 항목 제거 */
+    public void evictUser(String username) {
+        userCache.remove(username);
+    }
+
+    private static final class CachedUser {
+        private final User user;
+        private final long loadedAt;
+
+        private CachedUser(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ai.mes.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -32,10 +33,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // 검증과 클레임 추출을 한 번에 수행 (검증된 토큰은 캐시에서 조회)
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.getVerifiedClaims(jwt) : null;
+            if (claims != null) {
+                // 토큰 클레임으로 사용자 정보를 복원하고, 이전 형식 토큰만 사용자 조회로 대체
+                UserDetails userDetails = tokenProvider.getUserPrincipal(claims);
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                }
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -5,20 +5,39 @@ import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    // UserPrincipal 복원용 클레임 (요청마다 사용자 테이블을 조회하지 않도록 토큰에 포함)
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_EMAIL = "email";
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private final SecretKey key;
     private final int jwtExpirationInMs;
+    // 서명 키가 고정이므로 파서는 한 번만 생성해 재사용 (스레드 안전)
+    private final JwtParser jwtParser;
+    // 검증된 토큰의 SHA-256 다이제스트 -> 클레임 (토큰 만료 시각까지 유지)
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final int verifiedCacheSize;
 
     public JwtTokenProvider(@Value("${spring.security.jwt.secret}") String jwtSecret,
-                           @Value("${spring.security.jwt.expiration}") int jwtExpirationInMs) {
+                           @Value("${spring.security.jwt.expiration}") int jwtExpirationInMs,
+                           @Value("${spring.security.jwt.verified-cache-size:10000}") int verifiedCacheSize) {
         try {
             // JWT secret이 null이거나 빈 문자열인지 확인
             if (jwtSecret == null || jwtSecret.trim().isEmpty()) {
@@ -33,6 +52,10 @@ public class JwtTokenProvider {
             
             this.key = Keys.hmacShaKeyFor(secretBytes);
             this.jwtExpirationInMs = jwtExpirationInMs;
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .build();
+            this.verifiedCacheSize = verifiedCacheSize;
             
             log.info("JWT TokenProvider 초기화 완료. Secret 길이: {}바이트, 만료시간: {}ms", 
                     secretBytes.length, jwtExpirationInMs);
@@ -58,6 +81,9 @@ public class JwtTokenProvider {
 
             String token = Jwts.builder()
                     .setSubject(userPrincipal.getUsername())
+                    .claim(CLAIM_USER_ID, userPrincipal.getId())
+                    .claim(CLAIM_ROLE, resolveRole(userPrincipal))
+                    .claim(CLAIM_EMAIL, userPrincipal.getEmail())
                     .setIssuedAt(new Date())
                     .setExpiration(expiryDate)
                     .signWith(key, SignatureAlgorithm.HS512)
@@ -72,23 +98,67 @@ public class JwtTokenProvider {
         }
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * 검증된 클레임에서 UserPrincipal을 복원합니다.
+     *
+     * @return 사용자 ID·역할 클레임이 없는 이전 형식 토큰이면 null (호출 측에서 사용자 조회로 대체)
+     */
+    public UserPrincipal getUserPrincipal(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return UserPrincipal.create(userId, claims.getSubject(), null, claims.get(CLAIM_EMAIL, String.class), role);
+    }
 
+    public String getUsernameFromToken(String token) {
+        Claims claims = getVerifiedClaims(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
         return claims.getSubject();
     }
 
     public boolean validateToken(String token) {
+        return getVerifiedClaims(token) != null;
+    }
+
+    /**
+     * 토큰을 검증하고 클레임을 반환합니다.
+     * <p>
+     * 한 번 검증된 토큰은 다이제스트 기준으로 만료 시각까지 캐시되므로,
+     * 같은 토큰의 반복 요청은 서명 검증 없이 해시 조회만 수행합니다.
+     *
+     * @return 검증된 클레임. 유효하지 않거나 만료된 토큰이면 null
+     */
+    public Claims getVerifiedClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (now < cached.expiresAt) {
+                return cached.claims;
+            }
+            verifiedTokens.remove(digest);
+            log.error("Expired JWT token");
+            return null;
+        }
+
+        Claims claims = parseClaims(token);
+        if (claims != null && claims.getExpiration() != null) {
+            cacheVerified(digest, claims, now);
+        }
+        return claims;
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -99,7 +169,54 @@ public class JwtTokenProvider {
             log.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    private void cacheVerified(String digest, Claims claims, long now) {
+        if (verifiedCacheSize <= 0) {
+            return;
+        }
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            // 만료된 항목을 먼저 정리하고, 그래도 가득 차 있으면 전체를 비워 크기 상한 유지
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt <= now);
+            if (verifiedTokens.size() >= verifiedCacheSize) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(digest, new VerifiedToken(claims, claims.getExpiration().getTime()));
+    }
+
+    private static String resolveRole(UserPrincipal userPrincipal) {
+        if (userPrincipal.getAuthorities() != null) {
+            for (GrantedAuthority authority : userPrincipal.getAuthorities()) {
+                String name = authority.getAuthority();
+                if (name != null && name.startsWith(ROLE_PREFIX)) {
+                    return name.substring(ROLE_PREFIX.length());
+                }
+            }
+        }
+        return "USER";
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private VerifiedToken(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
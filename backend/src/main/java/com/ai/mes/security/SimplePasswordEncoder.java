@@ -15,6 +15,13 @@ import java.nio.charset.StandardCharsets;
 @Component
 public class SimplePasswordEncoder implements org.springframework.security.crypto.password.PasswordEncoder {
 
+    private static final int MD5_HEX_LENGTH = 32;
+    private static final int SHA256_HEX_LENGTH = 64;
+
+    // MessageDigest는 스레드 안전하지 않으므로 스레드별로 재사용
+    private static final ThreadLocal<MessageDigest> MD5 = threadLocalDigest("MD5");
+    private static final ThreadLocal<MessageDigest> SHA256 = threadLocalDigest("SHA-256");
+
     /**
      * 새로운 비밀번호 암호화 (회원가입시 사용)
      * 기본적으로 평문 그대로 저장 (사내 시스템이 평문인 경우)
@@ -25,20 +32,14 @@ public class SimplePasswordEncoder implements org.springframework.security.crypt
             return null;
         }
         
-        // 사내 시스템에 맞게 수정 가능한 부분
-        // 1. 평문 저장 (가장 간단한 방식)
+        // 사내 시스템에 맞게 수정 가능한 부분 (평문 저장)
+        // 기존 MD5/SHA-256 저장값은 matches()의 레거시 검증 경로에서만 처리
         return rawPassword.toString();
-        
-        // 2. MD5 해시 (간단한 암호화가 필요한 경우)
-        // return hashWithMD5(rawPassword.toString());
-        
-        // 3. SHA-256 해시 (좀 더 안전한 암호화가 필요한 경우)
-        // return hashWithSHA256(rawPassword.toString());
     }
 
     /**
      * 비밀번호 검증
-     * 사내 DB의 암호화 방식에 맞게 비교
+     * 평문 비교 후, 일치하지 않으면 레거시 해시 저장값으로 한 번 더 검증합니다.
      */
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
@@ -47,72 +48,69 @@ public class SimplePasswordEncoder implements org.springframework.security.crypt
         }
         
         String rawPasswordStr = rawPassword.toString();
+        // 평문 비교 (16진수 형태의 평문 비밀번호도 허용)
+        boolean matched = rawPasswordStr.equals(encodedPassword) || matchesLegacyDigest(rawPasswordStr, encodedPassword);
         
-        // 방법 1: 평문 비교 (사내 DB가 평문인 경우)
-        if (rawPasswordStr.equals(encodedPassword)) {
-            return true;
-        }
-        
-        // 방법 2: MD5 해시 비교 (사내 DB가 MD5인 경우)
-        if (hashWithMD5(rawPasswordStr).equals(encodedPassword)) {
-            return true;
-        }
-        
-        // 방법 3: SHA-256 해시 비교 (사내 DB가 SHA-256인 경우)
-        if (hashWithSHA256(rawPasswordStr).equals(encodedPassword)) {
-            return true;
-        }
-        
-        // 방법 4: SHA-256 + 대문자 변환 (일부 시스템에서 사용)
-        if (hashWithSHA256(rawPasswordStr).toUpperCase().equals(encodedPassword)) {
-            return true;
-        }
-        
-        // 방법 5: MD5 + 대문자 변환 (일부 시스템에서 사용)
-        if (hashWithMD5(rawPasswordStr).toUpperCase().equals(encodedPassword)) {
-            return true;
+        if (!matched) {
+            log.debug("비밀번호 검증 실패 - 지원하는 암호화 방식과 일치하지 않음");
         }
-        
-        log.debug("비밀번호 검증 실패 - 지원하는 암호화 방식과 일치하지 않음");
-        return false;
+        return matched;
     }
     
     /**
-     * MD5 해시 생성 (간단한 암호화)
+     * 레거시 해시 저장값 검증 (사내 DB에 MD5/SHA-256으로 저장된 기존 계정용)
+     * 저장된 값의 길이와 문자 구성으로 암호화 방식을 판별하여 한 번만 해시합니다.
+     * - 16진수 32자: MD5 (대소문자 무관)
+     * - 16진수 64자: SHA-256 (대소문자 무관)
      */
-    private String hashWithMD5(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hash = md.digest(password.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            log.error("MD5 알고리즘을 찾을 수 없습니다", e);
-            return password; // 실패시 평문 반환
+    static boolean matchesLegacyDigest(String rawPassword, String encodedPassword) {
+        if (encodedPassword.length() == MD5_HEX_LENGTH && isHex(encodedPassword)) {
+            return hexEquals(digest(MD5, rawPassword), encodedPassword);
+        }
+        if (encodedPassword.length() == SHA256_HEX_LENGTH && isHex(encodedPassword)) {
+            return hexEquals(digest(SHA256, rawPassword), encodedPassword);
         }
+        return false;
     }
     
-    /**
-     * SHA-256 해시 생성 (안전한 암호화)
-     */
-    private String hashWithSHA256(String password) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            log.error("SHA-256 알고리즘을 찾을 수 없습니다", e);
-            return password; // 실패시 평문 반환
+    private static byte[] digest(ThreadLocal<MessageDigest> digests, String password) {
+        MessageDigest md = digests.get();
+        md.reset();
+        return md.digest(password.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
         }
+        return true;
     }
     
     /**
-     * 바이트 배열을 16진수 문자열로 변환
+     * 다이제스트 바이트와 16진수 문자열을 문자열 변환 없이 비교 (대소문자 무관, 일정 시간 비교)
      */
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder result = new StringBuilder();
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
+    private static boolean hexEquals(byte[] digest, String hex) {
+        if (hex.length() != digest.length * 2) {
+            return false;
         }
-        return result.toString();
+        int diff = 0;
+        for (int i = 0; i < digest.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            diff |= ((high << 4) | low) ^ (digest[i] & 0xff);
+        }
+        return diff == 0;
+    }
+    
+    private static ThreadLocal<MessageDigest> threadLocalDigest(String algorithm) {
+        return ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(algorithm + " 알고리즘을 찾을 수 없습니다", e);
+            }
+        });
     }
 }
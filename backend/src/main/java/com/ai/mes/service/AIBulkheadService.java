@@ -0,0 +1,236 @@
+package com.ai.mes.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * AI 서비스 호출 격벽(bulkhead).
+ * <p>
+ * AI 서비스 동시 호출 수를 제한하고, 대기열이 가득 차거나 대기 시간이 초과되면 즉시 {@link BusyException}으로 거절합니다.
+ * 사용자가 직접 요청한 분석(INTERACTIVE)이 주기적 인사이트(BACKGROUND)보다 우선하며,
+ * BACKGROUND 레인은 전체 동시 호출 중 일부만 사용할 수 있어 대화형 요청의 여유분을 항상 남겨 둡니다.
+ * 레인별 실행 수, 대기 수, 거절 수는 {@code ai.bulkhead.*} 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AIBulkheadService {
+
+    public enum Lane {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai-service.bulkhead.max-concurrent:16}")
+    private int maxConcurrent;
+
+    @Value("${ai-service.bulkhead.background-max-concurrent:4}")
+    private int backgroundMaxConcurrent;
+
+    @Value("${ai-service.bulkhead.max-queued:32}")
+    private int maxQueued;
+
+    @Value("${ai-service.bulkhead.max-wait:2000}")
+    private long maxWaitMillis;
+
+    // 아래 상태는 모두 this 잠금으로 보호
+    private final Map<Lane, Deque<Waiter>> queues = new EnumMap<>(Lane.class);
+    private final Map<Lane, Integer> running = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> queueFullRejections = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> timeoutRejections = new EnumMap<>(Lane.class);
+
+    @PostConstruct
+    public void registerMetrics() {
+        for (Lane lane : Lane.values()) {
+            String tag = lane.name().toLowerCase();
+            queues.put(lane, new ArrayDeque<>());
+            running.put(lane, 0);
+            Gauge.builder("ai.bulkhead.active", this, bulkhead -> bulkhead.running(lane))
+                    .description("AI 서비스 실행 중 호출 수")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("ai.bulkhead.queued", this, bulkhead -> bulkhead.queued(lane))
+                    .description("AI 서비스 호출 대기 수")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            queueFullRejections.put(lane, Counter.builder("ai.bulkhead.rejected")
+                    .description("AI 서비스 호출 거절 수")
+                    .tags("lane", tag, "reason", "queue_full")
+                    .register(meterRegistry));
+            timeoutRejections.put(lane, Counter.builder("ai.bulkhead.rejected")
+                    .description("AI 서비스 호출 거절 수")
+                    .tags("lane", tag, "reason", "wait_timeout")
+                    .register(meterRegistry));
+        }
+    }
+
+    /** 격벽 안에서 단건 호출을 실행합니다. 실행 권한을 얻은 뒤에 구독합니다. */
+    public <T> Mono<T> execute(Lane lane, Supplier<Mono<T>> call) {
+        return Mono.usingWhen(acquire(lane),
+                permit -> call.get(),
+                permit -> release(permit),
+                (permit, error) -> release(permit),
+                permit -> release(permit));
+    }
+
+    /** 격벽 안에서 스트리밍 호출을 실행합니다. 스트림이 끝나거나 취소될 때까지 실행 권한을 유지합니다. */
+    public <T> Flux<T> executeMany(Lane lane, Supplier<Flux<T>> call) {
+        return Flux.usingWhen(acquire(lane),
+                permit -> call.get(),
+                permit -> release(permit),
+                (permit, error) -> release(permit),
+                permit -> release(permit));
+    }
+
+    private Mono<Lane> acquire(Lane lane) {
+        return Mono.<Lane>create(sink -> {
+                    Waiter waiter = new Waiter(lane, sink);
+                    sink.onCancel(() -> cancel(waiter));
+                    boolean granted;
+                    boolean rejected = false;
+                    synchronized (this) {
+                        granted = tryStart(lane);
+                        waiter.granted = granted;
+                        if (!granted) {
+                            rejected = queues.get(lane).size() >= maxQueued;
+                            if (!rejected) {
+                                queues.get(lane).addLast(waiter);
+                            }
+                        }
+                    }
+                    // 신호는 잠금 밖에서 전달 (구독자 처리가 동기로 이어지므로 잠금 보유 시간이 길어지지 않도록)
+                    if (granted) {
+                        sink.success(lane);
+                    } else if (rejected) {
+                        queueFullRejections.get(lane).increment();
+                        sink.error(new BusyException(lane, "queue full"));
+                    }
+                })
+                .timeout(Duration.ofMillis(maxWaitMillis))
+                .onErrorMap(TimeoutException.class, e -> {
+                    timeoutRejections.get(lane).increment();
+                    return new BusyException(lane, "wait timeout");
+                });
+    }
+
+    private Mono<Void> release(Lane lane) {
+        return Mono.fromRunnable(() -> {
+            Waiter next;
+            synchronized (this) {
+                running.put(lane, running.get(lane) - 1);
+                next = grantNext();
+            }
+            // 대기자 깨우기는 잠금 밖에서 수행 (한 번에 하나의 실행 권한만 반환되므로 하나만 깨움)
+            if (next != null) {
+                next.sink.success(next.lane);
+            }
+        });
+    }
+
+    private void cancel(Waiter waiter) {
+        synchronized (this) {
+            waiter.cancelled = true;
+            if (queues.get(waiter.lane).remove(waiter) || !waiter.granted) {
+                return;
+            }
+        }
+        // 실행 권한을 받은 직후 취소된 경우 권한을 반환
+        release(waiter.lane).subscribe();
+    }
+
+    private Waiter grantNext() {
+        // INTERACTIVE 대기자를 먼저 처리
+        for (Lane lane : Lane.values()) {
+            Deque<Waiter> queue = queues.get(lane);
+            while (!queue.isEmpty() && canStart(lane)) {
+                Waiter waiter = queue.pollFirst();
+                if (waiter.cancelled) {
+                    continue;
+                }
+                start(lane);
+                waiter.granted = true;
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryStart(Lane lane) {
+        // 같은 레인의 대기자가 있으면 순서를 지키기 위해 대기열로
+        if (!queues.get(lane).isEmpty() || !canStart(lane)) {
+            return false;
+        }
+        start(lane);
+        return true;
+    }
+
+    private boolean canStart(Lane lane) {
+        int total = running.get(Lane.INTERACTIVE) + running.get(Lane.BACKGROUND);
+        if (total >= maxConcurrent) {
+            return false;
+        }
+        if (lane == Lane.BACKGROUND) {
+            return running.get(Lane.BACKGROUND) < backgroundMaxConcurrent
+                    && queues.get(Lane.INTERACTIVE).isEmpty();
+        }
+        return true;
+    }
+
+    private void start(Lane lane) {
+        running.put(lane, running.get(lane) + 1);
+    }
+
+    private synchronized int running(Lane lane) {
+        return running.get(lane);
+    }
+
+    private synchronized int queued(Lane lane) {
+        return queues.get(lane).size();
+    }
+
+    private static final class Waiter {
+        private final Lane lane;
+        private final MonoSink<Lane> sink;
+        private boolean granted;
+        private boolean cancelled;
+
+        private Waiter(Lane lane, MonoSink<Lane> sink) {
+            this.lane = lane;
+            this.sink = sink;
+        }
+    }
+
+    /** AI 서비스 호출이 격벽에서 거절됨 (HTTP 503으로 응답) */
+    public static class BusyException extends RuntimeException {
+        private final Lane lane;
+
+        public BusyException(Lane lane, String reason) {
+            // 과부하 시 대량으로 발생하는 거절 신호이므로 스택 트레이스를 수집하지 않음
+            super("AI service bulkhead rejected " + lane + " request: " + reason, null, false, false);
+            this.lane = lane;
+        }
+
+        public Lane getLane() {
+            return lane;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.ai.mes.service;
+
+import com.ai.mes.dto.AIContext;
+import com.ai.mes.dto.AIContext.EquipmentAnomaly;
+import com.ai.mes.dto.AIContext.ReturnSummary;
+import com.ai.mes.dto.SearchQuery;
+import com.ai.mes.event.FabDataChangedEvent;
+import com.ai.mes.model.EquipmentData;
+import com.ai.mes.model.ReturnHistory;
+import com.ai.mes.model.StatusCount;
+import com.ai.mes.model.StepDelay;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AI 분석 컨텍스트 빌더.
+ * <p>
+ * 화면의 원본 목록 대신 팹 DB에서 상태별 건수, 오류/정비 설비 상위 N개, 스텝별 진행 지연, 최근 반송을 조회해
+ * 작은 요약 컨텍스트를 만듭니다. 직렬화 크기로 추정한 토큰 수가 예산을 넘으면 가장 긴 목록부터 줄이며,
+ * 팹별 컨텍스트는 짧은 TTL 동안 캐시되고 {@link FabDataChangedEvent}로 무효화됩니다.
+ * 생성 시각은 넣지 않으므로 데이터가 같으면 다시 만든 컨텍스트도 같은 요청 본문이 되어 AI 응답 캐시 키가 유지됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AIContextBuilder {
+
+    // 컨텍스트용 정렬 키 -> 컬럼
+    private static final Map<String, String> RETURN_SORT = Map.of("returnDate", "return_date");
+    // JSON 직렬화 바이트 수 기준 토큰 추정 (한글 등 멀티바이트 문자를 고려한 보수적 비율)
+    private static final int BYTES_PER_TOKEN = 3;
+
+    // 각 팹 별 MyBatis Mapper 주입
+    private final com.ai.mes.mapper.m14.LotDataMapper m14LotMapper;
+    private final com.ai.mes.mapper.m15.LotDataMapper m15LotMapper;
+    private final com.ai.mes.mapper.m16.LotDataMapper m16LotMapper;
+    private final com.ai.mes.mapper.m14.EquipmentDataMapper m14EquipmentMapper;
+    private final com.ai.mes.mapper.m15.EquipmentDataMapper m15EquipmentMapper;
+    private final com.ai.mes.mapper.m16.EquipmentDataMapper m16EquipmentMapper;
+    private final com.ai.mes.mapper.m14.ReturnHistoryMapper m14ReturnMapper;
+    private final com.ai.mes.mapper.m15.ReturnHistoryMapper m15ReturnMapper;
+    private final com.ai.mes.mapper.m16.ReturnHistoryMapper m16ReturnMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ai-service.context.top-n:10}")
+    private int topN;
+
+    @Value("${ai-service.context.token-budget:2000}")
+    private int tokenBudget;
+
+    @Value("${ai-service.context.ttl:30000}")
+    private long ttlMillis;
+
+    // 팹 -> 캐시된 컨텍스트
+    private final Map<String, CachedContext> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * 팹별 요약 컨텍스트를 반환합니다. 토큰 예산은 대상 팹 수로 나누어 적용합니다.
+     *
+     * @param fab 팹 코드. null 또는 빈 값이면 전체 팹
+     * @throws IllegalStateException 모든 팹에서 조회에 실패한 경우
+     */
+    public List<AIContext> build(String fab) {
+        List<String> fabs = new SearchQuery().fab(fab).targetFabs();
+        int budget = Math.max(1, tokenBudget / Math.max(1, fabs.size()));
+
+        List<CompletableFuture<AIContext>> futures = new ArrayList<>();
+        for (String target : fabs) {
+            futures.add(CompletableFuture.supplyAsync(() -> context(target, budget))
+                    .exceptionally(e -> {
+                        // 조회에 실패한 팹은 컨텍스트에서 제외
+                        log.warn("AI context build failed for fab {}: {}", target, e.getMessage());
+                        return null;
+                    }));
+        }
+        List<AIContext> results = new ArrayList<>();
+        for (CompletableFuture<AIContext> future : futures) {
+            AIContext context = future.join();
+            if (context != null) {
+                results.add(context);
+            }
+        }
+        if (results.isEmpty()) {
+            throw new IllegalStateException("AI context could not be built for any fab");
+        }
+        return results;
+    }
+
+    @EventListener
+    public void onFabDataChanged(FabDataChangedEvent event) {
+        if (event.getFab() == null) {
+            contexts.clear();
+        } else {
+            contexts.remove(event.getFab().toUpperCase());
+        }
+    }
+
+    private AIContext context(String fab, int budget) {
+        long now = System.currentTimeMillis();
+        CachedContext cached = contexts.get(fab);
+        if (cached != null && cached.budget == budget && now - cached.loadedAt <= ttlMillis) {
+            return cached.context;
+        }
+        AIContext context = fitToBudget(load(fab), budget);
+        contexts.put(fab, new CachedContext(context, budget, now));
+        return context;
+    }
+
+    private AIContext load(String fab) {
+        SearchQuery returnQuery = new SearchQuery().sort("returnDate", "DESC");
+        returnQuery.resolve(RETURN_SORT, "returnDate", topN, topN);
+
+        AIContext context = new AIContext();
+        context.setFab(fab);
+        context.setLotStatus(toCounts(countLots(fab)));
+        context.setEquipmentStatus(toCounts(countEquipment(fab)));
+        context.setReturnStatus(toCounts(countReturns(fab)));
+        context.setEquipmentAnomalies(toAnomalies(selectEquipmentAnomalies(fab)));
+        context.setStepDelays(selectStepDelays(fab));
+        context.setRecentReturns(toReturnSummaries(searchReturns(fab, returnQuery)));
+        return context;
+    }
+
+    /** 추정 토큰 수가 예산 이하가 될 때까지 가장 긴 목록의 마지막 항목을 제거 */
+    private AIContext fitToBudget(AIContext context, int budget) {
+        while (estimateTokens(context) > budget) {
+            List<?> longest = longest(context.getEquipmentAnomalies(), context.getStepDelays(), context.getRecentReturns());
+            if (longest.isEmpty()) {
+                break;
+            }
+            longest.remove(longest.size() - 1);
+            context.setTruncated(true);
+        }
+        return context;
+    }
+
+    private int estimateTokens(AIContext context) {
+        try {
+            return (objectMapper.writeValueAsBytes(context).length + BYTES_PER_TOKEN - 1) / BYTES_PER_TOKEN;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("AI context serialization failed", e);
+        }
+    }
+
+    private static List<?> longest(List<?>... lists) {
+        List<?> longest = lists[0];
+        for (List<?> list : lists) {
+            if (list.size() > longest.size()) {
+                longest = list;
+            }
+        }
+        return longest;
+    }
+
+    private static Map<String, Long> toCounts(List<StatusCount> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (StatusCount count : counts) {
+            result.merge(count.getStatus() != null ? count.getStatus() : "unknown", count.getCount(), Long::sum);
+        }
+        return result;
+    }
+
+    private static List<EquipmentAnomaly> toAnomalies(List<EquipmentData> rows) {
+        List<EquipmentAnomaly> anomalies = new ArrayList<>();
+        for (EquipmentData row : rows) {
+            anomalies.add(new EquipmentAnomaly(row.getEquipmentId(), row.getStatus(), row.getCurrentOperation(),
+                    row.getUtilization(), row.getAlerts(), row.getTemperature(), row.getPressure()));
+        }
+        return anomalies;
+    }
+
+    private static List<ReturnSummary> toReturnSummaries(List<ReturnHistory> rows) {
+        List<ReturnSummary> summaries = new ArrayList<>();
+        for (ReturnHistory row : rows) {
+            summaries.add(new ReturnSummary(row.getReturnId(), row.getLotNumber(), row.getReturnReason(),
+                    row.getReturnStep(), row.getSeverity(), row.getStatus(), row.getReturnDate()));
+        }
+        return summaries;
+    }
+
+    private List<StatusCount> countLots(String fab) {
+        switch (fab) {
+            case "M14": return m14LotMapper.countByStatus();
+            case "M15": return m15LotMapper.countByStatus();
+            case "M16": return m16LotMapper.countByStatus();
+            default: return new ArrayList<>();
+        }
+    }
+
+    private List<StatusCount> countEquipment(String fab) {
+        switch (fab) {
+            case "M14": return m14EquipmentMapper.countByStatus();
+            case "M15": return m15EquipmentMapper.countByStatus();
+            case "M16": return m16EquipmentMapper.countByStatus();
+            default: return new ArrayList<>();
+        }
+    }
+
+    private List<StatusCount> countReturns(String fab) {
+        switch (fab) {
+            case "M14": return m14ReturnMapper.countByStatus();
+            case "M15": return m15ReturnMapper.countByStatus();
+            case "M16": return m16ReturnMapper.countByStatus();
+            default: return new ArrayList<>();
+        }
+    }
+
+    private List<EquipmentData> selectEquipmentAnomalies(String fab) {
+        switch (fab) {
+            case "M14": return m14EquipmentMapper.selectLatestAnomalies(topN);
+            case "M15": return m15EquipmentMapper.selectLatestAnomalies(topN);
+            case "M16": return m16EquipmentMapper.selectLatestAnomalies(topN);
+            default: return new ArrayList<>();
+        }
+    }
+
+    private List<StepDelay> selectStepDelays(String fab) {
+        switch (fab) {
+            case "M14": return m14LotMapper.selectStepDelays(topN);
+            case "M15": return m15LotMapper.selectStepDelays(topN);
+            case "M16": return m16LotMapper.selectStepDelays(topN);
+            default: return new ArrayList<>();
+        }
+    }
+
+    private List<ReturnHistory> searchReturns(String fab, SearchQuery query) {
+        switch (fab) {
+            case "M14": return m14ReturnMapper.selectByMultipleConditions(fab, query);
+            case "M15": return m15ReturnMapper.selectByMultipleConditions(fab, query);
+            case "M16": return m16ReturnMapper.selectByMultipleConditions(fab, query);
+            default: return new ArrayList<>();
+        }
+    }
+
+    private static final class CachedContext {
+        private final AIContext context;
+        private final int budget;
+        private final long loadedAt;
+
+        private CachedContext(AIContext context, int budget, long loadedAt) {
+            this.context = context;
+            this.budget = budget;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ai.mes.service;
+
+import com.ai.mes.dto.AIAnalysisRequest;
+import com.ai.mes.dto.AIAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * AI 분석 응답 캐시.
+ * <p>
+ * (분석 경로, 유형, 팹, 컨텍스트, 정규화된 데이터)를 키 순서가 고정된 JSON으로 직렬화한 SHA-256 해시를 키로
+ * AI 서비스 응답을 TTL 동안 보관합니다. 같은 키의 요청이 동시에 들어오면 진행 중인 호출 하나를 공유하므로
+ * 키마다 AI 서비스 호출은 최대 하나만 진행됩니다. 실패한 호출은 캐시하지 않습니다.
+ */
+@Slf4j
+@Service
+public class AIResponseCacheService {
+
+    private final ObjectMapper canonicalMapper;
+
+    @Value("${ai-service.cache.ttl:60000}")
+    private long ttlMillis;
+
+    @Value("${ai-service.cache.max-size:1000}")
+    private int maxSize;
+
+    // 요청 해시 -> 진행 중이거나 완료된 호출
+    private final Map<String, CachedCall> calls = new ConcurrentHashMap<>();
+
+    public AIResponseCacheService(ObjectMapper objectMapper) {
+        // 맵 키를 정렬해 필드 순서가 다른 동일 요청도 같은 키가 되도록 함
+        this.canonicalMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * 캐시된 응답을 반환하거나, 없으면 upstream 호출을 시작해 같은 키의 동시 요청과 공유합니다.
+     *
+     * @param path     AI 서비스 분석 경로
+     * @param upstream 실제 AI 서비스 호출
+     */
+    public Mono<AIAnalysisResponse> get(String path, AIAnalysisRequest request,
+                                        Supplier<Mono<AIAnalysisResponse>> upstream) {
+        if (ttlMillis <= 0) {
+            return upstream.get();
+        }
+        String key;
+        try {
+            key = key(path, request);
+        } catch (Exception e) {
+            log.warn("AI request could not be hashed, bypassing cache: {}", e.getMessage());
+            return upstream.get();
+        }
+
+        long now = System.currentTimeMillis();
+        CachedCall cached = calls.get(key);
+        if (cached != null && !cached.isExpired(now, ttlMillis)) {
+            log.debug("AI response cache hit: {}", key);
+            return cached.response;
+        }
+
+        evictIfFull(now);
+        CachedCall call = new CachedCall(now);
+        call.response = upstream.get()
+                // 실패한 호출은 제거하여 다음 요청이 다시 시도하도록 함
+                .doOnError(e -> calls.remove(key, call))
+                .cache();
+        // 다른 요청이 먼저 등록한 유효한 호출이 있으면 그 호출을 공유
+        return calls.compute(key, (k, current) ->
+                current != null && !current.isExpired(now, ttlMillis) ? current : call).response;
+    }
+
+    private void evictIfFull(long now) {
+        if (calls.size() < maxSize) {
+            return;
+        }
+        // 만료된 항목을 먼저 정리하고, 그래도 가득 차 있으면 전체를 비워 크기 상한 유지
+        calls.values().removeIf(entry -> entry.isExpired(now, ttlMillis));
+        if (calls.size() >= maxSize) {
+            calls.clear();
+        }
+    }
+
+    private String key(String path, AIAnalysisRequest request) throws Exception {
+        Map<String, Object> canonical = new LinkedHashMap<>();
+        canonical.put("path", path);
+        canonical.put("type", normalize(request.getType(), false));
+        canonical.put("fab", normalize(request.getFab(), true));
+        canonical.put("context", normalize(request.getContext(), false));
+        // 임의 객체를 맵/리스트 구조로 변환해야 중첩된 맵의 키까지 정렬됨
+        canonical.put("data", canonicalMapper.convertValue(request.getData(), Object.class));
+        byte[] json = canonicalMapper.writeValueAsBytes(canonical);
+        return HexFormat.of().formatHex(sha256().digest(json));
+    }
+
+    private static String normalize(String value, boolean upperCase) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return upperCase ? trimmed.toUpperCase(Locale.ROOT) : trimmed;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedCall {
+        private final long createdAt;
+        private Mono<AIAnalysisResponse> response;
+
+        private CachedCall(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            return now - createdAt > ttlMillis;
+        }
+    }
+}
@@ -2,23 +2,47 @@ package com.ai.mes.service;
 
 import com.ai.mes.dto.AIAnalysisRequest;
 import com.ai.mes.dto.AIAnalysisResponse;
+import com.ai.mes.service.AIBulkheadService.BusyException;
+import com.ai.mes.service.AIBulkheadService.Lane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AIService {
 
+    private static final List<String> ANALYSIS_TYPES = List.of("lot", "equipment", "return", "status");
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
     private final WebClient webClient;
+    private final AIResponseCacheService responseCache;
+    private final AIBulkheadService bulkhead;
+    private final AIContextBuilder contextBuilder;
+    private final AIWireCodec wireCodec;
+    private final MeterRegistry meterRegistry;
     
     @Value("${ai-service.base-url}")
     private String aiServiceBaseUrl;
@@ -26,92 +50,156 @@ public class AIService {
     @Value("${ai-service.timeout}")
     private int timeout;
 
-    public AIAnalysisResponse analyzeLotData(AIAnalysisRequest request) {
+    // 화면이 보낸 원본 목록 대신 서버에서 만든 요약 컨텍스트를 AI 서비스로 전달
+    @Value("${ai-service.context.enabled:true}")
+    private boolean serverContextEnabled;
+
+    public Mono<AIAnalysisResponse> analyzeLotData(AIAnalysisRequest request) {
         log.info("Analyzing lot data with AI service for type: {}", request.getType());
-        
-        try {
-            // Call AI service
-            Mono<AIAnalysisResponse> responseMono = webClient
-                    .post()
-                    .uri(aiServiceBaseUrl + "/api/analyze/lot")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(AIAnalysisResponse.class)
-                    .timeout(java.time.Duration.ofMillis(timeout));
-            
-            return responseMono.block();
-            
-        } catch (Exception e) {
-            log.error("Error calling AI service for lot analysis", e);
-            // Return mock response for development
-            return createMockLotAnalysisResponse();
-        }
+        return callAiService("/api/analyze/lot", request, Lane.INTERACTIVE, "lot analysis", this::createMockLotAnalysisResponse);
     }
 
-    public AIAnalysisResponse analyzeEquipmentData(AIAnalysisRequest request) {
+    public Mono<AIAnalysisResponse> analyzeEquipmentData(AIAnalysisRequest request) {
         log.info("Analyzing equipment data with AI service for type: {}", request.getType());
-        
-        try {
-            // Call AI service
-            Mono<AIAnalysisResponse> responseMono = webClient
-                    .post()
-                    .uri(aiServiceBaseUrl + "/api/analyze/equipment")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(AIAnalysisResponse.class)
-                    .timeout(java.time.Duration.ofMillis(timeout));
-            
-            return responseMono.block();
-            
-        } catch (Exception e) {
-            log.error("Error calling AI service for equipment analysis", e);
-            // Return mock response for development
-            return createMockEquipmentAnalysisResponse();
-        }
+        return callAiService("/api/analyze/equipment", request, Lane.INTERACTIVE, "equipment analysis", this::createMockEquipmentAnalysisResponse);
     }
 
-    public AIAnalysisResponse analyzeReturnData(AIAnalysisRequest request) {
+    public Mono<AIAnalysisResponse> analyzeReturnData(AIAnalysisRequest request) {
         log.info("Analyzing return data with AI service for type: {}", request.getType());
-        
-        try {
-            // Call AI service
-            Mono<AIAnalysisResponse> responseMono = webClient
-                    .post()
-                    .uri(aiServiceBaseUrl + "/api/analyze/return")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(AIAnalysisResponse.class)
-                    .timeout(java.time.Duration.ofMillis(timeout));
-            
-            return responseMono.block();
-            
-        } catch (Exception e) {
-            log.error("Error calling AI service for return analysis", e);
-            // Return mock response for development
-            return createMockReturnAnalysisResponse();
-        }
+        return callAiService("/api/analyze/return", request, Lane.INTERACTIVE, "return analysis", this::createMockReturnAnalysisResponse);
     }
 
-    public AIAnalysisResponse getStatusInsights(AIAnalysisRequest request) {
+    public Mono<AIAnalysisResponse> getStatusInsights(AIAnalysisRequest request) {
         log.info("Getting status insights from AI service for type: {}", request.getType());
-        
-        try {
-            // Call AI service
-            Mono<AIAnalysisResponse> responseMono = webClient
-                    .post()
-                    .uri(aiServiceBaseUrl + "/api/analyze/status")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(AIAnalysisResponse.class)
-                    .timeout(java.time.Duration.ofMillis(timeout));
-            
-            return responseMono.block();
-            
-        } catch (Exception e) {
-            log.error("Error calling AI service for status insights", e);
-            // Return mock response for development
-            return createMockStatusInsightsResponse();
+        // 대시보드가 주기적으로 요청하는 인사이트는 낮은 우선순위 레인 사용
+        return callAiService("/api/analyze/status", request, Lane.BACKGROUND, "status insights", this::createMockStatusInsightsResponse);
+    }
+
+    public boolean supportsAnalysisType(String type) {
+        return ANALYSIS_TYPES.contains(type);
+    }
+
+    /**
+     * AI 서비스의 스트리밍 분석({@code /api/analyze/{type}/stream})을 SSE 이벤트 단위로 그대로 전달합니다.
+     * 응답 전체를 버퍼링하지 않으므로 메모리 상한은 이벤트 하나에만 적용되고, 타임아웃은 이벤트 간 간격에 적용됩니다.
+     * 첫 이벤트 전에 실패하면(스트리밍 미지원 포함) 일반 분석 결과를 {@code result} 이벤트 하나로 보내고,
+     * 도중에 실패하면 {@code error} 이벤트로 종료합니다.
+     */
+    public Flux<ServerSentEvent<Object>> streamAnalysis(String type, AIAnalysisRequest request) {
+        log.info("Streaming {} analysis from AI service for type: {}", type, request.getType());
+        AtomicBoolean started = new AtomicBoolean();
+        return withServerContext(request)
+                .flatMapMany(outbound -> bulkhead.executeMany(Lane.INTERACTIVE, () ->
+                        post("/api/analyze/" + type + "/stream", wireCodec.encode(outbound), List.of(MediaType.TEXT_EVENT_STREAM))
+                                .retrieve()
+                                .bodyToFlux(SSE_EVENT_TYPE)
+                                .timeout(Duration.ofMillis(timeout))))
+                .doOnNext(event -> started.set(true))
+                .map(event -> ServerSentEvent.<Object>builder(event.data())
+                        .id(event.id())
+                        .event(event.event() != null ? event.event() : "chunk")
+                        .build())
+                .onErrorResume(e -> {
+                    if (e instanceof BusyException) {
+                        log.warn("AI service busy, rejecting {} analysis stream", type);
+                        return Mono.just(ServerSentEvent.<Object>builder("AI 서비스 요청이 많습니다. 잠시 후 다시 시도해주세요.")
+                                .event("error")
+                                .build());
+                    }
+                    if (started.get()) {
+                        log.error("AI service stream interrupted for {} analysis", type, e);
+                        return Mono.just(ServerSentEvent.<Object>builder("AI 분석 스트림이 중단되었습니다.")
+                                .event("error")
+                                .build());
+                    }
+                    log.warn("AI service stream unavailable for {} analysis, falling back: {}", type, e.getMessage());
+                    return analyze(type, request)
+                            .map(response -> ServerSentEvent.<Object>builder(response).event("result").build());
+                });
+    }
+
+    private Mono<AIAnalysisResponse> analyze(String type, AIAnalysisRequest request) {
+        switch (type) {
+            case "lot":
+                return analyzeLotData(request);
+            case "equipment":
+                return analyzeEquipmentData(request);
+            case "return":
+                return analyzeReturnData(request);
+            default:
+                return getStatusInsights(request);
+        }
+    }
+
+    /**
+     * AI 서비스를 비동기로 호출합니다. 요청 스레드를 점유하지 않으며,
+     * 동일한 요청은 응답 캐시와 진행 중인 호출을 공유하고, 실제 호출은 격벽의 동시 호출 제한을 받습니다.
+     * 오류나 타임아웃 시 개발용 목 응답으로 대체합니다.
+     */
+    private Mono<AIAnalysisResponse> callAiService(String path, AIAnalysisRequest request, Lane lane, String label,
+                                                   Supplier<AIAnalysisResponse> fallback) {
+        return withServerContext(request)
+                .flatMap(outbound -> responseCache.get(path, outbound,
+                        () -> bulkhead.execute(lane, () -> exchange(path, outbound))))
+                // 격벽 거절은 목 응답으로 감추지 않고 호출 측(503)으로 전달
+                .onErrorResume(e -> !(e instanceof BusyException), e -> {
+                    log.error("Error calling AI service for {}", label, e);
+                    Counter.builder("ai.service.fallback")
+                            .description("AI 서비스 호출 실패로 목 응답을 반환한 수")
+                            .tag("path", path)
+                            .register(meterRegistry)
+                            .increment();
+                    // Return mock response for development
+                    return Mono.fromSupplier(fallback);
+                });
+    }
+
+    /**
+     * 협상된 형식으로 요청을 보내고 응답 형식으로 AI 서비스의 CBOR 지원 여부를 학습합니다.
+     * CBOR 요청이 415로 거절되면 JSON으로 한 번 다시 보냅니다.
+     */
+    private Mono<AIAnalysisResponse> exchange(String path, AIAnalysisRequest request) {
+        AIWireCodec.EncodedBody body = wireCodec.encode(request);
+        return post(path, body, wireCodec.acceptTypes())
+                .retrieve()
+                .toEntity(AIAnalysisResponse.class)
+                .timeout(Duration.ofMillis(timeout))
+                .doOnNext(entity -> wireCodec.observeResponse(entity.getHeaders().getContentType()))
+                .map(HttpEntity::getBody)
+                .onErrorResume(WebClientResponseException.UnsupportedMediaType.class,
+                        e -> wireCodec.downgrade(body) ? exchange(path, request) : Mono.error(e));
+    }
+
+    private WebClient.RequestHeadersSpec<?> post(String path, AIWireCodec.EncodedBody body, List<MediaType> accept) {
+        WebClient.RequestBodySpec spec = webClient
+                .post()
+                .uri(aiServiceBaseUrl + path)
+                .contentType(body.getContentType())
+                .accept(accept.toArray(new MediaType[0]));
+        if (body.getContentEncoding() != null) {
+            spec = spec.header(HttpHeaders.CONTENT_ENCODING, body.getContentEncoding());
+        }
+        return spec.bodyValue(body.getBytes());
+    }
+
+    /**
+     * 요청의 data를 팹 DB에서 만든 요약 컨텍스트로 교체합니다. DB 조회는 별도 스케줄러에서 수행하며,
+     * 컨텍스트를 만들 수 없으면 원래 요청을 그대로 사용합니다.
+     */
+    private Mono<AIAnalysisRequest> withServerContext(AIAnalysisRequest request) {
+        if (!serverContextEnabled) {
+            return Mono.just(request);
         }
+        return Mono.fromCallable(() -> new AIAnalysisRequest(
+                        request.getContext(),
+                        contextBuilder.build(request.getFab()),
+                        request.getType(),
+                        request.getFab()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("AI context build failed, using request data: {}", e.getMessage());
+                    return Mono.just(request);
+                });
     }
 
     // Mock responses for development
@@ -0,0 +1,123 @@
+package com.ai.mes.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AI 서비스 요청 본문 인코더와 인코딩 협상 상태.
+ * <p>
+ * 응답은 {@code Accept}로 CBOR를 우선 요청하고 JSON을 대체 형식으로 받으며, 응답 본문은 gzip 압축을 허용합니다.
+ * 요청 본문은 {@code auto} 모드에서 JSON으로 시작해, AI 서비스가 CBOR로 응답하면 이후 요청도 CBOR로 보냅니다.
+ * CBOR 요청이 415로 거절되면 JSON으로 되돌립니다. 큰 요청 본문은 설정에 따라 gzip으로 압축합니다.
+ */
+@Slf4j
+@Component
+public class AIWireCodec {
+
+    public static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+    private static final List<MediaType> ACCEPT_CBOR_FIRST = List.of(
+            APPLICATION_CBOR, new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9")));
+    private static final List<MediaType> ACCEPT_JSON = List.of(MediaType.APPLICATION_JSON);
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final String format;
+    private final boolean gzipRequests;
+    private final int gzipMinBytes;
+
+    // auto 모드에서 AI 서비스가 CBOR를 지원하는 것으로 확인되었는지 여부
+    private volatile boolean cborSupported;
+
+    public AIWireCodec(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                       @Value("${ai-service.wire.format:auto}") String format,
+                       @Value("${ai-service.wire.gzip-requests:false}") boolean gzipRequests,
+                       @Value("${ai-service.wire.gzip-min-bytes:4096}") int gzipMinBytes) {
+        // 두 형식 모두 애플리케이션 Jackson 설정(snake_case, 날짜 형식 등)을 그대로 사용
+        this.jsonMapper = objectMapperBuilder.build();
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        this.format = format.toLowerCase();
+        this.gzipRequests = gzipRequests;
+        this.gzipMinBytes = gzipMinBytes;
+        this.cborSupported = "cbor".equals(this.format);
+    }
+
+    public ObjectMapper getJsonMapper() {
+        return jsonMapper;
+    }
+
+    public ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    /** 응답 Accept 헤더 (json 모드가 아니면 CBOR 우선) */
+    public List<MediaType> acceptTypes() {
+        return "json".equals(format) ? ACCEPT_JSON : ACCEPT_CBOR_FIRST;
+    }
+
+    public EncodedBody encode(Object body) {
+        boolean cbor = cborSupported && !"json".equals(format);
+        try {
+            byte[] bytes = (cbor ? cborMapper : jsonMapper).writeValueAsBytes(body);
+            MediaType contentType = cbor ? APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+            if (gzipRequests && bytes.length >= gzipMinBytes) {
+                return new EncodedBody(gzip(bytes), contentType, "gzip");
+            }
+            return new EncodedBody(bytes, contentType, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("AI request encoding failed", e);
+        }
+    }
+
+    /** 응답 형식으로 AI 서비스의 CBOR 지원 여부를 학습 */
+    public void observeResponse(MediaType contentType) {
+        if (!cborSupported && "auto".equals(format) && contentType != null && APPLICATION_CBOR.includes(contentType)) {
+            log.info("AI service responded with CBOR, switching request encoding to CBOR");
+            cborSupported = true;
+        }
+    }
+
+    /**
+     * CBOR 요청이 거절(415)되었을 때 JSON으로 되돌립니다.
+     *
+     * @return 되돌렸으면 true (같은 요청을 JSON으로 다시 보낼 수 있음)
+     */
+    public boolean downgrade(EncodedBody rejected) {
+        if (!APPLICATION_CBOR.equals(rejected.getContentType()) || "cbor".equals(format)) {
+            return false;
+        }
+        log.warn("AI service rejected CBOR request body, falling back to JSON");
+        cborSupported = false;
+        return true;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EncodedBody {
+        private final byte[] bytes;
+        private final MediaType contentType;
+        // gzip 또는 null
+        private final String contentEncoding;
+    }
+}
@@ -0,0 +1,464 @@
+package com.ai.mes.service;
+
+import com.ai.mes.analytics.ColumnarSnapshot;
+import com.ai.mes.analytics.ColumnarSnapshotStore;
+import com.ai.mes.analytics.ColumnarSnapshotWriter;
+import com.ai.mes.dto.CycleTimeStat;
+import com.ai.mes.dto.ReturnStat;
+import com.ai.mes.dto.SnapshotStatus;
+import com.ai.mes.model.FabWatermark;
+import com.ai.mes.model.LotData;
+import com.ai.mes.model.ReturnHistory;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LOT/반송 이력 분석 서비스.
+ * <p>
+ * 백그라운드 작업이 팹별 {@code lot_data_m1x}, {@code return_history_m1x}를 커서로 한 번 읽어
+ * 열 스냅샷({@link ColumnarSnapshot})으로 기록하고, 분석 조회(제품·공정별 사이클 타임, 공정·사유별 반송 건수)는
+ * 메모리 맵된 열을 기본형 반복문으로 스캔합니다. 조회는 운영(OLTP) DB에 접근하지 않으며,
+ * 스냅샷 갱신은 워터마크({@code MAX(updated_at)}, 행 수)가 바뀐 경우에만 수행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    public static final String LOTS = "lots";
+    public static final String RETURNS = "returns";
+
+    private static final String[] FABS = {"M14", "M15", "M16"};
+    private static final String[] TABLES = {LOTS, RETURNS};
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    // 각 팹 별 MyBatis Mapper 주입
+    private final com.ai.mes.mapper.m14.LotDataMapper m14LotMapper;
+    private final com.ai.mes.mapper.m15.LotDataMapper m15LotMapper;
+    private final com.ai.mes.mapper.m16.LotDataMapper m16LotMapper;
+    private final com.ai.mes.mapper.m14.ReturnHistoryMapper m14ReturnMapper;
+    private final com.ai.mes.mapper.m15.ReturnHistoryMapper m15ReturnMapper;
+    private final com.ai.mes.mapper.m16.ReturnHistoryMapper m16ReturnMapper;
+    // 스냅샷 조회를 커서(fetchSize)로 읽기 위한 팹별 트랜잭션 매니저 (빈 이름 -> 매니저)
+    private final Map<String, PlatformTransactionManager> transactionManagers;
+
+    @Value("${analytics.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analytics.snapshot.path:./data/analytics}")
+    private String storagePath;
+
+    private ColumnarSnapshotStore store;
+    // "fab|table" -> 현재 공개된 스냅샷
+    private final Map<String, ColumnarSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void open() {
+        store = new ColumnarSnapshotStore(Paths.get(storagePath));
+        for (String fab : FABS) {
+            for (String table : TABLES) {
+                ColumnarSnapshot snapshot = store.openLatest(fab, table);
+                if (snapshot != null) {
+                    snapshots.put(key(fab, table), snapshot);
+                    log.info("Opened {} {} analytics snapshot ({} rows)", fab, table, snapshot.getRowCount());
+                }
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${analytics.snapshot.initial-delay:60000}",
+            fixedDelayString = "${analytics.snapshot.refresh-interval:900000}")
+    public void refreshSnapshots() {
+        if (!enabled || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (String fab : FABS) {
+                for (String table : TABLES) {
+                    try {
+                        refresh(fab, table);
+                    } catch (Exception e) {
+                        log.warn("Analytics snapshot refresh failed for {} {}: {}", fab, table, e.getMessage());
+                    }
+                }
+            }
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * 한 팹·테이블의 스냅샷을 다시 만듭니다. 원본 워터마크가 현재 스냅샷과 같으면 기존 스냅샷을 그대로 반환합니다.
+     */
+    public ColumnarSnapshot refresh(String fab, String table) throws IOException {
+        String key = key(fab, table);
+        FabWatermark watermark = LOTS.equals(table) ? selectLotWatermark(fab) : selectReturnWatermark(fab);
+        long sourceUpdatedAt = watermark != null && watermark.getMaxUpdatedAt() != null
+                ? toMillis(watermark.getMaxUpdatedAt()) : ColumnarSnapshot.NULL_TIME;
+        long sourceRows = watermark != null && watermark.getRowCount() != null ? watermark.getRowCount() : -1;
+        ColumnarSnapshot current = snapshots.get(key);
+        if (current != null && sourceRows >= 0 && current.getSourceUpdatedAtMillis() == sourceUpdatedAt
+                && current.getSourceRowCount() == sourceRows) {
+            log.debug("Analytics snapshot {} {} is up to date", fab, table);
+            return current;
+        }
+
+        long started = System.nanoTime();
+        ColumnarSnapshotWriter writer = store.create(fab, table);
+        try {
+            writer.setSourceWatermark(sourceUpdatedAt, sourceRows);
+            if (LOTS.equals(table)) {
+                writeLots(fab, writer);
+            } else {
+                writeReturns(fab, writer);
+            }
+            ColumnarSnapshot snapshot = store.publish(writer);
+            snapshots.put(key, snapshot);
+            log.info("Analytics snapshot {} {} written: {} rows, {} bytes in {} ms", fab, table,
+                    snapshot.getRowCount(), snapshot.getSizeBytes(), (System.nanoTime() - started) / 1_000_000);
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            store.discard(writer);
+            throw e;
+        }
+    }
+
+    /**
+     * 완료된(시작·종료 시각이 있는) LOT 이력의 사이클 타임을 제품 또는 공정 단계별로 집계합니다.
+     * 기간 조건은 종료 시각에 적용합니다.
+     */
+    public List<CycleTimeStat> getCycleTimes(String fab, String groupBy, LocalDateTime from, LocalDateTime to) {
+        String column = switch (groupBy == null ? "" : groupBy.toLowerCase()) {
+            case "product" -> "product";
+            case "step" -> "step";
+            default -> throw new IllegalArgumentException("지원하지 않는 그룹 기준입니다: " + groupBy);
+        };
+        long fromMillis = from != null ? toMillis(from) : Long.MIN_VALUE;
+        long toMillis = to != null ? toMillis(to) : Long.MAX_VALUE;
+
+        GroupStats stats = new GroupStats();
+        for (ColumnarSnapshot snapshot : snapshotsFor(fab, LOTS)) {
+            int[] slots = stats.slots(snapshot.dictionary(column));
+            int nullSlot = stats.slot(null);
+            IntBuffer codes = snapshot.codes(column);
+            LongBuffer starts = snapshot.times("start_time");
+            LongBuffer ends = snapshot.times("end_time");
+            int rows = snapshot.getRowCount();
+            for (int i = 0; i < rows; i++) {
+                long start = starts.get(i);
+                long end = ends.get(i);
+                if (start == ColumnarSnapshot.NULL_TIME || end == ColumnarSnapshot.NULL_TIME
+                        || end < start || end < fromMillis || end > toMillis) {
+                    continue;
+                }
+                int code = codes.get(i);
+                stats.addDuration(code == ColumnarSnapshot.NULL_CODE ? nullSlot : slots[code], end - start);
+            }
+        }
+
+        List<CycleTimeStat> result = new ArrayList<>();
+        for (int slot : stats.slotsByCount()) {
+            result.add(new CycleTimeStat(stats.group(slot), stats.count[slot],
+                    (double) stats.sum[slot] / 60_000.0 / stats.count[slot],
+                    stats.min[slot] / 60_000.0, stats.max[slot] / 60_000.0));
+        }
+        return result;
+    }
+
+    /**
+     * 반송 이력을 공정·사유·제품·심각도·상태별로 집계합니다. 기간 조건은 반송 일시에 적용합니다.
+     */
+    public List<ReturnStat> getReturnStats(String fab, String groupBy, LocalDateTime from, LocalDateTime to) {
+        String column = switch (groupBy == null ? "" : groupBy.toLowerCase()) {
+            case "step" -> "return_step";
+            case "reason" -> "return_reason";
+            case "product" -> "product";
+            case "severity" -> "severity";
+            case "status" -> "status";
+            default -> throw new IllegalArgumentException("지원하지 않는 그룹 기준입니다: " + groupBy);
+        };
+        long fromMillis = from != null ? toMillis(from) : Long.MIN_VALUE;
+        long toMillis = to != null ? toMillis(to) : Long.MAX_VALUE;
+
+        GroupStats stats = new GroupStats();
+        for (ColumnarSnapshot snapshot : snapshotsFor(fab, RETURNS)) {
+            int[] slots = stats.slots(snapshot.dictionary(column));
+            int nullSlot = stats.slot(null);
+            IntBuffer codes = snapshot.codes(column);
+            LongBuffer returned = snapshot.times("return_date");
+            LongBuffer resolved = snapshot.times("resolved_date");
+            int rows = snapshot.getRowCount();
+            for (int i = 0; i < rows; i++) {
+                // 기간 조건이 없으면 반송 일시가 없는 행(NULL_TIME = Long.MIN_VALUE)도 포함
+                long returnedAt = returned.get(i);
+                if (returnedAt < fromMillis || returnedAt > toMillis) {
+                    continue;
+                }
+                int code = codes.get(i);
+                int slot = code == ColumnarSnapshot.NULL_CODE ? nullSlot : slots[code];
+                long resolvedAt = resolved.get(i);
+                if (returnedAt != ColumnarSnapshot.NULL_TIME && resolvedAt != ColumnarSnapshot.NULL_TIME
+                        && resolvedAt >= returnedAt) {
+                    stats.addResolved(slot, resolvedAt - returnedAt);
+                } else {
+                    stats.add(slot);
+                }
+            }
+        }
+
+        List<ReturnStat> result = new ArrayList<>();
+        for (int slot : stats.slotsByCount()) {
+            long resolvedCount = stats.matched[slot];
+            result.add(new ReturnStat(stats.group(slot), stats.count[slot], resolvedCount,
+                    resolvedCount > 0 ? stats.sum[slot] / 3_600_000.0 / resolvedCount : null));
+        }
+        return result;
+    }
+
+    public List<SnapshotStatus> getSnapshotStatus() {
+        List<SnapshotStatus> statuses = new ArrayList<>();
+        for (String fab : FABS) {
+            for (String table : TABLES) {
+                ColumnarSnapshot snapshot = snapshots.get(key(fab, table));
+                if (snapshot != null) {
+                    statuses.add(new SnapshotStatus(fab, table, snapshot.getRowCount(), snapshot.getSizeBytes(),
+                            toDateTime(snapshot.getCreatedAtMillis()),
+                            snapshot.getSourceUpdatedAtMillis() != ColumnarSnapshot.NULL_TIME
+                                    ? toDateTime(snapshot.getSourceUpdatedAtMillis()) : null));
+                }
+            }
+        }
+        return statuses;
+    }
+
+    private List<ColumnarSnapshot> snapshotsFor(String fab, String table) {
+        List<String> fabs;
+        if (fab == null || fab.isEmpty()) {
+            fabs = List.of(FABS);
+        } else if (Arrays.asList(FABS).contains(fab.toUpperCase())) {
+            fabs = List.of(fab.toUpperCase());
+        } else {
+            throw new IllegalArgumentException("알 수 없는 팹 코드입니다: " + fab);
+        }
+        List<ColumnarSnapshot> result = new ArrayList<>();
+        for (String target : fabs) {
+            ColumnarSnapshot snapshot = snapshots.get(key(target, table));
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalStateException("분석 스냅샷이 아직 생성되지 않았습니다.");
+        }
+        return result;
+    }
+
+    private void writeLots(String fab, ColumnarSnapshotWriter writer) throws IOException {
+        ColumnarSnapshotWriter.StringColumn product = writer.stringColumn("product");
+        ColumnarSnapshotWriter.StringColumn status = writer.stringColumn("status");
+        ColumnarSnapshotWriter.StringColumn step = writer.stringColumn("step");
+        ColumnarSnapshotWriter.TimeColumn startTime = writer.timeColumn("start_time");
+        ColumnarSnapshotWriter.TimeColumn endTime = writer.timeColumn("end_time");
+        ColumnarSnapshotWriter.TimeColumn createdAt = writer.timeColumn("created_at");
+        ResultHandler<LotData> handler = context -> {
+            LotData lot = context.getResultObject();
+            try {
+                product.add(lot.getProduct());
+                status.add(lot.getStatus());
+                step.add(lot.getStep());
+                startTime.add(toSnapshotTime(lot.getStartTime()));
+                endTime.add(toSnapshotTime(lot.getEndTime()));
+                createdAt.add(toSnapshotTime(lot.getCreatedAt()));
+                writer.endRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        inReadOnlyTransaction(fab, () -> {
+            switch (fab) {
+                case "M14" -> m14LotMapper.scanSnapshotRows(handler);
+                case "M15" -> m15LotMapper.scanSnapshotRows(handler);
+                case "M16" -> m16LotMapper.scanSnapshotRows(handler);
+                default -> throw new IllegalArgumentException("알 수 없는 팹 코드입니다: " + fab);
+            }
+        });
+    }
+
+    private void writeReturns(String fab, ColumnarSnapshotWriter writer) throws IOException {
+        ColumnarSnapshotWriter.StringColumn product = writer.stringColumn("product");
+        ColumnarSnapshotWriter.StringColumn returnReason = writer.stringColumn("return_reason");
+        ColumnarSnapshotWriter.StringColumn returnStep = writer.stringColumn("return_step");
+        ColumnarSnapshotWriter.StringColumn status = writer.stringColumn("status");
+        ColumnarSnapshotWriter.StringColumn severity = writer.stringColumn("severity");
+        ColumnarSnapshotWriter.TimeColumn returnDate = writer.timeColumn("return_date");
+        ColumnarSnapshotWriter.TimeColumn resolvedDate = writer.timeColumn("resolved_date");
+        ColumnarSnapshotWriter.TimeColumn createdAt = writer.timeColumn("created_at");
+        ResultHandler<ReturnHistory> handler = context -> {
+            ReturnHistory history = context.getResultObject();
+            try {
+                product.add(history.getProduct());
+                returnReason.add(history.getReturnReason());
+                returnStep.add(history.getReturnStep());
+                status.add(history.getStatus());
+                severity.add(history.getSeverity());
+                returnDate.add(toSnapshotTime(history.getReturnDate()));
+                resolvedDate.add(toSnapshotTime(history.getResolvedDate()));
+                createdAt.add(toSnapshotTime(history.getCreatedAt()));
+                writer.endRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        inReadOnlyTransaction(fab, () -> {
+            switch (fab) {
+                case "M14" -> m14ReturnMapper.scanSnapshotRows(handler);
+                case "M15" -> m15ReturnMapper.scanSnapshotRows(handler);
+                case "M16" -> m16ReturnMapper.scanSnapshotRows(handler);
+                default -> throw new IllegalArgumentException("알 수 없는 팹 코드입니다: " + fab);
+            }
+        });
+    }
+
+    // PostgreSQL 드라이버는 autocommit이 꺼진 연결에서만 fetchSize 단위로 결과를 나눠 받음
+    private void inReadOnlyTransaction(String fab, Runnable action) {
+        PlatformTransactionManager transactionManager = transactionManagers.get(fab.toLowerCase() + "TransactionManager");
+        if (transactionManager == null) {
+            throw new IllegalStateException("트랜잭션 매니저가 없습니다: " + fab);
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> action.run());
+    }
+
+    private FabWatermark selectLotWatermark(String fab) {
+        switch (fab) {
+            case "M14": return m14LotMapper.selectWatermark();
+            case "M15": return m15LotMapper.selectWatermark();
+            case "M16": return m16LotMapper.selectWatermark();
+            default: throw new IllegalArgumentException("알 수 없는 팹 코드입니다: " + fab);
+        }
+    }
+
+    private FabWatermark selectReturnWatermark(String fab) {
+        switch (fab) {
+            case "M14": return m14ReturnMapper.selectWatermark();
+            case "M15": return m15ReturnMapper.selectWatermark();
+            case "M16": return m16ReturnMapper.selectWatermark();
+            default: throw new IllegalArgumentException("알 수 없는 팹 코드입니다: " + fab);
+        }
+    }
+
+    private static String key(String fab, String table) {
+        return fab + "|" + table;
+    }
+
+    private static long toSnapshotTime(LocalDateTime dateTime) {
+        return dateTime != null ? toMillis(dateTime) : ColumnarSnapshot.NULL_TIME;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    /**
+     * 그룹별 누적값. 팹마다 사전 코드가 다르므로 스냅샷마다 코드 → 슬롯 변환표를 만들어 기본형 배열에 누적합니다.
+     */
+    private static final class GroupStats {
+        private final Map<String, Integer> slotByGroup = new HashMap<>();
+        private final List<String> groups = new ArrayList<>();
+        private long[] count = new long[16];
+        private long[] matched = new long[16];
+        private long[] sum = new long[16];
+        private long[] min = new long[16];
+        private long[] max = new long[16];
+
+        int slot(String group) {
+            Integer slot = slotByGroup.get(group);
+            if (slot == null) {
+                slot = groups.size();
+                slotByGroup.put(group, slot);
+                groups.add(group);
+                if (slot == count.length) {
+                    int capacity = count.length * 2;
+                    count = Arrays.copyOf(count, capacity);
+                    matched = Arrays.copyOf(matched, capacity);
+                    sum = Arrays.copyOf(sum, capacity);
+                    min = Arrays.copyOf(min, capacity);
+                    max = Arrays.copyOf(max, capacity);
+                }
+                min[slot] = Long.MAX_VALUE;
+                max[slot] = Long.MIN_VALUE;
+            }
+            return slot;
+        }
+
+        int[] slots(String[] dictionary) {
+            int[] slots = new int[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                slots[code] = slot(dictionary[code]);
+            }
+            return slots;
+        }
+
+        void add(int slot) {
+            count[slot]++;
+        }
+
+        void addDuration(int slot, long millis) {
+            count[slot]++;
+            sum[slot] += millis;
+            if (millis < min[slot]) min[slot] = millis;
+            if (millis > max[slot]) max[slot] = millis;
+        }
+
+        void addResolved(int slot, long millis) {
+            count[slot]++;
+            matched[slot]++;
+            sum[slot] += millis;
+        }
+
+        String group(int slot) {
+            return groups.get(slot);
+        }
+
+        /** 건수가 있는 슬롯 (건수 많은 순) */
+        List<Integer> slotsByCount() {
+            List<Integer> slots = new ArrayList<>();
+            for (int slot = 0; slot < groups.size(); slot++) {
+                if (count[slot] > 0) {
+                    slots.add(slot);
+                }
+            }
+            slots.sort((a, b) -> Long.compare(count[b], count[a]));
+            return slots;
+        }
+    }
+}
@@ -5,18 +5,18 @@ import com.ai.mes.dto.LoginResponse;
 import com.ai.mes.dto.UserInfo;
 import com.ai.mes.mapper.next.UserMapper;
 import com.ai.mes.model.User;
+import com.ai.mes.security.CustomUserDetailsService;
 import com.ai.mes.security.JwtTokenProvider;
+import com.ai.mes.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -28,13 +28,13 @@ public class AuthService {
 
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final CustomUserDetailsService userDetailsService;
+    private final LastLoginWriteBehindService lastLoginWriteBehindService;
     
     @Value("${spring.security.jwt.expiration}")
     private int jwtExpirationInMs;
 
-    @Transactional
     public LoginResponse login(LoginRequest loginRequest) {
         // 보안을 위해 사용자명만 로그에 기록 (LoginRequest 전체 객체는 로그에 남기지 않음)
         log.info("로그인 시도: {}", loginRequest.getUsername());
@@ -49,27 +49,31 @@ public class AuthService {
             
             User user = userOptional.get();
             
-            // 비밀번호 검증 (민감한 정보는 로그에 남기지 않음)
+            // 비밀번호 검증 (저장 형식으로 방식을 판별해 한 번만 검증, 민감한 정보는 로그에 남기지 않음)
             if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
                 log.warn("인증 실패 - 사용자: {}", loginRequest.getUsername());
                 throw new BadCredentialsException("잘못된 사용자명 또는 비밀번호입니다.");
             }
             
-            // Spring Security 인증 처리
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    loginRequest.getUsername(),
-                    loginRequest.getPassword()
-                )
+            // 조회한 사용자로 인증 정보 구성 (AuthenticationManager를 거치면 사용자 조회와 비밀번호 검증이 반복됨)
+            UserPrincipal principal = UserPrincipal.create(
+                user.getId().toString(),
+                user.getUsername(),
+                null,
+                user.getEmail(),
+                user.getRole()
             );
+            Authentication authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
             // JWT 토큰 생성
             String token = jwtTokenProvider.generateToken(authentication);
             
-            // 마지막 로그인 시간 업데이트
-            userMapper.updateLastLoginAt(user.getUsername(), LocalDateTime.now());
+            // 마지막 로그인 시간 업데이트 (지연 일괄 저장)
+            lastLoginWriteBehindService.record(user.getUsername(), LocalDateTime.now());
+            userDetailsService.evictUser(user.getUsername());
             
             log.info("로그인 성공: {}", loginRequest.getUsername());
             
@@ -108,8 +112,9 @@ public class AuthService {
             return null;
         }
         
+        // 인증은 토큰 클레임으로 처리되므로 사용자 상세 정보는 짧은 TTL 캐시를 거쳐 조회
         String username = authentication.getName();
-        Optional<User> userOptional = userMapper.selectByUsername(username);
+        Optional<User> userOptional = userDetailsService.findUser(username);
         
         if (userOptional.isEmpty()) {
             return null;
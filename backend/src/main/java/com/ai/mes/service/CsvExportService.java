@@ -0,0 +1,260 @@
+package com.ai.mes.service;
+
+import com.ai.mes.dto.ApiResponse;
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 팹별 LOT/설비/반송 이력 CSV 내보내기 서비스.
+ * <p>
+ * PostgreSQL {@code COPY (SELECT ...) TO STDOUT (FORMAT csv)}를 PgJDBC {@code CopyManager}로 실행해
+ * 서버가 만든 CSV 바이트를 그대로 출력 스트림에 씁니다. 행 객체나 결과 목록을 만들지 않으므로
+ * 내보내는 기간과 관계없이 메모리 사용량이 일정합니다. 여러 팹은 M14 → M15 → M16 순서로 이어 붙이며,
+ * 헤더 행은 처음 한 번만 씁니다. 각 팹 안에서는 {@code created_at} 내림차순(이력 조회와 같은 순서)입니다.
+ * <p>
+ * 내보내기는 끝날 때까지 팹 연결 풀의 연결을 하나씩 붙잡으므로 동시 실행 수를 {@code export.csv.max-concurrent}로 제한하고
+ * (초과 요청은 503), 팹마다 {@code statement_timeout}을 걸어 느린 클라이언트가 연결을 무한히 붙잡지 못하게 합니다.
+ * <p>
+ * COPY 문은 바인드 파라미터를 받지 않으므로 테이블명은 팹 코드 허용 목록에서, 기간은 {@link LocalDateTime}
+ * 형식 문자열(숫자와 구분자만)로 만듭니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvExportService {
+
+    private static final List<String> FABS = List.of("M14", "M15", "M16");
+    // Excel에서 한글이 깨지지 않도록 UTF-8 BOM을 앞에 붙임
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String LOT_COLUMNS = "id, lot_number, product, fab, status, start_time, end_time, step, "
+            + "equipment, progress, estimated_completion, duration, result, created_at, updated_at";
+    private static final String EQUIPMENT_COLUMNS = "id, equipment_id, equipment_name, fab, status, current_operation, "
+            + "current_lot, utilization, last_maintenance, next_maintenance, temperature, pressure, uptime, alerts, "
+            + "operation, start_time, end_time, duration, lot_number, result, created_at, updated_at";
+    private static final String RETURN_COLUMNS = "id, return_id, lot_number, product, fab, return_reason, return_step, "
+            + "return_date, return_by, target_step, status, severity, resolved_date, comments, created_at, updated_at";
+
+    // 팹별 데이터소스 (빈 이름 -> 데이터소스)
+    private final Map<String, DataSource> dataSources;
+
+    @Value("${export.csv.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${export.csv.statement-timeout:300000}")
+    private long statementTimeoutMillis;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * 팹 이력 CSV를 응답 본문으로 스트리밍합니다 (내보내기 엔드포인트 공통 처리).
+     * 응답 헤더를 정하고 {@link #export}로 본문을 쓰며, 정상 완료 시 null(본문을 이미 씀)을 반환합니다.
+     * 잘못된 요청은 400, 동시 실행 한도 초과는 503, 전송 시작 전 오류는 500 응답을 반환하고,
+     * 전송을 시작한 뒤 실패하면 예외를 던져 연결을 끊습니다 (잘린 파일임을 클라이언트가 알 수 있게).
+     *
+     * @param fab            팹 코드. null 또는 빈 값이면 전체 팹
+     * @param acceptEncoding 요청 {@code Accept-Encoding}. gzip이 있으면 압축해서 전송
+     */
+    public ResponseEntity<ApiResponse<Void>> stream(Dataset dataset, String fab, LocalDateTime from, LocalDateTime to,
+                                                    String acceptEncoding, HttpServletResponse response) {
+        List<String> fabs;
+        try {
+            fabs = resolveFabs(fab, from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+        if (!permits.tryAcquire()) {
+            log.warn("Export of {} rejected: {} exports already running", dataset, maxConcurrent);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("동시에 실행 중인 내보내기가 많습니다. 잠시 후 다시 시도해 주세요."));
+        }
+        try {
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(fileName(dataset, fab)).build().toString());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            export(dataset, fabs, from, to, gzip, response.getOutputStream());
+            return null;
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                // 이미 전송을 시작했으면 (클라이언트 연결 종료, 시간 초과 포함) 연결을 끊음
+                log.warn("Export of {} aborted: {}", dataset, e.getMessage());
+                throw new IllegalStateException(label(dataset) + " 내보내기가 중단되었습니다.", e);
+            }
+            log.error("Error exporting {}", dataset, e);
+            response.reset();
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error(label(dataset) + " 내보내기 중 오류가 발생했습니다: " + e.getMessage()));
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 요청 조건을 확인하고 내보낼 팹 목록을 반환합니다. 응답을 쓰기 전에 호출해 잘못된 요청을 400으로 돌려줄 수 있게 합니다.
+     *
+     * @param fab 팹 코드. null 또는 빈 값이면 전체 팹
+     */
+    public List<String> resolveFabs(String fab, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 앞서야 합니다.");
+        }
+        if (fab == null || fab.isEmpty()) {
+            return FABS;
+        }
+        String target = fab.toUpperCase();
+        if (!FABS.contains(target)) {
+            throw new IllegalArgumentException("지원하지 않는 팹 코드입니다: " + fab);
+        }
+        return List.of(target);
+    }
+
+    /** 다운로드 파일명 (예: lots-M14-20240115.csv, lots-ALL-20240115.csv) */
+    public String fileName(Dataset dataset, String fab) {
+        String scope = fab == null || fab.isEmpty() ? "ALL" : fab.toUpperCase();
+        return dataset.name().toLowerCase() + "-" + scope + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".csv";
+    }
+
+    /**
+     * 팹 이력을 CSV로 출력 스트림에 씁니다. 스트림은 닫지 않습니다.
+     *
+     * @param fabs {@link #resolveFabs}로 확인한 팹 목록
+     * @param from 생성 시각 하한 (포함). null이면 제한 없음
+     * @param to   생성 시각 상한 (제외). null이면 제한 없음
+     * @param gzip true면 gzip으로 압축하며 씀 (응답 {@code Content-Encoding: gzip}용)
+     * @return 내보낸 행 수
+     */
+    public long export(Dataset dataset, List<String> fabs, LocalDateTime from, LocalDateTime to, boolean gzip,
+                       OutputStream out) throws SQLException, IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        // 압축률보다 속도 우선 (전송 속도를 넘지 않도록 BEST_SPEED)
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        } : null;
+        // CopyManager는 행 단위로 쓰므로 모아서 압축·전송
+        OutputStream target = new BufferedOutputStream(compressed != null ? compressed : out, BUFFER_SIZE);
+        target.write(UTF8_BOM);
+        for (int i = 0; i < fabs.size(); i++) {
+            String fab = fabs.get(i);
+            String sql = copySql(dataset, fab, from, to, i == 0);
+            try (Connection connection = dataSource(fab).getConnection()) {
+                // SET LOCAL은 트랜잭션 범위라 풀에 돌려준 연결에는 남지 않음 (롤백으로 정리)
+                connection.setAutoCommit(false);
+                try {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET LOCAL statement_timeout = " + statementTimeoutMillis);
+                    }
+                    rows += connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, target);
+                } finally {
+                    restore(connection);
+                }
+            }
+        }
+        target.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} {} rows from {} in {} ms", rows, dataset, fabs, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    /** 읽기 전용 트랜잭션 종료. 중단된 COPY로 연결이 깨졌으면 풀이 폐기하므로 원래 예외를 가리지 않도록 무시 */
+    private static void restore(Connection connection) {
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            log.debug("Export connection cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private static String label(Dataset dataset) {
+        switch (dataset) {
+            case LOTS:
+                return "Lot 이력";
+            case EQUIPMENT:
+                return "설비 이력";
+            case RETURNS:
+                return "반송 이력";
+            default:
+                return dataset.name();
+        }
+    }
+
+    private DataSource dataSource(String fab) {
+        DataSource dataSource = dataSources.get(fab.toLowerCase() + "DataSource");
+        if (dataSource == null) {
+            throw new IllegalStateException("팹 데이터소스를 찾을 수 없습니다: " + fab);
+        }
+        return dataSource;
+    }
+
+    static String copySql(Dataset dataset, String fab, LocalDateTime from, LocalDateTime to, boolean header) {
+        String suffix = fab.toLowerCase();
+        String select;
+        switch (dataset) {
+            case LOTS:
+                select = "SELECT " + LOT_COLUMNS + " FROM lot_data_" + suffix;
+                break;
+            case EQUIPMENT:
+                select = "SELECT " + EQUIPMENT_COLUMNS + " FROM equipment_data_" + suffix;
+                break;
+            case RETURNS:
+                select = "SELECT " + RETURN_COLUMNS + " FROM return_history_" + suffix;
+                break;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 데이터셋입니다: " + dataset);
+        }
+        StringBuilder sql = new StringBuilder("COPY (").append(select).append(" WHERE 1 = 1");
+        if (from != null) {
+            sql.append(" AND created_at >= TIMESTAMP '").append(from.format(TIMESTAMP)).append('\'');
+        }
+        if (to != null) {
+            sql.append(" AND created_at < TIMESTAMP '").append(to.format(TIMESTAMP)).append('\'');
+        }
+        sql.append(" ORDER BY created_at DESC) TO STDOUT WITH (FORMAT csv, HEADER ").append(header).append(')');
+        return sql.toString();
+    }
+}
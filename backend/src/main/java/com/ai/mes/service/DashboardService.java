@@ -0,0 +1,211 @@
+package com.ai.mes.service;
+
+import com.ai.mes.dto.DashboardSummary;
+import com.ai.mes.dto.StatusSummary;
+import com.ai.mes.model.StatusCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 대시보드 요약 서비스.
+ * <p>
+ * 팹별 LOT/설비/반송 상태 건수를 {@code GROUP BY fab, status} 집계로 병렬 조회해 합치고,
+ * 짧은 TTL 동안 캐시합니다. 캐시는 백그라운드에서 주기적으로 갱신되며, 만료된 캐시를 읽은 요청은
+ * 기존 값을 그대로 받고 갱신만 트리거합니다. 집계는 한 번에 하나만 실행하며(single-flight),
+ * 캐시가 비어 있을 때 동시에 들어온 요청은 진행 중인 집계 결과를 함께 기다립니다.
+ * 한 팹의 집계가 실패하면 그 팹은 직전 요약의 건수를 유지하고 {@code staleFabs}에 표시해, 0건으로 보이지 않게 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final String[] FABS = {"M14", "M15", "M16"};
+
+    // 각 팹 별 MyBatis Mapper 주입
+    private final com.ai.mes.mapper.m14.LotDataMapper m14LotMapper;
+    private final com.ai.mes.mapper.m15.LotDataMapper m15LotMapper;
+    private final com.ai.mes.mapper.m16.LotDataMapper m16LotMapper;
+    private final com.ai.mes.mapper.m14.EquipmentDataMapper m14EquipmentMapper;
+    private final com.ai.mes.mapper.m15.EquipmentDataMapper m15EquipmentMapper;
+    private final com.ai.mes.mapper.m16.EquipmentDataMapper m16EquipmentMapper;
+    private final com.ai.mes.mapper.m14.ReturnHistoryMapper m14ReturnMapper;
+    private final com.ai.mes.mapper.m15.ReturnHistoryMapper m15ReturnMapper;
+    private final com.ai.mes.mapper.m16.ReturnHistoryMapper m16ReturnMapper;
+
+    @Value("${dashboard.summary.ttl:5000}")
+    private long ttlMillis;
+
+    private final AtomicReference<CachedSummary> cache = new AtomicReference<>();
+    // 진행 중인 집계 (없으면 null)
+    private final AtomicReference<CompletableFuture<DashboardSummary>> inFlight = new AtomicReference<>();
+
+    public DashboardSummary getSummary() {
+        CachedSummary cached = cache.get();
+        if (cached == null) {
+            // 최초 요청은 진행 중인 집계를 공유해 동기로 기다림
+            return refreshShared().join();
+        }
+        if (System.currentTimeMillis() - cached.loadedAt > ttlMillis && inFlight.get() == null) {
+            CompletableFuture.runAsync(this::refreshIfIdle);
+        }
+        return cached.summary;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.summary.refresh-interval:10000}")
+    public void scheduledRefresh() {
+        refreshIfIdle();
+    }
+
+    private void refreshIfIdle() {
+        if (inFlight.get() != null) {
+            return;
+        }
+        try {
+            refreshShared().join();
+        } catch (Exception e) {
+            log.warn("Dashboard summary refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 진행 중인 집계가 있으면 그 결과를, 없으면 호출 스레드에서 새로 집계한 결과를 반환합니다.
+     */
+    private CompletableFuture<DashboardSummary> refreshShared() {
+        while (true) {
+            CompletableFuture<DashboardSummary> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<DashboardSummary> created = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, created)) {
+                continue;
+            }
+            try {
+                created.complete(refresh());
+            } catch (Exception e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.compareAndSet(created, null);
+            }
+            return created;
+        }
+    }
+
+    private DashboardSummary refresh() {
+        // 3개 팹 x 3개 집계를 병렬로 실행
+        List<CompletableFuture<List<StatusCount>>> lotFutures = new ArrayList<>();
+        List<CompletableFuture<List<StatusCount>>> equipmentFutures = new ArrayList<>();
+        List<CompletableFuture<List<StatusCount>>> returnFutures = new ArrayList<>();
+        for (String fab : FABS) {
+            lotFutures.add(countAsync(fab, "lot", () -> lotCounts(fab)));
+            equipmentFutures.add(countAsync(fab, "equipment", () -> equipmentCounts(fab)));
+            returnFutures.add(countAsync(fab, "return", () -> returnCounts(fab)));
+        }
+
+        CachedSummary cached = cache.get();
+        DashboardSummary previous = cached != null ? cached.summary : null;
+        Set<String> staleFabs = new TreeSet<>();
+        DashboardSummary summary = new DashboardSummary(
+                merge(lotFutures, previous != null ? previous.getLots() : null, staleFabs),
+                merge(equipmentFutures, previous != null ? previous.getEquipment() : null, staleFabs),
+                merge(returnFutures, previous != null ? previous.getReturns() : null, staleFabs),
+                LocalDateTime.now(),
+                new ArrayList<>(staleFabs));
+        cache.set(new CachedSummary(summary, System.currentTimeMillis()));
+        return summary;
+    }
+
+    /** 실패하면 null (한 팹의 장애가 전체 요약을 막지 않도록 예외 대신 표시) */
+    private CompletableFuture<List<StatusCount>> countAsync(String fab, String kind, Supplier<List<StatusCount>> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return query.get();
+            } catch (Exception e) {
+                log.warn("Dashboard {} count failed for {}: {}", kind, fab, e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 팹별 집계를 합칩니다. 실패한 팹은 직전 요약의 건수를 그대로 쓰고 {@code staleFabs}에 추가합니다.
+     */
+    private StatusSummary merge(List<CompletableFuture<List<StatusCount>>> futures, StatusSummary previous,
+                                Set<String> staleFabs) {
+        Map<String, Long> total = new TreeMap<>();
+        Map<String, Map<String, Long>> byFab = new LinkedHashMap<>();
+        for (int i = 0; i < FABS.length; i++) {
+            Map<String, Long> fabCounts = new TreeMap<>();
+            List<StatusCount> rows = futures.get(i).join();
+            if (rows == null) {
+                staleFabs.add(FABS[i]);
+                Map<String, Long> last = previous != null ? previous.getByFab().get(FABS[i]) : null;
+                if (last != null) {
+                    fabCounts.putAll(last);
+                }
+            } else {
+                for (StatusCount row : rows) {
+                    String status = row.getStatus() != null ? row.getStatus() : "UNKNOWN";
+                    long count = row.getCount() != null ? row.getCount() : 0L;
+                    fabCounts.merge(status, count, Long::sum);
+                }
+            }
+            fabCounts.forEach((status, count) -> total.merge(status, count, Long::sum));
+            byFab.put(FABS[i], fabCounts);
+        }
+        return new StatusSummary(total, byFab);
+    }
+
+    private List<StatusCount> lotCounts(String fab) {
+        switch (fab) {
+            case "M14": return m14LotMapper.countByStatus();
+            case "M15": return m15LotMapper.countByStatus();
+            case "M16": return m16LotMapper.countByStatus();
+            default: throw new IllegalArgumentException("Invalid fab: " + fab);
+        }
+    }
+
+    private List<StatusCount> equipmentCounts(String fab) {
+        switch (fab) {
+            case "M14": return m14EquipmentMapper.countByStatus();
+            case "M15": return m15EquipmentMapper.countByStatus();
+            case "M16": return m16EquipmentMapper.countByStatus();
+            default: throw new IllegalArgumentException("Invalid fab: " + fab);
+        }
+    }
+
+    private List<StatusCount> returnCounts(String fab) {
+        switch (fab) {
+            case "M14": return m14ReturnMapper.countByStatus();
+            case "M15": return m15ReturnMapper.countByStatus();
+            case "M16": return m16ReturnMapper.countByStatus();
+            default: throw new IllegalArgumentException("Invalid fab: " + fab);
+        }
+    }
+
+    private static final class CachedSummary {
+        private final DashboardSummary summary;
+        private final long loadedAt;
+
+        private CachedSummary(DashboardSummary summary, long loadedAt) {
+            this.summary = summary;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.ai.mes.service;
+
+import com.ai.mes.event.FabDataChangedEvent;
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
+import com.ai.mes.model.FabWatermark;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 팹 데이터 변경 워터마크 기반 ETag 서비스.
+ * <p>
+ * 데이터셋·팹별 {@code MAX(updated_at)}과 행 수를 짧은 TTL 동안 캐시하고, 이를 해시해 약한 ETag를 만듭니다.
+ * 컨트롤러는 전체 조회 전에 ETag만으로 {@code If-None-Match}를 비교해 304를 반환할 수 있습니다.
+ * 이 서버의 쓰기 경로는 {@link FabDataChangedEvent}로 캐시를 즉시 무효화하고,
+ * 다른 경로의 변경은 TTL 만료 후 반영되며, 이때 워터마크가 바뀌었으면 같은 이벤트를 발행해
+ * 팹 데이터에서 파생된 다른 캐시(매퍼 2차 캐시 등)도 비웁니다. 행 수를 함께 보므로 다른 경로에서
+ * {@code updated_at}을 바꾸지 않고 행을 삭제한 경우도 워터마크에 드러납니다.
+ * <p>
+ * DB를 읽지 않는 응답(목업 데이터 등)은 워터마크와 무관하므로 {@link #contentEtag}로 응답 본문에서 ETag를 계산합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private static final String[] FABS = {"M14", "M15", "M16"};
+
+    // 각 팹 별 MyBatis Mapper 주입
+    private final com.ai.mes.mapper.m14.LotDataMapper m14LotMapper;
+    private final com.ai.mes.mapper.m15.LotDataMapper m15LotMapper;
+    private final com.ai.mes.mapper.m16.LotDataMapper m16LotMapper;
+    private final com.ai.mes.mapper.m14.EquipmentDataMapper m14EquipmentMapper;
+    private final com.ai.mes.mapper.m15.EquipmentDataMapper m15EquipmentMapper;
+    private final com.ai.mes.mapper.m16.EquipmentDataMapper m16EquipmentMapper;
+    private final com.ai.mes.mapper.m14.ReturnHistoryMapper m14ReturnMapper;
+    private final com.ai.mes.mapper.m15.ReturnHistoryMapper m15ReturnMapper;
+    private final com.ai.mes.mapper.m16.ReturnHistoryMapper m16ReturnMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${etag.watermark.ttl:5000}")
+    private long ttlMillis;
+
+    // "DATASET|FAB" -> 캐시된 워터마크
+    private final Map<String, CachedWatermark> watermarks = new ConcurrentHashMap<>();
+
+    /**
+     * 데이터셋·팹 범위와 요청 구분자(경로, 파라미터 등)로 ETag를 계산합니다.
+     *
+     * @param fab 팹 코드. null 또는 빈 값이면 전체 팹
+     * @return 약한 ETag. 워터마크를 조회할 수 없으면 null (조건부 응답 생략)
+     */
+    public String etag(Dataset dataset, String fab, String... discriminators) {
+        List<String> fabs = fab != null && !fab.isEmpty() ? List.of(fab.toUpperCase()) : List.of(FABS);
+
+        List<CompletableFuture<FabWatermark>> futures = new ArrayList<>();
+        for (String target : fabs) {
+            futures.add(CompletableFuture.supplyAsync(() -> watermark(dataset, target)));
+        }
+
+        StringBuilder source = new StringBuilder(dataset.name());
+        for (CompletableFuture<FabWatermark> future : futures) {
+            FabWatermark watermark = future.join();
+            if (watermark == null) {
+                return null;
+            }
+            source.append('|').append(watermark.getFab())
+                    .append(':').append(watermark.getMaxUpdatedAt())
+                    .append(':').append(watermark.getRowCount());
+        }
+        for (String discriminator : discriminators) {
+            source.append('|').append(discriminator);
+        }
+        return "W/\"" + dataset.name().toLowerCase() + "-" + hash(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * 응답 본문을 JSON으로 직렬화해 ETag를 계산합니다. 본문을 만든 뒤에 비교하므로 조회 비용은 줄지 않고 전송만 생략됩니다.
+     *
+     * @return 약한 ETag. 직렬화할 수 없으면 null (조건부 응답 생략)
+     */
+    public String contentEtag(Dataset dataset, Object body) {
+        try {
+            return "W/\"" + dataset.name().toLowerCase() + "-" + hash(objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException e) {
+            log.warn("Content ETag failed for {}: {}", dataset, e.getMessage());
+            return null;
+        }
+    }
+
+    @EventListener
+    public void onFabDataChanged(FabDataChangedEvent event) {
+        if (event.getFab() == null) {
+            for (String fab : FABS) {
+                watermarks.remove(key(event.getDataset(), fab));
+            }
+        } else {
+            watermarks.remove(key(event.getDataset(), event.getFab().toUpperCase()));
+        }
+        log.debug("Watermark invalidated: {}", event);
+    }
+
+    /**
+     * TTL 캐시를 거쳐 워터마크를 조회합니다 (ETag 계산, 매퍼 캐시 체크포인트 기록·검증).
+     * 만료 후 다시 읽은 값이 바뀌었으면 {@link FabDataChangedEvent}를 발행합니다.
+     *
+     * @param fab 대문자 팹 코드 (M14 등)
+     * @return 워터마크. 조회할 수 없으면 null
+     */
+    public FabWatermark watermark(Dataset dataset, String fab) {
+        String key = key(dataset, fab);
+        long now = System.currentTimeMillis();
+        CachedWatermark cached = watermarks.get(key);
+        if (cached != null && now - cached.loadedAt <= ttlMillis) {
+            return cached.watermark;
+        }
+        try {
+            FabWatermark watermark = selectWatermark(dataset, fab);
+            if (watermark == null) {
+                return null;
+            }
+            if (cached != null && !cached.watermark.equals(watermark)) {
+                // 이 서버를 거치지 않은 변경
+                log.debug("Watermark changed externally: {} {}", dataset, fab);
+                eventPublisher.publishEvent(new FabDataChangedEvent(dataset, fab));
+            }
+            watermarks.put(key, new CachedWatermark(watermark, now));
+            return watermark;
+        } catch (Exception e) {
+            log.warn("Watermark lookup failed for {} {}: {}", dataset, fab, e.getMessage());
+            return null;
+        }
+    }
+
+    private FabWatermark selectWatermark(Dataset dataset, String fab) {
+        switch (dataset) {
+            case LOTS:
+                switch (fab) {
+                    case "M14": return m14LotMapper.selectWatermark();
+                    case "M15": return m15LotMapper.selectWatermark();
+                    case "M16": return m16LotMapper.selectWatermark();
+                    default: return null;
+                }
+            case EQUIPMENT:
+                switch (fab) {
+                    case "M14": return m14EquipmentMapper.selectWatermark();
+                    case "M15": return m15EquipmentMapper.selectWatermark();
+                    case "M16": return m16EquipmentMapper.selectWatermark();
+                    default: return null;
+                }
+            case RETURNS:
+                switch (fab) {
+                    case "M14": return m14ReturnMapper.selectWatermark();
+                    case "M15": return m15ReturnMapper.selectWatermark();
+                    case "M16": return m16ReturnMapper.selectWatermark();
+                    default: return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    private static String key(Dataset dataset, String fab) {
+        return dataset.name() + "|" + fab;
+    }
+
+    private static String hash(byte[] source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source);
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedWatermark {
+        private final FabWatermark watermark;
+        private final long loadedAt;
+
+        private CachedWatermark(FabWatermark watermark, long loadedAt) {
+            this.watermark = watermark;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
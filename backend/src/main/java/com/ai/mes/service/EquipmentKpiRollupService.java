@@ -0,0 +1,480 @@
+package com.ai.mes.service;
+
+import com.ai.mes.model.EquipmentData;
+import com.ai.mes.model.EquipmentKpiRollup;
+import com.ai.mes.model.EquipmentKpiState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 설비 가동률 KPI 증분 롤업 서비스.
+ * <p>
+ * 상태/텔레메트리 갱신이 들어올 때마다 팹·설비별 시간/일 버킷(최소/최대/평균 가동률, 상태별 체류 시간,
+ * 알람 발생 수)을 메모리에서 갱신하고, 변경된 버킷만 주기적으로 롤업 테이블에 저장합니다.
+ * KPI 조회는 원시 이력 크기와 무관하게 버킷 수에 비례합니다.
+ * 설비별 마지막 관측 상태(상태, 시작 시각, 알람 수)도 함께 저장해 재기동 후에도 체류 시간과 알람 증가분을 이어서 계산하며,
+ * 보존 기간이 지난 버킷은 메모리와 롤업 테이블에서 주기적으로 삭제합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EquipmentKpiRollupService {
+
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+    /** 팹 전체 집계에 사용하는 설비 ID */
+    public static final String FAB_TOTAL = "*";
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final String[] FABS = {"M14", "M15", "M16"};
+
+    // 각 팹 별 MyBatis Mapper 주입
+    private final com.ai.mes.mapper.m14.EquipmentKpiRollupMapper m14RollupMapper;
+    private final com.ai.mes.mapper.m15.EquipmentKpiRollupMapper m15RollupMapper;
+    private final com.ai.mes.mapper.m16.EquipmentKpiRollupMapper m16RollupMapper;
+
+    @Value("${kpi.rollup.retention-days:35}")
+    private int retentionDays;
+
+    // "fab|equipmentId|granularity" -> (버킷 시작 epoch ms -> 버킷)
+    private final Map<String, NavigableMap<Long, RollupBucket>> series = new ConcurrentHashMap<>();
+    // "fab|equipmentId" -> 마지막으로 관측된 상태
+    private final Map<String, EquipmentState> states = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadRecentRollups() {
+        LocalDateTime since = LocalDateTime.now(ZONE).minusDays(retentionDays);
+        for (String fab : FABS) {
+            try {
+                List<EquipmentKpiRollup> rows = selectSince(fab, since);
+                for (EquipmentKpiRollup row : rows) {
+                    RollupBucket bucket = bucket(row.getFab(), row.getEquipmentId(), row.getGranularity(), toMillis(row.getBucketStart()));
+                    bucket.restore(row);
+                }
+                List<EquipmentKpiState> savedStates = selectStates(fab);
+                for (EquipmentKpiState saved : savedStates) {
+                    states.computeIfAbsent(stateKey(fab, saved.getEquipmentId()), key -> new EquipmentState()).restore(saved);
+                }
+                log.info("Loaded {} KPI rollup buckets and {} equipment states for {}", rows.size(), savedStates.size(), fab);
+            } catch (Exception e) {
+                log.warn("KPI rollup preload failed for {} datasource: {}", fab, e.getMessage());
+            }
+        }
+    }
+
+    public void recordEquipmentUpdate(EquipmentData equipment) {
+        if (equipment == null || equipment.getFab() == null || equipment.getEquipmentId() == null) {
+            return;
+        }
+        LocalDateTime at = equipment.getUpdatedAt() != null ? equipment.getUpdatedAt() : LocalDateTime.now(ZONE);
+        record(equipment.getFab(), equipment.getEquipmentId(), equipment.getStatus(),
+                equipment.getUtilization(), equipment.getAlerts(), at);
+    }
+
+    /**
+     * 텔레메트리 적재를 롤업에 반영합니다. 텔레메트리에는 상태가 없으므로 마지막으로 관측된 상태의 체류 시간을
+     * 측정 시각까지 누적해, 상태 변경이 뜸한 설비도 현재 버킷의 체류 시간이 최신으로 유지되도록 합니다.
+     */
+    public void recordTelemetry(String fab, String equipmentId, LocalDateTime at) {
+        if (fab == null || equipmentId == null || at == null) {
+            return;
+        }
+        record(fab, equipmentId, null, null, null, at);
+    }
+
+    /**
+     * 설비 상태/가동률 관측값 하나를 롤업에 반영합니다.
+     * 직전 관측 이후 경과 시간은 직전 상태의 체류 시간으로 버킷 경계에 맞춰 분배하며,
+     * 알람은 직전 관측 대비 증가분만 발생 건수로 집계합니다.
+     * 직전 관측보다 이른(순서가 뒤바뀐) 관측은 가동률 표본만 반영하고, 현재 상태와 알람 기준값은 바꾸지 않습니다.
+     */
+    public void record(String fab, String equipmentId, String status, Integer utilization, Integer alerts, LocalDateTime at) {
+        long nowMillis = toMillis(at);
+        EquipmentState state = states.computeIfAbsent(stateKey(fab, equipmentId), key -> new EquipmentState());
+        synchronized (state) {
+            boolean current = nowMillis >= state.sinceMillis;
+            if (state.status != null && nowMillis > state.sinceMillis) {
+                long retentionStart = nowMillis - retentionDays * 86_400_000L;
+                long start = Math.max(state.sinceMillis, retentionStart);
+                addStateTime(fab, equipmentId, state.status, start, nowMillis);
+            }
+            int newAlerts = 0;
+            if (alerts != null && current) {
+                newAlerts = Math.max(0, alerts - state.alerts);
+                state.alerts = alerts;
+            }
+            if (utilization != null || newAlerts > 0) {
+                for (String granularity : new String[]{HOUR, DAY}) {
+                    long bucketStart = truncate(nowMillis, granularity);
+                    bucket(fab, equipmentId, granularity, bucketStart).addSample(utilization, newAlerts);
+                    bucket(fab, FAB_TOTAL, granularity, bucketStart).addSample(utilization, newAlerts);
+                }
+            }
+            // 이후 시간은 가장 최근 관측의 상태로 집계되어야 하므로 늦게 도착한 과거 관측은 상태를 덮어쓰지 않음
+            if (current) {
+                if (status != null) {
+                    state.status = status;
+                }
+                state.sinceMillis = nowMillis;
+            }
+            state.dirty = true;
+        }
+    }
+
+    /**
+     * 구간 내 롤업 버킷을 조회합니다. equipmentId가 없으면 팹 전체 집계를 반환합니다.
+     */
+    public List<EquipmentKpiRollup> getRollups(String fab, String equipmentId, String granularity,
+                                              LocalDateTime from, LocalDateTime to) {
+        String target = (equipmentId == null || equipmentId.isEmpty()) ? FAB_TOTAL : equipmentId;
+        String normalizedGranularity = normalizeGranularity(granularity);
+        List<EquipmentKpiRollup> results = new ArrayList<>();
+        for (String targetFab : (fab != null && !fab.isEmpty()) ? new String[]{fab} : FABS) {
+            NavigableMap<Long, RollupBucket> buckets = series.get(seriesKey(targetFab, target, normalizedGranularity));
+            if (buckets == null) {
+                continue;
+            }
+            long fromMillis = truncate(toMillis(from), normalizedGranularity);
+            for (RollupBucket bucket : buckets.subMap(fromMillis, true, toMillis(to), true).values()) {
+                results.add(bucket.snapshot());
+            }
+        }
+        return results;
+    }
+
+    @Scheduled(fixedDelayString = "${kpi.rollup.flush-interval:60000}")
+    public void flushDirtyBuckets() {
+        int flushed = 0;
+        for (NavigableMap<Long, RollupBucket> buckets : series.values()) {
+            for (RollupBucket bucket : buckets.values()) {
+                EquipmentKpiRollup dirty = bucket.takeIfDirty();
+                if (dirty == null) {
+                    continue;
+                }
+                try {
+                    upsert(dirty);
+                    flushed++;
+                } catch (Exception e) {
+                    bucket.markDirty();
+                    log.warn("KPI rollup flush failed for {}/{}: {}", dirty.getFab(), dirty.getEquipmentId(), e.getMessage());
+                }
+            }
+        }
+        int flushedStates = 0;
+        for (Map.Entry<String, EquipmentState> entry : states.entrySet()) {
+            EquipmentKpiState dirty = entry.getValue().takeIfDirty(entry.getKey());
+            if (dirty == null) {
+                continue;
+            }
+            try {
+                upsertState(dirty);
+                flushedStates++;
+            } catch (Exception e) {
+                entry.getValue().markDirty();
+                log.warn("KPI state flush failed for {}/{}: {}", dirty.getFab(), dirty.getEquipmentId(), e.getMessage());
+            }
+        }
+        if (flushed > 0 || flushedStates > 0) {
+            log.debug("Flushed {} KPI rollup buckets and {} equipment states", flushed, flushedStates);
+        }
+    }
+
+    /**
+     * 보존 기간({@code kpi.rollup.retention-days})이 지난 버킷을 메모리와 팹별 롤업 테이블에서 삭제합니다.
+     */
+    @Scheduled(initialDelayString = "${kpi.rollup.retention-interval:3600000}",
+            fixedDelayString = "${kpi.rollup.retention-interval:3600000}")
+    public void purgeExpiredBuckets() {
+        long evictBefore = truncate(System.currentTimeMillis() - retentionDays * 86_400_000L, DAY);
+        for (NavigableMap<Long, RollupBucket> buckets : series.values()) {
+            buckets.headMap(evictBefore).clear();
+        }
+        LocalDateTime before = toDateTime(evictBefore);
+        for (String fab : FABS) {
+            try {
+                int deleted = deleteBefore(fab, before);
+                if (deleted > 0) {
+                    log.info("Deleted {} expired KPI rollup buckets for {} (before {})", deleted, fab, before);
+                }
+            } catch (Exception e) {
+                log.warn("KPI rollup retention failed for {} datasource: {}", fab, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDirtyBuckets();
+    }
+
+    private void addStateTime(String fab, String equipmentId, String status, long startMillis, long endMillis) {
+        for (String granularity : new String[]{HOUR, DAY}) {
+            long cursor = startMillis;
+            while (cursor < endMillis) {
+                long bucketStart = truncate(cursor, granularity);
+                long bucketEnd = Math.min(endMillis, nextBucket(bucketStart, granularity));
+                long elapsed = bucketEnd - cursor;
+                bucket(fab, equipmentId, granularity, bucketStart).addStateTime(status, elapsed);
+                bucket(fab, FAB_TOTAL, granularity, bucketStart).addStateTime(status, elapsed);
+                cursor = bucketEnd;
+            }
+        }
+    }
+
+    private RollupBucket bucket(String fab, String equipmentId, String granularity, long bucketStart) {
+        return series.computeIfAbsent(seriesKey(fab, equipmentId, granularity), key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(bucketStart, start -> new RollupBucket(fab, equipmentId, granularity, start));
+    }
+
+    private List<EquipmentKpiRollup> selectSince(String fab, LocalDateTime since) {
+        switch (fab) {
+            case "M14":
+                return m14RollupMapper.selectSince(since);
+            case "M15":
+                return m15RollupMapper.selectSince(since);
+            case "M16":
+                return m16RollupMapper.selectSince(since);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    private List<EquipmentKpiState> selectStates(String fab) {
+        switch (fab) {
+            case "M14":
+                return m14RollupMapper.selectStates();
+            case "M15":
+                return m15RollupMapper.selectStates();
+            case "M16":
+                return m16RollupMapper.selectStates();
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    private int deleteBefore(String fab, LocalDateTime before) {
+        switch (fab) {
+            case "M14":
+                return m14RollupMapper.deleteBefore(before);
+            case "M15":
+                return m15RollupMapper.deleteBefore(before);
+            case "M16":
+                return m16RollupMapper.deleteBefore(before);
+            default:
+                return 0;
+        }
+    }
+
+    private void upsertState(EquipmentKpiState state) {
+        switch (state.getFab()) {
+            case "M14":
+                m14RollupMapper.upsertState(state);
+                break;
+            case "M15":
+                m15RollupMapper.upsertState(state);
+                break;
+            case "M16":
+                m16RollupMapper.upsertState(state);
+                break;
+            default:
+                log.warn("Unknown fab: {}. Skipping KPI state flush.", state.getFab());
+        }
+    }
+
+    private void upsert(EquipmentKpiRollup rollup) {
+        switch (rollup.getFab()) {
+            case "M14":
+                m14RollupMapper.upsert(rollup);
+                break;
+            case "M15":
+                m15RollupMapper.upsert(rollup);
+                break;
+            case "M16":
+                m16RollupMapper.upsert(rollup);
+                break;
+            default:
+                log.warn("Unknown fab: {}. Skipping KPI rollup flush.", rollup.getFab());
+        }
+    }
+
+    private static String seriesKey(String fab, String equipmentId, String granularity) {
+        return fab + "|" + equipmentId + "|" + granularity;
+    }
+
+    private static String stateKey(String fab, String equipmentId) {
+        return fab + "|" + equipmentId;
+    }
+
+    private static String normalizeGranularity(String granularity) {
+        if (granularity == null || granularity.isEmpty() || HOUR.equalsIgnoreCase(granularity)) {
+            return HOUR;
+        }
+        if (DAY.equalsIgnoreCase(granularity)) {
+            return DAY;
+        }
+        throw new IllegalArgumentException("지원하지 않는 집계 단위입니다: " + granularity);
+    }
+
+    private static long truncate(long epochMillis, String granularity) {
+        ZonedDateTime dateTime = Instant.ofEpochMilli(epochMillis).atZone(ZONE);
+        ChronoUnit unit = DAY.equals(granularity) ? ChronoUnit.DAYS : ChronoUnit.HOURS;
+        return dateTime.truncatedTo(unit).toInstant().toEpochMilli();
+    }
+
+    private static long nextBucket(long bucketStart, String granularity) {
+        if (HOUR.equals(granularity)) {
+            return bucketStart + 3_600_000L;
+        }
+        return Instant.ofEpochMilli(bucketStart).atZone(ZONE).plusDays(1).toInstant().toEpochMilli();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    private static final class EquipmentState {
+        private String status;
+        private long sinceMillis = Long.MIN_VALUE;
+        private int alerts;
+        private boolean dirty;
+
+        synchronized void restore(EquipmentKpiState saved) {
+            status = saved.getStatus();
+            sinceMillis = saved.getSinceAt() != null ? toMillis(saved.getSinceAt()) : Long.MIN_VALUE;
+            alerts = saved.getAlerts() != null ? saved.getAlerts() : 0;
+        }
+
+        synchronized EquipmentKpiState takeIfDirty(String key) {
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            int separator = key.indexOf('|');
+            return new EquipmentKpiState(key.substring(0, separator), key.substring(separator + 1), status,
+                    sinceMillis != Long.MIN_VALUE ? toDateTime(sinceMillis) : null, alerts);
+        }
+
+        synchronized void markDirty() {
+            dirty = true;
+        }
+    }
+
+    private static final class RollupBucket {
+        private final String fab;
+        private final String equipmentId;
+        private final String granularity;
+        private final long startMillis;
+
+        private long sampleCount;
+        private int minUtilization = Integer.MAX_VALUE;
+        private int maxUtilization = Integer.MIN_VALUE;
+        private long sumUtilization;
+        private long runningMs;
+        private long idleMs;
+        private long maintenanceMs;
+        private long errorMs;
+        private long otherMs;
+        private long alertCount;
+        private boolean dirty;
+
+        RollupBucket(String fab, String equipmentId, String granularity, long startMillis) {
+            this.fab = fab;
+            this.equipmentId = equipmentId;
+            this.granularity = granularity;
+            this.startMillis = startMillis;
+        }
+
+        synchronized void addSample(Integer utilization, int newAlerts) {
+            if (utilization != null) {
+                sampleCount++;
+                sumUtilization += utilization;
+                minUtilization = Math.min(minUtilization, utilization);
+                maxUtilization = Math.max(maxUtilization, utilization);
+            }
+            alertCount += newAlerts;
+            dirty = true;
+        }
+
+        synchronized void addStateTime(String status, long elapsedMillis) {
+            switch (status.toLowerCase()) {
+                case "running":
+                    runningMs += elapsedMillis;
+                    break;
+                case "idle":
+                    idleMs += elapsedMillis;
+                    break;
+                case "maintenance":
+                    maintenanceMs += elapsedMillis;
+                    break;
+                case "error":
+                    errorMs += elapsedMillis;
+                    break;
+                default:
+                    otherMs += elapsedMillis;
+            }
+            dirty = true;
+        }
+
+        synchronized void restore(EquipmentKpiRollup row) {
+            sampleCount = valueOf(row.getSampleCount());
+            sumUtilization = valueOf(row.getSumUtilization());
+            minUtilization = row.getMinUtilization() != null ? row.getMinUtilization() : Integer.MAX_VALUE;
+            maxUtilization = row.getMaxUtilization() != null ? row.getMaxUtilization() : Integer.MIN_VALUE;
+            runningMs = valueOf(row.getRunningMs());
+            idleMs = valueOf(row.getIdleMs());
+            maintenanceMs = valueOf(row.getMaintenanceMs());
+            errorMs = valueOf(row.getErrorMs());
+            otherMs = valueOf(row.getOtherMs());
+            alertCount = valueOf(row.getAlertCount());
+        }
+
+        synchronized EquipmentKpiRollup takeIfDirty() {
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            return snapshot();
+        }
+
+        synchronized void markDirty() {
+            dirty = true;
+        }
+
+        synchronized EquipmentKpiRollup snapshot() {
+            boolean hasSamples = sampleCount > 0;
+            return new EquipmentKpiRollup(
+                    fab, equipmentId, granularity, toDateTime(startMillis), sampleCount,
+                    hasSamples ? minUtilization : null,
+                    hasSamples ? maxUtilization : null,
+                    sumUtilization,
+                    hasSamples ? (double) sumUtilization / sampleCount : null,
+                    runningMs, idleMs, maintenanceMs, errorMs, otherMs, alertCount,
+                    LocalDateTime.now(ZONE));
+        }
+
+        private static long valueOf(Long value) {
+            return value != null ? value : 0L;
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.ai.mes.service;
 
+import com.ai.mes.dto.SearchQuery;
+import com.ai.mes.event.FabDataChangedEvent;
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
 import com.ai.mes.model.EquipmentData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,6 +27,23 @@ public class EquipmentService {
     private final com.ai.mes.mapper.m15.EquipmentDataMapper m15EquipmentDataMapper;
     private final com.ai.mes.mapper.m16.EquipmentDataMapper m16EquipmentDataMapper;
 
+    // 검색 정렬 키 -> 컬럼 화이트리스트
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "equipmentId", "equipment_id",
+            "status", "status",
+            "utilization", "utilization");
+
+    @Value("${search.default-limit:500}")
+    private int defaultSearchLimit;
+
+    @Value("${search.max-limit:5000}")
+    private int maxSearchLimit;
+
+    private final EquipmentKpiRollupService equipmentKpiRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
     // Mock data for development - replace with actual database calls
     private List<EquipmentData> getMockEquipmentData() {
         List<EquipmentData> mockData = new ArrayList<>();
@@ -87,87 +109,50 @@ public class EquipmentService {
                 .orElse(null);
     }
 
-    public List<EquipmentData> searchEquipment(String keyword, String fab, String status) {
-        log.info("Searching equipment with keyword: {}, fab: {}, status: {}", keyword, fab, status);
-        try {
-            List<EquipmentData> results = new ArrayList<>();
-            
-            // 팹이 지정된 경우 해당 팹에서만 검색
-            if (fab != null && !fab.isEmpty()) {
-                results.addAll(searchEquipmentInFab(keyword, fab, status));
-            } else {
-                // 팹 미지정 시 모든 팹에서 병렬 검색
-                CompletableFuture<List<EquipmentData>> m14SearchFuture = CompletableFuture
-                    .supplyAsync(() -> searchEquipmentInFab(keyword, "M14", status));
-                CompletableFuture<List<EquipmentData>> m15SearchFuture = CompletableFuture
-                    .supplyAsync(() -> searchEquipmentInFab(keyword, "M15", status));
-                CompletableFuture<List<EquipmentData>> m16SearchFuture = CompletableFuture
-                    .supplyAsync(() -> searchEquipmentInFab(keyword, "M16", status));
-                
-                results.addAll(m14SearchFuture.join());
-                results.addAll(m15SearchFuture.join());
-                results.addAll(m16SearchFuture.join());
-            }
-            
-            // 생성일 최신순 정렬
-            results.sort(Comparator.comparing(EquipmentData::getCreatedAt, 
-                Comparator.nullsLast(Comparator.naturalOrder())).reversed());
-            
-            log.debug("Equipment search completed. Found {} equipments", results.size());
-            return results;
-        } catch (Exception e) {
-            log.error("DB search failed, falling back to mock. reason={}", e.getMessage(), e);
-            // 폴백: 목 데이터에서 검색
-            return getMockEquipmentData().stream()
-                    .filter(equipment -> {
-                        boolean matches = true;
-                        if (keyword != null && !keyword.isEmpty()) {
-                            matches = equipment.getEquipmentId().toLowerCase().contains(keyword.toLowerCase()) ||
-                                     equipment.getEquipmentName().toLowerCase().contains(keyword.toLowerCase());
-                        }
-                        if (fab != null && !fab.isEmpty()) {
-                            matches = matches && fab.equals(equipment.getFab());
-                        }
-                        if (status != null && !status.isEmpty()) {
-                            matches = matches && status.equals(equipment.getStatus());
-                        }
-                        return matches;
-                    })
-                    .collect(Collectors.toList());
+    /**
+     * @throws FabQueryException 대상 팹 중 하나라도 검색에 실패한 경우 (일부 팹만의 결과를 반환하지 않음)
+     */
+    public List<EquipmentData> searchEquipment(SearchQuery query) {
+        String sortKey = query.resolve(SORT_COLUMNS, "createdAt", defaultSearchLimit, maxSearchLimit);
+        log.info("Searching equipment with query: {}", query);
+        // 대상 팹별로 조건 전체를 SQL로 위임하여 병렬 검색
+        List<EquipmentData> results = FabQueries.queryAcrossFabs(query.targetFabs(), fab -> searchEquipmentInFab(query, fab));
+
+        // 팹별 정렬 결과를 병합한 뒤 전체 건수 제한 재적용
+        results.sort(comparatorFor(query, sortKey));
+        if (results.size() > query.getLimit()) {
+            results = new ArrayList<>(results.subList(0, query.getLimit()));
+        }
+
+        log.debug("Equipment search completed. Found {} equipments", results.size());
+        return results;
+    }
+
+    private List<EquipmentData> searchEquipmentInFab(SearchQuery query, String fab) {
+        switch (fab) {
+            case "M14":
+                return m14EquipmentDataMapper.selectByMultipleConditions(fab, query);
+            case "M15":
+                return m15EquipmentDataMapper.selectByMultipleConditions(fab, query);
+            case "M16":
+                return m16EquipmentDataMapper.selectByMultipleConditions(fab, query);
+            default:
+                return new ArrayList<>();
         }
     }
 
-    private List<EquipmentData> searchEquipmentInFab(String keyword, String fab, String status) {
-        try {
-            List<EquipmentData> results = new ArrayList<>();
-            
-            // 키워드가 있으면 설비 ID로 검색
-            if (keyword != null && !keyword.isEmpty()) {
-                switch (fab) {
-                    case "M14":
-                        // 설비 ID로 검색하는 매퍼 메서드 호출
-                        results.addAll(m14EquipmentDataMapper.selectByEquipmentId(keyword));
-                        break;
-                    case "M15":
-                        results.addAll(m15EquipmentDataMapper.selectByEquipmentId(keyword));
-                        break;
-                    case "M16":
-                        results.addAll(m16EquipmentDataMapper.selectByEquipmentId(keyword));
-                        break;
-                }
-            }
-            
-            // 상태 필터 적용
-            if (status != null && !status.isEmpty()) {
-                results = results.stream()
-                        .filter(equipment -> status.equals(equipment.getStatus()))
-                        .collect(Collectors.toList());
-            }
-            
-            return results;
-        } catch (Exception e) {
-            log.warn("Equipment search failed for fab {} with keyword {}: {}", fab, keyword, e.getMessage());
-            return new ArrayList<>();
+    private Comparator<EquipmentData> comparatorFor(SearchQuery query, String sortKey) {
+        switch (sortKey) {
+            case "updatedAt":
+                return query.comparing(EquipmentData::getUpdatedAt);
+            case "equipmentId":
+                return query.comparing(EquipmentData::getEquipmentId);
+            case "status":
+                return query.comparing(EquipmentData::getStatus);
+            case "utilization":
+                return query.comparing(EquipmentData::getUtilization);
+            default:
+                return query.comparing(EquipmentData::getCreatedAt);
         }
     }
 
@@ -179,6 +164,9 @@ public class EquipmentService {
         if (equipment != null) {
             equipment.setStatus(status);
             equipment.setUpdatedAt(LocalDateTime.now());
+            // 가동률 KPI 롤업에 상태 변경 반영
+            equipmentKpiRollupService.recordEquipmentUpdate(equipment);
+            eventPublisher.publishEvent(new FabDataChangedEvent(Dataset.EQUIPMENT, equipment.getFab()));
         }
         
         return equipment;
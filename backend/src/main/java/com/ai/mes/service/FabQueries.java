@@ -0,0 +1,44 @@
+package com.ai.mes.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 여러 팹 DB에 같은 조회를 병렬로 실행해 합칩니다 (LOT·설비·반송 검색 공통).
+ * 한 팹이라도 실패하면 나머지 팹의 결과만 반환하지 않고 {@link FabQueryException}을 던집니다.
+ */
+@Slf4j
+final class FabQueries {
+
+    private FabQueries() {
+    }
+
+    static <T> List<T> queryAcrossFabs(List<String> fabs, Function<String, List<T>> query) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        for (String fab : fabs) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return query.apply(fab);
+                } catch (RuntimeException e) {
+                    log.warn("Query failed for fab {}: {}", fab, e.getMessage());
+                    throw new FabQueryException(fab, e);
+                }
+            }));
+        }
+
+        List<T> results = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            try {
+                results.addAll(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof FabQueryException ? (FabQueryException) e.getCause() : e;
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ai.mes.service;
+
+/**
+ * 팹 DB 조회 실패. 여러 팹을 합치는 조회에서 일부 팹의 결과만 반환하지 않도록 호출자에게 그대로 전달합니다.
+ */
+public class FabQueryException extends RuntimeException {
+
+    private final String fab;
+
+    public FabQueryException(String fab, Throwable cause) {
+        super(fab + " 팹 조회 실패: " + cause.getMessage(), cause);
+        this.fab = fab;
+    }
+
+    public String getFab() {
+        return fab;
+    }
+}
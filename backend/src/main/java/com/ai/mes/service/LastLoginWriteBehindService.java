@@ -0,0 +1,77 @@
+package com.ai.mes.service;
+
+import com.ai.mes.mapper.next.UserMapper;
+import com.ai.mes.model.User;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 마지막 로그인 시각 지연 저장 서비스.
+ * <p>
+ * 로그인 성공 시 {@code last_login_at}을 즉시 갱신하지 않고 사용자별로 메모리에 모아 두었다가
+ * (같은 사용자는 가장 최근 시각 하나로 병합) 주기적으로 일괄 UPDATE 합니다.
+ * 정상 종료 시 남은 항목을 모두 저장하며, 저장에 실패한 항목은 다음 주기에 다시 시도합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LastLoginWriteBehindService {
+
+    private final UserMapper userMapper;
+
+    @Value("${auth.last-login.batch-size:500}")
+    private int batchSize;
+
+    // username -> 저장 대기 중인 마지막 로그인 시각
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(String username, LocalDateTime loginAt) {
+        pending.merge(username, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<User> batch = new ArrayList<>();
+        for (String username : pending.keySet()) {
+            // 꺼내는 사이에 들어온 로그인은 다음 주기에 저장
+            LocalDateTime loginAt = pending.remove(username);
+            if (loginAt == null) {
+                continue;
+            }
+            User user = new User();
+            user.setUsername(username);
+            user.setLastLoginAt(loginAt);
+            batch.add(user);
+        }
+
+        int updated = 0;
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            List<User> chunk = batch.subList(from, Math.min(from + batchSize, batch.size()));
+            try {
+                updated += userMapper.updateLastLoginAtBatch(chunk);
+            } catch (Exception e) {
+                log.warn("Last login flush failed for {} users: {}", chunk.size(), e.getMessage());
+                chunk.forEach(user -> record(user.getUsername(), user.getLastLoginAt()));
+            }
+        }
+        log.debug("Flushed last login for {} users ({} rows updated)", batch.size(), updated);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
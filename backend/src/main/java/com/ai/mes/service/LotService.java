@@ -1,14 +1,17 @@
 package com.ai.mes.service;
 
+import com.ai.mes.dto.SearchQuery;
 import com.ai.mes.model.LotData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
@@ -22,6 +25,21 @@ public class LotService {
     private final com.ai.mes.mapper.m15.LotDataMapper m15LotDataMapper;
     private final com.ai.mes.mapper.m16.LotDataMapper m16LotDataMapper;
 
+    // 검색 정렬 키 -> 컬럼 화이트리스트
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "startTime", "start_time",
+            "lotNumber", "lot_number",
+            "status", "status",
+            "progress", "progress");
+
+    @Value("${search.default-limit:500}")
+    private int defaultSearchLimit;
+
+    @Value("${search.max-limit:5000}")
+    private int maxSearchLimit;
+
     // Mock data for development - replace with actual database calls
     private List<LotData> getMockLotData() {
         List<LotData> mockData = new ArrayList<>();
@@ -102,86 +120,52 @@ public class LotService {
                 .orElse(null);
     }
 
-    public List<LotData> searchLots(String keyword, String fab, String status) {
-        log.info("Searching lots with keyword: {}, fab: {}, status: {}", keyword, fab, status);
-        try {
-            List<LotData> results = new ArrayList<>();
-            
-            // 팹이 지정된 경우 해당 팹에서만 검색
-            if (fab != null && !fab.isEmpty()) {
-                results.addAll(searchInFab(keyword, fab, status));
-            } else {
-                // 팹 미지정 시 모든 팹에서 병렬 검색
-                CompletableFuture<List<LotData>> m14SearchFuture = CompletableFuture
-                    .supplyAsync(() -> searchInFab(keyword, "M14", status));
-                CompletableFuture<List<LotData>> m15SearchFuture = CompletableFuture
-                    .supplyAsync(() -> searchInFab(keyword, "M15", status));
-                CompletableFuture<List<LotData>> m16SearchFuture = CompletableFuture
-                    .supplyAsync(() -> searchInFab(keyword, "M16", status));
-                
-                results.addAll(m14SearchFuture.join());
-                results.addAll(m15SearchFuture.join());
-                results.addAll(m16SearchFuture.join());
-            }
-            
-            // 생성일 최신순 정렬
-            results.sort(Comparator.comparing(LotData::getCreatedAt, 
-                Comparator.nullsLast(Comparator.naturalOrder())).reversed());
-            
-            log.debug("Search completed. Found {} lots", results.size());
-            return results;
-        } catch (Exception e) {
-            log.error("DB search failed, falling back to mock. reason={}", e.getMessage(), e);
-            // 폴백: 목 데이터에서 검색
-            return getMockLotData().stream()
-                    .filter(lot -> {
-                        boolean matches = true;
-                        if (keyword != null && !keyword.isEmpty()) {
-                            matches = lot.getLotNumber().toLowerCase().contains(keyword.toLowerCase()) ||
-                                     lot.getProduct().toLowerCase().contains(keyword.toLowerCase());
-                        }
-                        if (fab != null && !fab.isEmpty()) {
-                            matches = matches && fab.equals(lot.getFab());
-                        }
-                        if (status != null && !status.isEmpty()) {
-                            matches = matches && status.equals(lot.getStatus());
-                        }
-                        return matches;
-                    })
-                    .collect(Collectors.toList());
+    /**
+     * @throws FabQueryException 대상 팹 중 하나라도 검색에 실패한 경우 (일부 팹만의 결과를 반환하지 않음)
+     */
+    public List<LotData> searchLots(SearchQuery query) {
+        String sortKey = query.resolve(SORT_COLUMNS, "createdAt", defaultSearchLimit, maxSearchLimit);
+        log.info("Searching lots with query: {}", query);
+        // 대상 팹별로 조건 전체를 SQL로 위임하여 병렬 검색
+        List<LotData> results = FabQueries.queryAcrossFabs(query.targetFabs(), fab -> searchInFab(query, fab));
+
+        // 팹별 정렬 결과를 병합한 뒤 전체 건수 제한 재적용
+        results.sort(comparatorFor(query, sortKey));
+        if (results.size() > query.getLimit()) {
+            results = new ArrayList<>(results.subList(0, query.getLimit()));
         }
+
+        log.debug("Search completed. Found {} lots", results.size());
+        return results;
     }
 
-    private List<LotData> searchInFab(String keyword, String fab, String status) {
-        try {
-            List<LotData> results = new ArrayList<>();
-            
-            // 키워드가 있으면 LOT 번호로 검색
-            if (keyword != null && !keyword.isEmpty()) {
-                switch (fab) {
-                    case "M14":
-                        results.addAll(m14LotDataMapper.selectByLotNumber(keyword));
-                        break;
-                    case "M15":
-                        results.addAll(m15LotDataMapper.selectByLotNumber(keyword));
-                        break;
-                    case "M16":
-                        results.addAll(m16LotDataMapper.selectByLotNumber(keyword));
-                        break;
-                }
-            }
-            
-            // 상태 필터 적용 (클라이언트에서 추가 필터링)
-            if (status != null && !status.isEmpty()) {
-                results = results.stream()
-                        .filter(lot -> status.equals(lot.getStatus()))
-                        .collect(Collectors.toList());
-            }
-            
-            return results;
-        } catch (Exception e) {
-            log.warn("Search failed for fab {} with keyword {}: {}", fab, keyword, e.getMessage());
-            return new ArrayList<>();
+    private List<LotData> searchInFab(SearchQuery query, String fab) {
+        switch (fab) {
+            case "M14":
+                return m14LotDataMapper.selectByMultipleConditions(fab, query);
+            case "M15":
+                return m15LotDataMapper.selectByMultipleConditions(fab, query);
+            case "M16":
+                return m16LotDataMapper.selectByMultipleConditions(fab, query);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    private Comparator<LotData> comparatorFor(SearchQuery query, String sortKey) {
+        switch (sortKey) {
+            case "updatedAt":
+                return query.comparing(LotData::getUpdatedAt);
+            case "startTime":
+                return query.comparing(LotData::getStartTime);
+            case "lotNumber":
+                return query.comparing(LotData::getLotNumber);
+            case "status":
+                return query.comparing(LotData::getStatus);
+            case "progress":
+                return query.comparing(LotData::getProgress);
+            default:
+                return query.comparing(LotData::getCreatedAt);
         }
     }
 
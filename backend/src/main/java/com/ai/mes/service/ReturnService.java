@@ -1,17 +1,22 @@
 package com.ai.mes.service;
 
+import com.ai.mes.dto.SearchQuery;
+import com.ai.mes.event.FabDataChangedEvent;
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
 import com.ai.mes.model.ReturnHistory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,6 +27,22 @@ public class ReturnService {
     private final com.ai.mes.mapper.m14.ReturnHistoryMapper m14ReturnHistoryMapper;
     private final com.ai.mes.mapper.m15.ReturnHistoryMapper m15ReturnHistoryMapper;
     private final com.ai.mes.mapper.m16.ReturnHistoryMapper m16ReturnHistoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 검색 정렬 키 -> 컬럼 화이트리스트
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "returnDate", "return_date",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "returnId", "return_id",
+            "status", "status",
+            "severity", "severity");
+
+    @Value("${search.default-limit:500}")
+    private int defaultSearchLimit;
+
+    @Value("${search.max-limit:5000}")
+    private int maxSearchLimit;
 
     // Mock data for development - replace with actual database calls
     private List<ReturnHistory> getMockReturnData() {
@@ -50,24 +71,29 @@ public class ReturnService {
         return mockData;
     }
 
+    /**
+     * 반송 이력을 조회합니다. 키워드는 반송ID 또는 LOT번호와 정확히 일치하는 이력만 찾습니다
+     * (부분 일치 검색은 {@link #searchReturns}). 조회에 실패한 팹은 빈 목록으로 처리하고,
+     * 조회 전체가 실패하면 목 데이터로 폴백합니다.
+     */
     public List<ReturnHistory> getReturnHistory(String fab, String keyword) {
         log.info("Getting return history for fab: {}, keyword: {}", fab, keyword);
         try {
             List<ReturnHistory> results = new ArrayList<>();
             
-            // 키워드 검색 로직 추가
+            // 키워드가 있으면 반송ID/LOT번호 정확 일치 검색
             if (keyword != null && !keyword.trim().isEmpty()) {
                 // 팹이 지정된 경우 해당 팹에서만 검색
                 if (fab != null && !fab.isEmpty()) {
-                    results.addAll(searchReturnInFab(keyword, fab));
+                    results.addAll(findReturnsInFab(keyword, fab));
                 } else {
                     // 팹 미지정 시 모든 팹에서 병렬 검색
                     CompletableFuture<List<ReturnHistory>> m14SearchFuture = CompletableFuture
-                        .supplyAsync(() -> searchReturnInFab(keyword, "M14"));
+                        .supplyAsync(() -> findReturnsInFab(keyword, "M14"));
                     CompletableFuture<List<ReturnHistory>> m15SearchFuture = CompletableFuture
-                        .supplyAsync(() -> searchReturnInFab(keyword, "M15"));
+                        .supplyAsync(() -> findReturnsInFab(keyword, "M15"));
                     CompletableFuture<List<ReturnHistory>> m16SearchFuture = CompletableFuture
-                        .supplyAsync(() -> searchReturnInFab(keyword, "M16"));
+                        .supplyAsync(() -> findReturnsInFab(keyword, "M16"));
                     
                     results.addAll(m14SearchFuture.join());
                     results.addAll(m15SearchFuture.join());
@@ -80,11 +106,11 @@ public class ReturnService {
                 } else {
                     // 팹 미지정 시 전체 팹에서 병렬 조회
                     CompletableFuture<List<ReturnHistory>> m14Future = CompletableFuture
-                        .supplyAsync(() -> safeSelectAllReturns(m14ReturnHistoryMapper, "M14"));
+                        .supplyAsync(() -> safeFetchReturnByFab("M14"));
                     CompletableFuture<List<ReturnHistory>> m15Future = CompletableFuture
-                        .supplyAsync(() -> safeSelectAllReturns(m15ReturnHistoryMapper, "M15"));
+                        .supplyAsync(() -> safeFetchReturnByFab("M15"));
                     CompletableFuture<List<ReturnHistory>> m16Future = CompletableFuture
-                        .supplyAsync(() -> safeSelectAllReturns(m16ReturnHistoryMapper, "M16"));
+                        .supplyAsync(() -> safeFetchReturnByFab("M16"));
                     
                     results.addAll(m14Future.join());
                     results.addAll(m15Future.join());
@@ -113,6 +139,7 @@ public class ReturnService {
         returnHistory.setReturnDate(LocalDateTime.now());
         returnHistory.setCreatedAt(LocalDateTime.now());
         returnHistory.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new FabDataChangedEvent(Dataset.RETURNS, returnHistory.getFab()));
         
         return returnHistory;
     }
@@ -129,6 +156,7 @@ public class ReturnService {
             if ("resolved".equals(status)) {
                 returnHistory.setResolvedDate(LocalDateTime.now());
             }
+            eventPublisher.publishEvent(new FabDataChangedEvent(Dataset.RETURNS, returnHistory.getFab()));
         }
         
         return returnHistory;
@@ -142,65 +170,42 @@ public class ReturnService {
                 .orElse(null);
     }
 
-    public List<ReturnHistory> searchReturns(String keyword, String fab, String status, String severity) {
-        log.info("Searching returns with keyword: {}, fab: {}, status: {}, severity: {}", 
-                keyword, fab, status, severity);
-        List<ReturnHistory> allReturns = getMockReturnData();
-        
-        return allReturns.stream()
-                .filter(returnHistory -> {
-                    boolean matches = true;
-                    
-                    if (keyword != null && !keyword.isEmpty()) {
-                        matches = returnHistory.getReturnId().toLowerCase().contains(keyword.toLowerCase()) ||
-                                 returnHistory.getLotNumber().toLowerCase().contains(keyword.toLowerCase()) ||
-                                 returnHistory.getReturnReason().toLowerCase().contains(keyword.toLowerCase());
-                    }
-                    
-                    if (fab != null && !fab.isEmpty()) {
-                        matches = matches && fab.equals(returnHistory.getFab());
-                    }
-                    
-                    if (status != null && !status.isEmpty()) {
-                        matches = matches && status.equals(returnHistory.getStatus());
-                    }
-                    
-                    if (severity != null && !severity.isEmpty()) {
-                        matches = matches && severity.equals(returnHistory.getSeverity());
-                    }
-                    
-                    return matches;
-                })
-                .collect(Collectors.toList());
+    /**
+     * @throws FabQueryException 대상 팹 중 하나라도 검색에 실패한 경우
+     */
+    public List<ReturnHistory> searchReturns(SearchQuery query) {
+        String sortKey = query.resolve(SORT_COLUMNS, "returnDate", defaultSearchLimit, maxSearchLimit);
+        log.info("Searching returns with query: {}", query);
+        // 대상 팹별로 조건 전체를 SQL로 위임하여 병렬 검색
+        List<ReturnHistory> results = FabQueries.queryAcrossFabs(query.targetFabs(), fab -> searchReturnInFab(query, fab));
+        // 팹별 정렬 결과를 병합한 뒤 전체 건수 제한 재적용
+        results.sort(comparatorFor(query, sortKey));
+        if (results.size() > query.getLimit()) {
+            results = new ArrayList<>(results.subList(0, query.getLimit()));
+        }
+
+        log.debug("Return search completed. Found {} returns", results.size());
+        return results;
     }
 
-    private List<ReturnHistory> searchReturnInFab(String keyword, String fab) {
+    // 반송ID 또는 LOT번호 정확 일치
+    private List<ReturnHistory> findReturnsInFab(String keyword, String fab) {
         try {
             List<ReturnHistory> results = new ArrayList<>();
-            
-            // 키워드가 있으면 반송ID나 LOT번호로 검색
-            if (keyword != null && !keyword.isEmpty()) {
-                switch (fab) {
-                    case "M14":
-                        // 반송ID로 검색
-                        List<ReturnHistory> returnsByReturnId = m14ReturnHistoryMapper.selectByReturnId(keyword);
-                        if (returnsByReturnId != null) results.addAll(returnsByReturnId);
-                        // LOT번호로도 검색
-                        results.addAll(m14ReturnHistoryMapper.selectByLotNumber(keyword));
-                        break;
-                    case "M15":
-                        returnsByReturnId = m15ReturnHistoryMapper.selectByReturnId(keyword);
-                        if (returnsByReturnId != null) results.addAll(returnsByReturnId);
-                        results.addAll(m15ReturnHistoryMapper.selectByLotNumber(keyword));
-                        break;
-                    case "M16":
-                        returnsByReturnId = m16ReturnHistoryMapper.selectByReturnId(keyword);
-                        if (returnsByReturnId != null) results.addAll(returnsByReturnId);
-                        results.addAll(m16ReturnHistoryMapper.selectByLotNumber(keyword));
-                        break;
-                }
+            switch (fab) {
+                case "M14":
+                    results.addAll(m14ReturnHistoryMapper.selectByReturnId(keyword));
+                    results.addAll(m14ReturnHistoryMapper.selectByLotNumber(keyword));
+                    break;
+                case "M15":
+                    results.addAll(m15ReturnHistoryMapper.selectByReturnId(keyword));
+                    results.addAll(m15ReturnHistoryMapper.selectByLotNumber(keyword));
+                    break;
+                case "M16":
+                    results.addAll(m16ReturnHistoryMapper.selectByReturnId(keyword));
+                    results.addAll(m16ReturnHistoryMapper.selectByLotNumber(keyword));
+                    break;
             }
-            
             return results;
         } catch (Exception e) {
             log.warn("Return search failed for fab {} with keyword {}: {}", fab, keyword, e.getMessage());
@@ -208,6 +213,36 @@ public class ReturnService {
         }
     }
 
+    private List<ReturnHistory> searchReturnInFab(SearchQuery query, String fab) {
+        switch (fab) {
+            case "M14":
+                return m14ReturnHistoryMapper.selectByMultipleConditions(fab, query);
+            case "M15":
+                return m15ReturnHistoryMapper.selectByMultipleConditions(fab, query);
+            case "M16":
+                return m16ReturnHistoryMapper.selectByMultipleConditions(fab, query);
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    private Comparator<ReturnHistory> comparatorFor(SearchQuery query, String sortKey) {
+        switch (sortKey) {
+            case "createdAt":
+                return query.comparing(ReturnHistory::getCreatedAt);
+            case "updatedAt":
+                return query.comparing(ReturnHistory::getUpdatedAt);
+            case "returnId":
+                return query.comparing(ReturnHistory::getReturnId);
+            case "status":
+                return query.comparing(ReturnHistory::getStatus);
+            case "severity":
+                return query.comparing(ReturnHistory::getSeverity);
+            default:
+                return query.comparing(ReturnHistory::getReturnDate);
+        }
+    }
+
     private List<ReturnHistory> fetchReturnByFab(String fab) {
         switch (fab) {
             case "M14":
@@ -222,18 +257,12 @@ public class ReturnService {
         }
     }
 
-    private List<ReturnHistory> safeSelectAllReturns(Object mapper, String fabLabel) {
+    private List<ReturnHistory> safeFetchReturnByFab(String fab) {
         try {
-            if (mapper instanceof com.ai.mes.mapper.m14.ReturnHistoryMapper) {
-                return ((com.ai.mes.mapper.m14.ReturnHistoryMapper) mapper).selectAll();
-            } else if (mapper instanceof com.ai.mes.mapper.m15.ReturnHistoryMapper) {
-                return ((com.ai.mes.mapper.m15.ReturnHistoryMapper) mapper).selectAll();
-            } else if (mapper instanceof com.ai.mes.mapper.m16.ReturnHistoryMapper) {
-                return ((com.ai.mes.mapper.m16.ReturnHistoryMapper) mapper).selectAll();
-            }
+            return fetchReturnByFab(fab);
         } catch (Exception e) {
-            log.warn("selectAll failed for {} return datasource: {}", fabLabel, e.getMessage());
+            log.warn("selectByFab failed for {} return datasource: {}", fab, e.getMessage());
+            return new ArrayList<>();
         }
-        return new ArrayList<>();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,234 @@
+package com.ai.mes.service;
+
+import com.ai.mes.dto.TelemetryAggregate;
+import com.ai.mes.dto.TelemetryPoint;
+import com.ai.mes.telemetry.TelemetryStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelemetryService {
+
+    private static final Set<String> FABS = Set.of("M14", "M15", "M16");
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final EquipmentKpiRollupService equipmentKpiRollupService;
+
+    @Value("${telemetry.storage.path:./data/telemetry}")
+    private String storagePath;
+
+    @Value("${telemetry.storage.max-points-per-segment:4096}")
+    private int maxPointsPerSegment;
+
+    @Value("${telemetry.storage.max-mapped-segments:1024}")
+    private int maxMappedSegments;
+
+    @Value("${telemetry.storage.idle-timeout:60000}")
+    private long idleTimeoutMillis;
+
+    @Value("${telemetry.storage.max-buffer-age:3600000}")
+    private long maxBufferAgeMillis;
+
+    @Value("${telemetry.query.max-buckets:10000}")
+    private int maxBuckets;
+
+    private TelemetryStore store;
+
+    @PostConstruct
+    public void open() {
+        store = new TelemetryStore(Paths.get(storagePath), maxPointsPerSegment, maxMappedSegments);
+        log.info("Telemetry store opened at {} (max {} points/segment, {} mapped segments)",
+                storagePath, maxPointsPerSegment, maxMappedSegments);
+    }
+
+    /**
+     * 적재가 멈춘 설비의 버퍼와 최대 보관 시간을 넘긴 버퍼를 세그먼트로 봉인하고, 작은 세그먼트를 합칩니다.
+     * 계속 적재 중인 설비는 세그먼트가 가득 찰 때까지 모으므로 비정상 종료 시 최대 {@code max-buffer-age} 분량을 잃을 수 있습니다.
+     */
+    @Scheduled(initialDelayString = "${telemetry.storage.flush-interval:60000}",
+            fixedDelayString = "${telemetry.storage.flush-interval:60000}")
+    public void flushBuffered() {
+        try {
+            store.flushIdle(idleTimeoutMillis, maxBufferAgeMillis);
+        } catch (IOException e) {
+            log.error("Failed to flush buffered telemetry: {}", e.getMessage(), e);
+        }
+        try {
+            int merged = store.compact();
+            if (merged > 0) {
+                log.debug("Merged {} small telemetry segments", merged);
+            }
+        } catch (IOException e) {
+            log.error("Failed to compact telemetry segments: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            store.close();
+            log.info("Telemetry store flushed and closed");
+        } catch (IOException e) {
+            log.error("Failed to flush telemetry store on shutdown: {}", e.getMessage(), e);
+        }
+    }
+
+    public int appendPoints(String fab, String equipmentId, List<TelemetryPoint> points) throws IOException {
+        validateFab(fab);
+        List<TelemetryPoint> ordered = new ArrayList<>(points);
+        for (TelemetryPoint point : ordered) {
+            if (point == null || point.getTimestamp() == null) {
+                throw new IllegalArgumentException("측정 시각이 없는 텔레메트리 포인트가 있습니다.");
+            }
+        }
+        ordered.sort(Comparator.comparing(TelemetryPoint::getTimestamp));
+        int count = ordered.size();
+        long[] timestamps = new long[count];
+        double[] temperatures = new double[count];
+        double[] pressures = new double[count];
+        for (int i = 0; i < count; i++) {
+            TelemetryPoint point = ordered.get(i);
+            timestamps[i] = toMillis(point.getTimestamp());
+            temperatures[i] = toRaw(point.getTemperature());
+            pressures[i] = toRaw(point.getPressure());
+        }
+        // 묶음 전체를 한 번에 검증·추가 (앞선 포인트보다 이른 시각이 있으면 아무것도 저장하지 않음)
+        store.append(fab, equipmentId, timestamps, temperatures, pressures, count);
+        if (!ordered.isEmpty()) {
+            // 가동률 KPI 롤업에 마지막 측정 시각까지의 상태 체류 시간 반영
+            equipmentKpiRollupService.recordTelemetry(fab, equipmentId, ordered.get(ordered.size() - 1).getTimestamp());
+        }
+        log.debug("Appended {} telemetry points for {}/{}", ordered.size(), fab, equipmentId);
+        return ordered.size();
+    }
+
+    public List<TelemetryPoint> getRange(String fab, String equipmentId, LocalDateTime from, LocalDateTime to) {
+        validateFab(fab);
+        List<TelemetryPoint> points = new ArrayList<>();
+        store.scan(fab, equipmentId, toMillis(from), toMillis(to), (millis, temperature, pressure) ->
+                points.add(new TelemetryPoint(toDateTime(millis), toValue(temperature), toValue(pressure))));
+        return points;
+    }
+
+    /**
+     * 고정 간격 버킷으로 다운샘플링한 집계를 반환합니다.
+     * 버킷 누적은 원시 배열에서 수행하여 포인트당 객체 생성이 없습니다.
+     */
+    public List<TelemetryAggregate> getAggregates(String fab, String equipmentId,
+                                                  LocalDateTime from, LocalDateTime to, Duration interval) {
+        validateFab(fab);
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        long intervalMillis = interval.toMillis();
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("집계 간격은 0보다 커야 합니다.");
+        }
+        long bucketCountLong = (toMillis - fromMillis) / intervalMillis + 1;
+        if (bucketCountLong <= 0 || bucketCountLong > maxBuckets) {
+            throw new IllegalArgumentException("집계 버킷 수가 허용 범위를 벗어났습니다: " + bucketCountLong);
+        }
+        int bucketCount = (int) bucketCountLong;
+
+        long[] counts = new long[bucketCount];
+        BucketStats temperature = new BucketStats(bucketCount);
+        BucketStats pressure = new BucketStats(bucketCount);
+        store.scan(fab, equipmentId, fromMillis, toMillis, (millis, t, p) -> {
+            int bucket = (int) ((millis - fromMillis) / intervalMillis);
+            counts[bucket]++;
+            temperature.add(bucket, t);
+            pressure.add(bucket, p);
+        });
+
+        List<TelemetryAggregate> aggregates = new ArrayList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            aggregates.add(new TelemetryAggregate(
+                    toDateTime(fromMillis + i * intervalMillis), counts[i],
+                    temperature.min(i), temperature.max(i), temperature.avg(i),
+                    pressure.min(i), pressure.max(i), pressure.avg(i)));
+        }
+        return aggregates;
+    }
+
+    private void validateFab(String fab) {
+        if (fab == null || !FABS.contains(fab)) {
+            throw new IllegalArgumentException("알 수 없는 팹 코드입니다: " + fab);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    // 측정값이 없는 경우 NaN으로 저장
+    private static double toRaw(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static Double toValue(double raw) {
+        return Double.isNaN(raw) ? null : raw;
+    }
+
+    private static final class BucketStats {
+        private final double[] min;
+        private final double[] max;
+        private final double[] sum;
+        private final long[] count;
+
+        BucketStats(int buckets) {
+            min = new double[buckets];
+            max = new double[buckets];
+            sum = new double[buckets];
+            count = new long[buckets];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int bucket, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            if (value < min[bucket]) min[bucket] = value;
+            if (value > max[bucket]) max[bucket] = value;
+            sum[bucket] += value;
+            count[bucket]++;
+        }
+
+        Double min(int bucket) {
+            return count[bucket] > 0 ? min[bucket] : null;
+        }
+
+        Double max(int bucket) {
+            return count[bucket] > 0 ? max[bucket] : null;
+        }
+
+        Double avg(int bucket) {
+            return count[bucket] > 0 ? sum[bucket] / count[bucket] : null;
+        }
+    }
+}
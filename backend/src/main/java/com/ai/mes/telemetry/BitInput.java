@@ -0,0 +1,42 @@
+package com.ai.mes.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link BitOutput}으로 기록된 비트 스트림을 읽습니다.
+ * 메모리 맵 버퍼를 절대 위치로만 읽으므로 버퍼 상태(position)를 변경하지 않습니다.
+ */
+final class BitInput {
+
+    private final ByteBuffer buffer;
+    private final int baseOffset;
+    private long bitPosition;
+
+    BitInput(ByteBuffer buffer, int baseOffset) {
+        this.buffer = buffer;
+        this.baseOffset = baseOffset;
+    }
+
+    boolean readBit() {
+        return readBits(1) != 0;
+    }
+
+    /**
+     * bitCount 비트를 읽어 하위 비트에 채워 반환합니다. (1 ≤ bitCount ≤ 64)
+     */
+    long readBits(int bitCount) {
+        long result = 0;
+        int remaining = bitCount;
+        while (remaining > 0) {
+            int byteIndex = baseOffset + (int) (bitPosition >>> 3);
+            int availableInByte = 8 - (int) (bitPosition & 7);
+            int take = Math.min(availableInByte, remaining);
+            int current = buffer.get(byteIndex) & 0xFF;
+            int chunk = (current >>> (availableInByte - take)) & ((1 << take) - 1);
+            result = (result << take) | chunk;
+            bitPosition += take;
+            remaining -= take;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ai.mes.telemetry;
+
+import java.util.Arrays;
+
+/**
+ * MSB 우선 순서로 비트를 누적하는 가변 길이 버퍼.
+ * 세그먼트 인코딩 시 타임스탬프/값 스트림을 기록하는 데 사용합니다.
+ */
+final class BitOutput {
+
+    private byte[] buffer;
+    private long bitPosition;
+
+    BitOutput(int initialBytes) {
+        this.buffer = new byte[Math.max(16, initialBytes)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1L : 0L, 1);
+    }
+
+    /**
+     * value의 하위 bitCount 비트를 상위 비트부터 기록합니다. (1 ≤ bitCount ≤ 64)
+     */
+    void writeBits(long value, int bitCount) {
+        ensureCapacity(bitPosition + bitCount);
+        int remaining = bitCount;
+        while (remaining > 0) {
+            int byteIndex = (int) (bitPosition >>> 3);
+            int freeInByte = 8 - (int) (bitPosition & 7);
+            int take = Math.min(freeInByte, remaining);
+            int shift = remaining - take;
+            int chunk = (int) ((value >>> shift) & ((1L << take) - 1));
+            buffer[byteIndex] |= (byte) (chunk << (freeInByte - take));
+            bitPosition += take;
+            remaining -= take;
+        }
+    }
+
+    int byteLength() {
+        return (int) ((bitPosition + 7) >>> 3);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, byteLength());
+    }
+
+    private void ensureCapacity(long requiredBits) {
+        int requiredBytes = (int) ((requiredBits + 7) >>> 3);
+        if (requiredBytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(requiredBytes, buffer.length * 2));
+        }
+    }
+}
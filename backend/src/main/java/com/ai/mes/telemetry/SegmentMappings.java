@@ -0,0 +1,60 @@
+package com.ai.mes.telemetry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 저장소 전체에서 메모리 맵으로 유지할 세그먼트 수를 제한합니다.
+ * <p>
+ * 새로 기록한 세그먼트와 조회된 세그먼트를 최근 사용 순서로 보관하고, 한도를 넘으면 가장 오래 사용하지 않은
+ * 세그먼트의 맵을 놓습니다. 맵이 없는 세그먼트를 조회할 때는 힙으로 읽을 뿐 새로 맵을 만들지 않으므로,
+ * 오래된 구간을 훑는 조회가 맵을 계속 만들고 버리지 않습니다.
+ */
+@Slf4j
+final class SegmentMappings {
+
+    private final int maxMapped;
+    // 접근 순서 LRU (this 잠금으로 보호)
+    private final LinkedHashMap<TelemetrySegment, Boolean> mapped = new LinkedHashMap<>(64, 0.75f, true);
+
+    SegmentMappings(int maxMapped) {
+        this.maxMapped = maxMapped;
+    }
+
+    /** 세그먼트를 메모리 맵으로 열어 보관합니다. 맵을 만들지 못하면 힙 읽기로 남겨 둡니다. */
+    synchronized void admit(TelemetrySegment segment) {
+        if (maxMapped <= 0) {
+            return;
+        }
+        try {
+            segment.map();
+        } catch (IOException e) {
+            log.warn("텔레메트리 세그먼트를 메모리 맵으로 열 수 없습니다: {} ({})", segment.getPath(), e.getMessage());
+            return;
+        }
+        mapped.put(segment, Boolean.TRUE);
+        Iterator<TelemetrySegment> eldest = mapped.keySet().iterator();
+        while (mapped.size() > maxMapped && eldest.hasNext()) {
+            eldest.next().unmap();
+            eldest.remove();
+        }
+    }
+
+    /** 조회된 세그먼트의 사용 순서를 갱신합니다. */
+    synchronized void touch(TelemetrySegment segment) {
+        mapped.get(segment);
+    }
+
+    synchronized void release(TelemetrySegment segment) {
+        if (mapped.remove(segment) != null) {
+            segment.unmap();
+        }
+    }
+
+    synchronized int size() {
+        return mapped.size();
+    }
+}
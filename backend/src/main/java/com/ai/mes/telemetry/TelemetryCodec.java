@@ -0,0 +1,192 @@
+package com.ai.mes.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 텔레메트리 세그먼트 본문 인코더/디코더.
+ * <p>
+ * 타임스탬프는 delta-of-delta, 온도/압력은 직전 값과의 XOR 압축(Gorilla 방식)으로 기록하며
+ * 포인트 단위로 (타임스탬프, 온도, 압력) 순서로 인터리브됩니다.
+ */
+final class TelemetryCodec {
+
+    private TelemetryCodec() {
+    }
+
+    static byte[] encode(long[] timestamps, double[] temperatures, double[] pressures, int count) {
+        // 포인트당 평균 2~3바이트를 가정한 초기 용량
+        BitOutput out = new BitOutput(count * 3 + 32);
+        TimestampEncoder timestampEncoder = new TimestampEncoder();
+        ValueEncoder temperatureEncoder = new ValueEncoder();
+        ValueEncoder pressureEncoder = new ValueEncoder();
+        for (int i = 0; i < count; i++) {
+            timestampEncoder.write(out, timestamps[i]);
+            temperatureEncoder.write(out, temperatures[i]);
+            pressureEncoder.write(out, pressures[i]);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 본문을 순차 디코딩하며 [fromMillis, toMillis] 구간의 포인트만 전달합니다.
+     * 타임스탬프가 오름차순이므로 구간을 벗어나면 즉시 중단합니다.
+     */
+    static void decode(ByteBuffer buffer, int offset, int count,
+                       long fromMillis, long toMillis, TelemetryPointConsumer consumer) {
+        BitInput in = new BitInput(buffer, offset);
+        TimestampDecoder timestampDecoder = new TimestampDecoder();
+        ValueDecoder temperatureDecoder = new ValueDecoder();
+        ValueDecoder pressureDecoder = new ValueDecoder();
+        for (int i = 0; i < count; i++) {
+            long timestamp = timestampDecoder.read(in);
+            double temperature = temperatureDecoder.read(in);
+            double pressure = pressureDecoder.read(in);
+            if (timestamp > toMillis) {
+                return;
+            }
+            if (timestamp >= fromMillis) {
+                consumer.accept(timestamp, temperature, pressure);
+            }
+        }
+    }
+
+    private static final class TimestampEncoder {
+        private int index;
+        private long previous;
+        private long previousDelta;
+
+        void write(BitOutput out, long timestamp) {
+            if (index == 0) {
+                out.writeBits(timestamp, 64);
+            } else if (index == 1) {
+                previousDelta = timestamp - previous;
+                out.writeBits(previousDelta, 64);
+            } else {
+                long delta = timestamp - previous;
+                long deltaOfDelta = delta - previousDelta;
+                if (deltaOfDelta == 0) {
+                    out.writeBit(false);
+                } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+                    out.writeBits(0b10, 2);
+                    out.writeBits(deltaOfDelta + 63, 7);
+                } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+                    out.writeBits(0b110, 3);
+                    out.writeBits(deltaOfDelta + 255, 9);
+                } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+                    out.writeBits(0b1110, 4);
+                    out.writeBits(deltaOfDelta + 2047, 12);
+                } else {
+                    out.writeBits(0b1111, 4);
+                    out.writeBits(deltaOfDelta, 64);
+                }
+                previousDelta = delta;
+            }
+            previous = timestamp;
+            index++;
+        }
+    }
+
+    private static final class TimestampDecoder {
+        private int index;
+        private long previous;
+        private long previousDelta;
+
+        long read(BitInput in) {
+            long timestamp;
+            if (index == 0) {
+                timestamp = in.readBits(64);
+            } else if (index == 1) {
+                previousDelta = in.readBits(64);
+                timestamp = previous + previousDelta;
+            } else {
+                long deltaOfDelta;
+                if (!in.readBit()) {
+                    deltaOfDelta = 0;
+                } else if (!in.readBit()) {
+                    deltaOfDelta = in.readBits(7) - 63;
+                } else if (!in.readBit()) {
+                    deltaOfDelta = in.readBits(9) - 255;
+                } else if (!in.readBit()) {
+                    deltaOfDelta = in.readBits(12) - 2047;
+                } else {
+                    deltaOfDelta = in.readBits(64);
+                }
+                previousDelta += deltaOfDelta;
+                timestamp = previous + previousDelta;
+            }
+            previous = timestamp;
+            index++;
+            return timestamp;
+        }
+    }
+
+    private static final class ValueEncoder {
+        private boolean first = true;
+        private long previousBits;
+        private int previousLeading = -1;
+        private int previousTrailing;
+
+        void write(BitOutput out, double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            if (first) {
+                out.writeBits(bits, 64);
+                first = false;
+                previousBits = bits;
+                return;
+            }
+            long xor = bits ^ previousBits;
+            previousBits = bits;
+            if (xor == 0) {
+                out.writeBit(false);
+                return;
+            }
+            out.writeBit(true);
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                // 직전 유효 비트 구간 안에 들어가면 구간 정보 없이 값만 기록
+                out.writeBit(false);
+                out.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                out.writeBit(true);
+                out.writeBits(leading, 5);
+                out.writeBits(significant - 1, 6);
+                out.writeBits(xor >>> trailing, significant);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+    }
+
+    private static final class ValueDecoder {
+        private boolean first = true;
+        private long previousBits;
+        private int previousLeading;
+        private int previousTrailing;
+
+        double read(BitInput in) {
+            if (first) {
+                first = false;
+                previousBits = in.readBits(64);
+                return Double.longBitsToDouble(previousBits);
+            }
+            if (in.readBit()) {
+                long xor;
+                if (!in.readBit()) {
+                    int significant = 64 - previousLeading - previousTrailing;
+                    xor = in.readBits(significant) << previousTrailing;
+                } else {
+                    int leading = (int) in.readBits(5);
+                    int significant = (int) in.readBits(6) + 1;
+                    int trailing = 64 - leading - significant;
+                    xor = in.readBits(significant) << trailing;
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+                previousBits ^= xor;
+            }
+            return Double.longBitsToDouble(previousBits);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ai.mes.telemetry;
+
+/**
+ * 박싱 없이 텔레메트리 포인트를 전달받는 콜백.
+ * 값이 없는 측정치는 {@link Double#NaN}으로 전달됩니다.
+ */
+@FunctionalInterface
+public interface TelemetryPointConsumer {
+
+    void accept(long epochMillis, double temperature, double pressure);
+}
@@ -0,0 +1,164 @@
+package com.ai.mes.telemetry;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 봉인(seal)된 불변 텔레메트리 세그먼트 파일.
+ * <p>
+ * 파일 구조: magic(4) | version(1) | pointCount(4) | firstMillis(8) | lastMillis(8) | bodyLength(4) | body
+ * 본문은 {@link TelemetryCodec}으로 압축되어 있습니다. 최근에 쓰거나 읽은 세그먼트만 {@link SegmentMappings}를 통해
+ * 메모리 맵으로 유지하고, 그 밖의 세그먼트는 조회할 때마다 본문을 힙 버퍼로 읽습니다.
+ */
+final class TelemetrySegment {
+
+    static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x414D5453; // "AMTS"
+    private static final byte VERSION = 1;
+    static final int HEADER_BYTES = 29;
+
+    private final Path path;
+    private final int pointCount;
+    private final long firstMillis;
+    private final long lastMillis;
+    private final long sizeBytes;
+    // 메모리 맵 (SegmentMappings가 한도 안에서 관리, 없으면 null)
+    private volatile ByteBuffer mapped;
+
+    private TelemetrySegment(Path path, int pointCount, long firstMillis, long lastMillis, long sizeBytes) {
+        this.path = path;
+        this.pointCount = pointCount;
+        this.firstMillis = firstMillis;
+        this.lastMillis = lastMillis;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /** 새 세그먼트 파일 경로: {first}_{last}_{seq}.seg */
+    static Path newFile(Path directory, long firstMillis, long lastMillis) {
+        return directory.resolve(firstMillis + "_" + lastMillis + "_" + System.nanoTime() + FILE_SUFFIX);
+    }
+
+    /**
+     * 포인트 배열을 압축하여 새 세그먼트 파일로 기록합니다.
+     * 임시 파일에 쓴 후 원자적으로 이동하므로 부분 기록된 세그먼트는 노출되지 않습니다.
+     */
+    static TelemetrySegment write(Path target, long[] timestamps, double[] temperatures,
+                                  double[] pressures, int count) throws IOException {
+        byte[] body = TelemetryCodec.encode(timestamps, temperatures, pressures, count);
+        long first = timestamps[0];
+        long last = timestamps[count - 1];
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).put(VERSION).putInt(count).putLong(first).putLong(last).putInt(body.length);
+        header.flip();
+
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(new ByteBuffer[]{header, ByteBuffer.wrap(body)});
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return new TelemetrySegment(target, count, first, last, HEADER_BYTES + (long) body.length);
+    }
+
+    /** 헤더만 읽어 세그먼트를 엽니다 (메모리 맵은 만들지 않음). */
+    static TelemetrySegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (channel.size() < HEADER_BYTES || readFully(channel, header, 0) < HEADER_BYTES
+                    || header.getInt(0) != MAGIC) {
+                throw new IOException("텔레메트리 세그먼트 형식이 아닙니다: " + file);
+            }
+            if (header.get(4) != VERSION) {
+                throw new IOException("지원하지 않는 세그먼트 버전입니다: " + header.get(4) + " (" + file + ")");
+            }
+            int count = header.getInt(5);
+            long first = header.getLong(9);
+            long last = header.getLong(17);
+            int bodyLength = header.getInt(25);
+            if (HEADER_BYTES + (long) bodyLength > channel.size()) {
+                throw new IOException("세그먼트 본문이 잘렸습니다: " + file);
+            }
+            return new TelemetrySegment(file, count, first, last, HEADER_BYTES + (long) bodyLength);
+        }
+    }
+
+    void scan(long fromMillis, long toMillis, TelemetryPointConsumer consumer) {
+        if (lastMillis < fromMillis || firstMillis > toMillis) {
+            return;
+        }
+        ByteBuffer buffer = mapped;
+        if (buffer == null) {
+            buffer = read();
+        }
+        TelemetryCodec.decode(buffer, HEADER_BYTES, pointCount, fromMillis, toMillis, consumer);
+    }
+
+    void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, sizeBytes);
+        }
+    }
+
+    /** 메모리 맵 참조를 놓습니다. 실제 해제는 버퍼가 수거될 때 이뤄집니다. */
+    void unmap() {
+        mapped = null;
+    }
+
+    boolean isMapped() {
+        return mapped != null;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getPointCount() {
+        return pointCount;
+    }
+
+    long getFirstMillis() {
+        return firstMillis;
+    }
+
+    long getLastMillis() {
+        return lastMillis;
+    }
+
+    long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    private ByteBuffer read() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) sizeBytes);
+            if (readFully(channel, buffer, 0) < sizeBytes) {
+                throw new EOFException("세그먼트 본문이 잘렸습니다: " + path);
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+}
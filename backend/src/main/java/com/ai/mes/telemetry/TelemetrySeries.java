@@ -0,0 +1,315 @@
+package com.ai.mes.telemetry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 팹/설비 단위 시계열.
+ * 봉인된 세그먼트 목록과 아직 봉인되지 않은 메모리 버퍼로 구성되며, 버퍼가 가득 차거나 적재가 멈추면 새 세그먼트로 기록합니다.
+ * <p>
+ * 적재가 뜸한 설비는 작은 세그먼트가 여럿 생기므로 {@link #compact}가 이웃한 작은 세그먼트를 하나로 합칩니다.
+ * 합칠 때는 원본 파일 목록({@code <합친 세그먼트>.sources})을 먼저 기록하고, 원본 파일은 진행 중인 조회가 끝나도록
+ * 다음 정리 주기에 지웁니다. 그 사이 중단되면 재기동 시 목록을 보고 합친 세그먼트가 있으면 원본을, 없으면 목록만 지웁니다.
+ */
+@Slf4j
+final class TelemetrySeries {
+
+    static final String SOURCES_SUFFIX = ".sources";
+
+    private final Path directory;
+    private final int maxPointsPerSegment;
+    // 이보다 적은 포인트의 세그먼트는 합칠 대상
+    private final int smallSegmentPoints;
+    private final SegmentMappings mappings;
+    private final List<TelemetrySegment> segments = new ArrayList<>();
+    // 합친 뒤 아직 지우지 않은 원본 (다음 compact 때 삭제)
+    private final List<Retired> retired = new ArrayList<>();
+
+    private long[] timestamps;
+    private double[] temperatures;
+    private double[] pressures;
+    private int size;
+    private long lastMillis = Long.MIN_VALUE;
+    // 버퍼에 첫 포인트/마지막 포인트가 들어온 시각 (System.nanoTime, 버퍼가 비어 있으면 의미 없음)
+    private long bufferedSinceNanos;
+    private long lastAppendNanos;
+
+    TelemetrySeries(Path directory, int maxPointsPerSegment, SegmentMappings mappings) throws IOException {
+        this.directory = directory;
+        this.maxPointsPerSegment = maxPointsPerSegment;
+        this.smallSegmentPoints = Math.max(2, maxPointsPerSegment / 4);
+        this.mappings = mappings;
+        int initialCapacity = Math.min(maxPointsPerSegment, 256);
+        this.timestamps = new long[initialCapacity];
+        this.temperatures = new double[initialCapacity];
+        this.pressures = new double[initialCapacity];
+        loadSegments();
+    }
+
+    /**
+     * 시간순으로 정렬된 포인트 묶음을 추가합니다.
+     * 묶음 전체가 시계열의 마지막 시각 이후인지 먼저 확인하므로, 거절되면 아무 포인트도 저장되지 않습니다.
+     */
+    synchronized void append(long[] epochMillis, double[] temperatures, double[] pressures, int count) throws IOException {
+        long previous = lastMillis;
+        for (int i = 0; i < count; i++) {
+            if (epochMillis[i] < previous) {
+                throw new IllegalArgumentException("텔레메트리는 시간 순서대로만 추가할 수 있습니다: " + directory.getFileName());
+            }
+            previous = epochMillis[i];
+        }
+        for (int i = 0; i < count; i++) {
+            appendPoint(epochMillis[i], temperatures[i], pressures[i]);
+        }
+    }
+
+    private void appendPoint(long epochMillis, double temperature, double pressure) throws IOException {
+        if (size == timestamps.length) {
+            int capacity = Math.min(maxPointsPerSegment, timestamps.length * 2);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            temperatures = Arrays.copyOf(temperatures, capacity);
+            pressures = Arrays.copyOf(pressures, capacity);
+        }
+        long now = System.nanoTime();
+        if (size == 0) {
+            bufferedSinceNanos = now;
+        }
+        lastAppendNanos = now;
+        timestamps[size] = epochMillis;
+        temperatures[size] = temperature;
+        pressures[size] = pressure;
+        size++;
+        lastMillis = epochMillis;
+
+        if (size >= maxPointsPerSegment) {
+            seal();
+        }
+    }
+
+    synchronized void seal() throws IOException {
+        if (size == 0) {
+            return;
+        }
+        TelemetrySegment segment = TelemetrySegment.write(
+                TelemetrySegment.newFile(directory, timestamps[0], timestamps[size - 1]), timestamps, temperatures, pressures, size);
+        segments.add(segment);
+        mappings.admit(segment);
+        size = 0;
+    }
+
+    /**
+     * 적재가 멈춘 지 {@code idleNanos} 이상이거나 버퍼에 {@code maxAgeNanos} 이상 머문 포인트가 있으면 봉인합니다.
+     * 계속 적재 중인 시계열은 가득 찰 때까지(또는 최대 보관 시간까지) 모아 세그먼트를 크게 유지합니다.
+     */
+    synchronized void sealIfIdle(long idleNanos, long maxAgeNanos) throws IOException {
+        if (size == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastAppendNanos >= idleNanos || now - bufferedSinceNanos >= maxAgeNanos) {
+            seal();
+        }
+    }
+
+    /**
+     * 이전 주기에 합친 원본 파일을 지우고, 이웃한 작은 세그먼트들을 합쳐 최대 크기 이하의 세그먼트로 다시 씁니다.
+     * 합친 결과가 작은 세그먼트 기준({@code maxPointsPerSegment / 4}) 이상일 때만 합치므로 같은 포인트를 반복해서 다시 쓰지 않습니다.
+     *
+     * @return 합쳐서 없앤 원본 세그먼트 수
+     */
+    synchronized int compact() throws IOException {
+        deleteRetired();
+        int merged = 0;
+        int start = 0;
+        while (start < segments.size()) {
+            int end = start;
+            int points = 0;
+            while (end < segments.size() && segments.get(end).getPointCount() < smallSegmentPoints
+                    && points + segments.get(end).getPointCount() <= maxPointsPerSegment) {
+                points += segments.get(end).getPointCount();
+                end++;
+            }
+            if (end - start >= 2 && points >= smallSegmentPoints) {
+                merge(start, end, points);
+                merged += end - start;
+                start++;
+            } else {
+                start = Math.max(end, start + 1);
+            }
+        }
+        return merged;
+    }
+
+    /** 합친 원본 파일을 즉시 지웁니다 (종료 시). */
+    synchronized void close() throws IOException {
+        seal();
+        deleteRetired();
+    }
+
+    /**
+     * 구간 내 포인트를 시간 순서로 전달합니다.
+     * 잠금은 세그먼트 목록/버퍼 스냅샷을 뜨는 동안만 유지하고 디코딩은 잠금 밖에서 수행합니다.
+     */
+    void scan(long fromMillis, long toMillis, TelemetryPointConsumer consumer) {
+        List<TelemetrySegment> sealed;
+        long[] bufferedTimestamps;
+        double[] bufferedTemperatures;
+        double[] bufferedPressures;
+        synchronized (this) {
+            sealed = new ArrayList<>(segments);
+            bufferedTimestamps = Arrays.copyOf(timestamps, size);
+            bufferedTemperatures = Arrays.copyOf(temperatures, size);
+            bufferedPressures = Arrays.copyOf(pressures, size);
+        }
+
+        for (TelemetrySegment segment : sealed) {
+            if (segment.getLastMillis() < fromMillis || segment.getFirstMillis() > toMillis) {
+                continue;
+            }
+            if (segment.isMapped()) {
+                mappings.touch(segment);
+            }
+            segment.scan(fromMillis, toMillis, consumer);
+        }
+        for (int i = 0; i < bufferedTimestamps.length; i++) {
+            long timestamp = bufferedTimestamps[i];
+            if (timestamp > toMillis) {
+                break;
+            }
+            if (timestamp >= fromMillis) {
+                consumer.accept(timestamp, bufferedTemperatures[i], bufferedPressures[i]);
+            }
+        }
+    }
+
+    synchronized long getStoredBytes() {
+        return segments.stream().mapToLong(TelemetrySegment::getSizeBytes).sum();
+    }
+
+    synchronized long getPointCount() {
+        return segments.stream().mapToLong(TelemetrySegment::getPointCount).sum() + size;
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /** segments[start, end)를 하나의 세그먼트로 합쳐 같은 위치에 둡니다. */
+    private void merge(int start, int end, int points) throws IOException {
+        List<TelemetrySegment> sources = new ArrayList<>(segments.subList(start, end));
+        long[] mergedTimestamps = new long[points];
+        double[] mergedTemperatures = new double[points];
+        double[] mergedPressures = new double[points];
+        int[] count = {0};
+        boolean wasMapped = false;
+        for (TelemetrySegment source : sources) {
+            wasMapped |= source.isMapped();
+            source.scan(Long.MIN_VALUE, Long.MAX_VALUE, (millis, temperature, pressure) -> {
+                mergedTimestamps[count[0]] = millis;
+                mergedTemperatures[count[0]] = temperature;
+                mergedPressures[count[0]] = pressure;
+                count[0]++;
+            });
+        }
+
+        Path target = TelemetrySegment.newFile(directory, mergedTimestamps[0], mergedTimestamps[count[0] - 1]);
+        // 합친 세그먼트를 공개하기 전에 원본 목록을 남겨, 원본을 지우기 전에 중단돼도 중복 없이 복구
+        Path manifest = target.resolveSibling(target.getFileName() + SOURCES_SUFFIX);
+        Path temp = manifest.resolveSibling(manifest.getFileName() + ".tmp");
+        List<String> names = new ArrayList<>(sources.size());
+        for (TelemetrySegment source : sources) {
+            names.add(source.getPath().getFileName().toString());
+        }
+        Files.write(temp, names, StandardCharsets.UTF_8);
+        Files.move(temp, manifest, StandardCopyOption.ATOMIC_MOVE);
+
+        TelemetrySegment merged;
+        try {
+            merged = TelemetrySegment.write(target, mergedTimestamps, mergedTemperatures, mergedPressures, count[0]);
+        } catch (IOException e) {
+            Files.deleteIfExists(manifest);
+            throw e;
+        }
+        segments.subList(start, end).clear();
+        segments.add(start, merged);
+        for (TelemetrySegment source : sources) {
+            mappings.release(source);
+        }
+        if (wasMapped) {
+            mappings.admit(merged);
+        }
+        retired.add(new Retired(manifest, sources));
+        log.debug("텔레메트리 세그먼트 {}개를 합쳤습니다: {} ({} points)", sources.size(), target.getFileName(), count[0]);
+    }
+
+    private void deleteRetired() throws IOException {
+        for (Retired entry : retired) {
+            for (TelemetrySegment source : entry.sources) {
+                Files.deleteIfExists(source.getPath());
+            }
+            Files.deleteIfExists(entry.manifest);
+        }
+        retired.clear();
+    }
+
+    private void loadSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        recoverMerges();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(TelemetrySegment.FILE_SUFFIX))::iterator) {
+                try {
+                    segments.add(TelemetrySegment.open(file));
+                } catch (IOException e) {
+                    log.warn("손상된 텔레메트리 세그먼트를 건너뜁니다: {} ({})", file, e.getMessage());
+                }
+            }
+        }
+        segments.sort(Comparator.comparingLong(TelemetrySegment::getFirstMillis));
+        if (!segments.isEmpty()) {
+            lastMillis = segments.get(segments.size() - 1).getLastMillis();
+        }
+    }
+
+    /** 중단된 합치기 정리: 합친 세그먼트가 공개됐으면 원본을, 아니면 목록만 지웁니다. */
+    private void recoverMerges() throws IOException {
+        List<Path> manifests;
+        try (Stream<Path> files = Files.list(directory)) {
+            manifests = files.filter(f -> f.toString().endsWith(SOURCES_SUFFIX)).toList();
+        }
+        for (Path manifest : manifests) {
+            String name = manifest.getFileName().toString();
+            Path merged = manifest.resolveSibling(name.substring(0, name.length() - SOURCES_SUFFIX.length()));
+            if (Files.exists(merged)) {
+                for (String source : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                    Path file = directory.normalize().resolve(source).normalize();
+                    if (source.endsWith(TelemetrySegment.FILE_SUFFIX) && directory.normalize().equals(file.getParent())) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            Files.deleteIfExists(manifest);
+        }
+    }
+
+    private static final class Retired {
+        private final Path manifest;
+        private final List<TelemetrySegment> sources;
+
+        private Retired(Path manifest, List<TelemetrySegment> sources) {
+            this.manifest = manifest;
+            this.sources = sources;
+        }
+    }
+}
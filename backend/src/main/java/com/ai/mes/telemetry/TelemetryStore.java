@@ -0,0 +1,148 @@
+package com.ai.mes.telemetry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 장기 설비 텔레메트리(온도/압력)를 위한 append-only 세그먼트 저장소.
+ * <p>
+ * 디렉터리 구조: {root}/{fab}/{equipmentId}/{first}_{last}_{seq}.seg
+ * 설비 테이블(equipment_data_m1x)에 행으로 쌓는 대신 압축 세그먼트로 보관하여
+ * 설비 조회 쿼리가 스캔하는 테이블 크기를 줄입니다.
+ * 메모리 맵으로 유지하는 세그먼트 수는 저장소 전체에서 {@code maxMappedSegments}개로 제한합니다.
+ */
+@Slf4j
+public class TelemetryStore implements Closeable {
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+
+    private final Path root;
+    private final int maxPointsPerSegment;
+    private final SegmentMappings mappings;
+    private final Map<String, TelemetrySeries> seriesByKey = new ConcurrentHashMap<>();
+
+    public TelemetryStore(Path root, int maxPointsPerSegment, int maxMappedSegments) {
+        if (maxPointsPerSegment < 2) {
+            throw new IllegalArgumentException("세그먼트당 최소 2개 이상의 포인트가 필요합니다.");
+        }
+        this.root = root;
+        this.maxPointsPerSegment = maxPointsPerSegment;
+        this.mappings = new SegmentMappings(maxMappedSegments);
+    }
+
+    /**
+     * 시간순으로 정렬된 포인트 {@code count}개를 추가합니다.
+     * 첫 포인트가 시계열의 마지막 시각보다 앞서면 하나도 저장하지 않고 {@link IllegalArgumentException}을 던집니다.
+     */
+    public void append(String fab, String equipmentId, long[] epochMillis, double[] temperatures, double[] pressures,
+                       int count) throws IOException {
+        series(fab, equipmentId).append(epochMillis, temperatures, pressures, count);
+    }
+
+    public void scan(String fab, String equipmentId, long fromMillis, long toMillis, TelemetryPointConsumer consumer) {
+        Path directory = seriesDirectory(fab, equipmentId);
+        if (!seriesByKey.containsKey(directory.toString()) && !Files.isDirectory(directory)) {
+            return;
+        }
+        series(fab, equipmentId).scan(fromMillis, toMillis, consumer);
+    }
+
+    public long getStoredBytes(String fab, String equipmentId) {
+        TelemetrySeries series = seriesByKey.get(seriesDirectory(fab, equipmentId).toString());
+        return series != null ? series.getStoredBytes() : 0L;
+    }
+
+    public int getSegmentCount(String fab, String equipmentId) {
+        TelemetrySeries series = seriesByKey.get(seriesDirectory(fab, equipmentId).toString());
+        return series != null ? series.getSegmentCount() : 0;
+    }
+
+    public int getMappedSegmentCount() {
+        return mappings.size();
+    }
+
+    /**
+     * 메모리 버퍼에 남아 있는 포인트를 모두 세그먼트로 봉인합니다.
+     */
+    public void flush() throws IOException {
+        flushIdle(0L, 0L);
+    }
+
+    /**
+     * 적재가 {@code idleMillis} 이상 멈췄거나 버퍼에 {@code maxAgeMillis} 이상 머문 포인트가 있는 시계열만 봉인합니다.
+     * 계속 적재 중인 시계열은 세그먼트가 가득 찰 때까지 모으므로 작은 세그먼트가 주기마다 생기지 않고,
+     * 최대 보관 시간으로 비정상 종료 시 유실될 수 있는 범위를 제한합니다.
+     */
+    public void flushIdle(long idleMillis, long maxAgeMillis) throws IOException {
+        long idleNanos = idleMillis * 1_000_000L;
+        long maxAgeNanos = maxAgeMillis * 1_000_000L;
+        forEachSeries("봉인", series -> series.sealIfIdle(idleNanos, maxAgeNanos));
+    }
+
+    /**
+     * 시계열마다 이웃한 작은 세그먼트를 합치고, 이전 주기에 합친 원본 파일을 지웁니다.
+     *
+     * @return 합쳐서 없앤 세그먼트 수
+     */
+    public int compact() throws IOException {
+        int[] merged = {0};
+        forEachSeries("병합", series -> merged[0] += series.compact());
+        return merged[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        forEachSeries("봉인", TelemetrySeries::close);
+        seriesByKey.clear();
+    }
+
+    private void forEachSeries(String action, SeriesAction operation) throws IOException {
+        IOException failure = null;
+        for (TelemetrySeries series : seriesByKey.values()) {
+            try {
+                operation.apply(series);
+            } catch (IOException e) {
+                log.error("텔레메트리 세그먼트 {} 실패: {}", action, e.getMessage());
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private TelemetrySeries series(String fab, String equipmentId) {
+        Path directory = seriesDirectory(fab, equipmentId);
+        return seriesByKey.computeIfAbsent(directory.toString(), key -> {
+            try {
+                return new TelemetrySeries(directory, maxPointsPerSegment, mappings);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Path seriesDirectory(String fab, String equipmentId) {
+        return root.resolve(requireSafe(fab, "fab")).resolve(requireSafe(equipmentId, "equipmentId"));
+    }
+
+    private static String requireSafe(String name, String label) {
+        if (name == null || !SAFE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("허용되지 않는 " + label + " 값입니다: " + name);
+        }
+        return name;
+    }
+
+    @FunctionalInterface
+    private interface SeriesAction {
+        void apply(TelemetrySeries series) throws IOException;
+    }
+}
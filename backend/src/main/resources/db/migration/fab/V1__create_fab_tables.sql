@@ -0,0 +1,64 @@
+-- 팹별 LOT/설비/반송 테이블 생성
+-- ${fab} 플레이스홀더는 팹 코드(m14, m15, m16)로 치환됩니다.
+
+CREATE TABLE IF NOT EXISTS lot_data_${fab} (
+    id                   VARCHAR(64)  PRIMARY KEY,
+    lot_number           VARCHAR(50)  NOT NULL,
+    product              VARCHAR(100),
+    fab                  VARCHAR(10)  NOT NULL,
+    status               VARCHAR(30),
+    start_time           TIMESTAMP,
+    end_time             TIMESTAMP,
+    step                 VARCHAR(100),
+    equipment            VARCHAR(50),
+    progress             INTEGER,
+    estimated_completion TIMESTAMP,
+    duration             VARCHAR(50),
+    result               VARCHAR(50),
+    created_at           TIMESTAMP    DEFAULT CURRENT_TIMESTAMP,
+    updated_at           TIMESTAMP    DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS equipment_data_${fab} (
+    id                VARCHAR(64)  PRIMARY KEY,
+    equipment_id      VARCHAR(50)  NOT NULL,
+    equipment_name    VARCHAR(100),
+    fab               VARCHAR(10)  NOT NULL,
+    status            VARCHAR(30),
+    current_operation VARCHAR(100),
+    current_lot       VARCHAR(50),
+    utilization       INTEGER,
+    last_maintenance  TIMESTAMP,
+    next_maintenance  TIMESTAMP,
+    temperature       DOUBLE PRECISION,
+    pressure          DOUBLE PRECISION,
+    uptime            VARCHAR(50),
+    alerts            INTEGER,
+    operation         VARCHAR(100),
+    start_time        TIMESTAMP,
+    end_time          TIMESTAMP,
+    duration          VARCHAR(50),
+    lot_number        VARCHAR(50),
+    result            VARCHAR(50),
+    created_at        TIMESTAMP    DEFAULT CURRENT_TIMESTAMP,
+    updated_at        TIMESTAMP    DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS return_history_${fab} (
+    id            VARCHAR(64)  PRIMARY KEY,
+    return_id     VARCHAR(50)  NOT NULL,
+    lot_number    VARCHAR(50),
+    product       VARCHAR(100),
+    fab           VARCHAR(10)  NOT NULL,
+    return_reason VARCHAR(200),
+    return_step   VARCHAR(100),
+    return_date   TIMESTAMP,
+    return_by     VARCHAR(50),
+    target_step   VARCHAR(100),
+    status        VARCHAR(30),
+    severity      VARCHAR(20),
+    resolved_date TIMESTAMP,
+    comments      TEXT,
+    created_at    TIMESTAMP    DEFAULT CURRENT_TIMESTAMP,
+    updated_at    TIMESTAMP    DEFAULT CURRENT_TIMESTAMP
+);
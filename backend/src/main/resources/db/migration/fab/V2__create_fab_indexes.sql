@@ -0,0 +1,67 @@
+-- 매퍼 조건절/정렬 순서에 맞춘 인덱스
+-- 단건 조건 조회는 모두 "ORDER BY created_at DESC"이므로 (조건 컬럼, created_at DESC) 복합 인덱스로
+-- 정렬 없이 인덱스 순서대로 반환합니다.
+
+-- LOT
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_created_at ON lot_data_${fab} (created_at DESC);
+-- selectByLotNumber, countByStatus (DISTINCT ON lot_number ORDER BY lot_number, created_at DESC)
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_lot_number ON lot_data_${fab} (lot_number, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_fab ON lot_data_${fab} (fab, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_status ON lot_data_${fab} (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_product ON lot_data_${fab} (product, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_step ON lot_data_${fab} (step, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_equipment ON lot_data_${fab} (equipment, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_result ON lot_data_${fab} (result, created_at DESC);
+-- selectByProgressStatus (=), selectByProgressRange (BETWEEN ... ORDER BY progress DESC)
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_progress ON lot_data_${fab} (progress, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_estimated_completion ON lot_data_${fab} (estimated_completion, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_duration ON lot_data_${fab} (duration);
+-- 진행 중 LOT (WIP) 조회용 부분 인덱스
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_active ON lot_data_${fab} (lot_number, created_at DESC)
+    WHERE status IN ('in_progress', 'waiting');
+
+-- 설비
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_created_at ON equipment_data_${fab} (created_at DESC);
+-- selectByEquipmentId, countByStatus (DISTINCT ON equipment_id ORDER BY equipment_id, created_at DESC)
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_equipment_id ON equipment_data_${fab} (equipment_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_fab ON equipment_data_${fab} (fab, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_status ON equipment_data_${fab} (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_current_operation ON equipment_data_${fab} (current_operation, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_current_lot ON equipment_data_${fab} (current_lot, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_utilization ON equipment_data_${fab} (utilization);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_temperature ON equipment_data_${fab} (temperature);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_pressure ON equipment_data_${fab} (pressure);
+-- selectByMaintenanceDate (일 단위 범위 조건으로 재작성됨)
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_last_maintenance ON equipment_data_${fab} (last_maintenance);
+-- 가동 중/이상 설비 조회용 부분 인덱스
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_active ON equipment_data_${fab} (equipment_id, created_at DESC)
+    WHERE status IN ('running', 'error', 'maintenance');
+
+-- 반송
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_created_at ON return_history_${fab} (created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_return_id ON return_history_${fab} (return_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_lot_number ON return_history_${fab} (lot_number, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_fab ON return_history_${fab} (fab, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_status ON return_history_${fab} (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_product ON return_history_${fab} (product, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_return_reason ON return_history_${fab} (return_reason, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_return_step ON return_history_${fab} (return_step, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_return_by ON return_history_${fab} (return_by, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_target_step ON return_history_${fab} (target_step, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_severity ON return_history_${fab} (severity, created_at DESC);
+-- selectByReturnDate / selectByResolvedDate (일 단위 범위 조건으로 재작성됨) 및 기간 조회
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_return_date ON return_history_${fab} (return_date DESC);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_resolved_date ON return_history_${fab} (resolved_date DESC);
+-- selectUnresolvedReturns 조건과 동일한 부분 인덱스
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_unresolved ON return_history_${fab} (created_at DESC)
+    WHERE status != 'RESOLVED' AND status != 'CLOSED';
+
+-- 키워드 부분 일치 검색(ILIKE '%...%')용 trigram 인덱스
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_lot_number_trgm ON lot_data_${fab} USING gin (lot_number gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_product_trgm ON lot_data_${fab} USING gin (product gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_equipment_id_trgm ON equipment_data_${fab} USING gin (equipment_id gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_equipment_name_trgm ON equipment_data_${fab} USING gin (equipment_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_return_id_trgm ON return_history_${fab} USING gin (return_id gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_lot_number_trgm ON return_history_${fab} USING gin (lot_number gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_return_reason_trgm ON return_history_${fab} USING gin (return_reason gin_trgm_ops);
@@ -0,0 +1,21 @@
+-- 설비 가동률 KPI 롤업 테이블
+
+CREATE TABLE IF NOT EXISTS equipment_kpi_rollup_${fab} (
+    fab             VARCHAR(10)  NOT NULL,
+    equipment_id    VARCHAR(50)  NOT NULL,
+    granularity     VARCHAR(10)  NOT NULL,
+    bucket_start    TIMESTAMP    NOT NULL,
+    sample_count    BIGINT       NOT NULL DEFAULT 0,
+    min_utilization INTEGER,
+    max_utilization INTEGER,
+    sum_utilization BIGINT       NOT NULL DEFAULT 0,
+    running_ms      BIGINT       NOT NULL DEFAULT 0,
+    idle_ms         BIGINT       NOT NULL DEFAULT 0,
+    maintenance_ms  BIGINT       NOT NULL DEFAULT 0,
+    error_ms        BIGINT       NOT NULL DEFAULT 0,
+    other_ms        BIGINT       NOT NULL DEFAULT 0,
+    alert_count     BIGINT       NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (equipment_id, granularity, bucket_start)
+);
+CREATE INDEX IF NOT EXISTS idx_equipment_kpi_rollup_${fab}_bucket_start ON equipment_kpi_rollup_${fab} (bucket_start);
@@ -0,0 +1,5 @@
+-- 변경 워터마크(MAX(updated_at)) 조회용 인덱스
+
+CREATE INDEX IF NOT EXISTS idx_lot_data_${fab}_updated_at ON lot_data_${fab} (updated_at);
+CREATE INDEX IF NOT EXISTS idx_equipment_data_${fab}_updated_at ON equipment_data_${fab} (updated_at);
+CREATE INDEX IF NOT EXISTS idx_return_history_${fab}_updated_at ON return_history_${fab} (updated_at);
@@ -0,0 +1,10 @@
+-- 설비 KPI 롤업의 설비별 마지막 관측 상태 (재기동 후 체류 시간·알람 증가분 계산 유지)
+
+CREATE TABLE IF NOT EXISTS equipment_kpi_state_${fab} (
+    equipment_id    VARCHAR(50)  PRIMARY KEY,
+    fab             VARCHAR(10)  NOT NULL,
+    status          VARCHAR(20),
+    since_at        TIMESTAMP,
+    alerts          INTEGER      NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
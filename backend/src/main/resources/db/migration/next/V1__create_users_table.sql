@@ -0,0 +1,20 @@
+-- 로그인 사용자 테이블
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGSERIAL    PRIMARY KEY,
+    username      VARCHAR(50)  NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    name          VARCHAR(100),
+    email         VARCHAR(100),
+    department    VARCHAR(100),
+    role          VARCHAR(20)  NOT NULL DEFAULT 'USER',
+    active        BOOLEAN      NOT NULL DEFAULT TRUE,
+    last_login_at TIMESTAMP,
+    created_at    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- selectByUsername, existsByUsername, updateLastLoginAt
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_username ON users (username);
+-- selectByEmail, existsByEmail
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
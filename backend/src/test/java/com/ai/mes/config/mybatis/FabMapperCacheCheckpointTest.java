@@ -0,0 +1,143 @@
+package com.ai.mes.config.mybatis;
+
+import com.ai.mes.event.FabDataChangedEvent.Dataset;
+import com.ai.mes.model.FabWatermark;
+import com.ai.mes.model.LotData;
+import com.ai.mes.service.DataVersionService;
+import org.apache.ibatis.cache.CacheKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link FabMapperCacheCheckpoint} 기록·복원 왕복: 워터마크(최종 수정 시각, 행 수)가 같을 때만 복원하고,
+ * 알 수 없는 파일 버전과 만료 시간이 지난 항목은 복원하지 않음.
+ */
+class FabMapperCacheCheckpointTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+    // 테스트마다 다른 네임스페이스 ID (캐시 인스턴스는 JVM 전역에 등록됨)
+    private static final AtomicInteger NAMESPACES = new AtomicInteger();
+
+    @TempDir
+    Path directory;
+
+    private final DataVersionService dataVersionService = mock(DataVersionService.class);
+    private FabMapperCacheCheckpoint checkpoint;
+    private FabMapperCache cache;
+    private CacheKey key;
+    private List<LotData> rows;
+
+    @BeforeEach
+    void setUp() {
+        checkpoint = new FabMapperCacheCheckpoint(dataVersionService);
+        ReflectionTestUtils.setField(checkpoint, "enabled", true);
+        ReflectionTestUtils.setField(checkpoint, "storagePath", directory.toString());
+        ReflectionTestUtils.setField(checkpoint, "restoreTtlMillis", 60_000L);
+
+        String namespace = "test.checkpoint" + NAMESPACES.incrementAndGet() + ".m14.LotDataMapper";
+        cache = new FabMapperCache(namespace);
+        key = new CacheKey(new Object[]{namespace + ".selectAll", 0, Integer.MAX_VALUE, "SELECT * FROM lots", "LOT-가"});
+        rows = List.of(
+                new LotData("id-1", "LOT-001", "제품A", "M14", "진행중", UPDATED_AT, null, "노광",
+                        "EQ-01", 75, null, "2시간", "합격", UPDATED_AT, UPDATED_AT),
+                new LotData());
+        // 조회 실패(대기 표시) 뒤 결과 보관
+        assertNull(cache.getObject(key));
+        cache.putObject(key, rows);
+    }
+
+    @Test
+    void matchingWatermarkRestoresEntries() {
+        stubWatermark(UPDATED_AT, 10L);
+        writeAndClear();
+
+        checkpoint.restore(checkpointFile());
+        assertEquals(rows, cache.getObject(key));
+    }
+
+    @Test
+    void changedWatermarkSkipsNamespace() {
+        stubWatermark(UPDATED_AT, 10L);
+        writeAndClear();
+
+        stubWatermark(UPDATED_AT.plusSeconds(1), 10L);
+        checkpoint.restore(checkpointFile());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void changedRowCountSkipsNamespace() {
+        // 최종 수정 시각이 그대로인 삭제
+        stubWatermark(UPDATED_AT, 10L);
+        writeAndClear();
+
+        stubWatermark(UPDATED_AT, 9L);
+        checkpoint.restore(checkpointFile());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void unknownWatermarkAtWriteIsNeverRestored() {
+        when(dataVersionService.watermark(Dataset.LOTS, "M14")).thenReturn(null);
+        writeAndClear();
+
+        stubWatermark(UPDATED_AT, 10L);
+        checkpoint.restore(checkpointFile());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void unknownVersionIsIgnored() throws IOException {
+        stubWatermark(UPDATED_AT, 10L);
+        writeAndClear();
+
+        try (FileChannel channel = FileChannel.open(checkpointFile(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (FabMapperCacheCheckpoint.VERSION + 1)}), 4);
+        }
+        checkpoint.restore(checkpointFile());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void entriesPastRestoreTtlAreSkipped() {
+        stubWatermark(UPDATED_AT, 10L);
+        writeAndClear();
+
+        ReflectionTestUtils.setField(checkpoint, "restoreTtlMillis", -1L);
+        checkpoint.restore(checkpointFile());
+        assertEquals(0, cache.getSize());
+    }
+
+    private void stubWatermark(LocalDateTime maxUpdatedAt, Long rowCount) {
+        when(dataVersionService.watermark(Dataset.LOTS, "M14")).thenReturn(new FabWatermark("M14", maxUpdatedAt, rowCount));
+    }
+
+    private void writeAndClear() {
+        checkpoint.checkpoint();
+        assertTrue(Files.isRegularFile(checkpointFile()));
+        cache.clear();
+        assertEquals(0, cache.getSize());
+    }
+
+    private Path checkpointFile() {
+        return directory.resolve(FabMapperCacheCheckpoint.FILE_NAME);
+    }
+}
@@ -0,0 +1,209 @@
+package com.ai.mes.config.mybatis;
+
+import com.ai.mes.dto.SearchQuery;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * 매퍼 쿼리 실행 계획 검증기 ({@link SchemaIndexVerifierTest}에서 사용).
+ * <p>
+ * 각 SqlSessionFactory의 SELECT/UPDATE/DELETE MappedStatement를 실제 DB에 PREPARE하고,
+ * 순차 스캔을 금지({@code enable_seqscan = off})한 일반 계획({@code plan_cache_mode = force_generic_plan})을
+ * EXPLAIN 하여 {@code Seq Scan}이 남아 있는 문장, 즉 조건절에 맞는 인덱스가 없는 문장을 찾습니다.
+ */
+class SchemaIndexVerifier {
+
+    private static final String STATEMENT_NAME = "index_verification_stmt";
+    private static final String SAVEPOINT_NAME = "index_verification";
+
+    private int checked;
+
+    /**
+     * @return 위반 목록 (문장 ID와 실행 계획). 비어 있으면 모든 문장이 인덱스를 사용
+     */
+    List<String> verify(Map<String, SqlSessionFactory> sqlSessionFactories) {
+        List<String> violations = new ArrayList<>();
+        checked = 0;
+        for (Map.Entry<String, SqlSessionFactory> entry : sqlSessionFactories.entrySet()) {
+            org.apache.ibatis.session.Configuration configuration = entry.getValue().getConfiguration();
+            DataSource dataSource = configuration.getEnvironment().getDataSource();
+            // StrictMap은 짧은 ID로도 문장을 보관하므로(중복 시 Ambiguity) 전체 ID만 사용
+            List<MappedStatement> statements = new ArrayList<>();
+            for (String name : new TreeSet<>(configuration.getMappedStatementNames())) {
+                if (name.contains(".")) {
+                    statements.add(configuration.getMappedStatement(name));
+                }
+            }
+
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL enable_seqscan = off");
+                    statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                    for (MappedStatement mappedStatement : statements) {
+                        if (!isVerifiable(mappedStatement)) {
+                            continue;
+                        }
+                        checked++;
+                        String violation = explain(statement, mappedStatement);
+                        if (violation != null) {
+                            violations.add(violation);
+                        }
+                    }
+                } finally {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (Exception e) {
+                violations.add(entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        return violations;
+    }
+
+    /** 마지막 {@link #verify}에서 검사한 문장 수 */
+    int getChecked() {
+        return checked;
+    }
+
+    private boolean isVerifiable(MappedStatement mappedStatement) {
+        SqlCommandType type = mappedStatement.getSqlCommandType();
+        return type == SqlCommandType.SELECT || type == SqlCommandType.UPDATE || type == SqlCommandType.DELETE;
+    }
+
+    private String explain(Statement statement, MappedStatement mappedStatement) throws SQLException {
+        String id = mappedStatement.getId();
+        // 실패한 문장이 트랜잭션 전체를 중단시키지 않도록 문장마다 savepoint 사용
+        statement.execute("SAVEPOINT " + SAVEPOINT_NAME);
+        try {
+            BoundSql boundSql = mappedStatement.getBoundSql(sampleParameters());
+            int parameterCount = boundSql.getParameterMappings().size();
+            statement.execute("PREPARE " + STATEMENT_NAME + " AS " + toPositional(boundSql.getSql()));
+
+            StringJoiner args = new StringJoiner(", ", "(", ")");
+            for (int i = 0; i < parameterCount; i++) {
+                args.add("NULL");
+            }
+            String explainSql = "EXPLAIN EXECUTE " + STATEMENT_NAME + (parameterCount > 0 ? args.toString() : "");
+
+            List<String> plan = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery(explainSql)) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+            statement.execute("DEALLOCATE " + STATEMENT_NAME);
+            statement.execute("RELEASE SAVEPOINT " + SAVEPOINT_NAME);
+
+            if (hasFullScan(plan)) {
+                return id + " uses a sequential scan:\n" + String.join("\n", plan);
+            }
+            return null;
+        } catch (Exception e) {
+            statement.execute("ROLLBACK TO SAVEPOINT " + SAVEPOINT_NAME);
+            // PREPARE는 트랜잭션과 무관하게 남으므로 정리 (없으면 무시)
+            statement.execute("DEALLOCATE ALL");
+            return id + " could not be explained: " + e.getMessage();
+        }
+    }
+
+    /**
+     * 실행 계획에 전체 스캔이 있는지 확인합니다.
+     * {@code enable_seqscan = off}에서는 맞는 인덱스가 없을 때 Seq Scan 대신 아무 인덱스나 끝까지 읽고
+     * Filter로 거르는 계획이 나오므로, Index Cond 없이 Filter만 있는 인덱스 스캔도 전체 스캔으로 봅니다.
+     */
+    static boolean hasFullScan(List<String> plan) {
+        String node = null;
+        boolean indexCond = false;
+        boolean filter = false;
+        for (String line : plan) {
+            String trimmed = line.trim();
+            boolean nodeLine = node == null || trimmed.startsWith("->");
+            if (nodeLine) {
+                if (isFullScan(node, indexCond, filter)) {
+                    return true;
+                }
+                node = trimmed;
+                indexCond = false;
+                filter = false;
+            } else if (trimmed.startsWith("Index Cond:")) {
+                indexCond = true;
+            } else if (trimmed.startsWith("Filter:")) {
+                filter = true;
+            }
+        }
+        return isFullScan(node, indexCond, filter);
+    }
+
+    private static boolean isFullScan(String node, boolean indexCond, boolean filter) {
+        if (node == null) {
+            return false;
+        }
+        if (node.contains("Seq Scan")) {
+            return true;
+        }
+        return (node.contains("Index Scan") || node.contains("Index Only Scan")) && filter && !indexCond;
+    }
+
+    /**
+     * 동적 SQL의 모든 선택 조건이 포함되도록 어떤 키에도 값이 있는 파라미터 맵을 만듭니다.
+     * 바인딩 값 자체는 일반 계획에 쓰이지 않으므로 SQL 형태만 결정합니다.
+     */
+    private Map<String, Object> sampleParameters() {
+        SearchQuery query = new SearchQuery()
+                .keyword("sample")
+                .status("in_progress,waiting")
+                .severity("High")
+                .limit(100);
+        query.setProduct("sample");
+        query.setStep("sample");
+        query.setCurrentOperation("sample");
+        query.setReturnReason("sample");
+        query.resolve(Map.of("createdAt", "created_at"), "createdAt", 100, 100);
+
+        Map<String, Object> parameters = new HashMap<>() {
+            @Override
+            public Object get(Object key) {
+                return containsKey(key) ? super.get(key) : "sample";
+            }
+        };
+        parameters.put("query", query);
+        // 일괄 처리 문장의 foreach 대상 (항목 속성도 모두 값이 있는 맵)
+        parameters.put("items", List.of(new HashMap<String, Object>() {
+            @Override
+            public Object get(Object key) {
+                return "sample";
+            }
+        }));
+        return parameters;
+    }
+
+    /** JDBC 바인드 변수(?)를 PREPARE용 위치 파라미터($n)로 변환 (문자열 리터럴 내부는 제외) */
+    private static String toPositional(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                sb.append('$').append(++index);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ai.mes.config.mybatis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SchemaIndexVerifier}의 실행 계획 판정 (DB 불필요).
+ */
+class SchemaIndexVerifierPlanTest {
+
+    @Test
+    void seqScanIsFullScan() {
+        assertTrue(SchemaIndexVerifier.hasFullScan(List.of(
+                "Seq Scan on lot_data_m14  (cost=10000000000.00..10000000001.00 rows=1 width=8)")));
+    }
+
+    @Test
+    void filterOnlyIndexScanIsFullScan() {
+        assertTrue(SchemaIndexVerifier.hasFullScan(List.of(
+                "Limit  (cost=0.15..8.17 rows=1 width=8)",
+                "  ->  Index Scan using lot_data_m14_pkey on lot_data_m14  (cost=0.15..8.17 rows=1 width=8)",
+                "        Filter: ((status)::text = $1)")));
+    }
+
+    @Test
+    void indexConditionIsNotFullScan() {
+        assertFalse(SchemaIndexVerifier.hasFullScan(List.of(
+                "Index Scan using idx_lot_data_m14_lot_number on lot_data_m14  (cost=0.15..8.17 rows=1 width=8)",
+                "  Index Cond: ((lot_number)::text = $1)",
+                "  Filter: ((status)::text = $2)")));
+    }
+}
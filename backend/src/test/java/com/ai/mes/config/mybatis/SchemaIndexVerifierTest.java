@@ -0,0 +1,82 @@
+package com.ai.mes.config.mybatis;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 모든 팹/로그인 매퍼 문장이 인덱스로 실행되는지 내장 PostgreSQL에서 검증합니다.
+ * <p>
+ * 스키마는 백엔드 기동 시 마이그레이션(DatabaseMigrator)이 만들며, 검증은 {@link SchemaIndexVerifier}가 수행합니다.
+ * 내장 서버는 PostgreSQL 정책상 root 계정으로 실행할 수 없으므로 root에서는 건너뜁니다.
+ */
+@SpringBootTest(properties = {
+        "db.migration.enabled=true",
+        "db.migration.fail-on-error=true",
+        "db.mapper-cache.checkpoint.enabled=false"
+})
+@DisabledIfSystemProperty(named = "user.name", matches = "root",
+        disabledReason = "embedded PostgreSQL cannot run as root")
+class SchemaIndexVerifierTest {
+
+    private static final String[] DATABASES = {"m14", "m15", "m16", "next"};
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private Map<String, SqlSessionFactory> sqlSessionFactories;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String name : DATABASES) {
+                statement.execute("CREATE DATABASE " + name);
+            }
+        }
+        for (String name : DATABASES) {
+            String prefix = name.toUpperCase();
+            registry.add(prefix + "_DB_URL", () -> postgres.getJdbcUrl("postgres", name));
+            registry.add(prefix + "_DB_USERNAME", () -> "postgres");
+            registry.add(prefix + "_DB_PASSWORD", () -> "");
+        }
+        // 작업 디렉터리에 파일을 남기지 않도록 임시 디렉터리 사용
+        Path data = Files.createTempDirectory("ai-mes-test");
+        registry.add("telemetry.storage.path", () -> data.resolve("telemetry").toString());
+        registry.add("analytics.snapshot.path", () -> data.resolve("analytics").toString());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void mapperStatementsUseIndexes() {
+        SchemaIndexVerifier verifier = new SchemaIndexVerifier();
+        List<String> violations = verifier.verify(sqlSessionFactories);
+        assertTrue(verifier.getChecked() > 0, "no mapped statements were verified");
+        assertTrue(violations.isEmpty(), () -> violations.size() + " mapped statements without a usable index:\n\n"
+                + String.join("\n\n", violations));
+    }
+}
@@ -0,0 +1,135 @@
+package com.ai.mes.model.compact;
+
+import com.ai.mes.model.EquipmentData;
+import com.ai.mes.model.LotData;
+import com.ai.mes.model.ReturnHistory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link CompactRows} 왕복: null 표시값 경계, 비 ASCII 문자열, 이진 기록·읽기.
+ */
+class CompactRowsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 123_456_000);
+
+    @Test
+    void lotRowsRoundTripWithNullsAndNonAscii() throws IOException {
+        LotData full = new LotData("id-1", "LOT-가나다", "제품A", "M14", "진행중", NOW, NOW.plusHours(2), "노광",
+                "EQ-01", 75, NOW.plusDays(1), "2시간", "합격", NOW, NOW);
+        LotData empty = new LotData();
+        // 정수 경계(null 표시값 바로 위), 1970년 이전·마이크로초 경계 일시
+        LotData extremes = new LotData("", "😀", "", "M16", "", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000),
+                LocalDateTime.of(1, 1, 1, 0, 0), "", null, Integer.MIN_VALUE + 1, LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_000),
+                null, "", LocalDateTime.of(1970, 1, 1, 0, 0), null);
+        LotData negative = new LotData("id-4", null, null, null, null, null, null, null, null, -1, null, null, null, null, null);
+        LotData maximum = new LotData("id-5", "LOT-5", null, null, null, null, null, null, null, Integer.MAX_VALUE, null, null, null, null, null);
+
+        assertRoundTrip(List.of(full, empty, extremes, negative, maximum, full));
+    }
+
+    @Test
+    void equipmentRowsKeepRealNaNDistinctFromNull() throws IOException {
+        EquipmentData nan = equipment("EQ-NaN", Double.NaN, Double.longBitsToDouble(0x7ff8000000000001L));
+        EquipmentData nulls = equipment("EQ-null", null, null);
+        EquipmentData signed = equipment("EQ-설비", -0.0, Double.NEGATIVE_INFINITY);
+        signed.setUtilization(Integer.MIN_VALUE + 1);
+        signed.setAlerts(0);
+
+        List<EquipmentData> read = assertRoundTrip(List.of(nan, nulls, signed));
+        assertEquals(Double.doubleToRawLongBits(Double.NaN), Double.doubleToRawLongBits(read.get(0).getTemperature()));
+        assertEquals(0x7ff8000000000001L, Double.doubleToRawLongBits(read.get(0).getPressure()));
+        assertNull(read.get(1).getTemperature());
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(read.get(2).getTemperature()));
+    }
+
+    @Test
+    void returnRowsRoundTrip() throws IOException {
+        ReturnHistory history = new ReturnHistory();
+        history.setId("r-1");
+        history.setReturnId("RET-001");
+        history.setLotNumber("LOT-반송");
+        history.setFab("M15");
+        history.setReturnReason("두께 불량 — 재작업");
+        history.setReturnDate(NOW);
+        history.setSeverity("High");
+
+        assertRoundTrip(List.of(history, new ReturnHistory()));
+    }
+
+    @Test
+    void valuesCollidingWithNullSentinelsAreNotCompacted() {
+        LotData lot = new LotData();
+        lot.setProgress(Integer.MIN_VALUE);
+        assertNull(CompactRows.encode(List.of(new LotData(), lot)));
+
+        EquipmentData alerts = equipment("EQ-1", 1.0, 1.0);
+        alerts.setAlerts(Integer.MIN_VALUE);
+        assertNull(CompactRows.encode(List.of(alerts)));
+
+        EquipmentData sentinelNaN = equipment("EQ-2", Double.longBitsToDouble(CompactRows.NULL_DOUBLE_BITS), 1.0);
+        assertNull(CompactRows.encode(List.of(sentinelNaN)));
+
+        // 마이크로초 epoch가 long 범위를 넘는 일시
+        ReturnHistory farFuture = new ReturnHistory();
+        farFuture.setReturnDate(LocalDateTime.MAX);
+        assertNull(CompactRows.encode(List.of(farFuture)));
+    }
+
+    @Test
+    void mixedOrEmptyListsAreNotCompacted() {
+        assertNull(CompactRows.encode(List.of()));
+        assertNull(CompactRows.encode(List.of(new LotData(), new ReturnHistory())));
+        assertNull(CompactRows.encode(List.of("not a row")));
+    }
+
+    @Test
+    void extractedRowsAreIndependentCopies() {
+        CompactRows<?> rows = CompactRows.encode(List.of(new LotData("id", "LOT", null, null, null, null, null,
+                null, null, 1, null, null, null, null, null)));
+        LotData first = (LotData) rows.get(0);
+        first.setLotNumber("changed");
+        assertNotSame(first, rows.get(0));
+        assertEquals("LOT", ((LotData) rows.get(0)).getLotNumber());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> assertRoundTrip(List<T> rows) throws IOException {
+        CompactRows<?> compact = CompactRows.encode(rows);
+        assertInstanceOf(CompactRows.class, compact);
+        assertEquals(rows, compact.toList());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            compact.writeTo(out);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes.toByteArray());
+        CompactRows<?> read = CompactRows.readFrom(in);
+        assertEquals(0, in.remaining());
+        assertEquals(compact.dictionarySize(), read.dictionarySize());
+        assertEquals(rows, read.toList());
+        return (List<T>) read.toList();
+    }
+
+    private static EquipmentData equipment(String equipmentId, Double temperature, Double pressure) {
+        EquipmentData equipment = new EquipmentData();
+        equipment.setId(equipmentId.toLowerCase());
+        equipment.setEquipmentId(equipmentId);
+        equipment.setFab("M14");
+        equipment.setTemperature(temperature);
+        equipment.setPressure(pressure);
+        equipment.setLastMaintenance(NOW.minusDays(3));
+        return equipment;
+    }
+}
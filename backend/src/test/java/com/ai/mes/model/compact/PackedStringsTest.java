@@ -0,0 +1,80 @@
+package com.ai.mes.model.compact;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link PackedStrings} null 구분과 UTF-8 왕복 (메모리 내 조회, 이진 기록·읽기).
+ */
+class PackedStringsTest {
+
+    @Test
+    void nullAndEmptyAreDistinct() throws IOException {
+        List<String> values = Arrays.asList(null, "", null, "a", "", null);
+        PackedStrings packed = pack(values);
+        assertNull(packed.get(0));
+        assertEquals("", packed.get(1));
+        assertRoundTrip(values, packed);
+    }
+
+    @Test
+    void nonAsciiValuesRoundTrip() throws IOException {
+        List<String> values = Arrays.asList("LOT-001", "반송-한글", "日本語テスト", "emoji-😀-𝄞", "ß\u0000é", null, "Ω");
+        assertRoundTrip(values, pack(values));
+    }
+
+    @Test
+    void nullsBeyondOneBitSetWordRoundTrip() throws IOException {
+        // null 비트가 여러 long 단어에 걸치고 마지막 행이 null인 경우
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            values.add(i % 3 == 0 || i == 199 ? null : "V" + i);
+        }
+        assertRoundTrip(values, pack(values));
+    }
+
+    @Test
+    void growsPastInitialCapacity() throws IOException {
+        // 초기 버퍼(행당 8바이트)보다 긴 값
+        List<String> values = Arrays.asList("x".repeat(1_000), "가".repeat(500), null);
+        assertRoundTrip(values, pack(values));
+    }
+
+    @Test
+    void emptyColumnRoundTrips() throws IOException {
+        assertRoundTrip(List.of(), pack(List.of()));
+    }
+
+    private static PackedStrings pack(List<String> values) {
+        PackedStrings packed = new PackedStrings(values.size());
+        for (String value : values) {
+            packed.add(value);
+        }
+        packed.trim();
+        return packed;
+    }
+
+    private static void assertRoundTrip(List<String> values, PackedStrings packed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            packed.writeTo(out);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes.toByteArray());
+        PackedStrings read = PackedStrings.readFrom(in);
+        assertEquals(0, in.remaining());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), packed.get(i), "in memory " + i);
+            assertEquals(values.get(i), read.get(i), "read back " + i);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ai.mes.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SimplePasswordEncoder} 평문 저장과 레거시 해시(MD5/SHA-256) 저장값 검증.
+ */
+class SimplePasswordEncoderTest {
+
+    private static final String PASSWORD = "mes-operator-2024!";
+
+    private final SimplePasswordEncoder encoder = new SimplePasswordEncoder();
+
+    @Test
+    void encodeStoresPlainText() {
+        assertEquals(PASSWORD, encoder.encode(PASSWORD));
+        assertTrue(encoder.matches(PASSWORD, encoder.encode(PASSWORD)));
+    }
+
+    @Test
+    void legacyMd5MatchesIgnoringCase() throws Exception {
+        String stored = hex("MD5", PASSWORD);
+        assertTrue(encoder.matches(PASSWORD, stored));
+        assertTrue(encoder.matches(PASSWORD, stored.toUpperCase()));
+        assertFalse(encoder.matches("wrong-password", stored));
+    }
+
+    @Test
+    void legacySha256MatchesIgnoringCase() throws Exception {
+        String stored = hex("SHA-256", PASSWORD);
+        assertTrue(encoder.matches(PASSWORD, stored));
+        assertTrue(encoder.matches(PASSWORD, stored.toUpperCase()));
+        assertFalse(encoder.matches("wrong-password", stored));
+    }
+
+    @Test
+    void hexLookingPlainTextStillMatches() throws Exception {
+        // 32자 16진수 평문 비밀번호는 MD5로 판별되지만 평문 비교로도 일치해야 함
+        String plain = hex("MD5", "seed");
+        assertTrue(encoder.matches(plain, plain));
+        assertFalse(encoder.matches("seed-other", plain));
+    }
+
+    @Test
+    void nullNeverMatches() {
+        assertFalse(encoder.matches(null, PASSWORD));
+        assertFalse(encoder.matches(PASSWORD, null));
+    }
+
+    private static String hex(String algorithm, String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,206 @@
+package com.ai.mes.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link TelemetryCodec} 왕복 인코딩: delta-of-delta 구간 경계와 XOR 값 압축의 경계 사례.
+ */
+class TelemetryCodecTest {
+
+    @Test
+    void deltaOfDeltaBucketBoundariesRoundTrip() {
+        long[] deltaOfDeltas = {0, 1, -1, -63, 64, -64, 65, -255, 256, -256, 257,
+                -2047, 2048, -2048, 2049, 1L << 40, -(1L << 40), Long.MAX_VALUE / 4, Long.MIN_VALUE / 4};
+        for (long deltaOfDelta : deltaOfDeltas) {
+            long[] timestamps = linearDeltas(1_700_000_000_000L, 10_000, deltaOfDelta, 50);
+            assertRoundTrip(timestamps, constant(50, 25.0), constant(50, 1.0));
+        }
+    }
+
+    @Test
+    void deltaOfDeltaUsesTheNarrowestBucket() {
+        // 버킷별 비트 수 (접두 비트 포함)
+        assertTimestampBits(0, 1);
+        assertTimestampBits(-63, 9);
+        assertTimestampBits(64, 9);
+        assertTimestampBits(-64, 12);
+        assertTimestampBits(65, 12);
+        assertTimestampBits(-255, 12);
+        assertTimestampBits(256, 12);
+        assertTimestampBits(-256, 16);
+        assertTimestampBits(257, 16);
+        assertTimestampBits(-2047, 16);
+        assertTimestampBits(2048, 16);
+        assertTimestampBits(-2048, 68);
+        assertTimestampBits(2049, 68);
+    }
+
+    @Test
+    void extremeTimestampsRoundTrip() {
+        assertRoundTrip(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE, Long.MIN_VALUE, -1},
+                constant(5, 1.0), constant(5, 2.0));
+        assertRoundTrip(new long[]{42}, new double[]{Double.NaN}, new double[]{-0.0});
+    }
+
+    @Test
+    void specialValuesRoundTripBitExact() {
+        double[] values = {
+                Double.NaN,
+                Double.longBitsToDouble(0x7FF8000000000001L), // 다른 NaN 페이로드
+                Double.longBitsToDouble(0xFFF0000000000001L),
+                0.0, -0.0, -0.0,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+                Double.MIN_NORMAL, 1.0, 1.0, 1.0, Double.NaN, Double.NaN
+        };
+        assertRoundTrip(sequential(values.length), values, reversed(values));
+    }
+
+    @Test
+    void equalValuesTakeOneBitEach() {
+        int count = 100;
+        byte[] body = TelemetryCodec.encode(sequential(count), constant(count, 25.5), constant(count, 1.0), count);
+        // 타임스탬프 64+64+1*(n-2), 값 64*2+1*2*(n-1)
+        long bits = 128 + (count - 2) + 128 + 2L * (count - 1);
+        assertEquals((bits + 7) / 8, body.length);
+        assertRoundTrip(sequential(count), constant(count, 25.5), constant(count, 1.0));
+    }
+
+    @Test
+    void xorWindowBoundariesRoundTrip() {
+        List<Long> bits = new ArrayList<>();
+        // XOR 유효 비트 64개 (선행·후행 0 없음)
+        bits.add(0x3FF0000000000000L);
+        bits.add(0x3FF0000000000000L ^ 0x8000000000000001L);
+        // XOR 선행 0이 31 이상 (5비트 상한 31로 기록), 이후 같은 구간 재사용
+        bits.add(1L);
+        bits.add(2L);
+        bits.add(3L);
+        // 선행 0이 31, 31, 30인 XOR (상한 경계 전후)
+        bits.add(3L ^ (1L << 32));
+        bits.add(3L ^ (1L << 31));
+        bits.add(3L ^ (1L << 33));
+        // 직전 구간을 재사용하다가 더 넓은 구간이 필요해지는 경우
+        bits.add(0x4000000000000000L);
+        bits.add(0x4000000000000001L);
+        bits.add(0x4000000000000003L);
+        bits.add(0xC000000000000003L);
+        // 최상위·최하위 비트 하나씩만 다름
+        bits.add(0x4000000000000002L);
+        bits.add(0xC000000000000002L);
+        bits.add(0xC000000000000003L);
+        bits.add(0L);
+        bits.add(-1L);
+
+        double[] values = new double[bits.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.longBitsToDouble(bits.get(i));
+        }
+        assertRoundTrip(sequential(values.length), values, reversed(values));
+    }
+
+    @Test
+    void randomSeriesRoundTrip() {
+        Random random = new Random(20240601L);
+        for (int run = 0; run < 50; run++) {
+            int count = 1 + random.nextInt(500);
+            long[] timestamps = new long[count];
+            double[] temperatures = new double[count];
+            double[] pressures = new double[count];
+            long timestamp = random.nextLong();
+            for (int i = 0; i < count; i++) {
+                timestamp += switch (random.nextInt(4)) {
+                    case 0 -> 1_000;
+                    case 1 -> random.nextInt(5_000);
+                    case 2 -> random.nextLong() >> random.nextInt(64);
+                    default -> 0;
+                };
+                timestamps[i] = timestamp;
+                temperatures[i] = random.nextInt(3) == 0 ? Double.longBitsToDouble(random.nextLong())
+                        : 20 + random.nextInt(100) / 10.0;
+                pressures[i] = random.nextBoolean() ? 1.0 : random.nextGaussian();
+            }
+            assertRoundTrip(timestamps, temperatures, pressures);
+        }
+    }
+
+    @Test
+    void decodeStopsAtRangeEnd() {
+        long[] timestamps = sequential(10);
+        byte[] body = TelemetryCodec.encode(timestamps, constant(10, 1.0), constant(10, 2.0), 10);
+        List<Long> decoded = new ArrayList<>();
+        TelemetryCodec.decode(ByteBuffer.wrap(body), 0, 10, timestamps[3], timestamps[6],
+                (millis, temperature, pressure) -> decoded.add(millis));
+        assertEquals(List.of(timestamps[3], timestamps[4], timestamps[5], timestamps[6]), decoded);
+    }
+
+    private static void assertRoundTrip(long[] timestamps, double[] temperatures, double[] pressures) {
+        int count = timestamps.length;
+        // 본문이 버퍼 중간에서 시작하는 경우 (세그먼트 헤더 뒤)
+        byte[] body = TelemetryCodec.encode(timestamps, temperatures, pressures, count);
+        ByteBuffer buffer = ByteBuffer.allocate(body.length + 7);
+        buffer.position(7);
+        buffer.put(body);
+
+        List<long[]> decoded = new ArrayList<>();
+        TelemetryCodec.decode(buffer, 7, count, Long.MIN_VALUE, Long.MAX_VALUE, (millis, temperature, pressure) ->
+                decoded.add(new long[]{millis, Double.doubleToRawLongBits(temperature), Double.doubleToRawLongBits(pressure)}));
+
+        assertEquals(count, decoded.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(timestamps[i], decoded.get(i)[0], "timestamp " + i);
+            assertEquals(Double.doubleToRawLongBits(temperatures[i]), decoded.get(i)[1], "temperature " + i);
+            assertEquals(Double.doubleToRawLongBits(pressures[i]), decoded.get(i)[2], "pressure " + i);
+        }
+    }
+
+    private static void assertTimestampBits(long deltaOfDelta, int bitsPerPoint) {
+        int count = 50;
+        long[] timestamps = linearDeltas(1_700_000_000_000L, 10_000, deltaOfDelta, count);
+        byte[] body = TelemetryCodec.encode(timestamps, constant(count, 1.0), constant(count, 1.0), count);
+        long bits = 128 + (long) (count - 2) * bitsPerPoint + 128 + 2L * (count - 1);
+        assertEquals((bits + 7) / 8, body.length, "delta-of-delta " + deltaOfDelta);
+    }
+
+    /** 간격이 매번 deltaOfDelta만큼 변하는 타임스탬프 */
+    private static long[] linearDeltas(long start, long firstDelta, long deltaOfDelta, int count) {
+        long[] timestamps = new long[count];
+        long delta = firstDelta;
+        timestamps[0] = start;
+        for (int i = 1; i < count; i++) {
+            timestamps[i] = timestamps[i - 1] + delta;
+            delta += deltaOfDelta;
+        }
+        return timestamps;
+    }
+
+    private static long[] sequential(int count) {
+        long[] timestamps = new long[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = 1_700_000_000_000L + i * 1_000L;
+        }
+        return timestamps;
+    }
+
+    private static double[] constant(int count, double value) {
+        double[] values = new double[count];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    private static double[] reversed(double[] values) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[values.length - 1 - i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ai.mes.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TelemetrySegment} 파일 기록·열기 왕복과 손상된 파일 거부.
+ */
+class TelemetrySegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writtenSegmentReopensWithSameHeaderAndPoints() throws IOException {
+        long[] timestamps = {1_000, 2_000, 2_500, 9_000, 9_001};
+        double[] temperatures = {25.0, Double.NaN, -0.0, 25.0, Double.MAX_VALUE};
+        double[] pressures = {1.0, 1.0, 1.5, Double.NEGATIVE_INFINITY, 0.0};
+        Path file = TelemetrySegment.newFile(directory, 1_000, 9_001);
+        TelemetrySegment written = TelemetrySegment.write(file, timestamps, temperatures, pressures, 5);
+
+        TelemetrySegment opened = TelemetrySegment.open(file);
+        assertEquals(5, opened.getPointCount());
+        assertEquals(1_000, opened.getFirstMillis());
+        assertEquals(9_001, opened.getLastMillis());
+        assertEquals(Files.size(file), opened.getSizeBytes());
+        assertEquals(written.getSizeBytes(), opened.getSizeBytes());
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+
+        // 힙 읽기와 메모리 맵 읽기가 같은 포인트를 돌려줌
+        List<long[]> fromHeap = points(opened, Long.MIN_VALUE, Long.MAX_VALUE);
+        opened.map();
+        assertTrue(opened.isMapped());
+        List<long[]> fromMap = points(opened, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(5, fromHeap.size());
+        for (int i = 0; i < 5; i++) {
+            long[] expected = {timestamps[i], Double.doubleToRawLongBits(temperatures[i]),
+                    Double.doubleToRawLongBits(pressures[i])};
+            assertArrayEquals(expected, fromHeap.get(i));
+            assertArrayEquals(expected, fromMap.get(i));
+        }
+        opened.unmap();
+        assertFalse(opened.isMapped());
+    }
+
+    @Test
+    void scanReturnsOnlyTheRequestedRange() throws IOException {
+        long[] timestamps = new long[100];
+        double[] values = new double[100];
+        for (int i = 0; i < 100; i++) {
+            timestamps[i] = 10_000 + i * 1_000L;
+            values[i] = i;
+        }
+        Path file = TelemetrySegment.newFile(directory, timestamps[0], timestamps[99]);
+        TelemetrySegment segment = TelemetrySegment.write(file, timestamps, values, values, 100);
+
+        assertEquals(11, points(segment, 20_000, 30_000).size());
+        assertEquals(0, points(segment, 0, 9_999).size());
+        assertEquals(0, points(segment, 110_000, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    void rejectsForeignOrTruncatedFiles() throws IOException {
+        Path foreign = directory.resolve("foreign" + TelemetrySegment.FILE_SUFFIX);
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> TelemetrySegment.open(foreign));
+
+        Path tooShort = directory.resolve("short" + TelemetrySegment.FILE_SUFFIX);
+        Files.write(tooShort, new byte[TelemetrySegment.HEADER_BYTES - 1]);
+        assertThrows(IOException.class, () -> TelemetrySegment.open(tooShort));
+
+        long[] timestamps = {1_000, 2_000, 3_000};
+        double[] values = {1.0, 2.0, 3.0};
+        Path file = TelemetrySegment.newFile(directory, 1_000, 3_000);
+        TelemetrySegment.write(file, timestamps, values, values, 3);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        assertThrows(IOException.class, () -> TelemetrySegment.open(file));
+    }
+
+    @Test
+    void rejectsUnknownVersion() throws IOException {
+        long[] timestamps = {1_000};
+        double[] values = {1.0};
+        Path file = TelemetrySegment.newFile(directory, 1_000, 1_000);
+        TelemetrySegment.write(file, timestamps, values, values, 1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{99}), 4);
+        }
+        assertThrows(IOException.class, () -> TelemetrySegment.open(file));
+    }
+
+    private static List<long[]> points(TelemetrySegment segment, long from, long to) {
+        List<long[]> points = new ArrayList<>();
+        segment.scan(from, to, (millis, temperature, pressure) -> points.add(new long[]{
+                millis, Double.doubleToRawLongBits(temperature), Double.doubleToRawLongBits(pressure)}));
+        return points;
+    }
+}
@@ -0,0 +1,168 @@
+package com.ai.mes.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TelemetrySeries} 봉인 시점, 묶음 추가, 작은 세그먼트 병합과 중단된 병합 복구.
+ */
+class TelemetrySeriesTest {
+
+    private static final int MAX_POINTS = 400;
+    private static final long HOUR_NANOS = 3_600_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rejectedBatchStoresNothing() throws IOException {
+        TelemetrySeries series = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(16));
+        append(series, 1_000, 10);
+
+        // 묶음 뒤쪽만 정상이어도 앞 포인트가 마지막 시각보다 이르면 전부 거절
+        assertThrows(IllegalArgumentException.class, () -> series.append(
+                new long[]{500, 20_000, 21_000}, new double[]{1, 2, 3}, new double[]{1, 2, 3}, 3));
+        assertEquals(10, series.getPointCount());
+        assertEquals(10, points(series).size());
+    }
+
+    @Test
+    void activeBufferIsNotSealedUntilIdle() throws IOException {
+        TelemetrySeries series = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(16));
+        append(series, 1_000, 60);
+
+        series.sealIfIdle(HOUR_NANOS, HOUR_NANOS);
+        assertEquals(0, series.getSegmentCount());
+
+        series.sealIfIdle(0, HOUR_NANOS);
+        assertEquals(1, series.getSegmentCount());
+    }
+
+    @Test
+    void smallSegmentsAreMergedAndSourcesDeletedNextCycle() throws IOException {
+        TelemetrySeries series = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(4));
+        long start = 1_000;
+        for (int i = 0; i < 10; i++) {
+            append(series, start + i * 60_000L, 60);
+            series.seal();
+        }
+        List<long[]> before = points(series);
+
+        // 60포인트 세그먼트 10개 -> 최대 400포인트 이하로 6개 + 4개
+        assertEquals(10, series.compact());
+        assertEquals(2, series.getSegmentCount());
+        assertEquals(before.size(), points(series).size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i)[0], points(series).get(i)[0]);
+        }
+        // 원본 파일은 다음 주기까지 남아 진행 중인 조회가 읽을 수 있음
+        assertEquals(12, segmentFiles().size());
+
+        assertEquals(0, series.compact());
+        assertEquals(2, segmentFiles().size());
+        assertFalse(hasManifest());
+    }
+
+    @Test
+    void smallTailIsLeftUntilItCanBeMergedOnce() throws IOException {
+        TelemetrySeries series = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(16));
+        append(series, 1_000, 30);
+        series.seal();
+        append(series, 100_000, 30);
+        series.seal();
+
+        // 합쳐도 작은 세그먼트 기준(100포인트) 미만이면 다시 쓰지 않음
+        assertEquals(0, series.compact());
+        assertEquals(2, series.getSegmentCount());
+    }
+
+    @Test
+    void interruptedMergeIsRecoveredOnReopen() throws IOException {
+        TelemetrySeries series = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(16));
+        for (int i = 0; i < 4; i++) {
+            append(series, 1_000 + i * 60_000L, 60);
+            series.seal();
+        }
+        series.compact();
+        // 원본을 지우기 전에 중단된 상태
+        assertTrue(hasManifest());
+
+        TelemetrySeries reopened = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(16));
+        assertEquals(1, reopened.getSegmentCount());
+        assertEquals(240, reopened.getPointCount());
+        assertFalse(hasManifest());
+    }
+
+    @Test
+    void manifestWithoutMergedSegmentKeepsSources() throws IOException {
+        TelemetrySeries series = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(16));
+        append(series, 1_000, 60);
+        series.seal();
+        Path source = segmentFiles().get(0);
+        // 합친 세그먼트를 공개하기 전에 중단된 상태
+        Files.write(directory.resolve("1000_2000_1.seg" + TelemetrySeries.SOURCES_SUFFIX),
+                List.of(source.getFileName().toString()), StandardCharsets.UTF_8);
+
+        TelemetrySeries reopened = new TelemetrySeries(directory, MAX_POINTS, new SegmentMappings(16));
+        assertEquals(60, reopened.getPointCount());
+        assertFalse(hasManifest());
+    }
+
+    @Test
+    void mappedSegmentsAreBounded() throws IOException {
+        SegmentMappings mappings = new SegmentMappings(2);
+        TelemetrySeries series = new TelemetrySeries(directory, MAX_POINTS, mappings);
+        for (int i = 0; i < 5; i++) {
+            append(series, 1_000 + i * 60_000L, 10);
+            series.seal();
+        }
+        assertEquals(2, mappings.size());
+        // 맵이 없는 세그먼트도 파일에서 읽어 조회
+        assertEquals(50, points(series).size());
+        assertEquals(2, mappings.size());
+    }
+
+    private static void append(TelemetrySeries series, long startMillis, int count) throws IOException {
+        long[] timestamps = new long[count];
+        double[] temperatures = new double[count];
+        double[] pressures = new double[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = startMillis + i * 1_000L;
+            temperatures[i] = 25.0 + i * 0.1;
+            pressures[i] = 1.0;
+        }
+        series.append(timestamps, temperatures, pressures, count);
+    }
+
+    private static List<long[]> points(TelemetrySeries series) {
+        List<long[]> points = new ArrayList<>();
+        series.scan(Long.MIN_VALUE, Long.MAX_VALUE, (millis, temperature, pressure) ->
+                points.add(new long[]{millis, Double.doubleToLongBits(temperature)}));
+        return points;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.toString().endsWith(TelemetrySegment.FILE_SUFFIX)).sorted().toList();
+        }
+    }
+
+    private boolean hasManifest() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(f -> f.toString().endsWith(TelemetrySeries.SOURCES_SUFFIX));
+        }
+    }
+}